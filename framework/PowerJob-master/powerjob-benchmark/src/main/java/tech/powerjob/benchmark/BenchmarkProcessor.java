@@ -0,0 +1,29 @@
+package tech.powerjob.benchmark;
+
+import tech.powerjob.worker.core.processor.ProcessResult;
+import tech.powerjob.worker.core.processor.TaskContext;
+import tech.powerjob.worker.core.processor.sdk.BasicProcessor;
+
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * 空处理器，执行完成后计数，用于测量 ProcessorTracker 自身的开销
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+public class BenchmarkProcessor implements BasicProcessor {
+
+    private static volatile CountDownLatch latch = new CountDownLatch(0);
+
+    @Override
+    public ProcessResult process(TaskContext context) {
+        latch.countDown();
+        return new ProcessResult(true);
+    }
+
+    public static CountDownLatch reset(int taskNum) {
+        latch = new CountDownLatch(taskNum);
+        return latch;
+    }
+}
@@ -0,0 +1,88 @@
+package tech.powerjob.benchmark;
+
+import akka.actor.ActorSystem;
+import akka.actor.ExtendedActorSystem;
+import akka.actor.Props;
+import com.google.common.collect.Maps;
+import com.typesafe.config.Config;
+import com.typesafe.config.ConfigFactory;
+import tech.powerjob.common.PowerJobDKey;
+import tech.powerjob.common.RemoteConstant;
+import tech.powerjob.worker.background.OmsLogHandler;
+import tech.powerjob.worker.background.ServerDiscoveryService;
+import tech.powerjob.worker.common.PowerJobWorkerConfig;
+import tech.powerjob.worker.common.WorkerRuntime;
+import tech.powerjob.worker.common.constants.StoreStrategy;
+import tech.powerjob.worker.core.schedule.WorkerScheduler;
+import tech.powerjob.worker.persistence.TaskPersistenceService;
+
+import java.util.Map;
+
+/**
+ * 进程内的 worker，只初始化压测需要的组件（ActorSystem、在线日志、本地存储），不连接 server
+ * TaskTracker 由 {@link TaskTrackerStubActor} 模拟
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+public class BenchmarkWorker {
+
+    private static final String LOCAL_HOST = "127.0.0.1";
+
+    private BenchmarkWorker() {
+    }
+
+    public static WorkerRuntime start(PowerJobWorkerConfig config) throws Exception {
+
+        config.setEnableTestMode(true);
+        WorkerRuntime workerRuntime = new WorkerRuntime();
+        workerRuntime.setAppId(-1L);
+        workerRuntime.setWorkerConfig(config);
+        workerRuntime.setWorkerScheduler(new WorkerScheduler(Runtime.getRuntime().availableProcessors(), Runtime.getRuntime().availableProcessors()));
+
+        // 随机端口，避免多个压测进程冲突
+        Map<String, Object> overrideConfig = Maps.newHashMap();
+        overrideConfig.put("akka.remote.artery.canonical.hostname", LOCAL_HOST);
+        overrideConfig.put("akka.remote.artery.canonical.port", 0);
+        Config akkaBasicConfig = ConfigFactory.load(RemoteConstant.WORKER_AKKA_CONFIG_NAME);
+        ActorSystem actorSystem = ActorSystem.create(RemoteConstant.WORKER_ACTOR_SYSTEM_NAME, ConfigFactory.parseMap(overrideConfig).withFallback(akkaBasicConfig));
+        workerRuntime.setActorSystem(actorSystem);
+        actorSystem.actorOf(Props.create(TaskTrackerStubActor.class), RemoteConstant.TASK_TRACKER_ACTOR_NAME);
+
+        int port = (Integer) ((ExtendedActorSystem) actorSystem).provider().getDefaultAddress().port().get();
+        String workerAddress = LOCAL_HOST + ":" + port;
+        workerRuntime.setWorkerAddress(workerAddress);
+
+        // 不启动服务发现，即没有可用的 server；默认关闭日志溢写，避免压测写满本地磁盘
+        if (System.getProperty(PowerJobDKey.WORKER_LOG_SPILL_SIZE) == null) {
+            System.setProperty(PowerJobDKey.WORKER_LOG_SPILL_SIZE, "0");
+        }
+        ServerDiscoveryService serverDiscoveryService = new ServerDiscoveryService(workerRuntime.getAppId(), config);
+        workerRuntime.setServerDiscoveryService(serverDiscoveryService);
+
+        OmsLogHandler omsLogHandler = new OmsLogHandler(workerAddress, actorSystem, serverDiscoveryService);
+        omsLogHandler.start();
+        workerRuntime.setOmsLogHandler(omsLogHandler);
+
+        TaskPersistenceService taskPersistenceService = new TaskPersistenceService(config.getStoreStrategy());
+        taskPersistenceService.init();
+        workerRuntime.setTaskPersistenceService(taskPersistenceService);
+
+        return workerRuntime;
+    }
+
+    public static WorkerRuntime start(StoreStrategy storeStrategy) throws Exception {
+        PowerJobWorkerConfig config = new PowerJobWorkerConfig();
+        config.setStoreStrategy(storeStrategy);
+        return start(config);
+    }
+
+    public static void stop(WorkerRuntime workerRuntime) {
+        if (workerRuntime == null) {
+            return;
+        }
+        workerRuntime.getWorkerScheduler().shutdown();
+        workerRuntime.getOmsLogHandler().destroy();
+        workerRuntime.getActorSystem().terminate();
+    }
+}
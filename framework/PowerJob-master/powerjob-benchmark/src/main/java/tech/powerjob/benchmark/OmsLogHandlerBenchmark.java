@@ -0,0 +1,51 @@
+package tech.powerjob.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tech.powerjob.common.enums.LogLevel;
+import tech.powerjob.worker.background.OmsLogHandler;
+import tech.powerjob.worker.common.WorkerRuntime;
+import tech.powerjob.worker.common.constants.StoreStrategy;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OmsLogHandler#submitLog 吞吐量压测（业务线程写入缓冲区的开销），没有可用 server，日志攒批后直接丢弃
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Threads(4)
+@Fork(1)
+public class OmsLogHandlerBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(OmsLogHandlerBenchmark.class);
+
+    private static final String LOG_CONTENT = "[Benchmark] process task(taskId=0.1.2) successfully, using 10ms, result: success";
+
+    private WorkerRuntime workerRuntime;
+    private OmsLogHandler omsLogHandler;
+
+    @Setup
+    public void setup() throws Exception {
+        workerRuntime = BenchmarkWorker.start(StoreStrategy.MEMORY_NATIVE);
+        omsLogHandler = workerRuntime.getOmsLogHandler();
+    }
+
+    @TearDown
+    public void tearDown() {
+        log.info("[OmsLogHandlerBenchmark] reported: {}, dropped: {}", omsLogHandler.getSentNum(), omsLogHandler.getDroppedNum());
+        BenchmarkWorker.stop(workerRuntime);
+    }
+
+    @Benchmark
+    public void submitLog() {
+        omsLogHandler.submitLog(1L, LogLevel.INFO, LOG_CONTENT);
+    }
+}
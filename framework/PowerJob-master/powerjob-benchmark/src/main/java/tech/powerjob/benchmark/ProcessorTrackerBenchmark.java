@@ -0,0 +1,100 @@
+package tech.powerjob.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import tech.powerjob.common.enums.ExecuteType;
+import tech.powerjob.common.enums.LogType;
+import tech.powerjob.common.enums.ProcessorType;
+import tech.powerjob.common.model.LogConfig;
+import tech.powerjob.common.serialize.JsonUtils;
+import tech.powerjob.worker.common.PowerJobWorkerConfig;
+import tech.powerjob.worker.common.WorkerRuntime;
+import tech.powerjob.worker.common.constants.StoreStrategy;
+import tech.powerjob.worker.common.constants.TaskStatus;
+import tech.powerjob.worker.core.tracker.processor.ProcessorTracker;
+import tech.powerjob.worker.persistence.TaskDO;
+import tech.powerjob.worker.pojo.model.InstanceInfo;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ProcessorTracker 提交到执行完成的平均耗时（空处理器，测量的是调度、线程池与状态上报的开销）
+ * 状态上报发往本地不存在的 TaskTracker，不影响测量
+ * 虚拟线程需要 JDK 21+：-p enableVirtualThread=false,true
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ProcessorTrackerBenchmark {
+
+    /**
+     * 每次调用提交的任务数，不超过 ProcessorTracker 的队列容量
+     */
+    private static final int TASK_NUM_PER_INVOCATION = 64;
+
+    @Param({"false"})
+    private boolean enableVirtualThread;
+
+    @Param({"8"})
+    private int threadConcurrency;
+
+    @Param({"1", "16"})
+    private int taskMessageBatchSize;
+
+    private WorkerRuntime workerRuntime;
+    private ProcessorTracker processorTracker;
+    private long taskIdGenerator;
+
+    @Setup
+    public void setup() throws Exception {
+        PowerJobWorkerConfig config = new PowerJobWorkerConfig();
+        config.setStoreStrategy(StoreStrategy.MEMORY_NATIVE);
+        config.setEnableVirtualThread(enableVirtualThread);
+        config.setTaskMessageBatchSize(taskMessageBatchSize);
+        workerRuntime = BenchmarkWorker.start(config);
+
+        InstanceInfo instanceInfo = new InstanceInfo();
+        instanceInfo.setJobId(1L);
+        instanceInfo.setInstanceId(1L);
+        instanceInfo.setExecuteType(ExecuteType.STANDALONE.name());
+        instanceInfo.setProcessorType(ProcessorType.BUILT_IN.name());
+        instanceInfo.setProcessorInfo(BenchmarkProcessor.class.getName());
+        instanceInfo.setThreadConcurrency(threadConcurrency);
+        instanceInfo.setInstanceTimeoutMS(Long.MAX_VALUE);
+
+        String logConfig = JsonUtils.toJSONString(new LogConfig().setType(LogType.NULL.getV()));
+        processorTracker = new ProcessorTracker(instanceInfo, workerRuntime.getWorkerAddress(), logConfig, workerRuntime);
+    }
+
+    @TearDown
+    public void tearDown() {
+        processorTracker.destroy();
+        BenchmarkWorker.stop(workerRuntime);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(TASK_NUM_PER_INVOCATION)
+    public void submitAndExecute() throws InterruptedException {
+        CountDownLatch latch = BenchmarkProcessor.reset(TASK_NUM_PER_INVOCATION);
+        for (int i = 0; i < TASK_NUM_PER_INVOCATION; i++) {
+            processorTracker.submitTask(buildTask());
+        }
+        latch.await();
+    }
+
+    private TaskDO buildTask() {
+        TaskDO task = new TaskDO();
+        task.setTaskId(String.valueOf(taskIdGenerator++));
+        task.setSubInstanceId(1L);
+        task.setTaskName("BENCHMARK_TASK");
+        task.setStatus(TaskStatus.DISPATCH_SUCCESS_WORKER_UNCHECK.getValue());
+        task.setFailedCnt(0);
+        return task;
+    }
+}
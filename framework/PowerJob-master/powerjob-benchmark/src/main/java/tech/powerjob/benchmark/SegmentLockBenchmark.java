@@ -0,0 +1,51 @@
+package tech.powerjob.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import tech.powerjob.common.utils.SegmentLock;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SegmentLock 竞争压测，concurrency 越小竞争越激烈
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Threads(8)
+@Fork(1)
+public class SegmentLockBenchmark {
+
+    @Param({"1", "16", "256"})
+    private int concurrency;
+
+    /**
+     * 持有锁期间消耗的 CPU（JMH token）
+     */
+    @Param({"16"})
+    private int workTokens;
+
+    private SegmentLock segmentLock;
+
+    @Setup
+    public void setup() {
+        segmentLock = new SegmentLock(concurrency);
+    }
+
+    @Benchmark
+    public void lockAndUnlock() {
+        int lockId = ThreadLocalRandom.current().nextInt(1024);
+        segmentLock.lockInterruptibleSafe(lockId);
+        try {
+            Blackhole.consumeCPU(workTokens);
+        } finally {
+            segmentLock.unlock(lockId);
+        }
+    }
+}
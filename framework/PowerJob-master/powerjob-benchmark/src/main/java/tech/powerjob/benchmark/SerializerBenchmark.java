@@ -0,0 +1,110 @@
+package tech.powerjob.benchmark;
+
+import com.google.common.collect.Lists;
+import org.openjdk.jmh.annotations.*;
+import tech.powerjob.common.enums.ExecuteType;
+import tech.powerjob.common.enums.LogLevel;
+import tech.powerjob.common.enums.ProcessorType;
+import tech.powerjob.common.model.DeployedContainerInfo;
+import tech.powerjob.common.model.InstanceLogContent;
+import tech.powerjob.common.model.SystemMetrics;
+import tech.powerjob.common.request.WorkerHeartbeat;
+import tech.powerjob.common.request.WorkerLogReportReq;
+import tech.powerjob.common.serialize.RegisteredSerializerUtils;
+import tech.powerjob.common.serialize.SerializerUtils;
+import tech.powerjob.worker.pojo.model.InstanceInfo;
+import tech.powerjob.worker.pojo.request.TaskTrackerStartTaskReq;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * akka 消息序列化压测（序列化 + 反序列化），对比 PowerAkkaSerializer 与 PowerAkkaRegisteredSerializer
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 3)
+@Measurement(iterations = 5, time = 3)
+@Fork(1)
+public class SerializerBenchmark {
+
+    /**
+     * LEGACY: SerializerUtils，REGISTERED: RegisteredSerializerUtils
+     */
+    @Param({"LEGACY", "REGISTERED"})
+    private String serializer;
+
+    @Param({"100"})
+    private int logNum;
+
+    private WorkerHeartbeat heartbeat;
+    private TaskTrackerStartTaskReq dispatchReq;
+    private WorkerLogReportReq logReportReq;
+
+    @Setup
+    public void setup() {
+        heartbeat = new WorkerHeartbeat();
+        heartbeat.setWorkerAddress("192.168.1.1:27777");
+        heartbeat.setAppName("powerjob-benchmark");
+        heartbeat.setAppId(1L);
+        heartbeat.setHeartbeatTime(System.currentTimeMillis());
+        heartbeat.setVersion("4.2.0");
+        heartbeat.setProtocol("AKKA");
+        heartbeat.setContainerInfos(Lists.newArrayList(new DeployedContainerInfo(1L, "1.0.0", System.currentTimeMillis(), null)));
+        SystemMetrics systemMetrics = new SystemMetrics();
+        systemMetrics.setCpuProcessors(8);
+        systemMetrics.setCpuLoad(0.5);
+        systemMetrics.setJvmMaxMemory(4096);
+        systemMetrics.setJvmUsedMemory(1024);
+        heartbeat.setSystemMetrics(systemMetrics);
+
+        InstanceInfo instanceInfo = new InstanceInfo();
+        instanceInfo.setJobId(1L);
+        instanceInfo.setInstanceId(1L);
+        instanceInfo.setExecuteType(ExecuteType.MAP_REDUCE.name());
+        instanceInfo.setProcessorType(ProcessorType.BUILT_IN.name());
+        instanceInfo.setProcessorInfo(BenchmarkProcessor.class.getName());
+        instanceInfo.setJobParams("{\"key\":\"value\"}");
+        instanceInfo.setThreadConcurrency(16);
+        instanceInfo.setInstanceTimeoutMS(60000);
+        dispatchReq = new TaskTrackerStartTaskReq();
+        dispatchReq.setTaskTrackerAddress("192.168.1.1:27777");
+        dispatchReq.setInstanceInfo(instanceInfo);
+        dispatchReq.setTaskId("0.1.2");
+        dispatchReq.setTaskName("BENCHMARK_TASK");
+        dispatchReq.setTaskContent(new byte[128]);
+        dispatchReq.setSubInstanceId(1L);
+
+        List<InstanceLogContent> logs = Lists.newArrayListWithCapacity(logNum);
+        for (int i = 0; i < logNum; i++) {
+            logs.add(new InstanceLogContent(1L, System.currentTimeMillis(), LogLevel.INFO.getV(), "[Benchmark] process task successfully, taskId: " + i));
+        }
+        logReportReq = new WorkerLogReportReq("192.168.1.1:27777", logs);
+    }
+
+    @Benchmark
+    public Object heartbeat() {
+        return roundTrip(heartbeat);
+    }
+
+    @Benchmark
+    public Object dispatch() {
+        return roundTrip(dispatchReq);
+    }
+
+    @Benchmark
+    public Object logReport() {
+        return roundTrip(logReportReq);
+    }
+
+    private Object roundTrip(Object obj) {
+        if ("REGISTERED".equals(serializer)) {
+            return RegisteredSerializerUtils.deSerialized(RegisteredSerializerUtils.serialize(obj));
+        }
+        return SerializerUtils.deSerialized(SerializerUtils.serialize(obj));
+    }
+}
@@ -0,0 +1,110 @@
+package tech.powerjob.benchmark;
+
+import com.google.common.collect.Lists;
+import org.openjdk.jmh.annotations.*;
+import tech.powerjob.worker.common.WorkerRuntime;
+import tech.powerjob.worker.common.constants.StoreStrategy;
+import tech.powerjob.worker.common.constants.TaskStatus;
+import tech.powerjob.worker.persistence.TaskDO;
+import tech.powerjob.worker.persistence.TaskPersistenceService;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * TaskPersistenceService 压测，对比 H2 与原生存储
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TaskPersistenceBenchmark {
+
+    @Param({"DISK", "MEMORY", "DISK_NATIVE", "MEMORY_NATIVE"})
+    private String storeStrategy;
+
+    @Param({"100"})
+    private int batchSize;
+
+    /**
+     * 用于查询/更新的常驻任务数
+     */
+    @Param({"10000"})
+    private int residentTaskNum;
+
+    private static final long UPDATE_INSTANCE_ID = 1L;
+    private static final long QUERY_INSTANCE_ID = 2L;
+
+    private WorkerRuntime workerRuntime;
+    private TaskPersistenceService taskPersistenceService;
+
+    private final AtomicLong instanceIdGenerator = new AtomicLong(100);
+    private final List<Long> savedInstanceIds = Lists.newCopyOnWriteArrayList();
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        workerRuntime = BenchmarkWorker.start(StoreStrategy.valueOf(storeStrategy));
+        taskPersistenceService = workerRuntime.getTaskPersistenceService();
+        taskPersistenceService.batchSave(buildTasks(UPDATE_INSTANCE_ID, residentTaskNum));
+        taskPersistenceService.batchSave(buildTasks(QUERY_INSTANCE_ID, residentTaskNum));
+    }
+
+    @TearDown(Level.Iteration)
+    public void cleanSavedTasks() {
+        savedInstanceIds.forEach(taskPersistenceService::deleteAllTasks);
+        savedInstanceIds.clear();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        taskPersistenceService.deleteAllTasks(UPDATE_INSTANCE_ID);
+        taskPersistenceService.deleteAllTasks(QUERY_INSTANCE_ID);
+        BenchmarkWorker.stop(workerRuntime);
+    }
+
+    @Benchmark
+    public boolean batchSave() {
+        long instanceId = instanceIdGenerator.incrementAndGet();
+        savedInstanceIds.add(instanceId);
+        return taskPersistenceService.batchSave(buildTasks(instanceId, batchSize));
+    }
+
+    @Benchmark
+    public boolean updateTaskStatus() {
+        String taskId = String.valueOf(ThreadLocalRandom.current().nextInt(residentTaskNum));
+        return taskPersistenceService.updateTaskStatus(UPDATE_INSTANCE_ID, taskId, TaskStatus.WORKER_RECEIVED.getValue(), System.currentTimeMillis(), null);
+    }
+
+    @Benchmark
+    public List<TaskDO> getTaskByStatus() {
+        return taskPersistenceService.getTaskByStatus(QUERY_INSTANCE_ID, TaskStatus.WAITING_DISPATCH, batchSize);
+    }
+
+    private static List<TaskDO> buildTasks(long instanceId, int num) {
+        long now = System.currentTimeMillis();
+        List<TaskDO> tasks = Lists.newArrayListWithCapacity(num);
+        for (int i = 0; i < num; i++) {
+            TaskDO task = new TaskDO();
+            task.setInstanceId(instanceId);
+            task.setSubInstanceId(instanceId);
+            task.setTaskId(String.valueOf(i));
+            task.setTaskName("BENCHMARK_TASK");
+            task.setTaskContent(new byte[64]);
+            task.setAddress("127.0.0.1:27777");
+            task.setStatus(TaskStatus.WAITING_DISPATCH.getValue());
+            task.setFailedCnt(0);
+            task.setCreatedTime(now);
+            task.setLastModifiedTime(now);
+            task.setLastReportTime(-1L);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+}
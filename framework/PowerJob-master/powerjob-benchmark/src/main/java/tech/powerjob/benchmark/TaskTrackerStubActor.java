@@ -0,0 +1,20 @@
+package tech.powerjob.benchmark;
+
+import akka.actor.AbstractActor;
+import tech.powerjob.common.response.AskResponse;
+
+/**
+ * 模拟 TaskTracker，对所有消息直接回复成功，保证 ProcessorTracker 的可靠上报（ask）不会等待超时
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+public class TaskTrackerStubActor extends AbstractActor {
+
+    @Override
+    public Receive createReceive() {
+        return receiveBuilder()
+                .matchAny(ignore -> getSender().tell(AskResponse.succeed(null), getSelf()))
+                .build();
+    }
+}
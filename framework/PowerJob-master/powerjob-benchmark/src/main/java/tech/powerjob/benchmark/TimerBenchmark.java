@@ -0,0 +1,98 @@
+package tech.powerjob.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import tech.powerjob.server.common.timewheel.HashedWheelTimer;
+import tech.powerjob.server.common.timewheel.HierarchicalWheelTimer;
+import tech.powerjob.server.common.timewheel.Timer;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * server 时间轮压测：一次性调度大量延迟任务（模拟调度实例），等待全部触发
+ * 除耗时外，每轮结束时输出触发误差（实际触发时间 - 预期触发时间）的分位数及进程 CPU 耗时
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class TimerBenchmark {
+
+    private static final Logger log = LoggerFactory.getLogger(TimerBenchmark.class);
+
+    @Param({"HASHED", "HIERARCHICAL"})
+    private String timerType;
+
+    @Param({"1000000"})
+    private int taskNum;
+
+    /**
+     * 任务延迟在 [0, maxDelayMs) 内均匀分布
+     */
+    @Param({"10000"})
+    private int maxDelayMs;
+
+    private static final int JITTER_BUCKETS = 1024;
+
+    private Timer timer;
+    private AtomicLongArray jitterHistogram;
+    private long cpuTimeBefore;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        int threadNum = Runtime.getRuntime().availableProcessors() * 4;
+        timer = "HASHED".equals(timerType) ? new HashedWheelTimer(1, 4096, threadNum) : new HierarchicalWheelTimer(1, 512, threadNum);
+        jitterHistogram = new AtomicLongArray(JITTER_BUCKETS);
+        cpuTimeBefore = processCpuTime();
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        long cpuMs = TimeUnit.NANOSECONDS.toMillis(processCpuTime() - cpuTimeBefore);
+        timer.stop();
+        log.info("[TimerBenchmark] {} cpu: {}ms, jitter(ms) p50: {}, p99: {}, p999: {}, max: {}",
+                timerType, cpuMs, percentile(0.5), percentile(0.99), percentile(0.999), percentile(1));
+    }
+
+    @Benchmark
+    public void scheduleAndFire() throws InterruptedException {
+        CountDownLatch latch = new CountDownLatch(taskNum);
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < taskNum; i++) {
+            long delay = random.nextInt(maxDelayMs);
+            long expectTime = System.currentTimeMillis() + delay;
+            timer.schedule(() -> {
+                long jitter = Math.max(0, System.currentTimeMillis() - expectTime);
+                jitterHistogram.incrementAndGet((int) Math.min(JITTER_BUCKETS - 1, jitter));
+                latch.countDown();
+            }, delay, TimeUnit.MILLISECONDS);
+        }
+        latch.await();
+    }
+
+    private long percentile(double percent) {
+        long threshold = (long) Math.ceil(taskNum * percent);
+        long accumulated = 0;
+        for (int i = 0; i < JITTER_BUCKETS; i++) {
+            accumulated += jitterHistogram.get(i);
+            if (accumulated >= threshold) {
+                return i;
+            }
+        }
+        return JITTER_BUCKETS - 1;
+    }
+
+    private static long processCpuTime() {
+        return ((com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean()).getProcessCpuTime();
+    }
+}
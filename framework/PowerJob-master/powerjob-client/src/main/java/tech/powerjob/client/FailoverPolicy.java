@@ -0,0 +1,76 @@
+package tech.powerjob.client;
+
+import com.google.common.collect.Sets;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import tech.powerjob.common.OpenAPIConstant;
+
+import java.util.Set;
+
+/**
+ * Decides whether a failed OpenAPI request may be sent to the next server.
+ * A request that never left the client (connect failure) can always fail over.
+ * Once the request has been written, the server may have executed it, so only idempotent paths fail over;
+ * others (saveJob, runJob, batchRunJob...) surface the failure to the caller to avoid creating or running jobs twice.
+ * Clients using this policy must disable OkHttp's retryOnConnectionFailure, which would otherwise re-send a written request on a fresh connection when a pooled one turns out to be stale.
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+final class FailoverPolicy {
+
+    /**
+     * paths that can be executed more than once without side effects
+     */
+    private static final Set<String> IDEMPOTENT_PATHS = Sets.newHashSet(
+            OpenAPIConstant.FETCH_JOB, OpenAPIConstant.FETCH_ALL_JOB, OpenAPIConstant.QUERY_JOB,
+            OpenAPIConstant.DISABLE_JOB, OpenAPIConstant.ENABLE_JOB,
+            OpenAPIConstant.FETCH_INSTANCE_STATUS, OpenAPIConstant.FETCH_INSTANCE_INFO, OpenAPIConstant.QUERY_INSTANCE,
+            OpenAPIConstant.BATCH_FETCH_INSTANCE_STATUS, OpenAPIConstant.BATCH_FETCH_INSTANCE_INFO,
+            OpenAPIConstant.FETCH_WORKFLOW, OpenAPIConstant.DISABLE_WORKFLOW, OpenAPIConstant.ENABLE_WORKFLOW,
+            OpenAPIConstant.FETCH_WORKFLOW_INSTANCE_INFO
+    );
+
+    /**
+     * Network interceptor, runs after the connection is established and right before the request is written.
+     */
+    static final Interceptor SEND_MARKER = chain -> {
+        SendState state = chain.request().tag(SendState.class);
+        if (state != null) {
+            state.sent = true;
+        }
+        return chain.proceed(chain.request());
+    };
+
+    private FailoverPolicy() {
+    }
+
+    static Request newRequest(String url, RequestBody requestBody) {
+        return new Request.Builder()
+                .post(requestBody)
+                .url(url)
+                .tag(SendState.class, new SendState())
+                .build();
+    }
+
+    /**
+     * the request reached the server but got a bad response (non-200 or empty body)
+     */
+    static boolean canFailover(String path) {
+        return IDEMPOTENT_PATHS.contains(path);
+    }
+
+    /**
+     * the request failed with an IOException (connect failure, read timeout, connection reset...)
+     */
+    static boolean canFailover(String path, Request request) {
+        SendState state = request.tag(SendState.class);
+        boolean sent = state == null || state.sent;
+        return !sent || canFailover(path);
+    }
+
+    private static class SendState {
+        private volatile boolean sent;
+    }
+}
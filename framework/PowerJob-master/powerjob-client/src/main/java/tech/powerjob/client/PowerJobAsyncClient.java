@@ -0,0 +1,429 @@
+package tech.powerjob.client;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.TypeReference;
+import com.google.common.collect.Lists;
+import lombok.extern.slf4j.Slf4j;
+import okhttp3.*;
+import org.apache.commons.lang3.StringUtils;
+import tech.powerjob.common.OmsConstant;
+import tech.powerjob.common.OpenAPIConstant;
+import tech.powerjob.common.enums.InstanceStatus;
+import tech.powerjob.common.exception.PowerJobException;
+import tech.powerjob.common.request.http.BatchFetchInstanceRequest;
+import tech.powerjob.common.request.http.RunJobRequest;
+import tech.powerjob.common.request.http.SaveJobInfoRequest;
+import tech.powerjob.common.response.*;
+import tech.powerjob.common.utils.CommonUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static tech.powerjob.client.TypeStore.*;
+
+/**
+ * Asynchronous client for OpenAPI, all requests are sent by a pooled OkHttpClient without blocking the caller thread.
+ * Concurrency is limited by maxConcurrency instead of the number of caller threads.
+ * Notice: the returned futures are completed in OkHttp's dispatcher threads, don't block in the callbacks.
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+@Slf4j
+public class PowerJobAsyncClient implements Closeable {
+
+    private Long appId;
+    private volatile String currentAddress;
+    private final List<String> allAddress;
+    private final OkHttpClient client;
+
+    private static final String URL_PATTERN = "http://%s%s%s";
+    private static final int DEFAULT_MAX_CONCURRENCY = 64;
+    private static final int HTTP_SUCCESS_CODE = 200;
+
+    /**
+     * Init PowerJobAsyncClient with server address, appName and password.
+     *
+     * @param addressList IP:Port address list, like 192.168.1.1:7700
+     * @param appName     name of the application
+     * @param password    password of the application
+     */
+    public PowerJobAsyncClient(List<String> addressList, String appName, String password) {
+        this(addressList, appName, password, DEFAULT_MAX_CONCURRENCY);
+    }
+
+    /**
+     * Init PowerJobAsyncClient with server address, appName, password and max concurrency.
+     *
+     * @param addressList    IP:Port address list, like 192.168.1.1:7700
+     * @param appName        name of the application
+     * @param password       password of the application
+     * @param maxConcurrency max number of in-flight requests (and pooled connections) per server
+     */
+    public PowerJobAsyncClient(List<String> addressList, String appName, String password, int maxConcurrency) {
+
+        CommonUtils.requireNonNull(addressList, "addressList can't be null!");
+        CommonUtils.requireNonNull(appName, "appName can't be null");
+
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(maxConcurrency);
+        dispatcher.setMaxRequestsPerHost(maxConcurrency);
+        client = new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(maxConcurrency, 5, TimeUnit.MINUTES))
+                .connectTimeout(1, TimeUnit.SECONDS)
+                .readTimeout(5, TimeUnit.SECONDS)
+                .retryOnConnectionFailure(false)
+                .addNetworkInterceptor(FailoverPolicy.SEND_MARKER)
+                .build();
+
+        allAddress = addressList;
+        for (String addr : addressList) {
+            try {
+                String result = assertApp(appName, password, getUrl(OpenAPIConstant.ASSERT, addr));
+                if (StringUtils.isNotEmpty(result)) {
+                    ResultDTO<Long> resultDTO = JSON.parseObject(result, LONG_RESULT_TYPE);
+                    if (resultDTO.isSuccess()) {
+                        appId = resultDTO.getData();
+                        currentAddress = addr;
+                        break;
+                    } else {
+                        throw new PowerJobException(resultDTO.getMessage());
+                    }
+                }
+            } catch (IOException ignore) {
+                //
+            }
+        }
+
+        if (StringUtils.isEmpty(currentAddress)) {
+            close();
+            throw new PowerJobException("no server available for PowerJobAsyncClient");
+        }
+        log.info("[PowerJobAsyncClient] {}'s PowerJobAsyncClient bootstrap successfully, using server: {}, maxConcurrency: {}", appName, currentAddress, maxConcurrency);
+    }
+
+    private String assertApp(String appName, String password, String url) throws IOException {
+        FormBody.Builder builder = new FormBody.Builder()
+                .add("appName", appName);
+        if (password != null) {
+            builder.add("password", password);
+        }
+        Request request = new Request.Builder().post(builder.build()).url(url).build();
+        try (Response response = client.newCall(request).execute()) {
+            ResponseBody body = response.body();
+            return response.code() == HTTP_SUCCESS_CODE && body != null ? body.string() : null;
+        }
+    }
+
+    private static String getUrl(String path, String address) {
+        return String.format(URL_PATTERN, address, OpenAPIConstant.WEB_PATH, path);
+    }
+
+    /* ************* Job 区 ************* */
+
+    /**
+     * Save one Job
+     * When an ID exists in SaveJobInfoRequest, it is an update operation. Otherwise, it is a crate operation.
+     *
+     * @param request Job meta info
+     * @return jobId
+     */
+    public CompletableFuture<ResultDTO<Long>> saveJob(SaveJobInfoRequest request) {
+        request.setAppId(appId);
+        return postHA(OpenAPIConstant.SAVE_JOB, genJsonBody(request), LONG_RESULT_TYPE);
+    }
+
+    /**
+     * Query JobInfo by jobId
+     *
+     * @param jobId jobId
+     * @return Job meta info
+     */
+    public CompletableFuture<ResultDTO<JobInfoDTO>> fetchJob(Long jobId) {
+        return postHA(OpenAPIConstant.FETCH_JOB, genFormBody("jobId", jobId), JOB_RESULT_TYPE);
+    }
+
+    /**
+     * Disable one Job by jobId
+     *
+     * @param jobId jobId
+     * @return Standard return object
+     */
+    public CompletableFuture<ResultDTO<Void>> disableJob(Long jobId) {
+        return postHA(OpenAPIConstant.DISABLE_JOB, genFormBody("jobId", jobId), VOID_RESULT_TYPE);
+    }
+
+    /**
+     * Enable one job by jobId
+     *
+     * @param jobId jobId
+     * @return Standard return object
+     */
+    public CompletableFuture<ResultDTO<Void>> enableJob(Long jobId) {
+        return postHA(OpenAPIConstant.ENABLE_JOB, genFormBody("jobId", jobId), VOID_RESULT_TYPE);
+    }
+
+    /**
+     * Delete one job by jobId
+     *
+     * @param jobId jobId
+     * @return Standard return object
+     */
+    public CompletableFuture<ResultDTO<Void>> deleteJob(Long jobId) {
+        return postHA(OpenAPIConstant.DELETE_JOB, genFormBody("jobId", jobId), VOID_RESULT_TYPE);
+    }
+
+    /**
+     * Run a job once
+     *
+     * @param jobId          ID of the job to be run
+     * @param instanceParams Runtime parameters of the job (TaskContext#instanceParams)
+     * @param delayMS        Delay time（Milliseconds）
+     * @return instanceId
+     */
+    public CompletableFuture<ResultDTO<Long>> runJob(Long jobId, String instanceParams, long delayMS) {
+        FormBody.Builder builder = new FormBody.Builder()
+                .add("jobId", jobId.toString())
+                .add("appId", appId.toString())
+                .add("delay", String.valueOf(delayMS));
+        if (StringUtils.isNotEmpty(instanceParams)) {
+            builder.add("instanceParams", instanceParams);
+        }
+        return postHA(OpenAPIConstant.RUN_JOB, builder.build(), LONG_RESULT_TYPE);
+    }
+
+    public CompletableFuture<ResultDTO<Long>> runJob(Long jobId) {
+        return runJob(jobId, null, 0);
+    }
+
+    /**
+     * Save jobs in one request, the size of requests can't be greater than {@link OpenAPIConstant#MAX_BATCH_SIZE}
+     *
+     * @param requests Job meta info list
+     * @return result of each job (jobId), in the same order as requests
+     */
+    public CompletableFuture<ResultDTO<List<ResultDTO<Long>>>> batchSaveJob(List<SaveJobInfoRequest> requests) {
+        requests.forEach(request -> request.setAppId(appId));
+        return postHA(OpenAPIConstant.BATCH_SAVE_JOB, genJsonBody(requests), LIST_LONG_RESULT_TYPE);
+    }
+
+    /**
+     * Run jobs once in one request, the size of requests can't be greater than {@link OpenAPIConstant#MAX_BATCH_SIZE}
+     *
+     * @param requests jobs to be run
+     * @return result of each job (instanceId), in the same order as requests
+     */
+    public CompletableFuture<ResultDTO<List<ResultDTO<Long>>>> batchRunJob(List<RunJobRequest> requests) {
+        requests.forEach(request -> request.setAppId(appId));
+        return postHA(OpenAPIConstant.BATCH_RUN_JOB, genJsonBody(requests), LIST_LONG_RESULT_TYPE);
+    }
+
+    /* ************* Instance API list ************* */
+
+    /**
+     * Stop one job instance
+     *
+     * @param instanceId instanceId
+     * @return Standard return object
+     */
+    public CompletableFuture<ResultDTO<Void>> stopInstance(Long instanceId) {
+        return postHA(OpenAPIConstant.STOP_INSTANCE, genFormBody("instanceId", instanceId), VOID_RESULT_TYPE);
+    }
+
+    /**
+     * Cancel a job instance that is not yet running
+     *
+     * @param instanceId instanceId
+     * @return Standard return object
+     */
+    public CompletableFuture<ResultDTO<Void>> cancelInstance(Long instanceId) {
+        return postHA(OpenAPIConstant.CANCEL_INSTANCE, genFormBody("instanceId", instanceId), VOID_RESULT_TYPE);
+    }
+
+    /**
+     * Retry failed job instance
+     *
+     * @param instanceId instanceId
+     * @return Standard return object
+     */
+    public CompletableFuture<ResultDTO<Void>> retryInstance(Long instanceId) {
+        return postHA(OpenAPIConstant.RETRY_INSTANCE, genFormBody("instanceId", instanceId), VOID_RESULT_TYPE);
+    }
+
+    /**
+     * Query status about a job instance
+     *
+     * @param instanceId instanceId
+     * @return {@link InstanceStatus}
+     */
+    public CompletableFuture<ResultDTO<Integer>> fetchInstanceStatus(Long instanceId) {
+        return postHA(OpenAPIConstant.FETCH_INSTANCE_STATUS, genFormBody("instanceId", instanceId), INTEGER_RESULT_TYPE);
+    }
+
+    /**
+     * Query detail about a job instance
+     *
+     * @param instanceId instanceId
+     * @return instance detail
+     */
+    public CompletableFuture<ResultDTO<InstanceInfoDTO>> fetchInstanceInfo(Long instanceId) {
+        return postHA(OpenAPIConstant.FETCH_INSTANCE_INFO, genFormBody("instanceId", instanceId), INSTANCE_RESULT_TYPE);
+    }
+
+    /**
+     * Query status about job instances in one request, the size of instanceIds can't be greater than {@link OpenAPIConstant#MAX_BATCH_SIZE}
+     *
+     * @param instanceIds instanceId list
+     * @return instanceId -> {@link InstanceStatus}, instances which do not exist are absent
+     */
+    public CompletableFuture<ResultDTO<Map<Long, Integer>>> batchFetchInstanceStatus(List<Long> instanceIds) {
+        return postHA(OpenAPIConstant.BATCH_FETCH_INSTANCE_STATUS, genBatchFetchInstanceBody(instanceIds), INSTANCE_STATUS_MAP_RESULT_TYPE);
+    }
+
+    /**
+     * Query detail about job instances in one request, the size of instanceIds can't be greater than {@link OpenAPIConstant#MAX_BATCH_SIZE}
+     *
+     * @param instanceIds instanceId list
+     * @return instance details, instances which do not exist are absent
+     */
+    public CompletableFuture<ResultDTO<List<InstanceInfoDTO>>> batchFetchInstanceInfo(List<Long> instanceIds) {
+        return postHA(OpenAPIConstant.BATCH_FETCH_INSTANCE_INFO, genBatchFetchInstanceBody(instanceIds), LIST_INSTANCE_RESULT_TYPE);
+    }
+
+    /* ************* Workflow API list ************* */
+
+    /**
+     * Run a workflow once
+     *
+     * @param workflowId workflowId
+     * @param initParams workflow startup parameters
+     * @param delayMS    Delay time（Milliseconds）
+     * @return workflow instanceId
+     */
+    public CompletableFuture<ResultDTO<Long>> runWorkflow(Long workflowId, String initParams, long delayMS) {
+        FormBody.Builder builder = new FormBody.Builder()
+                .add("workflowId", workflowId.toString())
+                .add("appId", appId.toString())
+                .add("delay", String.valueOf(delayMS));
+        if (StringUtils.isNotEmpty(initParams)) {
+            builder.add("initParams", initParams);
+        }
+        return postHA(OpenAPIConstant.RUN_WORKFLOW, builder.build(), LONG_RESULT_TYPE);
+    }
+
+    /**
+     * Query detail about a workflow instance
+     *
+     * @param wfInstanceId workflow instanceId
+     * @return detail about a workflow
+     */
+    public CompletableFuture<ResultDTO<WorkflowInstanceInfoDTO>> fetchWorkflowInstanceInfo(Long wfInstanceId) {
+        return postHA(OpenAPIConstant.FETCH_WORKFLOW_INSTANCE_INFO, genFormBody("wfInstanceId", wfInstanceId), WF_INSTANCE_RESULT_TYPE);
+    }
+
+    /**
+     * Release the connections and threads held by this client
+     */
+    @Override
+    public void close() {
+        client.dispatcher().executorService().shutdown();
+        client.connectionPool().evictAll();
+    }
+
+    private RequestBody genFormBody(String idName, Long id) {
+        return new FormBody.Builder()
+                .add(idName, id.toString())
+                .add("appId", appId.toString())
+                .build();
+    }
+
+    private RequestBody genBatchFetchInstanceBody(List<Long> instanceIds) {
+        BatchFetchInstanceRequest request = new BatchFetchInstanceRequest();
+        request.setAppId(appId);
+        request.setInstanceIds(instanceIds);
+        return genJsonBody(request);
+    }
+
+    private static RequestBody genJsonBody(Object object) {
+        return RequestBody.create(MediaType.parse(OmsConstant.JSON_MEDIA_TYPE), JSON.toJSONString(object));
+    }
+
+    private <T> CompletableFuture<T> postHA(String path, RequestBody requestBody, TypeReference<T> type) {
+        // 先尝试默认地址，失败后依次尝试其他地址
+        List<String> addresses = Lists.newArrayListWithCapacity(allAddress.size());
+        String defaultAddress = currentAddress;
+        addresses.add(defaultAddress);
+        for (String addr : allAddress) {
+            if (!Objects.equals(addr, defaultAddress)) {
+                addresses.add(addr);
+            }
+        }
+        CompletableFuture<String> future = new CompletableFuture<>();
+        post(path, requestBody, addresses, 0, future);
+        return future.thenApply(res -> JSON.parseObject(res, type));
+    }
+
+    private void post(String path, RequestBody requestBody, List<String> addresses, int index, CompletableFuture<String> future) {
+
+        if (index >= addresses.size()) {
+            log.error("[PowerJobAsyncClient] do post for path: {} failed because of no server available in {}.", path, allAddress);
+            future.completeExceptionally(new PowerJobException("no server available when send post request"));
+            return;
+        }
+
+        String addr = addresses.get(index);
+        String url = getUrl(path, addr);
+        Request request = FailoverPolicy.newRequest(url, requestBody);
+        client.newCall(request).enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                log.warn("[PowerJobAsyncClient] request url:{} failed, reason is {}.", url, e.toString());
+                if (FailoverPolicy.canFailover(path, request)) {
+                    post(path, requestBody, addresses, index + 1, future);
+                } else {
+                    // 请求已发出，服务端可能已经执行，非幂等请求不能重发到其他 server
+                    future.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                String res;
+                try (ResponseBody body = response.body()) {
+                    if (response.code() != HTTP_SUCCESS_CODE) {
+                        onBadResponse(String.format("http request failed,code=%d", response.code()));
+                        return;
+                    }
+                    res = body == null ? null : body.string();
+                } catch (IOException e) {
+                    onFailure(call, e);
+                    return;
+                }
+                if (StringUtils.isEmpty(res)) {
+                    onBadResponse("http response is empty");
+                    return;
+                }
+                if (!Objects.equals(addr, currentAddress)) {
+                    log.warn("[PowerJobAsyncClient] server change: from({}) -> to({}).", currentAddress, addr);
+                    currentAddress = addr;
+                }
+                future.complete(res);
+            }
+
+            private void onBadResponse(String reason) {
+                log.warn("[PowerJobAsyncClient] request url:{} failed, reason is {}.", url, reason);
+                if (FailoverPolicy.canFailover(path)) {
+                    post(path, requestBody, addresses, index + 1, future);
+                } else {
+                    future.completeExceptionally(new PowerJobException(reason));
+                }
+            }
+        });
+    }
+}
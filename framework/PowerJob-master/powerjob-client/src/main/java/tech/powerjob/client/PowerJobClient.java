@@ -5,6 +5,8 @@ import tech.powerjob.common.enums.InstanceStatus;
 import tech.powerjob.common.OmsConstant;
 import tech.powerjob.common.OpenAPIConstant;
 import tech.powerjob.common.exception.PowerJobException;
+import tech.powerjob.common.request.http.BatchFetchInstanceRequest;
+import tech.powerjob.common.request.http.RunJobRequest;
 import tech.powerjob.common.request.http.SaveJobInfoRequest;
 import tech.powerjob.common.request.http.SaveWorkflowNodeRequest;
 import tech.powerjob.common.request.http.SaveWorkflowRequest;
@@ -15,14 +17,14 @@ import tech.powerjob.common.utils.HttpUtils;
 import tech.powerjob.common.serialize.JsonUtils;
 import com.google.common.collect.Lists;
 import lombok.extern.slf4j.Slf4j;
-import okhttp3.FormBody;
-import okhttp3.MediaType;
-import okhttp3.RequestBody;
+import okhttp3.*;
 import org.apache.commons.lang3.StringUtils;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 import static tech.powerjob.client.TypeStore.*;
 
@@ -40,6 +42,14 @@ public class PowerJobClient {
     private final List<String> allAddress;
 
     private static final String URL_PATTERN = "http://%s%s%s";
+    private static final int HTTP_SUCCESS_CODE = 200;
+
+    private static final OkHttpClient CLIENT = new OkHttpClient.Builder()
+            .connectTimeout(1, TimeUnit.SECONDS)
+            .readTimeout(5, TimeUnit.SECONDS)
+            .retryOnConnectionFailure(false)
+            .addNetworkInterceptor(FailoverPolicy.SEND_MARKER)
+            .build();
 
     /**
      * Init PowerJobClient with domain, appName and password.
@@ -251,6 +261,34 @@ public class PowerJobClient {
         return runJob(jobId, null, 0);
     }
 
+    /**
+     * Save jobs in one request, the size of requests can't be greater than {@link OpenAPIConstant#MAX_BATCH_SIZE}
+     *
+     * @param requests Job meta info list
+     * @return result of each job (jobId), in the same order as requests
+     */
+    public ResultDTO<List<ResultDTO<Long>>> batchSaveJob(List<SaveJobInfoRequest> requests) {
+        requests.forEach(request -> request.setAppId(appId));
+        MediaType jsonType = MediaType.parse(OmsConstant.JSON_MEDIA_TYPE);
+        String json = JSON.toJSONString(requests);
+        String post = postHA(OpenAPIConstant.BATCH_SAVE_JOB, RequestBody.create(jsonType, json));
+        return JSON.parseObject(post, LIST_LONG_RESULT_TYPE);
+    }
+
+    /**
+     * Run jobs once in one request, the size of requests can't be greater than {@link OpenAPIConstant#MAX_BATCH_SIZE}
+     *
+     * @param requests jobs to be run
+     * @return result of each job (instanceId), in the same order as requests
+     */
+    public ResultDTO<List<ResultDTO<Long>>> batchRunJob(List<RunJobRequest> requests) {
+        requests.forEach(request -> request.setAppId(appId));
+        MediaType jsonType = MediaType.parse(OmsConstant.JSON_MEDIA_TYPE);
+        String json = JSON.toJSONString(requests);
+        String post = postHA(OpenAPIConstant.BATCH_RUN_JOB, RequestBody.create(jsonType, json));
+        return JSON.parseObject(post, LIST_LONG_RESULT_TYPE);
+    }
+
     /* ************* Instance API list ************* */
 
     /**
@@ -328,6 +366,36 @@ public class PowerJobClient {
         return JSON.parseObject(post, INSTANCE_RESULT_TYPE);
     }
 
+    /**
+     * Query status about job instances in one request, the size of instanceIds can't be greater than {@link OpenAPIConstant#MAX_BATCH_SIZE}
+     *
+     * @param instanceIds instanceId list
+     * @return instanceId -> {@link InstanceStatus}, instances which do not exist are absent
+     */
+    public ResultDTO<Map<Long, Integer>> batchFetchInstanceStatus(List<Long> instanceIds) {
+        String post = postHA(OpenAPIConstant.BATCH_FETCH_INSTANCE_STATUS, genBatchFetchInstanceBody(instanceIds));
+        return JSON.parseObject(post, INSTANCE_STATUS_MAP_RESULT_TYPE);
+    }
+
+    /**
+     * Query detail about job instances in one request, the size of instanceIds can't be greater than {@link OpenAPIConstant#MAX_BATCH_SIZE}
+     *
+     * @param instanceIds instanceId list
+     * @return instance details, instances which do not exist are absent
+     */
+    public ResultDTO<List<InstanceInfoDTO>> batchFetchInstanceInfo(List<Long> instanceIds) {
+        String post = postHA(OpenAPIConstant.BATCH_FETCH_INSTANCE_INFO, genBatchFetchInstanceBody(instanceIds));
+        return JSON.parseObject(post, LIST_INSTANCE_RESULT_TYPE);
+    }
+
+    private RequestBody genBatchFetchInstanceBody(List<Long> instanceIds) {
+        BatchFetchInstanceRequest request = new BatchFetchInstanceRequest();
+        request.setAppId(appId);
+        request.setInstanceIds(instanceIds);
+        MediaType jsonType = MediaType.parse(OmsConstant.JSON_MEDIA_TYPE);
+        return RequestBody.create(jsonType, JSON.toJSONString(request));
+    }
+
     /* ************* Workflow API list ************* */
 
     /**
@@ -531,32 +599,44 @@ public class PowerJobClient {
 
     private String postHA(String path, RequestBody requestBody) {
 
-        // 先尝试默认地址
-        String url = getUrl(path, currentAddress);
-        try {
-            String res = HttpUtils.post(url, requestBody);
-            if (StringUtils.isNotEmpty(res)) {
-                return res;
+        // 先尝试默认地址，失败后依次尝试其他地址
+        List<String> addresses = Lists.newArrayListWithCapacity(allAddress.size());
+        addresses.add(currentAddress);
+        for (String addr : allAddress) {
+            if (!Objects.equals(addr, currentAddress)) {
+                addresses.add(addr);
             }
-        } catch (IOException e) {
-            log.warn("[PowerJobClient] request url:{} failed, reason is {}.", url, e.toString());
         }
 
-        // 失败，开始重试
-        for (String addr : allAddress) {
-            if (Objects.equals(addr, currentAddress)) {
-                continue;
+        for (String addr : addresses) {
+            String url = getUrl(path, addr);
+            Request request = FailoverPolicy.newRequest(url, requestBody);
+            String res;
+            try (Response response = CLIENT.newCall(request).execute()) {
+                ResponseBody body = response.body();
+                if (response.code() != HTTP_SUCCESS_CODE) {
+                    res = null;
+                    log.warn("[PowerJobClient] request url:{} failed, reason is http request failed,code={}.", url, response.code());
+                } else {
+                    res = body == null ? null : body.string();
+                }
+            } catch (IOException e) {
+                log.warn("[PowerJobClient] request url:{} failed, reason is {}.", url, e.toString());
+                if (FailoverPolicy.canFailover(path, request)) {
+                    continue;
+                }
+                // 请求已发出，服务端可能已经执行，非幂等请求不能重发到其他 server
+                throw new PowerJobException("request " + url + " failed, the server may have executed it: " + e);
             }
-            url = getUrl(path, addr);
-            try {
-                String res = HttpUtils.post(url, requestBody);
-                if (StringUtils.isNotEmpty(res)) {
+            if (StringUtils.isNotEmpty(res)) {
+                if (!Objects.equals(addr, currentAddress)) {
                     log.warn("[PowerJobClient] server change: from({}) -> to({}).", currentAddress, addr);
                     currentAddress = addr;
-                    return res;
                 }
-            } catch (IOException e) {
-                log.warn("[PowerJobClient] request url:{} failed, reason is {}.", url, e.toString());
+                return res;
+            }
+            if (!FailoverPolicy.canFailover(path)) {
+                throw new PowerJobException("request " + url + " failed, the server may have executed it: bad response");
             }
         }
 
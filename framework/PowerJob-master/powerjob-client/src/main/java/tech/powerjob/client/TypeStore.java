@@ -4,6 +4,7 @@ import com.alibaba.fastjson.TypeReference;
 import tech.powerjob.common.response.*;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * TypeReference store.
@@ -19,6 +20,10 @@ public class TypeStore {
 
     public static final TypeReference<ResultDTO<Long>> LONG_RESULT_TYPE = new TypeReference<ResultDTO<Long>>(){};
 
+    public static final TypeReference<ResultDTO<List<ResultDTO<Long>>>> LIST_LONG_RESULT_TYPE = new TypeReference<ResultDTO<List<ResultDTO<Long>>>>(){};
+
+    public static final TypeReference<ResultDTO<Map<Long, Integer>>> INSTANCE_STATUS_MAP_RESULT_TYPE = new TypeReference<ResultDTO<Map<Long, Integer>>>(){};
+
     public static final TypeReference<ResultDTO<JobInfoDTO>> JOB_RESULT_TYPE = new TypeReference<ResultDTO<JobInfoDTO>>(){};
 
     public static final TypeReference<ResultDTO<List<JobInfoDTO>>> LIST_JOB_RESULT_TYPE = new TypeReference<ResultDTO<List<JobInfoDTO>>>(){};
@@ -16,6 +16,11 @@ public class OpenAPIConstant {
 
     public static final String ASSERT = "/assert";
 
+    /**
+     * 批量接口单次请求的最大数量
+     */
+    public static final int MAX_BATCH_SIZE = 1000;
+
     /* ************* JOB 区 ************* */
 
     public static final String SAVE_JOB = "/saveJob";
@@ -27,6 +32,8 @@ public class OpenAPIConstant {
     public static final String ENABLE_JOB = "/enableJob";
     public static final String DELETE_JOB = "/deleteJob";
     public static final String RUN_JOB = "/runJob";
+    public static final String BATCH_SAVE_JOB = "/batchSaveJob";
+    public static final String BATCH_RUN_JOB = "/batchRunJob";
 
     /* ************* Instance 区 ************* */
 
@@ -36,6 +43,8 @@ public class OpenAPIConstant {
     public static final String FETCH_INSTANCE_STATUS = "/fetchInstanceStatus";
     public static final String FETCH_INSTANCE_INFO = "/fetchInstanceInfo";
     public static final String QUERY_INSTANCE = "/queryInstance";
+    public static final String BATCH_FETCH_INSTANCE_STATUS = "/batchFetchInstanceStatus";
+    public static final String BATCH_FETCH_INSTANCE_INFO = "/batchFetchInstanceInfo";
 
     /* ************* Workflow 区 ************* */
 
@@ -24,6 +24,58 @@ public class PowerJobDKey {
     public static final String IGNORED_NETWORK_INTERFACE_REGEX = "powerjob.network.interface.ignored";
 
     public static final String WORKER_STATUS_CHECK_PERIOD = "powerjob.worker.status-check.normal.period";
+    /**
+     * ms, the max delay before buffered task status reports are written to the TaskTracker's local storage
+     */
+    public static final String WORKER_STATUS_FLUSH_INTERVAL = "powerjob.worker.status-flush.interval";
+    /**
+     * buffered task status reports will be flushed immediately once the number reaches this threshold
+     */
+    public static final String WORKER_STATUS_FLUSH_BATCH_SIZE = "powerjob.worker.status-flush.batch-size";
+    /**
+     * max number of instance logs per report request
+     */
+    public static final String WORKER_LOG_BATCH_SIZE = "powerjob.worker.log.batch-size";
+    /**
+     * ms, the max time a instance log waits before being reported
+     */
+    public static final String WORKER_LOG_LINGER = "powerjob.worker.log.linger";
+    /**
+     * whether to compress the instance logs of a report request, requires server support
+     */
+    public static final String WORKER_LOG_COMPRESS = "powerjob.worker.log.compress";
+    /**
+     * bytes, size of the memory-mapped file used to hold instance logs while no server is available, 0 to disable
+     */
+    public static final String WORKER_LOG_SPILL_SIZE = "powerjob.worker.log.spill.size";
+    /**
+     * number of threads executing the timing tasks of all TaskTrackers and ProcessorTrackers on a worker
+     */
+    public static final String WORKER_SCHEDULER_THREADS = "powerjob.worker.scheduler.threads";
+    /**
+     * number of threads executing the timing tasks that make blocking remote calls (status check, load report, etc.), isolated from the threads above
+     */
+    public static final String WORKER_SCHEDULER_IO_THREADS = "powerjob.worker.scheduler.io-threads";
+    /**
+     * whether to run standalone FIX_RATE/FIX_DELAY jobs in memory, without persisting sub instances (min interval drops from 50ms to 1ms)
+     */
+    public static final String WORKER_FREQUENT_FAST_PATH = "powerjob.worker.frequent.fast-path";
+    /**
+     * back-pressure threshold of MapProcessor#mapStream, the producer blocks while the TaskTracker has this many tasks waiting for dispatch
+     */
+    public static final String WORKER_MAP_MAX_PENDING = "powerjob.worker.map.max-pending";
+    /**
+     * max time in milliseconds MapProcessor#mapStream waits for one batch under back-pressure before failing, default 300000
+     */
+    public static final String WORKER_MAP_MAX_BACK_PRESSURE_WAIT = "powerjob.worker.map.max-back-pressure-wait-ms";
+    /**
+     * number of task results loaded per page by StreamingMapReduceProcessor#reduce
+     */
+    public static final String WORKER_REDUCE_PAGE_SIZE = "powerjob.worker.reduce.page-size";
+    /**
+     * whether to send akka messages with the registered-ID serializer (PowerAkkaRegisteredSerializer), all receivers must support it
+     */
+    public static final String REGISTERED_SERIALIZER = "powerjob.serializer.registered";
     /**
      * ms
      */
@@ -30,6 +30,14 @@ public class RemoteConstant {
     public static final String SERVER_AKKA_CONFIG_NAME = "oms-server.akka.conf";
 
 
+    /* ************************ AKKA SERIALIZATION ************************ */
+    /**
+     * 将 PowerSerializable 绑定到注册表序列化器的配置项
+     */
+    public static final String AKKA_SERIALIZATION_BINDING_KEY = "akka.actor.serialization-bindings.\"tech.powerjob.common.PowerSerializable\"";
+    public static final String AKKA_REGISTERED_SERIALIZER_NAME = "power-registered-serializer";
+
+
     /* ************************ OTHERS ************************ */
     public static final String EMPTY_ADDRESS = "N/A";
     public static final long DEFAULT_TIMEOUT_MS = 5000;
@@ -6,6 +6,7 @@ import tech.powerjob.common.model.SystemMetrics;
 import lombok.Data;
 
 import java.util.List;
+import java.util.Map;
 
 
 /**
@@ -39,4 +40,6 @@ public class WorkerHeartbeat implements PowerSerializable {
     private String extra;
 
     private SystemMetrics systemMetrics;
+    // worker 内部运行指标（如在线日志的发送、丢弃条数），指标名 -> 数值
+    private Map<String, Long> metrics;
 }
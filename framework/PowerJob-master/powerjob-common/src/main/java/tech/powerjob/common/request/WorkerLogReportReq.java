@@ -2,10 +2,12 @@ package tech.powerjob.common.request;
 
 import tech.powerjob.common.PowerSerializable;
 import tech.powerjob.common.model.InstanceLogContent;
-import lombok.AllArgsConstructor;
+import tech.powerjob.common.serialize.SerializerUtils;
+import tech.powerjob.common.utils.CompressUtils;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -16,8 +18,44 @@ import java.util.List;
  */
 @Data
 @NoArgsConstructor
-@AllArgsConstructor
 public class WorkerLogReportReq implements PowerSerializable {
     private String workerAddress;
     private List<InstanceLogContent> instanceLogContents;
+    /**
+     * 压缩（GZIP）后的日志内容，worker 开启日志压缩时使用，此时 instanceLogContents 为空
+     * 接收方需先调用 {@link #decompress()} 还原
+     * @since 2026/10/18
+     */
+    private byte[] compressedLogContents;
+
+    public WorkerLogReportReq(String workerAddress, List<InstanceLogContent> instanceLogContents) {
+        this.workerAddress = workerAddress;
+        this.instanceLogContents = instanceLogContents;
+    }
+
+    /**
+     * 构建压缩后的日志上报请求
+     * @param workerAddress worker 地址
+     * @param instanceLogContents 日志内容
+     * @return 日志上报请求
+     */
+    public static WorkerLogReportReq compressed(String workerAddress, List<InstanceLogContent> instanceLogContents) {
+        WorkerLogReportReq req = new WorkerLogReportReq();
+        req.workerAddress = workerAddress;
+        req.compressedLogContents = CompressUtils.gzip(SerializerUtils.serialize(new ArrayList<>(instanceLogContents)));
+        return req;
+    }
+
+    /**
+     * 解压日志内容到 instanceLogContents，未压缩时不做任何处理
+     * @return this
+     */
+    @SuppressWarnings("unchecked")
+    public WorkerLogReportReq decompress() {
+        if (compressedLogContents != null) {
+            instanceLogContents = (List<InstanceLogContent>) SerializerUtils.deSerialized(CompressUtils.ungzip(compressedLogContents));
+            compressedLogContents = null;
+        }
+        return this;
+    }
 }
@@ -0,0 +1,21 @@
+package tech.powerjob.common.request.http;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * 批量查询任务实例请求
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+@Data
+public class BatchFetchInstanceRequest {
+
+    private Long appId;
+    /**
+     * 任务实例 ID 列表
+     */
+    private List<Long> instanceIds;
+}
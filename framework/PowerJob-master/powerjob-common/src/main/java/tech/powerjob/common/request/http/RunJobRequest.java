@@ -0,0 +1,33 @@
+package tech.powerjob.common.request.http;
+
+import lombok.Data;
+import tech.powerjob.common.utils.CommonUtils;
+
+/**
+ * 运行任务请求（批量运行任务时使用）
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+@Data
+public class RunJobRequest {
+
+    private Long appId;
+    /**
+     * 任务 ID
+     */
+    private Long jobId;
+    /**
+     * 实例参数（TaskContext#instanceParams）
+     */
+    private String instanceParams;
+    /**
+     * 延迟时间（毫秒）
+     */
+    private Long delay;
+
+    public void valid() {
+        CommonUtils.requireNonNull(this.appId, "appId can't be empty");
+        CommonUtils.requireNonNull(this.jobId, "jobId can't be empty");
+    }
+}
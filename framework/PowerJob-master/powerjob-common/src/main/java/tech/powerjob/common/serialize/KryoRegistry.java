@@ -0,0 +1,95 @@
+package tech.powerjob.common.serialize;
+
+import com.esotericsoftware.kryo.kryo5.Kryo;
+import com.google.common.collect.ImmutableMap;
+import lombok.extern.slf4j.Slf4j;
+import tech.powerjob.common.model.DeployedContainerInfo;
+import tech.powerjob.common.model.InstanceDetail;
+import tech.powerjob.common.model.InstanceLogContent;
+import tech.powerjob.common.model.SystemMetrics;
+import tech.powerjob.common.request.*;
+import tech.powerjob.common.response.AskResponse;
+
+import java.util.*;
+
+/**
+ * Kryo 类注册表，注册后的类在序列化结果中只写入 ID，不再写入完整类名
+ * ID 必须在所有节点上保持一致，因此本表只允许追加，禁止修改或删除已有条目（废弃的类保留 ID 即可）
+ * 未注册的类依然按类名序列化，因此不要求注册全部消息类型
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+@Slf4j
+public class KryoRegistry {
+
+    /**
+     * 起始 ID，避开 Kryo 内置的基本类型注册
+     */
+    private static final int BASE_ID = 100;
+
+    /**
+     * powerjob-common 中的类，ID -> 类
+     */
+    private static final Map<Integer, Class<?>> COMMON_CLASSES = ImmutableMap.<Integer, Class<?>>builder()
+            // JDK
+            .put(BASE_ID, byte[].class)
+            .put(BASE_ID + 1, ArrayList.class)
+            .put(BASE_ID + 2, LinkedList.class)
+            .put(BASE_ID + 3, HashMap.class)
+            .put(BASE_ID + 4, LinkedHashMap.class)
+            .put(BASE_ID + 5, HashSet.class)
+            .put(BASE_ID + 6, Date.class)
+            // tech.powerjob.common.request
+            .put(BASE_ID + 20, ServerDeployContainerRequest.class)
+            .put(BASE_ID + 21, ServerDestroyContainerRequest.class)
+            .put(BASE_ID + 22, ServerQueryInstanceStatusReq.class)
+            .put(BASE_ID + 23, ServerScheduleJobReq.class)
+            .put(BASE_ID + 24, ServerStopInstanceReq.class)
+            .put(BASE_ID + 25, TaskTrackerReportInstanceStatusReq.class)
+            .put(BASE_ID + 26, WorkerHeartbeat.class)
+            .put(BASE_ID + 27, WorkerLogReportReq.class)
+            .put(BASE_ID + 28, WorkerNeedDeployContainerRequest.class)
+            .put(BASE_ID + 29, WorkerQueryExecutorClusterReq.class)
+            // tech.powerjob.common.model & response
+            .put(BASE_ID + 50, AskResponse.class)
+            .put(BASE_ID + 51, DeployedContainerInfo.class)
+            .put(BASE_ID + 52, InstanceDetail.class)
+            .put(BASE_ID + 53, InstanceLogContent.class)
+            .put(BASE_ID + 54, SystemMetrics.class)
+            .build();
+
+    /**
+     * 其他模块（worker 内部通讯）中的类，ID -> 类名，运行时不存在的类（比如 server 端）自动跳过
+     */
+    private static final Map<Integer, String> OPTIONAL_CLASSES = ImmutableMap.<Integer, String>builder()
+            .put(BASE_ID + 100, "tech.powerjob.worker.pojo.model.InstanceInfo")
+            .put(BASE_ID + 101, "tech.powerjob.worker.pojo.request.TaskTrackerStartTaskReq")
+            .put(BASE_ID + 102, "tech.powerjob.worker.pojo.request.TaskTrackerStartTaskBatchReq")
+            .put(BASE_ID + 103, "tech.powerjob.worker.pojo.request.TaskTrackerStartTaskBatchReq$TaskInfo")
+            .put(BASE_ID + 104, "tech.powerjob.worker.pojo.request.TaskTrackerStopInstanceReq")
+            .put(BASE_ID + 105, "tech.powerjob.worker.pojo.request.ProcessorReportTaskStatusReq")
+            .put(BASE_ID + 106, "tech.powerjob.worker.pojo.request.ProcessorReportTaskStatusBatchReq")
+            .put(BASE_ID + 107, "tech.powerjob.worker.pojo.request.ProcessorTrackerStatusReportReq")
+            .put(BASE_ID + 108, "tech.powerjob.worker.pojo.request.ProcessorMapTaskRequest")
+            .put(BASE_ID + 109, "tech.powerjob.worker.pojo.request.ProcessorMapTaskRequest$SubTask")
+            .build();
+
+    private KryoRegistry() {
+    }
+
+    /**
+     * 按注册表为 Kryo 实例注册类
+     * @param kryo Kryo 实例
+     */
+    public static void registerAll(Kryo kryo) {
+        COMMON_CLASSES.forEach((id, clz) -> kryo.register(clz, id));
+        OPTIONAL_CLASSES.forEach((id, className) -> {
+            try {
+                kryo.register(Class.forName(className, false, KryoRegistry.class.getClassLoader()), id);
+            } catch (ClassNotFoundException ignore) {
+                log.debug("[KryoRegistry] skip unavailable class: {}", className);
+            }
+        });
+    }
+}
@@ -0,0 +1,33 @@
+package tech.powerjob.common.serialize;
+
+import akka.serialization.JSerializer;
+
+/**
+ * Custom serializer for akka-remote based on {@link RegisteredSerializerUtils}, enabled by {@link tech.powerjob.common.PowerJobDKey#REGISTERED_SERIALIZER}
+ * Messages carry the identifier of the serializer, so a node can receive messages of both serializers as long as both are declared.
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+public class PowerAkkaRegisteredSerializer extends JSerializer {
+
+    @Override
+    public Object fromBinaryJava(byte[] bytes, Class<?> manifest) {
+        return RegisteredSerializerUtils.deSerialized(bytes);
+    }
+
+    @Override
+    public int identifier() {
+        return 277778;
+    }
+
+    @Override
+    public byte[] toBinary(Object o) {
+        return RegisteredSerializerUtils.serialize(o);
+    }
+
+    @Override
+    public boolean includeManifest() {
+        return false;
+    }
+}
@@ -0,0 +1,77 @@
+package tech.powerjob.common.serialize;
+
+import com.esotericsoftware.kryo.kryo5.Kryo;
+import com.esotericsoftware.kryo.kryo5.io.Input;
+import com.esotericsoftware.kryo.kryo5.io.Output;
+import com.esotericsoftware.kryo.kryo5.serializers.CompatibleFieldSerializer;
+
+/**
+ * 基于类注册表的序列化器，与 {@link SerializerUtils} 相比：
+ * 1. 已注册的类只写入 ID（见 {@link KryoRegistry}），不再在每条消息中写入完整类名
+ * 2. 每个线程复用同一个 Output/Input，避免每次序列化都分配缓冲区并反复扩容
+ * 两者的序列化结果互不兼容，只能由同一种序列化器反序列化
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+public class RegisteredSerializerUtils {
+
+    private static final int INITIAL_BUFFER_SIZE = 4096;
+    /**
+     * 超过该大小的缓冲区使用后丢弃，避免偶发的大消息长期占用内存
+     */
+    private static final int MAX_POOLED_BUFFER_SIZE = 1024 * 1024;
+
+    private static final ThreadLocal<Kryo> kryoLocal = ThreadLocal.withInitial(() -> {
+
+        Kryo kryo = new Kryo();
+        // 支持对象循环引用，与 SerializerUtils 保持一致
+        kryo.setReferences(true);
+        // 注册表之外的类依然允许按类名序列化
+        kryo.setRegistrationRequired(false);
+        // 支持删除或者新增字段
+        kryo.setDefaultSerializer(CompatibleFieldSerializer.class);
+        // 设置类加载器为线程上下文类加载器（如果Processor来源于容器，必须使用容器的类加载器，否则妥妥的CNF）
+        kryo.setClassLoader(Thread.currentThread().getContextClassLoader());
+        KryoRegistry.registerAll(kryo);
+
+        return kryo;
+    });
+
+    private static final ThreadLocal<Output> outputLocal = ThreadLocal.withInitial(() -> new Output(INITIAL_BUFFER_SIZE, -1));
+
+    private static final ThreadLocal<Input> inputLocal = ThreadLocal.withInitial(Input::new);
+
+    private RegisteredSerializerUtils() {
+    }
+
+    public static byte[] serialize(Object obj) {
+
+        Kryo kryo = kryoLocal.get();
+        Output opt = outputLocal.get();
+        try {
+            kryo.writeClassAndObject(opt, obj);
+            // 复用缓冲区，因此必须拷贝出实际写入的部分，不能直接返回 getBuffer() 的引用
+            return opt.toBytes();
+        } finally {
+            if (opt.getBuffer().length > MAX_POOLED_BUFFER_SIZE) {
+                outputLocal.remove();
+            } else {
+                opt.reset();
+            }
+        }
+    }
+
+    public static Object deSerialized(byte[] buffer) {
+        Kryo kryo = kryoLocal.get();
+        Input input = inputLocal.get();
+        input.setBuffer(buffer);
+        try {
+            return kryo.readClassAndObject(input);
+        } finally {
+            // 释放对消息字节数组的引用
+            input.setBuffer(new byte[0]);
+        }
+    }
+
+}
@@ -0,0 +1,47 @@
+package tech.powerjob.common.utils;
+
+import tech.powerjob.common.exception.PowerJobException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 压缩工具类（GZIP）
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+public class CompressUtils {
+
+    private static final int BUFFER_SIZE = 4096;
+
+    private CompressUtils() {
+    }
+
+    public static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream gos = new GZIPOutputStream(bos)) {
+            gos.write(data);
+        } catch (IOException e) {
+            throw new PowerJobException("gzip failed", e);
+        }
+        return bos.toByteArray();
+    }
+
+    public static byte[] ungzip(byte[] data) {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream(data.length * 4);
+        try (GZIPInputStream gis = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            byte[] buffer = new byte[BUFFER_SIZE];
+            int len;
+            while ((len = gis.read(buffer)) != -1) {
+                bos.write(buffer, 0, len);
+            }
+        } catch (IOException e) {
+            throw new PowerJobException("ungzip failed", e);
+        }
+        return bos.toByteArray();
+    }
+}
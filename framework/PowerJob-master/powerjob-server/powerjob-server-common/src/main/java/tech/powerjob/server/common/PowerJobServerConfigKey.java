@@ -24,6 +24,67 @@ public class PowerJobServerConfigKey {
      * 是否使用 mongoDB
      */
     public static final String MONGODB_ENABLE = "oms.mongodb.enable";
+    /**
+     * 延迟调度日志大小（字节），server 重启后回放日志重建时间轮（需要启动流程调用 InstanceTimeWheelService#recover），0 代表关闭，默认关闭（JVM 参数）
+     */
+    public static final String SCHEDULE_LOG_SIZE = "oms.schedule-log.size";
+    /**
+     * 是否使用内存触发索引代替调度时的数据库范围查询，默认开启
+     */
+    public static final String TRIGGER_INDEX_ENABLE = "oms.trigger-index.enable";
+    /**
+     * 触发索引与数据库全量对账的间隔（毫秒），默认 60000
+     */
+    public static final String TRIGGER_INDEX_RECONCILE_INTERVAL = "oms.trigger-index.reconcile-interval";
+    /**
+     * 分布式锁实现，db（默认，基于唯一索引）或 lease（租约锁，带防护令牌）
+     */
+    public static final String LOCK_TYPE = "oms.lock.type";
+    /**
+     * 租约锁的租约时长（毫秒），持有期间自动批量续期，默认 10000
+     */
+    public static final String LOCK_LEASE = "oms.lock.lease-ms";
+    /**
+     * 租约锁获取耗时超过该阈值（毫秒）时上报慢锁事件，默认 100
+     */
+    public static final String LOCK_SLOW_THRESHOLD = "oms.lock.slow-threshold-ms";
+    /**
+     * 任务实例状态合并写入的时间窗口（毫秒），窗口内同一实例的多次上报只写入最后一次，小于等于 0 时逐条写入，默认 1000
+     */
+    public static final String INSTANCE_STATUS_FLUSH_INTERVAL = "oms.instance.status-flush-interval-ms";
+    /**
+     * HTTP 通讯时每个 worker 地址的最大连接数，默认 8
+     */
+    public static final String HTTP_TRANSPORT_MAX_POOL_SIZE = "oms.transporter.http.max-pool-size";
+    /**
+     * HTTP 通讯是否启用管线化（同一连接上连续发送请求，无需等待响应），需要 worker 及中间代理支持，默认关闭
+     * 发往同一 worker 的并发 tell 只有在开启管线化或 HTTP/2 时才会合并到同一连接上连续写出，关闭时逐个请求收发
+     */
+    public static final String HTTP_TRANSPORT_PIPELINING = "oms.transporter.http.pipelining";
+    /**
+     * HTTP 通讯是否使用 HTTP/2（h2c prior knowledge，需要 worker 端支持），默认关闭
+     */
+    public static final String HTTP_TRANSPORT_HTTP2 = "oms.transporter.http.http2";
+    /**
+     * 监控事件异步投递队列的容量，队列满时丢弃事件，默认 8192
+     */
+    public static final String MONITOR_QUEUE_SIZE = "oms.monitor.queue-size";
+    /**
+     * 监控指标（worker 等维度）超过该时长（毫秒）未更新时不再输出，默认 600000
+     */
+    public static final String MONITOR_METRICS_EXPIRE = "oms.monitor.metrics.expire-ms";
+    /**
+     * 历史数据清理时每个分块的 ID 跨度，每个分块一条 DELETE 语句，默认 1000
+     */
+    public static final String PURGE_CHUNK_SIZE = "oms.purge.chunk-size";
+    /**
+     * 历史数据清理时两个分块之间的间隔（毫秒），用于限制对数据库的压力，默认 100
+     */
+    public static final String PURGE_CHUNK_INTERVAL = "oms.purge.chunk-interval-ms";
+    /**
+     * 历史数据删除前是否按天归档为本地压缩文件，默认关闭
+     */
+    public static final String PURGE_ARCHIVE_ENABLE = "oms.purge.archive.enable";
     /**
      * 是否启用 Swagger-UI，默认关闭
      */
@@ -18,11 +18,13 @@ import java.util.function.Consumer;
  * 时间轮定时器
  * 支持的最小精度：1ms（Thread.sleep本身不精确导致精度没法提高）
  * 最小误差：1ms，理由同上
+ * 已被 {@link HierarchicalWheelTimer} 取代：本实现每 tick 唤醒一次指针线程，且取消任务需要遍历时间格
  *
  * @author tjq
  * @since 2020/4/2
  */
 @Slf4j
+@Deprecated
 public class HashedWheelTimer implements Timer {
 
     private final long tickDuration;
@@ -0,0 +1,448 @@
+package tech.powerjob.server.common.timewheel;
+
+import com.google.common.collect.Queues;
+import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.extern.slf4j.Slf4j;
+import tech.powerjob.common.utils.CommonUtils;
+import tech.powerjob.server.common.RejectedExecutionHandlerFactory;
+
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * 多层时间轮定时器
+ * 第一层时间轮每格 tickDuration，超出当前层范围的任务放入上一层（每格为下层一整圈）溢出时间轮，到期前逐层降级，任意延迟都不需要额外的慢速时间轮
+ * 与 {@link HashedWheelTimer} 的区别：
+ * 1. 指针线程不再每个 tick 醒来，而是休眠到最近一个非空时间格到期（或被更早到期的新任务唤醒），空闲时几乎不消耗 CPU
+ * 2. 新任务与取消请求通过无锁队列（多生产者、单消费者）交给指针线程，时间格只由指针线程访问，不需要加锁
+ * 3. 时间格为侵入式双向链表，取消任务 O(1)
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+@Slf4j
+public class HierarchicalWheelTimer implements Timer {
+
+    private final long tickDuration;
+    private final int ticksPerWheel;
+
+    /**
+     * 启动时间（纳秒），内部时间均为相对该时间的毫秒数，不受系统时钟回拨影响
+     */
+    private final long startNanos;
+
+    private final Queue<WheelTimerFuture> waitingTasks = new ConcurrentLinkedQueue<>();
+    private final Queue<WheelTimerFuture> canceledTasks = new ConcurrentLinkedQueue<>();
+
+    private final ExecutorService taskProcessPool;
+
+    private final Thread indicatorThread;
+    private volatile boolean stopped;
+    /**
+     * 指针线程的休眠截止时间，0 代表未休眠；新任务早于该时间到期时需要唤醒指针线程
+     */
+    private volatile long wakeupTime;
+
+    /**
+     * 以下字段只由指针线程访问
+     */
+    private final TimingWheel rootWheel;
+    private final PriorityQueue<WheelBucket> bucketQueue = new PriorityQueue<>();
+
+    private static final AtomicLongFieldUpdater<HierarchicalWheelTimer> WAKEUP_TIME_UPDATER = AtomicLongFieldUpdater.newUpdater(HierarchicalWheelTimer.class, "wakeupTime");
+    private static final AtomicIntegerFieldUpdater<WheelTimerFuture> STATUS_UPDATER = AtomicIntegerFieldUpdater.newUpdater(WheelTimerFuture.class, "status");
+
+    /**
+     * 没有任何任务时的最长休眠时间
+     */
+    private static final long MAX_IDLE_MS = 1000;
+
+    public HierarchicalWheelTimer(long tickDuration, int ticksPerWheel) {
+        this(tickDuration, ticksPerWheel, 0);
+    }
+
+    /**
+     * 新建多层时间轮定时器
+     * @param tickDuration 第一层时间轮的时间间隔，单位毫秒（ms）
+     * @param ticksPerWheel 每层时间轮的格数
+     * @param processThreadNum 处理任务的线程个数，0代表不启用新线程（如果定时任务需要耗时操作，请启用线程池）
+     */
+    public HierarchicalWheelTimer(long tickDuration, int ticksPerWheel, int processThreadNum) {
+
+        this.tickDuration = Math.max(1, tickDuration);
+        this.ticksPerWheel = CommonUtils.formatSize(ticksPerWheel);
+
+        if (processThreadNum <= 0) {
+            taskProcessPool = null;
+        } else {
+            ThreadFactory threadFactory = new ThreadFactoryBuilder().setNameFormat("HierarchicalWheelTimer-Executor-%d").build();
+            BlockingQueue<Runnable> queue = Queues.newLinkedBlockingQueue(16);
+            int core = Math.max(Runtime.getRuntime().availableProcessors(), processThreadNum);
+            taskProcessPool = new ThreadPoolExecutor(core, 4 * core,
+                    60, TimeUnit.SECONDS,
+                    queue, threadFactory, RejectedExecutionHandlerFactory.newCallerRun("PowerJobHierarchicalWheelPool"));
+        }
+
+        startNanos = System.nanoTime();
+        rootWheel = new TimingWheel(this.tickDuration, 0, true);
+
+        indicatorThread = new Thread(new Indicator(), "HierarchicalWheelTimer-Indicator");
+        indicatorThread.setDaemon(true);
+        indicatorThread.start();
+    }
+
+    @Override
+    public TimerFuture schedule(TimerTask task, long delay, TimeUnit unit) {
+
+        long delayMs = unit.toMillis(delay);
+        WheelTimerFuture timerFuture = new WheelTimerFuture(task, currentTime() + delayMs);
+
+        // 直接运行到期、过期任务
+        if (delayMs <= 0) {
+            runTask(timerFuture);
+            return timerFuture;
+        }
+
+        waitingTasks.offer(timerFuture);
+        // 指针线程休眠到新任务的到期时间之后，需要提前唤醒（CAS 保证每次休眠最多只唤醒一次）
+        long currentWakeupTime = wakeupTime;
+        if (timerFuture.expiration < currentWakeupTime && WAKEUP_TIME_UPDATER.compareAndSet(this, currentWakeupTime, 0)) {
+            LockSupport.unpark(indicatorThread);
+        }
+        return timerFuture;
+    }
+
+    @Override
+    public Set<TimerTask> stop() {
+        stopped = true;
+        LockSupport.unpark(indicatorThread);
+        try {
+            indicatorThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (taskProcessPool != null) {
+            taskProcessPool.shutdown();
+            while (!taskProcessPool.isTerminated()) {
+                try {
+                    Thread.sleep(100);
+                } catch (Exception ignore) {
+                }
+            }
+        }
+
+        Set<TimerTask> tasks = Sets.newHashSet();
+        Consumer<WheelTimerFuture> consumer = timerFuture -> {
+            if (timerFuture.status == WheelTimerFuture.WAITING) {
+                tasks.add(timerFuture.timerTask);
+            }
+        };
+        waitingTasks.forEach(consumer);
+        for (TimingWheel wheel = rootWheel; wheel != null; wheel = wheel.overflowWheel) {
+            for (WheelBucket bucket : wheel.buckets) {
+                bucket.forEach(consumer);
+            }
+        }
+        return tasks;
+    }
+
+    private long currentTime() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+    }
+
+    private void runTask(WheelTimerFuture timerFuture) {
+        if (!STATUS_UPDATER.compareAndSet(timerFuture, WheelTimerFuture.WAITING, WheelTimerFuture.RUNNING)) {
+            // 已被取消
+            return;
+        }
+        if (taskProcessPool == null) {
+            timerFuture.run();
+        } else {
+            taskProcessPool.execute(timerFuture::run);
+        }
+    }
+
+    /**
+     * 包装 TimerTask，同时作为时间格双向链表的节点
+     */
+    private final class WheelTimerFuture implements TimerFuture {
+
+        // 预期执行时间（相对启动时间的毫秒数）
+        private final long expiration;
+        private final TimerTask timerTask;
+
+        // 当前状态 0 - 初始化等待中，1 - 运行中，2 - 完成，3 - 已取消（包级可见，供 STATUS_UPDATER 访问）
+        volatile int status;
+
+        // 链表节点，只由指针线程访问
+        private WheelBucket bucket;
+        private WheelTimerFuture prev;
+        private WheelTimerFuture next;
+
+        // 状态枚举值
+        private static final int WAITING = 0;
+        private static final int RUNNING = 1;
+        private static final int FINISHED = 2;
+        private static final int CANCELED = 3;
+
+        WheelTimerFuture(TimerTask timerTask, long expiration) {
+            this.expiration = expiration;
+            this.timerTask = timerTask;
+            this.status = WAITING;
+        }
+
+        void run() {
+            try {
+                timerTask.run();
+            } catch (Throwable t) {
+                log.warn("[HierarchicalWheelTimer] run timer task failed.", t);
+            } finally {
+                status = FINISHED;
+            }
+        }
+
+        @Override
+        public TimerTask getTask() {
+            return timerTask;
+        }
+
+        @Override
+        public boolean cancel() {
+            if (STATUS_UPDATER.compareAndSet(this, WAITING, CANCELED)) {
+                // 由指针线程从时间格中摘除
+                canceledTasks.offer(this);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return status == CANCELED;
+        }
+
+        @Override
+        public boolean isDone() {
+            return status == FINISHED;
+        }
+    }
+
+    /**
+     * 时间格，侵入式双向链表（带哨兵节点），只由指针线程访问
+     */
+    private final class WheelBucket implements Comparable<WheelBucket> {
+
+        private final WheelTimerFuture root = new WheelTimerFuture(null, -1);
+        // 是否属于第一层时间轮
+        private final boolean rootWheelBucket;
+        // 时间格到期时间，-1 代表时间格为空且不在 bucketQueue 中
+        private long expiration = -1;
+
+        WheelBucket(boolean rootWheelBucket) {
+            this.rootWheelBucket = rootWheelBucket;
+            root.prev = root;
+            root.next = root;
+        }
+
+        void add(WheelTimerFuture timerFuture) {
+            WheelTimerFuture tail = root.prev;
+            timerFuture.next = root;
+            timerFuture.prev = tail;
+            timerFuture.bucket = this;
+            tail.next = timerFuture;
+            root.prev = timerFuture;
+        }
+
+        void remove(WheelTimerFuture timerFuture) {
+            if (timerFuture.bucket != this) {
+                return;
+            }
+            timerFuture.next.prev = timerFuture.prev;
+            timerFuture.prev.next = timerFuture.next;
+            timerFuture.next = null;
+            timerFuture.prev = null;
+            timerFuture.bucket = null;
+        }
+
+        /**
+         * 取出全部任务并重置到期时间
+         */
+        void flush(Consumer<WheelTimerFuture> consumer) {
+            WheelTimerFuture head = root.next;
+            while (head != root) {
+                WheelTimerFuture next = head.next;
+                remove(head);
+                consumer.accept(head);
+                head = next;
+            }
+            expiration = -1;
+        }
+
+        void forEach(Consumer<WheelTimerFuture> consumer) {
+            for (WheelTimerFuture cur = root.next; cur != root; cur = cur.next) {
+                consumer.accept(cur);
+            }
+        }
+
+        /**
+         * @return 到期时间是否发生变化（发生变化时需要重新放入 bucketQueue）
+         */
+        boolean setExpiration(long newExpiration) {
+            if (expiration == newExpiration) {
+                return false;
+            }
+            expiration = newExpiration;
+            return true;
+        }
+
+        /**
+         * 到期时间相同时第一层的时间格优先：先清空第一层该格，溢出时间格降级时推进第一层指针才不会与之冲突
+         */
+        @Override
+        public int compareTo(WheelBucket o) {
+            int ret = Long.compare(expiration, o.expiration);
+            return ret != 0 ? ret : Boolean.compare(o.rootWheelBucket, rootWheelBucket);
+        }
+    }
+
+    /**
+     * 一层时间轮，溢出时间轮的每格为本层一整圈，按需创建
+     * 第一层的时间格在该格结束时到期，此时格内任务均已到期，任务不会被提前执行（最多延后一个 tick）；
+     * 溢出时间轮的时间格在该格开始时到期，格内任务降级到下层时间轮
+     */
+    private final class TimingWheel {
+
+        private final long tick;
+        private final long interval;
+        private final boolean root;
+        private final WheelBucket[] buckets;
+        // 本层指针指向的时间，为 tick 的整数倍
+        private long currentTime;
+        private TimingWheel overflowWheel;
+
+        TimingWheel(long tick, long startTime, boolean root) {
+            this.tick = tick;
+            this.root = root;
+            this.interval = tick > Long.MAX_VALUE / ticksPerWheel ? Long.MAX_VALUE : tick * ticksPerWheel;
+            this.currentTime = startTime - startTime % tick;
+            this.buckets = new WheelBucket[ticksPerWheel];
+            for (int i = 0; i < ticksPerWheel; i++) {
+                buckets[i] = new WheelBucket(root);
+            }
+        }
+
+        /**
+         * 放入时间轮
+         * @param now 当前时间
+         * @return false 代表任务已到期，需要立即执行
+         */
+        boolean add(WheelTimerFuture timerFuture, long now) {
+            long expiration = timerFuture.expiration;
+            if (expiration <= now) {
+                return false;
+            }
+            if (expiration - currentTime < interval) {
+                long virtualId = expiration / tick;
+                WheelBucket bucket = buckets[(int) (virtualId & (ticksPerWheel - 1))];
+                bucket.add(timerFuture);
+                if (bucket.setExpiration(root ? (virtualId + 1) * tick : virtualId * tick)) {
+                    bucketQueue.offer(bucket);
+                }
+                return true;
+            }
+            if (overflowWheel == null) {
+                overflowWheel = new TimingWheel(interval, currentTime, false);
+            }
+            return overflowWheel.add(timerFuture, now);
+        }
+
+        void advanceClock(long time) {
+            if (time >= currentTime + tick) {
+                currentTime = time - time % tick;
+                if (overflowWheel != null) {
+                    overflowWheel.advanceClock(currentTime);
+                }
+            }
+        }
+    }
+
+    /**
+     * 指针线程
+     */
+    private class Indicator implements Runnable {
+
+        @Override
+        public void run() {
+            while (!stopped) {
+                try {
+                    // 1. 处理取消的任务
+                    processCanceledTasks();
+                    // 2. 将队列中的任务推入时间轮
+                    pushTaskToBucket();
+                    // 3. 处理到期的时间格，上层时间格中的任务重新放入时间轮即完成降级
+                    WheelBucket bucket = bucketQueue.peek();
+                    long now = currentTime();
+                    if (bucket != null && bucket.expiration <= now) {
+                        bucketQueue.poll();
+                        rootWheel.advanceClock(bucket.expiration);
+                        bucket.flush(timerFuture -> addOrRun(timerFuture, now));
+                        continue;
+                    }
+                    // 4. 休眠到下一个时间格到期
+                    park(bucket == null ? now + MAX_IDLE_MS : bucket.expiration, now);
+                } catch (Throwable t) {
+                    log.error("[HierarchicalWheelTimer] indicator run failed.", t);
+                }
+            }
+        }
+
+        private void park(long deadline, long now) {
+            wakeupTime = deadline;
+            // 发布休眠时间后再检查一次，避免与 schedule 并发时丢失唤醒
+            if (waitingTasks.isEmpty() && !stopped) {
+                LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(deadline - now));
+            }
+            wakeupTime = 0;
+        }
+
+        private void addOrRun(WheelTimerFuture timerFuture, long now) {
+            if (timerFuture.status != WheelTimerFuture.WAITING) {
+                return;
+            }
+            if (!rootWheel.add(timerFuture, now)) {
+                runTask(timerFuture);
+            }
+        }
+
+        private void processCanceledTasks() {
+            while (true) {
+                WheelTimerFuture canceledTask = canceledTasks.poll();
+                if (canceledTask == null) {
+                    return;
+                }
+                // bucket 为 null 说明还没被推入时间格中，推入时会跳过
+                if (canceledTask.bucket != null) {
+                    canceledTask.bucket.remove(canceledTask);
+                }
+            }
+        }
+
+        private void pushTaskToBucket() {
+            long now = currentTime();
+            while (true) {
+                WheelTimerFuture timerFuture = waitingTasks.poll();
+                if (timerFuture == null) {
+                    return;
+                }
+                addOrRun(timerFuture, now);
+            }
+        }
+    }
+}
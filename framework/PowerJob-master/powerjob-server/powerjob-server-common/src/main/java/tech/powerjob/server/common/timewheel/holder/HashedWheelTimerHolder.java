@@ -1,6 +1,6 @@
 package tech.powerjob.server.common.timewheel.holder;
 
-import tech.powerjob.server.common.timewheel.HashedWheelTimer;
+import tech.powerjob.server.common.timewheel.HierarchicalWheelTimer;
 import tech.powerjob.server.common.timewheel.Timer;
 
 /**
@@ -12,7 +12,7 @@ import tech.powerjob.server.common.timewheel.Timer;
 public class HashedWheelTimerHolder {
 
     // 非精确时间轮，每 5S 走一格
-    public static final Timer INACCURATE_TIMER = new HashedWheelTimer(5000, 16, 0);
+    public static final Timer INACCURATE_TIMER = new HierarchicalWheelTimer(5000, 16, 0);
 
     private HashedWheelTimerHolder() {
     }
@@ -0,0 +1,235 @@
+package tech.powerjob.server.common.timewheel.holder;
+
+import com.google.common.collect.Maps;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FileUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * 延迟调度日志，记录时间轮中待触发的任务实例，server 重启后回放以重建时间轮，无需全表扫描
+ * 单个固定大小的内存映射文件，结构为 [writePos(4)][record...]，record 固定为 [type(1)][uniqueId(8)][triggerTime(8)]
+ * 同一 uniqueId 重复记录时以最后一次为准，完成记录携带触发时间，只移除触发时间一致的记录，旧调度的完成不会误删新调度
+ * 只追加写入；写满时将仍在等待的记录写入临时文件后原子替换原文件，压缩过程中任意时刻崩溃，回放结果都不会丢失等待中的记录
+ * 写入内存映射区域即返回（进程崩溃不丢失，操作系统崩溃可能丢失最近的写入），回放结果需要由调用方结合数据库状态确认
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+@Slf4j
+class InstanceScheduleLog {
+
+    private static final int HEADER_SIZE = 4;
+    private static final int RECORD_SIZE = 17;
+
+    private static final byte TYPE_ADD = 1;
+    private static final byte TYPE_DONE = 2;
+
+    private static final String COMPACT_SUFFIX = ".compact";
+
+    private final Path path;
+    private final int capacity;
+
+    private FileChannel channel;
+    private FileLock fileLock;
+    private MappedByteBuffer buffer;
+
+    private int writePos;
+    /**
+     * 等待触发的记录，uniqueId -> 预期触发时间，用于压缩
+     */
+    private final Map<Long, Long> pending = Maps.newHashMap();
+
+    /**
+     * 打开（不存在则创建）调度日志
+     * @param path 文件路径
+     * @param capacity 文件大小（字节）
+     * @throws IOException 文件无法打开或已被其他 server 进程占用
+     */
+    InstanceScheduleLog(String path, int capacity) throws IOException {
+        File file = new File(path);
+        FileUtils.forceMkdirParent(file);
+        this.path = file.toPath();
+        this.capacity = capacity;
+        this.channel = FileChannel.open(this.path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        // 同一台机器上部署多个 server 时只有一个能使用调度日志
+        this.fileLock = channel.tryLock();
+        if (fileLock == null) {
+            channel.close();
+            throw new IOException("schedule log is used by another process: " + file.getAbsolutePath());
+        }
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+        // 上次压缩中途崩溃时遗留的临时文件，原文件仍是完整的
+        Files.deleteIfExists(compactPath());
+
+        int lastWritePos = buffer.getInt(0);
+        if (lastWritePos >= HEADER_SIZE && lastWritePos <= capacity && (lastWritePos - HEADER_SIZE) % RECORD_SIZE == 0) {
+            writePos = lastWritePos;
+            load();
+        } else {
+            writePos = HEADER_SIZE;
+            buffer.putInt(0, writePos);
+        }
+        log.info("[InstanceScheduleLog] open schedule log successfully, path: {}, capacity: {}, pending: {}.", file.getAbsolutePath(), capacity, pending.size());
+    }
+
+    /**
+     * @return 回放得到的等待触发的记录，uniqueId -> 预期触发时间
+     */
+    synchronized Map<Long, Long> pending() {
+        return Collections.unmodifiableMap(Maps.newHashMap(pending));
+    }
+
+    /**
+     * 记录新的延迟调度，uniqueId 已存在时替换旧记录
+     * @return 日志已满且无法压缩时返回 false
+     */
+    synchronized boolean add(long uniqueId, long triggerTime) {
+        if (!ensureCapacity()) {
+            return false;
+        }
+        append(TYPE_ADD, uniqueId, triggerTime);
+        pending.put(uniqueId, triggerTime);
+        return true;
+    }
+
+    /**
+     * 记录延迟调度已触发或已取消
+     * @param triggerTime 记录时的预期触发时间，与当前记录不一致（已被重新调度）时忽略
+     */
+    synchronized void done(long uniqueId, long triggerTime) {
+        if (!pending.remove(uniqueId, triggerTime)) {
+            return;
+        }
+        if (ensureCapacity()) {
+            append(TYPE_DONE, uniqueId, triggerTime);
+        }
+    }
+
+    /**
+     * 丢弃全部记录（包括上次运行遗留的记录）
+     */
+    synchronized void clear() {
+        pending.clear();
+        writePos = HEADER_SIZE;
+        buffer.putInt(0, writePos);
+    }
+
+    synchronized void close() {
+        try {
+            buffer.force();
+            fileLock.release();
+            channel.close();
+        } catch (IOException e) {
+            log.warn("[InstanceScheduleLog] close schedule log failed.", e);
+        }
+    }
+
+    private void load() {
+        for (int pos = HEADER_SIZE; pos < writePos; pos += RECORD_SIZE) {
+            byte type = buffer.get(pos);
+            long uniqueId = buffer.getLong(pos + 1);
+            if (type == TYPE_ADD) {
+                pending.put(uniqueId, buffer.getLong(pos + 9));
+            } else if (type == TYPE_DONE) {
+                pending.remove(uniqueId, buffer.getLong(pos + 9));
+            } else {
+                log.warn("[InstanceScheduleLog] schedule log is corrupted at position {}, ignore the remaining records.", pos);
+                writePos = pos;
+                buffer.putInt(0, writePos);
+                return;
+            }
+        }
+    }
+
+    private void append(byte type, long uniqueId, long triggerTime) {
+        writeRecord(buffer, writePos, type, uniqueId, triggerTime);
+        writePos += RECORD_SIZE;
+        // 记录写完后再更新写指针，崩溃时最多丢失最后一条记录
+        buffer.putInt(0, writePos);
+    }
+
+    private static void writeRecord(MappedByteBuffer target, int pos, byte type, long uniqueId, long triggerTime) {
+        target.put(pos, type);
+        target.putLong(pos + 1, uniqueId);
+        target.putLong(pos + 9, triggerTime);
+    }
+
+    /**
+     * 空间不足时压缩：只保留等待触发的记录
+     */
+    private boolean ensureCapacity() {
+        if (writePos + RECORD_SIZE <= capacity) {
+            return true;
+        }
+        if (HEADER_SIZE + (long) (pending.size() + 1) * RECORD_SIZE > capacity) {
+            log.warn("[InstanceScheduleLog] schedule log is full, pending: {}, new schedules will not be recorded.", pending.size());
+            return false;
+        }
+        try {
+            compact();
+        } catch (IOException e) {
+            log.warn("[InstanceScheduleLog] compact schedule log failed, pending: {}, new schedules will not be recorded.", pending.size(), e);
+            return false;
+        }
+        log.info("[InstanceScheduleLog] compact schedule log successfully, pending: {}.", pending.size());
+        return true;
+    }
+
+    /**
+     * 等待中的记录先完整写入临时文件并落盘，再原子替换原文件，替换前崩溃回放的是原文件，替换后崩溃回放的是压缩后的文件
+     * 临时文件在替换前就已加锁，替换后锁随文件一起生效，其他 server 进程无法在替换的间隙占用调度日志
+     */
+    private void compact() throws IOException {
+        Path compactPath = compactPath();
+        FileChannel newChannel = FileChannel.open(compactPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        try {
+            FileLock newLock = newChannel.tryLock();
+            if (newLock == null) {
+                throw new IOException("compact file is used by another process: " + compactPath);
+            }
+            MappedByteBuffer newBuffer = newChannel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+            int pos = HEADER_SIZE;
+            for (Map.Entry<Long, Long> entry : pending.entrySet()) {
+                writeRecord(newBuffer, pos, TYPE_ADD, entry.getKey(), entry.getValue());
+                pos += RECORD_SIZE;
+            }
+            newBuffer.putInt(0, pos);
+            newBuffer.force();
+            Files.move(compactPath, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            FileChannel oldChannel = channel;
+            FileLock oldLock = fileLock;
+            channel = newChannel;
+            fileLock = newLock;
+            buffer = newBuffer;
+            writePos = pos;
+            try {
+                oldLock.release();
+                oldChannel.close();
+            } catch (IOException e) {
+                log.warn("[InstanceScheduleLog] close replaced schedule log failed.", e);
+            }
+        } catch (IOException e) {
+            if (newChannel != channel) {
+                newChannel.close();
+                Files.deleteIfExists(compactPath);
+            }
+            throw e;
+        }
+    }
+
+    private Path compactPath() {
+        return path.resolveSibling(path.getFileName() + COMPACT_SUFFIX);
+    }
+}
@@ -1,33 +1,45 @@
 package tech.powerjob.server.common.timewheel.holder;
 
-import tech.powerjob.server.common.timewheel.HashedWheelTimer;
+import lombok.extern.slf4j.Slf4j;
+import tech.powerjob.server.common.PowerJobServerConfigKey;
+import tech.powerjob.server.common.timewheel.HierarchicalWheelTimer;
 import tech.powerjob.server.common.timewheel.Timer;
 import tech.powerjob.server.common.timewheel.TimerFuture;
 import tech.powerjob.server.common.timewheel.TimerTask;
+import tech.powerjob.server.common.utils.OmsFileUtils;
 import com.google.common.collect.Maps;
 
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
 
 /**
  * 定时调度任务实例
+ * 开启调度日志（{@link PowerJobServerConfigKey#SCHEDULE_LOG_SIZE}）后，延迟超过 MIN_INTERVAL_MS 的调度会记录到本地调度日志中，server 重启后通过 {@link #recover(Function)} 回放重建时间轮
+ * recover 必须在首次 schedule 之前调用，否则上次运行遗留的记录会被直接丢弃，避免其在每次压缩中被保留并跨重启堆积
  *
  * @author tjq
  * @since 2020/7/25
  */
+@Slf4j
 public class InstanceTimeWheelService {
 
     private static final Map<Long, TimerFuture> CARGO = Maps.newConcurrentMap();
 
-    // 精确调度时间轮，每 1MS 走一格
-    private static final Timer TIMER = new HashedWheelTimer(1, 4096, Runtime.getRuntime().availableProcessors() * 4);
-    // 非精确调度时间轮，用于处理高延迟任务，每 10S 走一格
-    private static final Timer SLOW_TIMER = new HashedWheelTimer(10000, 12, 0);
+    // 精确调度时间轮，第一层每 1MS 走一格，更长的延迟由溢出时间轮逐层降级处理
+    private static final Timer TIMER = new HierarchicalWheelTimer(1, 512, Runtime.getRuntime().availableProcessors() * 4);
 
-    // 支持取消的时间间隔，低于该阈值则不会放进 CARGO
+    // 支持取消的时间间隔，低于该阈值则不会放进 CARGO（任务可能在写入 CARGO 前就已执行）
     private static final long MIN_INTERVAL_MS = 1000;
-    // 长延迟阈值
-    private static final long LONG_DELAY_THRESHOLD_MS = 60000;
+
+    // 默认关闭，需要由启动流程调用 recover 回放后才有意义
+    private static final int DEFAULT_SCHEDULE_LOG_SIZE = 0;
+
+    // 延迟调度日志，为 null 代表未开启或初始化失败
+    private static final InstanceScheduleLog SCHEDULE_LOG = initScheduleLog();
+
+    private static final AtomicBoolean RECOVERED = new AtomicBoolean();
 
     /**
      * 定时调度
@@ -36,17 +48,19 @@ public class InstanceTimeWheelService {
      * @param timerTask 需要执行的目标方法
      */
     public static void schedule(Long uniqueId, Long delayMS, TimerTask timerTask) {
-        if (delayMS <= LONG_DELAY_THRESHOLD_MS) {
-            realSchedule(uniqueId, delayMS, timerTask);
-            return;
-        }
-
-        long expectTriggerTime = System.currentTimeMillis() + delayMS;
-        TimerFuture longDelayTask = SLOW_TIMER.schedule(() -> {
+        boolean cancelable = delayMS > MIN_INTERVAL_MS;
+        long triggerTime = System.currentTimeMillis() + delayMS;
+        boolean logged = cancelable && SCHEDULE_LOG != null && addScheduleLog(uniqueId, triggerTime);
+        TimerFuture timerFuture = TIMER.schedule(() -> {
             CARGO.remove(uniqueId);
-            realSchedule(uniqueId, expectTriggerTime - System.currentTimeMillis(), timerTask);
-        }, delayMS - LONG_DELAY_THRESHOLD_MS, TimeUnit.MILLISECONDS);
-        CARGO.put(uniqueId, longDelayTask);
+            if (logged) {
+                SCHEDULE_LOG.done(uniqueId, triggerTime);
+            }
+            timerTask.run();
+        }, delayMS, TimeUnit.MILLISECONDS);
+        if (cancelable) {
+            CARGO.put(uniqueId, logged ? new LoggedTimerFuture(uniqueId, triggerTime, timerFuture) : timerFuture);
+        }
     }
 
     /**
@@ -58,15 +72,116 @@ public class InstanceTimeWheelService {
         return CARGO.get(uniqueId);
     }
 
+    /**
+     * 回放调度日志，将上次运行时尚未触发的调度重新放入时间轮（已过期的立即触发），仅在 server 启动时调用一次
+     * 日志可能包含已由其他途径处理的调度（如压缩或宕机前的最后一次写入），restorer 需要结合数据库状态确认，保证幂等
+     * @param restorer uniqueId -> 需要执行的目标方法，返回 null 代表该调度已无需执行
+     * @return 重新放入时间轮的调度数量
+     */
+    public static synchronized int recover(Function<Long, TimerTask> restorer) {
+        if (SCHEDULE_LOG == null) {
+            return 0;
+        }
+        if (RECOVERED.get()) {
+            log.warn("[InstanceTimeWheelService] recover is called after schedules started, ignore it.");
+            return 0;
+        }
+        RECOVERED.set(true);
+        int recovered = 0;
+        long now = System.currentTimeMillis();
+        for (Map.Entry<Long, Long> entry : SCHEDULE_LOG.pending().entrySet()) {
+            Long uniqueId = entry.getKey();
+            TimerTask timerTask;
+            try {
+                timerTask = restorer.apply(uniqueId);
+            } catch (Exception e) {
+                // 保留日志记录，下次启动时再次尝试
+                log.warn("[InstanceTimeWheelService] restore schedule({}) failed.", uniqueId, e);
+                continue;
+            }
+            if (timerTask == null) {
+                SCHEDULE_LOG.done(uniqueId, entry.getValue());
+                continue;
+            }
+            // schedule 会以新的触发时间替换旧记录
+            schedule(uniqueId, Math.max(0, entry.getValue() - now), timerTask);
+            recovered++;
+        }
+        log.info("[InstanceTimeWheelService] recover {} schedules from schedule log, using {}ms.", recovered, System.currentTimeMillis() - now);
+        return recovered;
+    }
 
-    private static void realSchedule(Long uniqueId, Long delayMS, TimerTask timerTask) {
-        TimerFuture timerFuture = TIMER.schedule(() -> {
-            CARGO.remove(uniqueId);
-            timerTask.run();
-        }, delayMS, TimeUnit.MILLISECONDS);
-        if (delayMS > MIN_INTERVAL_MS) {
-            CARGO.put(uniqueId, timerFuture);
+    /**
+     * 记录到调度日志，未调用 recover 就开始调度时，先丢弃上次运行遗留的记录
+     */
+    private static boolean addScheduleLog(long uniqueId, long triggerTime) {
+        if (!RECOVERED.get()) {
+            synchronized (InstanceTimeWheelService.class) {
+                if (!RECOVERED.get()) {
+                    int discarded = SCHEDULE_LOG.pending().size();
+                    SCHEDULE_LOG.clear();
+                    RECOVERED.set(true);
+                    if (discarded > 0) {
+                        log.warn("[InstanceTimeWheelService] schedule before recover, discard {} schedules of the last run.", discarded);
+                    }
+                }
+            }
+        }
+        return SCHEDULE_LOG.add(uniqueId, triggerTime);
+    }
+
+    private static InstanceScheduleLog initScheduleLog() {
+        int size = Integer.parseInt(System.getProperty(PowerJobServerConfigKey.SCHEDULE_LOG_SIZE, String.valueOf(DEFAULT_SCHEDULE_LOG_SIZE)));
+        if (size <= 0) {
+            return null;
+        }
+        try {
+            InstanceScheduleLog scheduleLog = new InstanceScheduleLog(OmsFileUtils.genScheduleLogPath() + "instance_schedule.log", size);
+            Runtime.getRuntime().addShutdownHook(new Thread(scheduleLog::close, "oms-schedule-log-closer"));
+            return scheduleLog;
+        } catch (Exception e) {
+            log.warn("[InstanceTimeWheelService] init schedule log failed, delayed schedules will not survive restarts.", e);
+            return null;
         }
     }
 
+    /**
+     * 取消时同步记录到调度日志
+     */
+    private static class LoggedTimerFuture implements TimerFuture {
+
+        private final Long uniqueId;
+        private final long triggerTime;
+        private final TimerFuture delegate;
+
+        LoggedTimerFuture(Long uniqueId, long triggerTime, TimerFuture delegate) {
+            this.uniqueId = uniqueId;
+            this.triggerTime = triggerTime;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public TimerTask getTask() {
+            return delegate.getTask();
+        }
+
+        @Override
+        public boolean cancel() {
+            boolean cancelled = delegate.cancel();
+            if (cancelled) {
+                SCHEDULE_LOG.done(uniqueId, triggerTime);
+            }
+            return cancelled;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return delegate.isCancelled();
+        }
+
+        @Override
+        public boolean isDone() {
+            return delegate.isDone();
+        }
+    }
 }
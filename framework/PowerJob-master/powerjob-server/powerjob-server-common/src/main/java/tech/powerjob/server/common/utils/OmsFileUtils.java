@@ -27,6 +27,30 @@ public class OmsFileUtils {
         return COMMON_PATH + "online_log/";
     }
 
+    /**
+     * 获取实例运行日志分段文件的存放路径
+     * @return 实例运行日志分段文件的存放路径
+     */
+    public static String genLogSegmentPath() {
+        return COMMON_PATH + "log_segment/";
+    }
+
+    /**
+     * 获取历史数据归档文件的存放路径
+     * @return 历史数据归档文件的存放路径
+     */
+    public static String genArchivePath() {
+        return COMMON_PATH + "archive/";
+    }
+
+    /**
+     * 获取延迟调度日志的存放路径
+     * @return 延迟调度日志的存放路径
+     */
+    public static String genScheduleLogPath() {
+        return COMMON_PATH + "schedule_log/";
+    }
+
     /**
      * 获取用于构建容器的 jar 文件存放路径
      * @return 路径
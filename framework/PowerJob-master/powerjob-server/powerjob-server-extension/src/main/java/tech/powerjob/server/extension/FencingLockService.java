@@ -0,0 +1,31 @@
+package tech.powerjob.server.extension;
+
+/**
+ * 带防护令牌（fencing token）的锁服务，令牌随每次成功获取锁单调递增
+ * 持锁方在写入共享资源时携带令牌，资源方拒绝小于已见最大令牌的写入，即可避免锁过期后旧持有者的误写
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+public interface FencingLockService extends LockService {
+
+    /**
+     * 未获取到锁
+     */
+    long NO_LOCK = -1;
+
+    /**
+     * 上锁（获取锁），立即返回，不会阻塞等待锁
+     * @param name 锁名称
+     * @param maxLockTime 最长持有锁的时间，单位毫秒（ms）
+     * @return 获取到锁时返回防护令牌，否则返回 {@link #NO_LOCK}
+     */
+    long tryLockWithToken(String name, long maxLockTime);
+
+    /**
+     * 获取当前 server 持有的锁的防护令牌
+     * @param name 锁名称
+     * @return 防护令牌，未持有该锁（或租约已失效）时返回 {@link #NO_LOCK}
+     */
+    long currentToken(String name);
+}
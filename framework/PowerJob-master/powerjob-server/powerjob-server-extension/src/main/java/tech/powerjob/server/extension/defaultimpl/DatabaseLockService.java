@@ -2,11 +2,13 @@ package tech.powerjob.server.extension.defaultimpl;
 
 import tech.powerjob.common.utils.CommonUtils;
 import tech.powerjob.common.utils.NetUtils;
+import tech.powerjob.server.common.PowerJobServerConfigKey;
 import tech.powerjob.server.extension.LockService;
 import tech.powerjob.server.persistence.remote.model.OmsLockDO;
 import tech.powerjob.server.persistence.remote.repository.OmsLockRepository;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
@@ -18,6 +20,7 @@ import org.springframework.stereotype.Service;
  */
 @Slf4j
 @Service
+@ConditionalOnProperty(name = PowerJobServerConfigKey.LOCK_TYPE, havingValue = "db", matchIfMissing = true)
 public class DatabaseLockService implements LockService {
 
     private final String ownerIp;
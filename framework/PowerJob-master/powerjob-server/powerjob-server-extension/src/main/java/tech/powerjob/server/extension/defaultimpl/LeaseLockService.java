@@ -0,0 +1,287 @@
+package tech.powerjob.server.extension.defaultimpl;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import tech.powerjob.common.utils.CommonUtils;
+import tech.powerjob.common.utils.NetUtils;
+import tech.powerjob.server.common.PowerJobServerConfigKey;
+import tech.powerjob.server.extension.FencingLockService;
+import tech.powerjob.server.monitor.MonitorService;
+import tech.powerjob.server.monitor.events.lock.SlowLockEvent;
+import tech.powerjob.server.persistence.remote.model.OmsLockDO;
+import tech.powerjob.server.persistence.remote.repository.OmsLockRepository;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于数据库租约实现的分布式锁（oms.lock.type=lease）
+ * 1. 本机持有的锁记录在本地表中，本机内的竞争以及已知被其他 server 持有的锁直接在内存中失败，不访问数据库
+ * 2. 通过条件更新抢占已过期的锁，不依赖唯一索引冲突；锁记录释放后保留，防护令牌因此单调递增
+ *    切换锁实现时残留的 DatabaseLockService 锁记录（没有租约）按其 gmtCreate + maxLockTime 判断是否超时
+ * 3. 持有期间由后台线程批量续期（每轮固定两次数据库访问），server 宕机后其他 server 最多等待一个租约时长即可获取锁
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(name = PowerJobServerConfigKey.LOCK_TYPE, havingValue = "lease")
+public class LeaseLockService implements FencingLockService {
+
+    private final String ownerIp;
+    private final long leaseMs;
+    private final long slowThresholdMs;
+    private final OmsLockRepository omsLockRepository;
+    private final MonitorService monitorService;
+
+    /**
+     * 本机持有（或正在获取）的锁
+     */
+    private final Map<String, HeldLock> heldLocks = Maps.newConcurrentMap();
+    /**
+     * 已知被其他 server 持有的锁 -> 下次允许访问数据库的时间
+     */
+    private final Map<String, Long> foreignLocks = Maps.newConcurrentMap();
+
+    private static final long DEFAULT_LEASE_MS = 10000;
+    private static final long DEFAULT_SLOW_THRESHOLD_MS = 100;
+    /**
+     * 被其他 server 持有的锁最长缓存时间，对方可能提前释放锁，不能一直等到租约到期
+     */
+    private static final long FOREIGN_LOCK_CACHE_MS = 500;
+
+    @Autowired
+    public LeaseLockService(OmsLockRepository omsLockRepository, MonitorService monitorService, Environment environment) {
+
+        this.ownerIp = NetUtils.getLocalHost();
+        this.omsLockRepository = omsLockRepository;
+        this.monitorService = monitorService;
+        this.leaseMs = Math.max(1000, Long.parseLong(environment.getProperty(PowerJobServerConfigKey.LOCK_LEASE, String.valueOf(DEFAULT_LEASE_MS))));
+        this.slowThresholdMs = Long.parseLong(environment.getProperty(PowerJobServerConfigKey.LOCK_SLOW_THRESHOLD, String.valueOf(DEFAULT_SLOW_THRESHOLD_MS)));
+
+        ScheduledExecutorService renewer = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("oms-lock-renewer-%d").setDaemon(true).build());
+        long renewInterval = leaseMs / 3;
+        renewer.scheduleWithFixedDelay(this::renewSafely, renewInterval, renewInterval, TimeUnit.MILLISECONDS);
+
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            renewer.shutdownNow();
+            int num = heldLocks.size();
+            Lists.newArrayList(heldLocks.keySet()).forEach(this::unlock);
+            log.info("[LeaseLockService] execute shutdown hook, release all lock(owner={},num={})", ownerIp, num);
+        }));
+        log.info("[LeaseLockService] init lease lock service successfully, owner: {}, lease: {}ms.", ownerIp, leaseMs);
+    }
+
+    @Override
+    public boolean tryLock(String name, long maxLockTime) {
+        return tryLockWithToken(name, maxLockTime) != NO_LOCK;
+    }
+
+    @Override
+    public long tryLockWithToken(String name, long maxLockTime) {
+
+        long now = System.currentTimeMillis();
+        HeldLock pending = new HeldLock(NO_LOCK, maxLockTime, now, Long.MAX_VALUE);
+        HeldLock held = heldLocks.putIfAbsent(name, pending);
+        if (held != null) {
+            // 本机其他线程持有或正在获取
+            if (now < held.expireTime) {
+                return NO_LOCK;
+            }
+            // 租约已失效（续期失败或达到最长持有时间）
+            if (!heldLocks.replace(name, held, pending)) {
+                return NO_LOCK;
+            }
+        }
+        Long foreignUntil = foreignLocks.get(name);
+        if (foreignUntil != null && now < foreignUntil) {
+            heldLocks.remove(name, pending);
+            return NO_LOCK;
+        }
+
+        long token = NO_LOCK;
+        try {
+            token = acquire(name, maxLockTime, now);
+        } catch (Exception e) {
+            log.warn("[LeaseLockService] acquire lock from database failed, lockName = {}.", name, e);
+        } finally {
+            if (token == NO_LOCK) {
+                heldLocks.remove(name, pending);
+            } else {
+                foreignLocks.remove(name);
+                heldLocks.replace(name, pending, new HeldLock(token, maxLockTime, now, now + Math.min(leaseMs, maxLockTime)));
+            }
+            long cost = System.currentTimeMillis() - now;
+            if (cost >= slowThresholdMs) {
+                monitorService.monitor(new SlowLockEvent()
+                        .setType(SlowLockEvent.Type.DB)
+                        .setLockType("LEASE")
+                        .setLockKey(name)
+                        .setCallerService(LeaseLockService.class.getSimpleName())
+                        .setCallerMethod("tryLock")
+                        .setCost(cost));
+            }
+        }
+        return token;
+    }
+
+    @Override
+    public long currentToken(String name) {
+        HeldLock held = heldLocks.get(name);
+        if (held == null || held.token == NO_LOCK || System.currentTimeMillis() >= held.expireTime) {
+            return NO_LOCK;
+        }
+        return held.token;
+    }
+
+    @Override
+    public void unlock(String name) {
+
+        HeldLock held = heldLocks.get(name);
+        if (held == null || held.token == NO_LOCK) {
+            return;
+        }
+        heldLocks.remove(name, held);
+        try {
+            CommonUtils.executeWithRetry0(() -> omsLockRepository.releaseLock(name, held.token, new Date()));
+        } catch (Exception e) {
+            // 释放失败时租约到期后自动释放
+            log.error("[LeaseLockService] unlock {} failed.", name, e);
+        }
+    }
+
+    private long acquire(String name, long maxLockTime, long now) {
+
+        long expireTime = now + Math.min(leaseMs, maxLockTime);
+        Date date = new Date(now);
+
+        if (omsLockRepository.takeOverExpiredLock(name, ownerIp, maxLockTime, expireTime, date, now) > 0) {
+            OmsLockDO lock = omsLockRepository.findByLockName(name);
+            return lock != null && ownerIp.equals(lock.getOwnerIP()) ? lock.getFencingToken() : NO_LOCK;
+        }
+
+        OmsLockDO lock = omsLockRepository.findByLockName(name);
+        if (lock != null && lock.getExpireTime() == null) {
+            // DatabaseLockService 写入的锁没有租约，按其最长持有时间判断是否超时
+            if (isLegacyLockTimeout(lock, now)
+                    && omsLockRepository.takeOverLegacyLock(name, ownerIp, maxLockTime, expireTime, date, lock.getGmtCreate()) > 0) {
+                OmsLockDO taken = omsLockRepository.findByLockName(name);
+                return taken != null && ownerIp.equals(taken.getOwnerIP()) ? taken.getFencingToken() : NO_LOCK;
+            }
+            foreignLocks.put(name, now + FOREIGN_LOCK_CACHE_MS);
+            return NO_LOCK;
+        }
+        if (lock != null) {
+            long foreignUntil = now + FOREIGN_LOCK_CACHE_MS;
+            foreignLocks.put(name, Math.min(lock.getExpireTime(), foreignUntil));
+            return NO_LOCK;
+        }
+
+        // 首次使用该锁名称，插入锁记录
+        OmsLockDO newLock = new OmsLockDO(name, ownerIp, maxLockTime);
+        newLock.setExpireTime(expireTime);
+        newLock.setFencingToken(1L);
+        try {
+            omsLockRepository.saveAndFlush(newLock);
+            return newLock.getFencingToken();
+        } catch (DataIntegrityViolationException ignore) {
+            foreignLocks.put(name, now + FOREIGN_LOCK_CACHE_MS);
+            return NO_LOCK;
+        }
+    }
+
+    private static boolean isLegacyLockTimeout(OmsLockDO lock, long now) {
+        if (lock.getGmtCreate() == null || lock.getMaxLockTime() == null) {
+            return false;
+        }
+        return now - lock.getGmtCreate().getTime() > lock.getMaxLockTime();
+    }
+
+    private void renewSafely() {
+        try {
+            renew();
+        } catch (Exception e) {
+            log.warn("[LeaseLockService] renew locks failed.", e);
+        }
+    }
+
+    /**
+     * 批量续期本机持有的锁，并根据防护令牌确认锁未被抢占
+     */
+    private void renew() {
+
+        long now = System.currentTimeMillis();
+        Date date = new Date(now);
+        // 清理已过期的其他 server 持有的锁缓存
+        foreignLocks.values().removeIf(foreignUntil -> foreignUntil <= now);
+
+        List<String> renewNames = Lists.newArrayList();
+        List<String> batchNames = Lists.newArrayList();
+
+        heldLocks.forEach((name, held) -> {
+            if (held.token == NO_LOCK) {
+                return;
+            }
+            long deadline = held.acquireTime + held.maxLockTime;
+            if (now >= deadline || now >= held.expireTime) {
+                // 达到最长持有时间或租约已失效，不再续期
+                heldLocks.remove(name, held);
+                return;
+            }
+            renewNames.add(name);
+            if (deadline - now >= leaseMs) {
+                batchNames.add(name);
+            } else {
+                // 即将达到最长持有时间，续期到截止时间为止
+                omsLockRepository.renewLocks(ownerIp, Lists.newArrayList(name), deadline, date, now);
+            }
+        });
+        if (renewNames.isEmpty()) {
+            return;
+        }
+        if (!batchNames.isEmpty()) {
+            omsLockRepository.renewLocks(ownerIp, batchNames, now + leaseMs, date, now);
+        }
+
+        for (OmsLockDO lock : omsLockRepository.findByLockNameIn(renewNames)) {
+            HeldLock held = heldLocks.get(lock.getLockName());
+            if (held == null || held.token == NO_LOCK) {
+                continue;
+            }
+            if (ownerIp.equals(lock.getOwnerIP()) && Objects.equals(lock.getFencingToken(), held.token) && lock.getExpireTime() != null) {
+                held.expireTime = lock.getExpireTime();
+            } else {
+                heldLocks.remove(lock.getLockName(), held);
+                log.warn("[LeaseLockService] lost lock {}(token={}), current owner: {}, token: {}.", lock.getLockName(), held.token, lock.getOwnerIP(), lock.getFencingToken());
+            }
+        }
+    }
+
+    private static class HeldLock {
+
+        private final long token;
+        private final long maxLockTime;
+        private final long acquireTime;
+        private volatile long expireTime;
+
+        HeldLock(long token, long maxLockTime, long acquireTime, long expireTime) {
+            this.token = token;
+            this.maxLockTime = maxLockTime;
+            this.acquireTime = acquireTime;
+            this.expireTime = expireTime;
+        }
+    }
+}
@@ -1,14 +1,25 @@
 package tech.powerjob.server.monitor;
 
 import com.google.common.collect.Lists;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Component;
+import tech.powerjob.server.common.PowerJobServerConfigKey;
+import tech.powerjob.server.monitor.metrics.Counter;
+import tech.powerjob.server.monitor.metrics.MetricsRegistry;
 
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * PowerJob 服务端监控
+ * 事件由单个后台线程异步投递给各个监视器（保持事件顺序），调用方（如数据库操作）不会因监控而增加耗时；
+ * 队列满时直接丢弃事件并计数，绝不阻塞调用方
  *
  * @author tjq
  * @since 2022/9/10
@@ -19,17 +30,38 @@ public class PowerJobMonitorService implements MonitorService {
 
     private final List<Monitor> monitors = Lists.newLinkedList();
 
+    private final ExecutorService dispatcher;
+    private final Counter droppedEvents;
+
+    private static final int DEFAULT_QUEUE_SIZE = 8192;
+
     @Autowired
-    public PowerJobMonitorService(List<Monitor> monitors) {
+    public PowerJobMonitorService(List<Monitor> monitors, MetricsRegistry metricsRegistry, Environment environment) {
 
         monitors.forEach(m -> {
             log.info("[MonitorService] register monitor: {}", m.getClass().getName());
             this.monitors.add(m);
         });
+
+        droppedEvents = metricsRegistry.counter("powerjob_monitor_event_dropped_total", "Number of monitor events dropped because the dispatch queue is full.", false).labels();
+        int queueSize = Integer.parseInt(environment.getProperty(PowerJobServerConfigKey.MONITOR_QUEUE_SIZE, String.valueOf(DEFAULT_QUEUE_SIZE)));
+        dispatcher = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueSize),
+                new ThreadFactoryBuilder().setNameFormat("oms-monitor-dispatcher-%d").setDaemon(true).build(),
+                (r, executor) -> droppedEvents.inc());
     }
 
     @Override
     public void monitor(Event event) {
-        monitors.forEach(m -> m.record(event));
+        dispatcher.execute(() -> dispatch(event));
+    }
+
+    private void dispatch(Event event) {
+        for (Monitor m : monitors) {
+            try {
+                m.record(event);
+            } catch (Exception e) {
+                log.warn("[MonitorService] monitor {} record event failed: {}", m.getClass().getSimpleName(), event.message(), e);
+            }
+        }
     }
 }
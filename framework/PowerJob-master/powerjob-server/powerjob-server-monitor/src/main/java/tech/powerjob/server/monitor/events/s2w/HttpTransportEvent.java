@@ -0,0 +1,43 @@
+package tech.powerjob.server.monitor.events.s2w;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.experimental.Accessors;
+import tech.powerjob.server.common.SJ;
+import tech.powerjob.server.monitor.Event;
+
+/**
+ * server 通过 HTTP 向 worker 发送请求的统计事件，按目标地址每个统计周期汇总一次
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+@Getter
+@Setter
+@Accessors(chain = true)
+public class HttpTransportEvent implements Event {
+
+    private String workerAddress;
+
+    private long requestNum;
+
+    private long failedNum;
+    /**
+     * 平均耗时（ms）
+     */
+    private long avgCost;
+    /**
+     * 最大耗时（ms）
+     */
+    private long maxCost;
+
+    @Override
+    public String type() {
+        return "MONITOR_LOGGER_HTTP_TRANSPORT";
+    }
+
+    @Override
+    public String message() {
+        return SJ.MONITOR_JOINER.join(workerAddress, requestNum, failedNum, avgCost, maxCost);
+    }
+}
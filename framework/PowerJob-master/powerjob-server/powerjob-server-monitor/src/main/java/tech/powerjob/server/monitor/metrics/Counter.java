@@ -0,0 +1,32 @@
+package tech.powerjob.server.monitor.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单调递增计数器
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+public class Counter extends Metric {
+
+    private final LongAdder value = new LongAdder();
+
+    public void inc() {
+        inc(1);
+    }
+
+    public void inc(long delta) {
+        value.add(delta);
+        touch();
+    }
+
+    public long get() {
+        return value.sum();
+    }
+
+    @Override
+    void render(StringBuilder sb, String name, String labels) {
+        appendSample(sb, name, labels, String.valueOf(value.sum()));
+    }
+}
@@ -0,0 +1,28 @@
+package tech.powerjob.server.monitor.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 瞬时值
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+public class Gauge extends Metric {
+
+    private final AtomicLong value = new AtomicLong();
+
+    public void set(long newValue) {
+        value.set(newValue);
+        touch();
+    }
+
+    public long get() {
+        return value.get();
+    }
+
+    @Override
+    void render(StringBuilder sb, String name, String labels) {
+        appendSample(sb, name, labels, String.valueOf(value.get()));
+    }
+}
@@ -0,0 +1,52 @@
+package tech.powerjob.server.monitor.metrics;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 分桶直方图，记录时只累加命中的桶（无锁），输出时再计算累计值
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+public class Histogram extends Metric {
+
+    /**
+     * 各个桶的上界（升序），最后隐含一个 +Inf 桶
+     */
+    private final double[] upperBounds;
+    private final LongAdder[] bucketCounts;
+    private final DoubleAdder sum = new DoubleAdder();
+
+    Histogram(double[] upperBounds) {
+        this.upperBounds = upperBounds;
+        this.bucketCounts = new LongAdder[upperBounds.length + 1];
+        for (int i = 0; i < bucketCounts.length; i++) {
+            bucketCounts[i] = new LongAdder();
+        }
+    }
+
+    public void observe(double value) {
+        int idx = Arrays.binarySearch(upperBounds, value);
+        if (idx < 0) {
+            idx = -idx - 1;
+        }
+        bucketCounts[idx].increment();
+        sum.add(value);
+        touch();
+    }
+
+    @Override
+    void render(StringBuilder sb, String name, String labels) {
+        String bucketLabelPrefix = labels.isEmpty() ? "" : labels + ",";
+        long cumulative = 0;
+        for (int i = 0; i < bucketCounts.length; i++) {
+            cumulative += bucketCounts[i].sum();
+            String le = i < upperBounds.length ? formatDouble(upperBounds[i]) : "+Inf";
+            appendSample(sb, name + "_bucket", bucketLabelPrefix + "le=\"" + le + "\"", String.valueOf(cumulative));
+        }
+        appendSample(sb, name + "_sum", labels, formatDouble(sum.sum()));
+        appendSample(sb, name + "_count", labels, String.valueOf(cumulative));
+    }
+}
@@ -0,0 +1,43 @@
+package tech.powerjob.server.monitor.metrics;
+
+/**
+ * 单个指标（某个标签组合下的时间序列）
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+public abstract class Metric {
+
+    private volatile long lastUpdateTime = System.currentTimeMillis();
+
+    protected void touch() {
+        lastUpdateTime = System.currentTimeMillis();
+    }
+
+    long getLastUpdateTime() {
+        return lastUpdateTime;
+    }
+
+    /**
+     * 以 Prometheus 文本格式输出
+     * @param sb 输出
+     * @param name 指标名称
+     * @param labels 已格式化的标签（不含花括号），可能为空字符串
+     */
+    abstract void render(StringBuilder sb, String name, String labels);
+
+    static void appendSample(StringBuilder sb, String name, String labels, String value) {
+        sb.append(name);
+        if (!labels.isEmpty()) {
+            sb.append('{').append(labels).append('}');
+        }
+        sb.append(' ').append(value).append('\n');
+    }
+
+    static String formatDouble(double value) {
+        if (value == Math.rint(value) && !Double.isInfinite(value) && Math.abs(value) < 1e15) {
+            return String.valueOf((long) value);
+        }
+        return String.valueOf(value);
+    }
+}
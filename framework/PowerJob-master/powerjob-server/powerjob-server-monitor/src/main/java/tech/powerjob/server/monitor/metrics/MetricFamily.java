@@ -0,0 +1,102 @@
+package tech.powerjob.server.monitor.metrics;
+
+import com.google.common.collect.Maps;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * 同名指标的集合，按标签值区分不同的时间序列
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+public class MetricFamily<T extends Metric> {
+
+    private final String name;
+    private final String help;
+    private final String type;
+    private final String[] labelNames;
+    /**
+     * 标签中包含 worker 地址等会变化的维度时，长时间未更新的时间序列需要清理，防止无限增长
+     */
+    private final boolean expirable;
+    private final Supplier<T> factory;
+
+    private final Map<List<String>, T> children = Maps.newConcurrentMap();
+
+    MetricFamily(String name, String help, String type, String[] labelNames, boolean expirable, Supplier<T> factory) {
+        this.name = name;
+        this.help = help;
+        this.type = type;
+        this.labelNames = labelNames;
+        this.expirable = expirable;
+        this.factory = factory;
+    }
+
+    /**
+     * 获取指定标签值对应的指标，不存在时创建
+     * @param labelValues 标签值，顺序与注册时的标签名一致
+     * @return 指标
+     */
+    public T labels(Object... labelValues) {
+        if (labelValues.length != labelNames.length) {
+            throw new IllegalArgumentException(String.format("metric %s requires %d labels but got %d", name, labelNames.length, labelValues.length));
+        }
+        String[] values = new String[labelValues.length];
+        for (int i = 0; i < labelValues.length; i++) {
+            values[i] = labelValues[i] == null ? "" : String.valueOf(labelValues[i]);
+        }
+        List<String> key = Arrays.asList(values);
+        // ConcurrentHashMap#computeIfAbsent 即使 key 已存在也会加锁，先无锁读一次
+        T metric = children.get(key);
+        if (metric != null) {
+            return metric;
+        }
+        return children.computeIfAbsent(key, ignore -> factory.get());
+    }
+
+    String getType() {
+        return type;
+    }
+
+    void render(StringBuilder sb, long expireBefore) {
+        if (children.isEmpty()) {
+            return;
+        }
+        sb.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        sb.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+        children.forEach((labelValues, metric) -> {
+            if (expirable && metric.getLastUpdateTime() < expireBefore) {
+                children.remove(labelValues, metric);
+                return;
+            }
+            metric.render(sb, name, formatLabels(labelValues));
+        });
+    }
+
+    private String formatLabels(List<String> labelValues) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < labelNames.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(labelNames[i]).append("=\"");
+            String value = labelValues.get(i);
+            for (int j = 0; j < value.length(); j++) {
+                char c = value.charAt(j);
+                if (c == '\\' || c == '"') {
+                    sb.append('\\').append(c);
+                } else if (c == '\n') {
+                    sb.append("\\n");
+                } else {
+                    sb.append(c);
+                }
+            }
+            sb.append('"');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,74 @@
+package tech.powerjob.server.monitor.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import tech.powerjob.server.common.PowerJobServerConfigKey;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * 监控指标注册中心，指标均基于 LongAdder 等无锁结构实现，可直接在热点路径上更新
+ * 通过 {@link #scrape()} 输出 Prometheus 文本格式（text/plain; version=0.0.4）
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+public class MetricsRegistry {
+
+    /**
+     * 默认的耗时分桶（ms）
+     */
+    public static final double[] DEFAULT_LATENCY_BUCKETS = {1, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000};
+
+    private static final long DEFAULT_EXPIRE_MS = 600000;
+
+    private final long expireMs;
+    private final Map<String, MetricFamily<?>> families = new ConcurrentSkipListMap<>();
+
+    @Autowired
+    public MetricsRegistry(Environment environment) {
+        this.expireMs = Long.parseLong(environment.getProperty(PowerJobServerConfigKey.MONITOR_METRICS_EXPIRE, String.valueOf(DEFAULT_EXPIRE_MS)));
+    }
+
+    public MetricFamily<Counter> counter(String name, String help, boolean expirable, String... labelNames) {
+        return register(name, new MetricFamily<>(name, help, "counter", labelNames, expirable, Counter::new));
+    }
+
+    public MetricFamily<Gauge> gauge(String name, String help, boolean expirable, String... labelNames) {
+        return register(name, new MetricFamily<>(name, help, "gauge", labelNames, expirable, Gauge::new));
+    }
+
+    public MetricFamily<Histogram> histogram(String name, String help, double[] buckets, boolean expirable, String... labelNames) {
+        double[] upperBounds = buckets.clone();
+        return register(name, new MetricFamily<>(name, help, "histogram", labelNames, expirable, () -> new Histogram(upperBounds)));
+    }
+
+    /**
+     * 输出所有指标
+     * @return Prometheus 文本格式的指标
+     */
+    public String scrape() {
+        long expireBefore = System.currentTimeMillis() - expireMs;
+        StringBuilder sb = new StringBuilder(4096);
+        families.values().forEach(family -> family.render(sb, expireBefore));
+        return sb.toString();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends Metric> MetricFamily<T> register(String name, MetricFamily<T> family) {
+        MetricFamily<?> exist = families.putIfAbsent(name, family);
+        if (exist == null) {
+            return family;
+        }
+        if (!exist.getType().equals(family.getType())) {
+            throw new IllegalArgumentException(String.format("metric %s has been registered as %s", name, exist.getType()));
+        }
+        log.debug("[MetricsRegistry] metric {} has been registered, reuse it.", name);
+        return (MetricFamily<T>) exist;
+    }
+}
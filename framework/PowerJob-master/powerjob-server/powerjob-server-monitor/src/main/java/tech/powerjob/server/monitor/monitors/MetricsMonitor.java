@@ -0,0 +1,152 @@
+package tech.powerjob.server.monitor.monitors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import tech.powerjob.server.monitor.Event;
+import tech.powerjob.server.monitor.Monitor;
+import tech.powerjob.server.monitor.events.db.DatabaseEvent;
+import tech.powerjob.server.monitor.events.lock.SlowLockEvent;
+import tech.powerjob.server.monitor.events.s2w.HttpTransportEvent;
+import tech.powerjob.server.monitor.events.w2s.TtReportInstanceStatusEvent;
+import tech.powerjob.server.monitor.events.w2s.WorkerHeartbeatEvent;
+import tech.powerjob.server.monitor.events.w2s.WorkerLogReportEvent;
+import tech.powerjob.server.monitor.metrics.Counter;
+import tech.powerjob.server.monitor.metrics.Gauge;
+import tech.powerjob.server.monitor.metrics.Histogram;
+import tech.powerjob.server.monitor.metrics.MetricFamily;
+import tech.powerjob.server.monitor.metrics.MetricsRegistry;
+
+import static tech.powerjob.server.monitor.metrics.MetricsRegistry.DEFAULT_LATENCY_BUCKETS;
+
+/**
+ * 系统默认实现——基于指标的监控监视器
+ * 将监控事件聚合为计数器与耗时直方图，由 Prometheus 等系统通过 /monitor/metrics 拉取
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+@Component
+public class MetricsMonitor implements Monitor {
+
+    /* ************* 数据库 ************* */
+    private final MetricFamily<Counter> dbOperationTotal;
+    private final MetricFamily<Counter> dbOperationRows;
+    private final MetricFamily<Histogram> dbOperationCost;
+
+    /* ************* 锁 ************* */
+    private final MetricFamily<Counter> lockAcquireTotal;
+    private final MetricFamily<Histogram> lockAcquireCost;
+
+    /* ************* worker 心跳 ************* */
+    private final MetricFamily<Counter> workerHeartbeatTotal;
+    private final MetricFamily<Gauge> workerScore;
+    private final MetricFamily<Histogram> workerHeartbeatDelay;
+
+    /* ************* 实例状态上报 ************* */
+    private final MetricFamily<Counter> instanceStatusReportTotal;
+    private final MetricFamily<Histogram> instanceStatusReportDelay;
+    private final MetricFamily<Histogram> instanceStatusProcessCost;
+
+    /* ************* worker 日志上报 ************* */
+    private final MetricFamily<Counter> workerLogReportTotal;
+    private final MetricFamily<Counter> workerLogLines;
+    private final MetricFamily<Counter> workerLogBytes;
+
+    /* ************* server -> worker HTTP 请求 ************* */
+    private final MetricFamily<Counter> httpTransportRequests;
+    private final MetricFamily<Counter> httpTransportFailed;
+    private final MetricFamily<Gauge> httpTransportMaxCost;
+
+    @Autowired
+    public MetricsMonitor(MetricsRegistry registry) {
+
+        dbOperationTotal = registry.counter("powerjob_db_operation_total", "Number of database operations.", false, "type", "service", "method", "status");
+        dbOperationRows = registry.counter("powerjob_db_operation_rows_total", "Number of rows affected or returned by database operations.", false, "type", "service", "method");
+        dbOperationCost = registry.histogram("powerjob_db_operation_cost_ms", "Cost of database operations in milliseconds.", DEFAULT_LATENCY_BUCKETS, false, "type", "service", "method");
+
+        lockAcquireTotal = registry.counter("powerjob_lock_acquire_total", "Number of slow or remote lock acquisitions.", false, "type", "lock_type", "caller");
+        lockAcquireCost = registry.histogram("powerjob_lock_acquire_cost_ms", "Cost of slow or remote lock acquisitions in milliseconds.", DEFAULT_LATENCY_BUCKETS, false, "type", "lock_type", "caller");
+
+        workerHeartbeatTotal = registry.counter("powerjob_worker_heartbeat_total", "Number of heartbeats received from workers.", true, "app", "worker");
+        workerScore = registry.gauge("powerjob_worker_score", "Latest health score reported by workers.", true, "app", "worker");
+        workerHeartbeatDelay = registry.histogram("powerjob_worker_heartbeat_delay_ms", "Delay between worker heartbeat and server receipt in milliseconds.", DEFAULT_LATENCY_BUCKETS, true, "app");
+
+        instanceStatusReportTotal = registry.counter("powerjob_instance_status_report_total", "Number of instance status reports from task trackers.", true, "app_id", "status", "process_status");
+        instanceStatusReportDelay = registry.histogram("powerjob_instance_status_report_delay_ms", "Delay of instance status reports in milliseconds.", DEFAULT_LATENCY_BUCKETS, true, "app_id");
+        instanceStatusProcessCost = registry.histogram("powerjob_instance_status_process_cost_ms", "Cost of processing instance status reports in milliseconds.", DEFAULT_LATENCY_BUCKETS, true, "app_id");
+
+        workerLogReportTotal = registry.counter("powerjob_worker_log_report_total", "Number of log reports from workers.", true, "worker", "status");
+        workerLogLines = registry.counter("powerjob_worker_log_lines_total", "Number of log lines reported by workers.", true, "worker");
+        workerLogBytes = registry.counter("powerjob_worker_log_bytes_total", "Size of logs reported by workers in bytes.", true, "worker");
+
+        httpTransportRequests = registry.counter("powerjob_http_transport_requests_total", "Number of HTTP requests sent to workers.", true, "worker");
+        httpTransportFailed = registry.counter("powerjob_http_transport_failed_total", "Number of failed HTTP requests sent to workers.", true, "worker");
+        httpTransportMaxCost = registry.gauge("powerjob_http_transport_max_cost_ms", "Max cost of HTTP requests sent to workers in the last period in milliseconds.", true, "worker");
+    }
+
+    @Override
+    public void init() {
+    }
+
+    @Override
+    public void record(Event event) {
+        if (event instanceof DatabaseEvent) {
+            recordDatabaseEvent((DatabaseEvent) event);
+        } else if (event instanceof SlowLockEvent) {
+            recordSlowLockEvent((SlowLockEvent) event);
+        } else if (event instanceof WorkerHeartbeatEvent) {
+            recordWorkerHeartbeatEvent((WorkerHeartbeatEvent) event);
+        } else if (event instanceof TtReportInstanceStatusEvent) {
+            recordTtReportInstanceStatusEvent((TtReportInstanceStatusEvent) event);
+        } else if (event instanceof WorkerLogReportEvent) {
+            recordWorkerLogReportEvent((WorkerLogReportEvent) event);
+        } else if (event instanceof HttpTransportEvent) {
+            recordHttpTransportEvent((HttpTransportEvent) event);
+        }
+    }
+
+    private void recordDatabaseEvent(DatabaseEvent event) {
+        dbOperationTotal.labels(event.getType(), event.getServiceName(), event.getMethodName(), event.getStatus()).inc();
+        if (event.getRows() != null) {
+            dbOperationRows.labels(event.getType(), event.getServiceName(), event.getMethodName()).inc(event.getRows());
+        }
+        dbOperationCost.labels(event.getType(), event.getServiceName(), event.getMethodName()).observe(event.getCost());
+    }
+
+    private void recordSlowLockEvent(SlowLockEvent event) {
+        // lockKey 基数不可控，不作为标签
+        String caller = event.getCallerService() + "#" + event.getCallerMethod();
+        lockAcquireTotal.labels(event.getType(), event.getLockType(), caller).inc();
+        lockAcquireCost.labels(event.getType(), event.getLockType(), caller).observe(event.getCost());
+    }
+
+    private void recordWorkerHeartbeatEvent(WorkerHeartbeatEvent event) {
+        workerHeartbeatTotal.labels(event.getAppName(), event.getWorkerAddress()).inc();
+        if (event.getScore() != null) {
+            workerScore.labels(event.getAppName(), event.getWorkerAddress()).set(event.getScore());
+        }
+        workerHeartbeatDelay.labels(event.getAppName()).observe(event.getDelayMs());
+    }
+
+    private void recordTtReportInstanceStatusEvent(TtReportInstanceStatusEvent event) {
+        instanceStatusReportTotal.labels(event.getAppId(), event.getInstanceStatus(), event.getServerProcessStatus()).inc();
+        if (event.getDelayMs() != null) {
+            instanceStatusReportDelay.labels(event.getAppId()).observe(event.getDelayMs());
+        }
+        if (event.getServerProcessCost() != null) {
+            instanceStatusProcessCost.labels(event.getAppId()).observe(event.getServerProcessCost());
+        }
+    }
+
+    private void recordWorkerLogReportEvent(WorkerLogReportEvent event) {
+        workerLogReportTotal.labels(event.getWorkerAddress(), event.getStatus()).inc();
+        workerLogLines.labels(event.getWorkerAddress()).inc(event.getLogNum());
+        workerLogBytes.labels(event.getWorkerAddress()).inc(event.getLogSize());
+    }
+
+    private void recordHttpTransportEvent(HttpTransportEvent event) {
+        httpTransportRequests.labels(event.getWorkerAddress()).inc(event.getRequestNum());
+        httpTransportFailed.labels(event.getWorkerAddress()).inc(event.getFailedNum());
+        httpTransportMaxCost.labels(event.getWorkerAddress()).set(event.getMaxCost());
+    }
+}
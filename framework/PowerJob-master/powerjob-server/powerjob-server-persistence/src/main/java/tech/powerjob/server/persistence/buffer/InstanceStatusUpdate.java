@@ -0,0 +1,61 @@
+package tech.powerjob.server.persistence.buffer;
+
+import lombok.Data;
+import lombok.experimental.Accessors;
+import tech.powerjob.common.enums.InstanceStatus;
+
+import java.util.Date;
+
+/**
+ * 任务实例状态的一次更新，为 null 的可选字段不修改数据库中的原值
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+@Data
+@Accessors(chain = true)
+public class InstanceStatusUpdate {
+
+    private Long instanceId;
+    /**
+     * 任务状态 {@link InstanceStatus}
+     */
+    private Integer status;
+    private Long runningTimes;
+    /**
+     * 最后上报时间，用于丢弃乱序到达的旧状态
+     */
+    private Long lastReportTime;
+    private Date gmtModified;
+
+    /* ************* 可选字段 ************* */
+    private Long actualTriggerTime;
+    private Long finishedTime;
+    private String taskTrackerAddress;
+    private String result;
+
+    /**
+     * 合并同一实例的两次更新，以上报时间较新的为准，较新的更新中缺失的可选字段沿用较旧的值
+     * @param older 较早提交的更新
+     * @param newer 较晚提交的更新
+     * @return 合并后的更新（新对象）
+     */
+    static InstanceStatusUpdate merge(InstanceStatusUpdate older, InstanceStatusUpdate newer) {
+        InstanceStatusUpdate latest = newer;
+        InstanceStatusUpdate other = older;
+        if (older.lastReportTime != null && newer.lastReportTime != null && older.lastReportTime > newer.lastReportTime) {
+            latest = older;
+            other = newer;
+        }
+        return new InstanceStatusUpdate()
+                .setInstanceId(latest.instanceId)
+                .setStatus(latest.status)
+                .setRunningTimes(latest.runningTimes)
+                .setLastReportTime(latest.lastReportTime)
+                .setGmtModified(latest.gmtModified)
+                .setActualTriggerTime(latest.actualTriggerTime != null ? latest.actualTriggerTime : other.actualTriggerTime)
+                .setFinishedTime(latest.finishedTime != null ? latest.finishedTime : other.finishedTime)
+                .setTaskTrackerAddress(latest.taskTrackerAddress != null ? latest.taskTrackerAddress : other.taskTrackerAddress)
+                .setResult(latest.result != null ? latest.result : other.result);
+    }
+}
@@ -0,0 +1,222 @@
+package tech.powerjob.server.persistence.buffer;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.AbstractEntityPersister;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import tech.powerjob.common.enums.InstanceStatus;
+import tech.powerjob.server.common.PowerJobServerConfigKey;
+import tech.powerjob.server.monitor.MonitorService;
+import tech.powerjob.server.monitor.events.db.DatabaseEvent;
+import tech.powerjob.server.monitor.events.db.DatabaseType;
+import tech.powerjob.server.persistence.remote.model.InstanceInfoDO;
+
+import javax.annotation.Resource;
+import javax.persistence.EntityManagerFactory;
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * 任务实例状态的合并写入（write-behind）
+ * 非结束状态的上报只记录在内存中，同一实例在一个时间窗口内的多次上报合并为最后一次，由后台线程以 JDBC batch 批量写入；
+ * 结束状态立即写入，保证后续的告警、工作流推进等流程读到的是最终状态
+ * 批量写入的 SQL 带有保护条件：不覆盖数据库中更新的上报，也不把已结束的实例改回运行状态
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+public class InstanceStatusWriteBuffer implements InitializingBean, DisposableBean {
+
+    @Resource
+    private Environment environment;
+    @Resource
+    private MonitorService monitorService;
+    @Resource(name = "omsRemoteDatasource")
+    private DataSource omsRemoteDatasource;
+    @Resource(name = "remoteEntityManagerFactory")
+    private EntityManagerFactory remoteEntityManagerFactory;
+
+    private JdbcTemplate jdbcTemplate;
+    private long flushIntervalMS;
+    private ScheduledExecutorService flusher;
+
+    /**
+     * instanceId -> 尚未写入数据库的最新状态
+     */
+    private final Map<Long, InstanceStatusUpdate> pendingUpdates = Maps.newConcurrentMap();
+
+    private volatile String immediateSql;
+    private volatile String bufferedSql;
+
+    private static final long DEFAULT_FLUSH_INTERVAL_MS = 1000;
+    private static final int BATCH_SIZE = 500;
+
+    @Override
+    public void afterPropertiesSet() {
+        jdbcTemplate = new JdbcTemplate(omsRemoteDatasource);
+        flushIntervalMS = Long.parseLong(environment.getProperty(PowerJobServerConfigKey.INSTANCE_STATUS_FLUSH_INTERVAL, String.valueOf(DEFAULT_FLUSH_INTERVAL_MS)));
+        if (flushIntervalMS > 0) {
+            flusher = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("oms-instance-status-flusher-%d").setDaemon(true).build());
+            flusher.scheduleWithFixedDelay(this::flushSafely, flushIntervalMS, flushIntervalMS, TimeUnit.MILLISECONDS);
+        }
+        log.info("[InstanceStatusWriteBuffer] init instance status write buffer successfully, flushInterval: {}ms.", flushIntervalMS);
+    }
+
+    /**
+     * 提交任务实例的状态更新
+     * @param update 状态更新
+     */
+    public void submit(InstanceStatusUpdate update) {
+        if (flushIntervalMS <= 0 || InstanceStatus.FINISHED_STATUS.contains(update.getStatus())) {
+            // 结束状态覆盖所有尚未写入的状态
+            pendingUpdates.remove(update.getInstanceId());
+            write(Collections.singletonList(update), false);
+            return;
+        }
+        pendingUpdates.merge(update.getInstanceId(), update, InstanceStatusUpdate::merge);
+    }
+
+    /**
+     * 获取尚未写入数据库的状态，读取实例状态时可用于覆盖数据库中的旧值
+     * @param instanceId 任务实例ID
+     * @return 尚未写入的状态，不存在时返回 null
+     */
+    public InstanceStatusUpdate getPendingUpdate(long instanceId) {
+        return pendingUpdates.get(instanceId);
+    }
+
+    /**
+     * 立即写入所有尚未写入的状态
+     */
+    public void flush() {
+        if (pendingUpdates.isEmpty()) {
+            return;
+        }
+        List<InstanceStatusUpdate> updates = Lists.newArrayListWithCapacity(pendingUpdates.size());
+        for (Long instanceId : pendingUpdates.keySet()) {
+            InstanceStatusUpdate update = pendingUpdates.remove(instanceId);
+            if (update != null) {
+                updates.add(update);
+            }
+        }
+        for (List<InstanceStatusUpdate> batch : Lists.partition(updates, BATCH_SIZE)) {
+            try {
+                write(batch, true);
+            } catch (Exception e) {
+                // 放回队列等待下次写入，期间到达的新状态以上报时间为准合并
+                log.warn("[InstanceStatusWriteBuffer] flush {} instance status failed, will retry later.", batch.size(), e);
+                batch.forEach(update -> pendingUpdates.merge(update.getInstanceId(), update, InstanceStatusUpdate::merge));
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (flusher != null) {
+            flusher.shutdown();
+        }
+        flush();
+    }
+
+    private void flushSafely() {
+        try {
+            flush();
+        } catch (Exception e) {
+            log.error("[InstanceStatusWriteBuffer] flush instance status failed.", e);
+        }
+    }
+
+    private void write(List<InstanceStatusUpdate> updates, boolean buffered) {
+        prepareSql();
+        DatabaseEvent event = new DatabaseEvent().setType(DatabaseType.CORE)
+                .setServiceName(InstanceStatusWriteBuffer.class.getSimpleName())
+                .setMethodName(buffered ? "batchUpdate" : "update")
+                .setStatus(DatabaseEvent.Status.SUCCESS);
+        long startTs = System.currentTimeMillis();
+        try {
+            int[][] rows = jdbcTemplate.batchUpdate(buffered ? bufferedSql : immediateSql, updates, updates.size(), (ps, update) -> setParameters(ps, update, buffered));
+            event.setRows(countAffectedRows(rows));
+        } catch (RuntimeException e) {
+            event.setErrorMsg(e.getClass().getSimpleName()).setStatus(DatabaseEvent.Status.FAILED);
+            throw e;
+        } finally {
+            monitorService.monitor(event.setCost(System.currentTimeMillis() - startTs));
+        }
+    }
+
+    private static void setParameters(PreparedStatement ps, InstanceStatusUpdate update, boolean buffered) throws SQLException {
+        ps.setInt(1, update.getStatus());
+        ps.setObject(2, update.getRunningTimes(), Types.BIGINT);
+        ps.setObject(3, update.getLastReportTime(), Types.BIGINT);
+        ps.setTimestamp(4, new Timestamp(update.getGmtModified() == null ? System.currentTimeMillis() : update.getGmtModified().getTime()));
+        ps.setObject(5, update.getActualTriggerTime(), Types.BIGINT);
+        ps.setObject(6, update.getFinishedTime(), Types.BIGINT);
+        ps.setObject(7, update.getTaskTrackerAddress(), Types.VARCHAR);
+        ps.setObject(8, update.getResult(), Types.VARCHAR);
+        ps.setLong(9, update.getInstanceId());
+        if (buffered) {
+            ps.setObject(10, update.getLastReportTime() == null ? Long.MAX_VALUE : update.getLastReportTime(), Types.BIGINT);
+        }
+    }
+
+    private static int countAffectedRows(int[][] rows) {
+        int affectedRows = 0;
+        for (int[] batchRows : rows) {
+            for (int row : batchRows) {
+                // 部分驱动批量执行时返回 Statement.SUCCESS_NO_INFO（-2）
+                affectedRows += Math.max(row, 0);
+            }
+        }
+        return affectedRows;
+    }
+
+    /**
+     * 根据 JPA 映射生成 SQL，表名、列名与命名策略（包括表前缀）保持一致
+     */
+    private void prepareSql() {
+        if (bufferedSql != null) {
+            return;
+        }
+        AbstractEntityPersister persister = (AbstractEntityPersister) remoteEntityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getMetamodel().entityPersister(InstanceInfoDO.class);
+        String status = column(persister, "status");
+        String lastReportTime = column(persister, "lastReportTime");
+        String updateSql = String.format("update %s set %s = ?, %s = ?, %s = ?, %s = ?, %s, %s, %s, %s where %s = ?",
+                persister.getTableName(),
+                status, column(persister, "runningTimes"), lastReportTime, column(persister, "gmtModified"),
+                coalesce(column(persister, "actualTriggerTime")), coalesce(column(persister, "finishedTime")),
+                coalesce(column(persister, "taskTrackerAddress")), coalesce(column(persister, "result")),
+                column(persister, "instanceId"));
+        String finishedStatus = InstanceStatus.FINISHED_STATUS.stream().map(String::valueOf).collect(Collectors.joining(", "));
+        immediateSql = updateSql;
+        bufferedSql = String.format("%s and %s not in (%s) and (%s is null or %s <= ?)", updateSql, status, finishedStatus, lastReportTime, lastReportTime);
+        log.info("[InstanceStatusWriteBuffer] buffered update sql: {}", bufferedSql);
+    }
+
+    private static String column(AbstractEntityPersister persister, String property) {
+        return persister.getPropertyColumnNames(property)[0];
+    }
+
+    private static String coalesce(String column) {
+        return String.format("%s = coalesce(?, %s)", column, column);
+    }
+}
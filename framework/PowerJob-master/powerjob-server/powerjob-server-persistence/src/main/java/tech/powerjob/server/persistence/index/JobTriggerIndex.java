@@ -0,0 +1,383 @@
+package tech.powerjob.server.persistence.index;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tech.powerjob.server.common.PowerJobServerConfigKey;
+import tech.powerjob.server.common.constants.SwitchableStatus;
+import tech.powerjob.server.persistence.remote.model.JobInfoDO;
+import tech.powerjob.server.persistence.remote.repository.JobInfoRepository;
+
+import javax.annotation.Resource;
+import java.util.*;
+
+/**
+ * 任务触发索引，按 appId 维护 (nextTriggerTime, jobId) 有序集合，代替调度时对 job_info 的周期性范围查询
+ * 首次查询某个 app 时全量加载，之后由 {@link JobTriggerIndexListener} 在任务保存（新增、修改、启用、停用、删除）的事务提交后增量维护
+ * 其他 server 上发生的修改由每次扫描时按 gmtModified 的增量查询感知，物理删除等无法感知的修改由低频的全量对账兜底，加载、扫描时间均按 app 独立维护；
+ * 调度时会按分组多次查询，单次查询的 app 列表不代表当前 server 负责的全部 app，不再负责的 app 由 {@link #retainApps(Collection)} 或长时间未查询后移除；
+ * 索引只用于筛选，返回前以数据库中的任务信息为准
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+@Slf4j
+@Component
+public class JobTriggerIndex implements InitializingBean {
+
+    @Resource
+    private Environment environment;
+    @Resource
+    private JobInfoRepository jobInfoRepository;
+
+    private boolean enable;
+    private long reconcileIntervalMS;
+
+    /**
+     * appId -> 该 app 下已启用任务的触发索引
+     */
+    private final Map<Long, AppIndex> appIndexes = Maps.newHashMap();
+    /**
+     * 正在进行的加载 / 增量查询期间发生的增量修改，查询完成后重放，避免被旧快照覆盖；每次查询各自一份
+     */
+    private final Set<Map<Long, TriggerEntry>> changesDuringLoad = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    private static final long DEFAULT_RECONCILE_INTERVAL_MS = 60000;
+    /**
+     * app 超过该时长未被查询时移除其索引（通常是已由其他 server 负责）
+     */
+    private static final long APP_IDLE_EXPIRE_MS = 300000;
+    /**
+     * 两次增量查询的最小间隔，同一轮调度内的多次查询共用一次增量结果
+     */
+    private static final long DELTA_SCAN_MIN_INTERVAL_MS = 1000;
+    /**
+     * 增量查询的时间窗口向前多覆盖的时长，容忍 server 之间的时钟偏差以及提交时间晚于 gmtModified 的事务
+     */
+    private static final long DELTA_SCAN_OVERLAP_MS = 5000;
+
+    @Override
+    public void afterPropertiesSet() {
+        enable = Boolean.parseBoolean(environment.getProperty(PowerJobServerConfigKey.TRIGGER_INDEX_ENABLE, Boolean.TRUE.toString()));
+        reconcileIntervalMS = Long.parseLong(environment.getProperty(PowerJobServerConfigKey.TRIGGER_INDEX_RECONCILE_INTERVAL, String.valueOf(DEFAULT_RECONCILE_INTERVAL_MS)));
+        JobTriggerIndexListener.register(this);
+        log.info("[JobTriggerIndex] init job trigger index successfully, enable: {}, reconcileInterval: {}ms.", enable, reconcileIntervalMS);
+    }
+
+    /**
+     * 查询需要触发的任务，语义与 {@link JobInfoRepository#findByAppIdInAndStatusAndTimeExpressionTypeAndNextTriggerTimeLessThanEqual} 相同（status 固定为 ENABLE）
+     * @param appIds 当前 server 负责的 app
+     * @param timeExpressionType 时间表达式类型
+     * @param time 触发时间上限
+     * @return 需要触发的任务
+     */
+    public List<JobInfoDO> findDueJobs(List<Long> appIds, int timeExpressionType, long time) {
+        if (!enable) {
+            return jobInfoRepository.findByAppIdInAndStatusAndTimeExpressionTypeAndNextTriggerTimeLessThanEqual(appIds, SwitchableStatus.ENABLE.getV(), timeExpressionType, time);
+        }
+        prepare(appIds);
+
+        Map<Long, TriggerEntry> candidates = Maps.newHashMap();
+        synchronized (this) {
+            for (Long appId : appIds) {
+                AppIndex appIndex = appIndexes.get(appId);
+                if (appIndex != null) {
+                    appIndex.collectDue(timeExpressionType, time, candidates);
+                }
+            }
+        }
+        if (candidates.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        // 以数据库为准，索引中过期的条目（如事务回滚、其他 server 的修改）顺便修正
+        List<JobInfoDO> dueJobs = Lists.newArrayListWithCapacity(candidates.size());
+        for (JobInfoDO jobInfo : jobInfoRepository.findAllById(candidates.keySet())) {
+            candidates.remove(jobInfo.getId());
+            if (isDue(jobInfo, timeExpressionType, time)) {
+                dueJobs.add(jobInfo);
+            } else {
+                apply(toEntry(jobInfo));
+            }
+        }
+        // 剩余的是已被物理删除的任务
+        candidates.values().forEach(entry -> apply(TriggerEntry.removed(entry.jobId, entry.appId)));
+        return dueJobs;
+    }
+
+    /**
+     * 当前 server 负责的 app 发生变化时调用（如每轮调度开始时传入全部 app），移除不再负责的 app 的索引
+     * @param ownedAppIds 当前 server 负责的全部 app
+     */
+    public synchronized void retainApps(Collection<Long> ownedAppIds) {
+        appIndexes.keySet().retainAll(new HashSet<>(ownedAppIds));
+    }
+
+    /**
+     * 任务保存后调用，事务提交后更新索引
+     */
+    void onSave(JobInfoDO jobInfo) {
+        if (jobInfo.getId() == null || jobInfo.getAppId() == null) {
+            return;
+        }
+        applyAfterCommit(toEntry(jobInfo));
+    }
+
+    /**
+     * 任务删除后调用，事务提交后更新索引
+     */
+    void onRemove(JobInfoDO jobInfo) {
+        if (jobInfo.getId() == null || jobInfo.getAppId() == null) {
+            return;
+        }
+        applyAfterCommit(TriggerEntry.removed(jobInfo.getId(), jobInfo.getAppId()));
+    }
+
+    /**
+     * 实体监听器在 flush 时回调，此时事务尚未提交：条目在回调时生成（保留当时的状态），提交成功后才写入索引，回滚则丢弃
+     */
+    private void applyAfterCommit(TriggerEntry entry) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(entry);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(entry);
+            }
+        });
+    }
+
+    private static TriggerEntry toEntry(JobInfoDO jobInfo) {
+        return toEntry(jobInfo.getId(), jobInfo.getAppId(), jobInfo.getStatus(), jobInfo.getTimeExpressionType(), jobInfo.getNextTriggerTime());
+    }
+
+    private static TriggerEntry toEntry(Long jobId, Long appId, Integer status, Integer timeExpressionType, Long nextTriggerTime) {
+        boolean indexed = Objects.equals(status, SwitchableStatus.ENABLE.getV()) && nextTriggerTime != null && timeExpressionType != null;
+        return indexed ? new TriggerEntry(jobId, appId, timeExpressionType, nextTriggerTime) : TriggerEntry.removed(jobId, appId);
+    }
+
+    private synchronized void apply(TriggerEntry entry) {
+        changesDuringLoad.forEach(changes -> changes.put(entry.jobId, entry));
+        // 未加载的 app 无需维护，首次查询时会全量加载
+        AppIndex appIndex = appIndexes.get(entry.appId);
+        if (appIndex != null) {
+            appIndex.apply(entry);
+        }
+    }
+
+    /**
+     * 加载尚未建立索引的 app，已加载的 app 增量查询各自上次扫描之后的修改，到达对账间隔时全量重新加载
+     * 其他线程正在刷新的 app 直接使用现有索引；尚未建立索引的 app 总是在本次调用中加载
+     */
+    private void prepare(List<Long> appIds) {
+        long scanTime = System.currentTimeMillis();
+        List<Long> loadAppIds = Lists.newArrayList();
+        Set<Long> reloadAppIds = new HashSet<>();
+        List<Long> deltaAppIds = Lists.newArrayList();
+        long deltaFrom = Long.MAX_VALUE;
+        Map<Long, TriggerEntry> changes = Maps.newHashMap();
+        synchronized (this) {
+            for (Long appId : appIds) {
+                AppIndex appIndex = appIndexes.get(appId);
+                if (appIndex == null) {
+                    loadAppIds.add(appId);
+                    continue;
+                }
+                appIndex.lastAccessTime = scanTime;
+                if (appIndex.refreshing) {
+                    continue;
+                }
+                if (scanTime - appIndex.loadTime >= reconcileIntervalMS) {
+                    loadAppIds.add(appId);
+                    reloadAppIds.add(appId);
+                    appIndex.refreshing = true;
+                } else if (scanTime - appIndex.scanTime >= DELTA_SCAN_MIN_INTERVAL_MS) {
+                    deltaAppIds.add(appId);
+                    appIndex.refreshing = true;
+                    deltaFrom = Math.min(deltaFrom, appIndex.scanTime);
+                }
+            }
+            evictIdleApps(scanTime);
+            if (loadAppIds.isEmpty() && deltaAppIds.isEmpty()) {
+                return;
+            }
+            changesDuringLoad.add(changes);
+        }
+
+        Stopwatch stopwatch = Stopwatch.createStarted();
+        List<Object[]> rows;
+        List<Object[]> deltaRows;
+        try {
+            rows = loadAppIds.isEmpty() ? Collections.emptyList() : jobInfoRepository.findTriggerInfoByAppIdInAndStatus(loadAppIds, SwitchableStatus.ENABLE.getV());
+            deltaRows = deltaAppIds.isEmpty() ? Collections.emptyList() : jobInfoRepository.findTriggerInfoByAppIdInAndGmtModifiedAfter(deltaAppIds, new Date(deltaFrom - DELTA_SCAN_OVERLAP_MS));
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                changesDuringLoad.remove(changes);
+                // 扫描时间保持不变，下次调用重新查询
+                loadAppIds.forEach(this::finishRefresh);
+                deltaAppIds.forEach(this::finishRefresh);
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            changesDuringLoad.remove(changes);
+            Map<Long, AppIndex> loaded = Maps.newHashMapWithExpectedSize(loadAppIds.size());
+            loadAppIds.forEach(appId -> loaded.put(appId, new AppIndex(scanTime)));
+            for (Object[] row : rows) {
+                if (row[2] == null) {
+                    continue;
+                }
+                TriggerEntry entry = new TriggerEntry(((Number) row[0]).longValue(), ((Number) row[1]).longValue(), ((Number) row[2]).intValue(), ((Number) row[3]).longValue());
+                loaded.get(entry.appId).apply(entry);
+            }
+            for (Object[] row : deltaRows) {
+                TriggerEntry entry = toEntry(toLong(row[0]), toLong(row[1]), toInteger(row[2]), toInteger(row[3]), toLong(row[4]));
+                AppIndex appIndex = appIndexes.get(entry.appId);
+                if (appIndex != null) {
+                    appIndex.apply(entry);
+                }
+            }
+            // 查询结果可能早于期间的增量修改，以增量修改为准
+            changes.values().forEach(entry -> {
+                AppIndex appIndex = loaded.containsKey(entry.appId) ? loaded.get(entry.appId) : appIndexes.get(entry.appId);
+                if (appIndex != null) {
+                    appIndex.apply(entry);
+                }
+            });
+            deltaAppIds.forEach(appId -> {
+                AppIndex appIndex = appIndexes.get(appId);
+                if (appIndex != null) {
+                    appIndex.scanTime = scanTime;
+                    appIndex.refreshing = false;
+                }
+            });
+            loaded.forEach((appId, appIndex) -> {
+                // 对账期间已被 retainApps 移除的 app 不再放回
+                if (!reloadAppIds.contains(appId) || appIndexes.containsKey(appId)) {
+                    appIndexes.put(appId, appIndex);
+                }
+            });
+        }
+        if (!loadAppIds.isEmpty()) {
+            log.info("[JobTriggerIndex] load trigger index for {} apps successfully, jobs: {}, delta: {}, using {}.", loadAppIds.size(), rows.size(), deltaRows.size(), stopwatch);
+        } else if (!deltaRows.isEmpty()) {
+            log.debug("[JobTriggerIndex] apply {} modified jobs of {} apps, using {}.", deltaRows.size(), deltaAppIds.size(), stopwatch);
+        }
+    }
+
+    private void finishRefresh(Long appId) {
+        AppIndex appIndex = appIndexes.get(appId);
+        if (appIndex != null) {
+            appIndex.refreshing = false;
+        }
+    }
+
+    private void evictIdleApps(long now) {
+        appIndexes.values().removeIf(appIndex -> !appIndex.refreshing && now - appIndex.lastAccessTime >= APP_IDLE_EXPIRE_MS);
+    }
+
+    private static Long toLong(Object value) {
+        return value == null ? null : ((Number) value).longValue();
+    }
+
+    private static Integer toInteger(Object value) {
+        return value == null ? null : ((Number) value).intValue();
+    }
+
+    private static boolean isDue(JobInfoDO jobInfo, int timeExpressionType, long time) {
+        return Objects.equals(jobInfo.getStatus(), SwitchableStatus.ENABLE.getV())
+                && Objects.equals(jobInfo.getTimeExpressionType(), timeExpressionType)
+                && jobInfo.getNextTriggerTime() != null
+                && jobInfo.getNextTriggerTime() <= time;
+    }
+
+    /**
+     * 单个 app 的触发索引，由外部加锁
+     */
+    private static class AppIndex {
+
+        private final NavigableSet<TriggerEntry> entries = new TreeSet<>();
+        private final Map<Long, TriggerEntry> jobId2Entry = Maps.newHashMap();
+        /**
+         * 上一次全量加载的开始时间
+         */
+        private final long loadTime;
+        /**
+         * 上一次全量加载或增量查询的开始时间
+         */
+        private long scanTime;
+        private long lastAccessTime;
+        /**
+         * 是否有线程正在全量加载或增量查询该 app
+         */
+        private boolean refreshing;
+
+        AppIndex(long loadTime) {
+            this.loadTime = loadTime;
+            this.scanTime = loadTime;
+            this.lastAccessTime = loadTime;
+        }
+
+        void apply(TriggerEntry entry) {
+            TriggerEntry old = entry.isRemoved() ? jobId2Entry.remove(entry.jobId) : jobId2Entry.put(entry.jobId, entry);
+            if (old != null) {
+                entries.remove(old);
+            }
+            if (!entry.isRemoved()) {
+                entries.add(entry);
+            }
+        }
+
+        void collectDue(int timeExpressionType, long time, Map<Long, TriggerEntry> result) {
+            for (TriggerEntry entry : entries) {
+                if (entry.nextTriggerTime > time) {
+                    return;
+                }
+                if (entry.timeExpressionType == timeExpressionType) {
+                    result.put(entry.jobId, entry);
+                }
+            }
+        }
+    }
+
+    /**
+     * 索引条目，按 (nextTriggerTime, jobId) 排序；nextTriggerTime 为 null 代表移除
+     */
+    private static class TriggerEntry implements Comparable<TriggerEntry> {
+
+        private final long jobId;
+        private final long appId;
+        private final int timeExpressionType;
+        private final Long nextTriggerTime;
+
+        TriggerEntry(long jobId, long appId, int timeExpressionType, Long nextTriggerTime) {
+            this.jobId = jobId;
+            this.appId = appId;
+            this.timeExpressionType = timeExpressionType;
+            this.nextTriggerTime = nextTriggerTime;
+        }
+
+        static TriggerEntry removed(long jobId, long appId) {
+            return new TriggerEntry(jobId, appId, 0, null);
+        }
+
+        boolean isRemoved() {
+            return nextTriggerTime == null;
+        }
+
+        @Override
+        public int compareTo(TriggerEntry o) {
+            int ret = Long.compare(nextTriggerTime, o.nextTriggerTime);
+            return ret != 0 ? ret : Long.compare(jobId, o.jobId);
+        }
+    }
+}
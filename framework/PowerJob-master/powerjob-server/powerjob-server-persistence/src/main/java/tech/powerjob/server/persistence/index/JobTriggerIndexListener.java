@@ -0,0 +1,40 @@
+package tech.powerjob.server.persistence.index;
+
+import tech.powerjob.server.persistence.remote.model.JobInfoDO;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * JobInfoDO 实体监听器，任务写入数据库后通知 {@link JobTriggerIndex}，事务提交后才会生效
+ * 由 JPA 负责实例化，无法直接注入 Spring Bean，因此通过静态变量持有索引
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+public class JobTriggerIndexListener {
+
+    private static volatile JobTriggerIndex jobTriggerIndex;
+
+    static void register(JobTriggerIndex index) {
+        jobTriggerIndex = index;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void afterSave(JobInfoDO jobInfo) {
+        JobTriggerIndex index = jobTriggerIndex;
+        if (index != null) {
+            index.onSave(jobInfo);
+        }
+    }
+
+    @PostRemove
+    public void afterRemove(JobInfoDO jobInfo) {
+        JobTriggerIndex index = jobTriggerIndex;
+        if (index != null) {
+            index.onRemove(jobInfo);
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package tech.powerjob.server.persistence.local;
+
+import com.google.common.collect.Lists;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 单个任务实例的日志分段文件
+ * 数据文件（.log.gz）由若干个独立的 gzip 块首尾相连组成，整体仍是合法的 gzip 文件，可直接交给长期存储；
+ * 索引文件（.idx）为每个块记录一条定长索引：[offset(8)][compressedLength(4)][rawLength(4)][minLogTime(8)][maxLogTime(8)][lineCount(4)][firstLineNo(8)]
+ * 追加只写内存中的当前块，写满后压缩追加到文件末尾；读取时按行号二分定位块，只解压需要的块
+ * 非线程安全，由 {@link InstanceLogSegmentStore} 加锁
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+@Slf4j
+class InstanceLogSegment {
+
+    private static final int INDEX_RECORD_SIZE = 44;
+
+    private final long instanceId;
+    private final File dataFile;
+    private final File indexFile;
+    private final int blockSize;
+
+    private FileChannel dataChannel;
+    private FileChannel indexChannel;
+
+    private final List<BlockMeta> blocks = Lists.newArrayList();
+    private long dataLength;
+    private long sealedLines;
+
+    private final ByteArrayOutputStream pending;
+    private int pendingLines;
+    private long pendingMinTime = Long.MAX_VALUE;
+    private long pendingMaxTime = Long.MIN_VALUE;
+    private long pendingSince;
+
+    private long lastAccessTime = System.currentTimeMillis();
+    /**
+     * 已关闭（或已删除）的分段不可再使用，调用方需要重新打开
+     */
+    private boolean closed;
+
+    InstanceLogSegment(long instanceId, String dir, int blockSize) throws IOException {
+        this.instanceId = instanceId;
+        this.dataFile = dataFile(dir, instanceId);
+        this.indexFile = indexFile(dir, instanceId);
+        this.blockSize = blockSize;
+        this.pending = new ByteArrayOutputStream(Math.min(blockSize, 4096));
+        load();
+    }
+
+    /**
+     * 追加一条日志（已格式化，以换行符结尾）
+     */
+    void append(String line, long logTime) throws IOException {
+        lastAccessTime = System.currentTimeMillis();
+        if (pendingLines == 0) {
+            pendingSince = lastAccessTime;
+        }
+        byte[] bytes = line.getBytes(StandardCharsets.UTF_8);
+        pending.write(bytes, 0, bytes.length);
+        pendingLines += countLines(bytes);
+        pendingMinTime = Math.min(pendingMinTime, logTime);
+        pendingMaxTime = Math.max(pendingMaxTime, logTime);
+        if (pending.size() >= blockSize) {
+            flushBlock();
+        }
+    }
+
+    /**
+     * 将当前块压缩写入文件
+     */
+    void flushBlock() throws IOException {
+        if (pending.size() == 0) {
+            return;
+        }
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(pending.size() / 4 + 64);
+        try (GZIPOutputStream gos = new GZIPOutputStream(compressed)) {
+            pending.writeTo(gos);
+        }
+        BlockMeta block = new BlockMeta(dataLength, compressed.size(), pending.size(), pendingMinTime, pendingMaxTime, pendingLines, sealedLines);
+
+        openChannels();
+        writeFully(dataChannel, ByteBuffer.wrap(compressed.toByteArray()), block.offset);
+        // 先写数据再写索引，崩溃时最多丢失没有索引的数据块
+        ByteBuffer indexRecord = ByteBuffer.allocate(INDEX_RECORD_SIZE);
+        indexRecord.putLong(block.offset).putInt(block.compressedLength).putInt(block.rawLength)
+                .putLong(block.minLogTime).putLong(block.maxLogTime).putInt(block.lineCount).putLong(block.firstLineNo);
+        indexRecord.flip();
+        writeFully(indexChannel, indexRecord, (long) blocks.size() * INDEX_RECORD_SIZE);
+
+        blocks.add(block);
+        dataLength += block.compressedLength;
+        sealedLines += block.lineCount;
+
+        pending.reset();
+        pendingLines = 0;
+        pendingMinTime = Long.MAX_VALUE;
+        pendingMaxTime = Long.MIN_VALUE;
+    }
+
+    /**
+     * @return 总行数（包括尚未压缩的当前块）
+     */
+    long totalLines() {
+        return sealedLines + pendingLines;
+    }
+
+    /**
+     * 读取 [startLine, startLine + lineNum) 范围内的日志
+     */
+    String readLines(long startLine, int lineNum) throws IOException {
+        lastAccessTime = System.currentTimeMillis();
+        StringBuilder sb = new StringBuilder();
+        long endLine = Math.min(startLine + lineNum, totalLines());
+        if (startLine >= endLine) {
+            return sb.toString();
+        }
+        for (int i = findBlockByLine(startLine); i < blocks.size() && blocks.get(i).firstLineNo < endLine; i++) {
+            BlockMeta block = blocks.get(i);
+            appendLines(sb, decompress(block), block.firstLineNo, startLine, endLine);
+        }
+        if (endLine > sealedLines) {
+            appendLines(sb, pending.toByteArray(), sealedLines, startLine, endLine);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 根据稀疏时间索引定位第一条时间不早于 logTime 的日志所在的行号（块粒度）
+     */
+    long findLineByTime(long logTime) {
+        for (BlockMeta block : blocks) {
+            if (block.maxLogTime >= logTime) {
+                return block.firstLineNo;
+            }
+        }
+        return sealedLines;
+    }
+
+    /**
+     * 将剩余数据写入文件并关闭文件句柄，之后仍可继续追加（重新打开）
+     * @return 数据文件（gzip 格式）
+     */
+    File seal() throws IOException {
+        flushBlock();
+        closeChannels();
+        return dataFile;
+    }
+
+    void close() {
+        closed = true;
+        try {
+            seal();
+        } catch (IOException e) {
+            log.warn("[InstanceLogSegment-{}] close segment failed.", instanceId, e);
+        }
+    }
+
+    void delete() {
+        closed = true;
+        closeChannels();
+        pending.reset();
+        deleteFiles(instanceId, dataFile, indexFile);
+    }
+
+    /**
+     * @return 指定实例在磁盘上是否存在日志分段
+     */
+    static boolean exists(String dir, long instanceId) {
+        return dataFile(dir, instanceId).exists();
+    }
+
+    /**
+     * 直接删除未打开的分段文件
+     */
+    static void delete(String dir, long instanceId) {
+        deleteFiles(instanceId, dataFile(dir, instanceId), indexFile(dir, instanceId));
+    }
+
+    private static void deleteFiles(long instanceId, File dataFile, File indexFile) {
+        boolean dataDeleted = !dataFile.exists() || dataFile.delete();
+        boolean indexDeleted = !indexFile.exists() || indexFile.delete();
+        if (!dataDeleted || !indexDeleted) {
+            log.warn("[InstanceLogSegment-{}] delete segment files failed, data deleted: {}, index deleted: {}.", instanceId, dataDeleted, indexDeleted);
+        }
+    }
+
+    private static File dataFile(String dir, long instanceId) {
+        return new File(dir, instanceId + ".log.gz");
+    }
+
+    private static File indexFile(String dir, long instanceId) {
+        return new File(dir, instanceId + ".idx");
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    long getPendingSince() {
+        return pendingLines == 0 ? Long.MAX_VALUE : pendingSince;
+    }
+
+    long getLastAccessTime() {
+        return lastAccessTime;
+    }
+
+    private void load() throws IOException {
+        if (!dataFile.exists()) {
+            return;
+        }
+        long fileDataLength = dataFile.length();
+        long indexRecords = indexFile.exists() ? indexFile.length() / INDEX_RECORD_SIZE : 0;
+        try (DataInputStream dis = new DataInputStream(new BufferedInputStream(indexRecords == 0 ? new ByteArrayInputStream(new byte[0]) : new FileInputStream(indexFile)))) {
+            for (long i = 0; i < indexRecords; i++) {
+                BlockMeta block = new BlockMeta(dis.readLong(), dis.readInt(), dis.readInt(), dis.readLong(), dis.readLong(), dis.readInt(), dis.readLong());
+                if (block.offset != dataLength || block.offset + block.compressedLength > fileDataLength) {
+                    break;
+                }
+                blocks.add(block);
+                dataLength += block.compressedLength;
+                sealedLines += block.lineCount;
+            }
+        }
+        // 截断崩溃时写了一半的数据块或索引
+        openChannels();
+        dataChannel.truncate(dataLength);
+        indexChannel.truncate((long) blocks.size() * INDEX_RECORD_SIZE);
+        log.info("[InstanceLogSegment-{}] load segment successfully, blocks: {}, lines: {}.", instanceId, blocks.size(), sealedLines);
+    }
+
+    private int findBlockByLine(long line) {
+        int low = 0;
+        int high = blocks.size() - 1;
+        int ret = blocks.size();
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            BlockMeta block = blocks.get(mid);
+            if (block.firstLineNo + block.lineCount <= line) {
+                low = mid + 1;
+            } else {
+                ret = mid;
+                high = mid - 1;
+            }
+        }
+        return ret;
+    }
+
+    private byte[] decompress(BlockMeta block) throws IOException {
+        openChannels();
+        ByteBuffer buffer = ByteBuffer.allocate(block.compressedLength);
+        while (buffer.hasRemaining()) {
+            if (dataChannel.read(buffer, block.offset + buffer.position()) < 0) {
+                throw new EOFException("unexpected end of log segment " + dataFile.getAbsolutePath());
+            }
+        }
+        try (GZIPInputStream gis = new GZIPInputStream(new ByteArrayInputStream(buffer.array()))) {
+            return IOUtils.toByteArray(gis, block.rawLength);
+        }
+    }
+
+    private void openChannels() throws IOException {
+        if (dataChannel == null) {
+            dataFile.getParentFile().mkdirs();
+            dataChannel = FileChannel.open(dataFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            indexChannel = FileChannel.open(indexFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        }
+    }
+
+    private void closeChannels() {
+        IOUtils.closeQuietly(dataChannel);
+        IOUtils.closeQuietly(indexChannel);
+        dataChannel = null;
+        indexChannel = null;
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+
+    private static void appendLines(StringBuilder sb, byte[] raw, long firstLineNo, long startLine, long endLine) {
+        long lineNo = firstLineNo;
+        int lineStart = 0;
+        for (int i = 0; i < raw.length && lineNo < endLine; i++) {
+            if (raw[i] == '\n') {
+                if (lineNo >= startLine) {
+                    sb.append(new String(raw, lineStart, i + 1 - lineStart, StandardCharsets.UTF_8));
+                }
+                lineNo++;
+                lineStart = i + 1;
+            }
+        }
+    }
+
+    private static int countLines(byte[] bytes) {
+        int lines = 0;
+        for (byte b : bytes) {
+            if (b == '\n') {
+                lines++;
+            }
+        }
+        return lines;
+    }
+
+    private static class BlockMeta {
+        private final long offset;
+        private final int compressedLength;
+        private final int rawLength;
+        private final long minLogTime;
+        private final long maxLogTime;
+        private final int lineCount;
+        private final long firstLineNo;
+
+        BlockMeta(long offset, int compressedLength, int rawLength, long minLogTime, long maxLogTime, int lineCount, long firstLineNo) {
+            this.offset = offset;
+            this.compressedLength = compressedLength;
+            this.rawLength = rawLength;
+            this.minLogTime = minLogTime;
+            this.maxLogTime = maxLogTime;
+            this.lineCount = lineCount;
+            this.firstLineNo = firstLineNo;
+        }
+    }
+}
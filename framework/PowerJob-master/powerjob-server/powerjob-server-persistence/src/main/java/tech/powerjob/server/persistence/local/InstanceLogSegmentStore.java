@@ -0,0 +1,211 @@
+package tech.powerjob.server.persistence.local;
+
+import com.google.common.collect.Maps;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.lang3.time.DateFormatUtils;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import tech.powerjob.common.OmsConstant;
+import tech.powerjob.common.enums.LogLevel;
+import tech.powerjob.common.model.InstanceLogContent;
+import tech.powerjob.server.common.utils.OmsFileUtils;
+import tech.powerjob.server.persistence.StringPage;
+
+import java.io.*;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 实例运行日志的本地分段存储，代替逐行写入 {@link LocalInstanceLogDO}
+ * 每个实例一个分段文件（见 {@link InstanceLogSegment}），追加为 O(1) 的内存写入，按块压缩落盘；
+ * 控制台分页只解压对应的块；实例结束后 {@link #seal(long)} 返回的数据文件可直接上传至长期存储（gzip 格式）
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+@Slf4j
+@Service
+public class InstanceLogSegmentStore {
+
+    private final Map<Long, InstanceLogSegment> segments = Maps.newConcurrentMap();
+
+    /**
+     * 每页的最大行数
+     */
+    public static final int MAX_LINE_COUNT_PER_PAGE = 1000;
+    /**
+     * 压缩块的原始大小
+     */
+    private static final int BLOCK_SIZE = 64 * 1024;
+    /**
+     * 当前块最长在内存中停留的时间，超过后即使未写满也落盘
+     */
+    private static final long MAX_PENDING_MS = 5000;
+    /**
+     * 超过该时间未访问的分段关闭文件句柄
+     */
+    private static final long MAX_IDLE_MS = 10 * 60 * 1000;
+
+    /**
+     * 追加 worker 上报的日志
+     * @param workerAddress worker 地址
+     * @param logs 日志
+     */
+    public void append(String workerAddress, List<InstanceLogContent> logs) {
+        for (InstanceLogContent logContent : logs) {
+            try {
+                execute(logContent.getInstanceId(), segment -> {
+                    segment.append(formatLine(workerAddress, logContent), logContent.getLogTime());
+                    return null;
+                });
+            } catch (IOException e) {
+                log.warn("[InstanceLogSegmentStore] append log to segment({}) failed.", logContent.getInstanceId(), e);
+            }
+        }
+    }
+
+    /**
+     * 分页读取日志
+     * @param instanceId 任务实例ID
+     * @param index 页码，从 0 开始
+     * @return 日志分页
+     */
+    public StringPage readPage(long instanceId, long index) throws IOException {
+        if (!exists(instanceId)) {
+            return new StringPage(index, 1, "");
+        }
+        return execute(instanceId, segment -> {
+            long totalLines = segment.totalLines();
+            long totalPages = Math.max(1, (totalLines + MAX_LINE_COUNT_PER_PAGE - 1) / MAX_LINE_COUNT_PER_PAGE);
+            String data = segment.readLines(index * MAX_LINE_COUNT_PER_PAGE, MAX_LINE_COUNT_PER_PAGE);
+            return new StringPage(index, totalPages, data);
+        });
+    }
+
+    /**
+     * 定位指定时间的日志所在的页码
+     * @param instanceId 任务实例ID
+     * @param logTime 日志时间
+     * @return 页码
+     */
+    public long findPageByTime(long instanceId, long logTime) throws IOException {
+        if (!exists(instanceId)) {
+            return 0;
+        }
+        return execute(instanceId, segment -> segment.findLineByTime(logTime) / MAX_LINE_COUNT_PER_PAGE);
+    }
+
+    /**
+     * 实例结束后调用，将剩余日志落盘
+     * @param instanceId 任务实例ID
+     * @return 数据文件（多个 gzip 块首尾相连，可直接上传至长期存储，使用 gzip 解压即为完整的日志文本），实例没有日志时返回 null
+     */
+    public File seal(long instanceId) throws IOException {
+        if (!exists(instanceId)) {
+            return null;
+        }
+        return execute(instanceId, InstanceLogSegment::seal);
+    }
+
+    /**
+     * 将日志解压为文本文件，用于下载
+     * @param instanceId 任务实例ID
+     * @param target 目标文件
+     */
+    public void writeText(long instanceId, File target) throws IOException {
+        File dataFile = seal(instanceId);
+        if (dataFile == null || !dataFile.exists()) {
+            // 没有日志，输出空文件
+            new FileOutputStream(target).close();
+            return;
+        }
+        try (InputStream is = new GZIPInputStream(new BufferedInputStream(new FileInputStream(dataFile)));
+             OutputStream os = new BufferedOutputStream(new FileOutputStream(target))) {
+            IOUtils.copy(is, os);
+        } catch (EOFException ignore) {
+            // 空文件
+        }
+    }
+
+    /**
+     * 删除实例的本地日志
+     * @param instanceId 任务实例ID
+     */
+    public void delete(long instanceId) {
+        InstanceLogSegment segment = segments.remove(instanceId);
+        if (segment == null) {
+            InstanceLogSegment.delete(OmsFileUtils.genLogSegmentPath(), instanceId);
+            return;
+        }
+        synchronized (segment) {
+            segment.delete();
+        }
+    }
+
+    /**
+     * 定时将停留过久的当前块落盘，并关闭长时间未访问的分段
+     */
+    @Scheduled(fixedDelay = MAX_PENDING_MS)
+    public void flushPendingBlocks() {
+        long now = System.currentTimeMillis();
+        segments.forEach((instanceId, segment) -> {
+            synchronized (segment) {
+                try {
+                    if (now - segment.getLastAccessTime() > MAX_IDLE_MS) {
+                        segment.close();
+                        segments.remove(instanceId, segment);
+                    } else if (now - segment.getPendingSince() > MAX_PENDING_MS) {
+                        segment.flushBlock();
+                    }
+                } catch (IOException e) {
+                    log.warn("[InstanceLogSegmentStore] flush segment({}) failed.", instanceId, e);
+                }
+            }
+        });
+    }
+
+    /**
+     * 在分段的锁内执行操作，分段已被关闭时重新打开
+     */
+    private <T> T execute(long instanceId, SegmentOperation<T> operation) throws IOException {
+        while (true) {
+            InstanceLogSegment segment = segments.computeIfAbsent(instanceId, this::open);
+            if (segment == null) {
+                throw new IOException("can't open log segment for instance " + instanceId);
+            }
+            synchronized (segment) {
+                if (!segment.isClosed()) {
+                    return operation.apply(segment);
+                }
+            }
+        }
+    }
+
+    /**
+     * 只读操作不创建分段：内存中没有且磁盘上也不存在时，说明该实例没有日志
+     */
+    private boolean exists(long instanceId) {
+        return segments.containsKey(instanceId) || InstanceLogSegment.exists(OmsFileUtils.genLogSegmentPath(), instanceId);
+    }
+
+    private InstanceLogSegment open(long instanceId) {
+        try {
+            return new InstanceLogSegment(instanceId, OmsFileUtils.genLogSegmentPath(), BLOCK_SIZE);
+        } catch (IOException e) {
+            log.error("[InstanceLogSegmentStore] open log segment for instance({}) failed.", instanceId, e);
+            return null;
+        }
+    }
+
+    private static String formatLine(String workerAddress, InstanceLogContent logContent) {
+        return String.format("%s [%s] %s %s", DateFormatUtils.format(logContent.getLogTime(), OmsConstant.TIME_PATTERN_PLUS),
+                workerAddress, LogLevel.genLogLevelString(logContent.getLogLevel()), logContent.getLogContent()) + OmsConstant.LINE_SEPARATOR;
+    }
+
+    @FunctionalInterface
+    private interface SegmentOperation<T> {
+        T apply(InstanceLogSegment segment) throws IOException;
+    }
+}
@@ -2,7 +2,9 @@ package tech.powerjob.server.persistence.mongodb;
 
 import tech.powerjob.server.common.PowerJobServerConfigKey;
 import com.google.common.base.Stopwatch;
+import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.mongodb.client.MongoCollection;
 import com.mongodb.client.MongoDatabase;
 import com.mongodb.client.gridfs.GridFSBucket;
 import com.mongodb.client.gridfs.GridFSBuckets;
@@ -12,6 +14,7 @@ import com.mongodb.client.gridfs.model.GridFSFile;
 import com.mongodb.client.model.Filters;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.time.DateUtils;
+import org.bson.Document;
 import org.bson.conversions.Bson;
 import org.bson.types.ObjectId;
 import org.springframework.beans.factory.InitializingBean;
@@ -23,6 +26,7 @@ import org.springframework.stereotype.Service;
 import javax.annotation.Resource;
 import java.io.*;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 
@@ -47,6 +51,11 @@ public class GridFsManager implements InitializingBean {
     public static final String LOG_BUCKET = "log";
     public static final String CONTAINER_BUCKET = "container";
 
+    /**
+     * 批量删除时每批的文件数量
+     */
+    private static final int DELETE_BATCH_SIZE = 500;
+
     @Autowired(required = false)
     public void setMongoTemplate(MongoTemplate mongoTemplate) {
         if (mongoTemplate != null) {
@@ -103,6 +112,7 @@ public class GridFsManager implements InitializingBean {
 
     /**
      * 删除几天前的文件
+     * 按批次查询过期文件，每批先用一条 deleteMany 删除数据块，再用一条 deleteMany 删除文件元数据
      * @param bucketName 桶名称
      * @param day 日期偏移量，单位 天
      */
@@ -114,17 +124,31 @@ public class GridFsManager implements InitializingBean {
         GridFSBucket bucket = getBucket(bucketName);
         Bson filter = Filters.lt("uploadDate", date);
 
-        // 循环删除性能很差？我猜你肯定没看过官方实现[狗头]：org.springframework.data.mongodb.gridfs.GridFsTemplate.delete
-        bucket.find(filter).forEach((Consumer<GridFSFile>) gridFSFile -> {
-            ObjectId objectId = gridFSFile.getObjectId();
+        MongoCollection<Document> filesCollection = db.getCollection(bucketName + ".files");
+        MongoCollection<Document> chunksCollection = db.getCollection(bucketName + ".chunks");
+
+        long deleted = 0;
+        while (true) {
+            List<ObjectId> objectIds = Lists.newArrayListWithCapacity(DELETE_BATCH_SIZE);
+            bucket.find(filter).limit(DELETE_BATCH_SIZE).forEach((Consumer<GridFSFile>) gridFSFile -> objectIds.add(gridFSFile.getObjectId()));
+            if (objectIds.isEmpty()) {
+                break;
+            }
             try {
-                bucket.delete(objectId);
-                log.info("[GridFsManager] deleted {}#{}", bucketName, objectId);
-            }catch (Exception e) {
-                log.error("[GridFsManager] deleted {}#{} failed.", bucketName, objectId, e);
+                // 先删除数据块：中途失败时文件元数据仍在，下一轮会重新查到并继续删除，不会留下无主的数据块
+                chunksCollection.deleteMany(Filters.in("files_id", objectIds));
+                filesCollection.deleteMany(Filters.in("_id", objectIds));
+                deleted += objectIds.size();
+                log.debug("[GridFsManager] deleted {} files in bucket {}.", objectIds.size(), bucketName);
+            } catch (Exception e) {
+                log.error("[GridFsManager] delete {} files in bucket {} failed.", objectIds.size(), bucketName, e);
+                break;
+            }
+            if (objectIds.size() < DELETE_BATCH_SIZE) {
+                break;
             }
-        });
-        log.info("[GridFsManager] clean bucket({}) successfully, delete all files before {}, using {}.", bucketName, date, sw.stop());
+        }
+        log.info("[GridFsManager] clean bucket({}) successfully, delete {} files before {}, using {}.", bucketName, deleted, date, sw.stop());
     }
 
     public boolean exists(String bucketName, String fileName) {
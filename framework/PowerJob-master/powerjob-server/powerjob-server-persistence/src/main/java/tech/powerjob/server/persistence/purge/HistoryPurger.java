@@ -0,0 +1,237 @@
+package tech.powerjob.server.persistence.purge;
+
+import com.google.common.base.Stopwatch;
+import com.google.common.collect.Lists;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.time.DateFormatUtils;
+import org.apache.commons.lang3.time.DateUtils;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+import tech.powerjob.common.enums.InstanceStatus;
+import tech.powerjob.common.enums.WorkflowInstanceStatus;
+import tech.powerjob.common.serialize.JsonUtils;
+import tech.powerjob.server.common.PowerJobServerConfigKey;
+import tech.powerjob.server.common.utils.OmsFileUtils;
+import tech.powerjob.server.persistence.remote.model.InstanceInfoDO;
+import tech.powerjob.server.persistence.remote.model.WorkflowInstanceInfoDO;
+import tech.powerjob.server.persistence.remote.repository.InstanceInfoRepository;
+import tech.powerjob.server.persistence.remote.repository.WorkflowInstanceInfoRepository;
+
+import javax.annotation.Resource;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 历史数据分块清理，代替一次性的 deleteAllByGmtModifiedBeforeAndStatusIn
+ * 按主键范围逐块扫描，每块一条按主键删除的 DELETE 语句，块与块之间休眠，单个事务锁住的数据量与持续时间都是有界的；
+ * 开启归档时，删除前先将该块数据以 JSON Lines 格式按创建日期追加到本地 gzip 文件（archive/表名/yyyy-MM-dd.jsonl.gz），归档失败则跳过删除
+ * 本类不负责调度，多台 server 同时清理时归档文件会出现重复数据，需要由调用方（CleanService）在分布式锁内调用
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+@Slf4j
+@Service
+public class HistoryPurger implements InitializingBean {
+
+    @Resource
+    private Environment environment;
+    @Resource
+    private InstanceInfoRepository instanceInfoRepository;
+    @Resource
+    private WorkflowInstanceInfoRepository workflowInstanceInfoRepository;
+
+    private int chunkSize;
+    private long chunkIntervalMS;
+    private boolean archiveEnable;
+
+    private static final int DEFAULT_CHUNK_SIZE = 1000;
+    private static final long DEFAULT_CHUNK_INTERVAL_MS = 100;
+    private static final String ARCHIVE_DAY_PATTERN = "yyyy-MM-dd";
+
+    @Override
+    public void afterPropertiesSet() {
+        chunkSize = Math.max(1, Integer.parseInt(environment.getProperty(PowerJobServerConfigKey.PURGE_CHUNK_SIZE, String.valueOf(DEFAULT_CHUNK_SIZE))));
+        chunkIntervalMS = Long.parseLong(environment.getProperty(PowerJobServerConfigKey.PURGE_CHUNK_INTERVAL, String.valueOf(DEFAULT_CHUNK_INTERVAL_MS)));
+        archiveEnable = Boolean.parseBoolean(environment.getProperty(PowerJobServerConfigKey.PURGE_ARCHIVE_ENABLE, Boolean.FALSE.toString()));
+        log.info("[HistoryPurger] init history purger successfully, chunkSize: {}, chunkInterval: {}ms, archive: {}.", chunkSize, chunkIntervalMS, archiveEnable);
+    }
+
+    /**
+     * 清理已结束且超过保留时间的任务实例
+     * @param day 保留天数
+     * @return 删除记录数
+     */
+    public long purgeInstanceInfo(int day) {
+        return purge(new PurgeTarget<>("instance_info", InstanceStatus.FINISHED_STATUS,
+                instanceInfoRepository::findMinIdFrom,
+                instanceInfoRepository::findMinGmtCreateByIdRange,
+                instanceInfoRepository::findIdByIdRangeAndGmtModifiedBeforeAndStatusIn,
+                instanceInfoRepository::findByIdRangeAndGmtModifiedBeforeAndStatusIn,
+                instanceInfoRepository::deleteByIdInAndGmtModifiedBeforeAndStatusIn,
+                InstanceInfoDO::getId, InstanceInfoDO::getGmtCreate), day);
+    }
+
+    /**
+     * 清理已结束且超过保留时间的工作流实例
+     * @param day 保留天数
+     * @return 删除记录数
+     */
+    public long purgeWorkflowInstanceInfo(int day) {
+        return purge(new PurgeTarget<>("workflow_instance_info", WorkflowInstanceStatus.FINISHED_STATUS,
+                workflowInstanceInfoRepository::findMinIdFrom,
+                workflowInstanceInfoRepository::findMinGmtCreateByIdRange,
+                workflowInstanceInfoRepository::findIdByIdRangeAndGmtModifiedBeforeAndStatusIn,
+                workflowInstanceInfoRepository::findByIdRangeAndGmtModifiedBeforeAndStatusIn,
+                workflowInstanceInfoRepository::deleteByIdInAndGmtModifiedBeforeAndStatusIn,
+                WorkflowInstanceInfoDO::getId, WorkflowInstanceInfoDO::getGmtCreate), day);
+    }
+
+    private <T> long purge(PurgeTarget<T> target, int day) {
+
+        Stopwatch sw = Stopwatch.createStarted();
+        Date time = DateUtils.addDays(new Date(), -day);
+
+        long deleted = 0;
+        int chunks = 0;
+        long cursor = 0;
+        try {
+            Long startId;
+            // 跳过已清理的空洞，直接从下一条存在的记录开始
+            while ((startId = target.minIdFrom.apply(cursor)) != null) {
+                long endId = startId + chunkSize;
+                List<Long> ids;
+                if (archiveEnable) {
+                    List<T> rows = target.rowFinder.find(startId, endId, time, target.status);
+                    archive(target, rows);
+                    ids = Lists.transform(rows, target.idGetter::apply);
+                } else {
+                    ids = target.idFinder.find(startId, endId, time, target.status);
+                }
+                if (ids.isEmpty()) {
+                    // 主键自增，整块都在阈值之后创建时，后续的记录也不可能满足条件
+                    Date minGmtCreate = target.minGmtCreate.find(startId, endId);
+                    if (minGmtCreate != null && !minGmtCreate.before(time)) {
+                        break;
+                    }
+                } else {
+                    deleted += target.deleter.delete(Lists.newArrayList(ids), time, target.status);
+                    chunks++;
+                    if (chunkIntervalMS > 0) {
+                        Thread.sleep(chunkIntervalMS);
+                    }
+                }
+                cursor = endId;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("[HistoryPurger] purge {} interrupted, stop at id {}.", target.table, cursor);
+        } catch (Exception e) {
+            log.warn("[HistoryPurger] purge {} failed, stop at id {}.", target.table, cursor, e);
+        }
+        log.info("[HistoryPurger] purge {} finished, delete {} records before {} in {} chunks, using {}.", target.table, deleted, time, chunks, sw.stop());
+        return deleted;
+    }
+
+    /**
+     * 按创建日期分组，每组先在内存中压缩为一个独立的 gzip 块，再一次性追加到当天的归档文件，多个 gzip 块首尾相连仍是合法的 gzip 文件
+     * 任意一组写入失败时，回滚本次已追加的所有块，保证归档与删除一一对应
+     */
+    private <T> void archive(PurgeTarget<T> target, List<T> rows) throws IOException {
+        if (rows.isEmpty()) {
+            return;
+        }
+        Map<String, List<T>> day2Rows = new TreeMap<>();
+        for (T row : rows) {
+            Date gmtCreate = target.gmtCreateGetter.apply(row);
+            String day = gmtCreate == null ? "unknown" : DateFormatUtils.format(gmtCreate, ARCHIVE_DAY_PATTERN);
+            day2Rows.computeIfAbsent(day, ignore -> Lists.newArrayList()).add(row);
+        }
+        File dir = new File(OmsFileUtils.genArchivePath(), target.table);
+        if (!dir.exists() && !dir.mkdirs() && !dir.exists()) {
+            throw new IOException("can't create archive directory " + dir.getAbsolutePath());
+        }
+        Map<File, Long> originLengths = new LinkedHashMap<>();
+        try {
+            for (Map.Entry<String, List<T>> entry : day2Rows.entrySet()) {
+                byte[] member = compress(target, entry.getValue());
+                File archiveFile = new File(dir, entry.getKey() + ".jsonl.gz");
+                originLengths.put(archiveFile, archiveFile.length());
+                try (FileOutputStream fos = new FileOutputStream(archiveFile, true)) {
+                    fos.write(member);
+                    // 归档落盘后才允许删除数据库中的记录
+                    fos.getFD().sync();
+                }
+            }
+        } catch (IOException e) {
+            // 文件句柄关闭后再截断，去掉本次追加的内容，避免重试时重复归档
+            originLengths.forEach(HistoryPurger::truncateQuietly);
+            throw e;
+        }
+    }
+
+    private static <T> byte[] compress(PurgeTarget<T> target, List<T> rows) throws IOException {
+        ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (Writer writer = new OutputStreamWriter(new GZIPOutputStream(bos), StandardCharsets.UTF_8)) {
+            for (T row : rows) {
+                String json = JsonUtils.toJSONString(row);
+                if (json == null) {
+                    throw new IOException("serialize " + target.table + "#" + target.idGetter.apply(row) + " failed");
+                }
+                writer.write(json);
+                writer.write('\n');
+            }
+        }
+        return bos.toByteArray();
+    }
+
+    private static void truncateQuietly(File file, long length) {
+        if (!file.exists()) {
+            return;
+        }
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            if (raf.length() > length) {
+                raf.setLength(length);
+            }
+        } catch (IOException e) {
+            log.error("[HistoryPurger] truncate archive file {} to {} failed, the archive may contain duplicate records.", file, length, e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface RangeFinder<R> {
+        R find(long startId, long endId);
+    }
+
+    @FunctionalInterface
+    private interface ChunkFinder<R> {
+        List<R> find(long startId, long endId, Date time, List<Integer> status);
+    }
+
+    @FunctionalInterface
+    private interface ChunkDeleter {
+        int delete(List<Long> ids, Date time, List<Integer> status);
+    }
+
+    @AllArgsConstructor
+    private static class PurgeTarget<T> {
+        private final String table;
+        private final List<Integer> status;
+        private final Function<Long, Long> minIdFrom;
+        private final RangeFinder<Date> minGmtCreate;
+        private final ChunkFinder<Long> idFinder;
+        private final ChunkFinder<T> rowFinder;
+        private final ChunkDeleter deleter;
+        private final Function<T, Long> idGetter;
+        private final Function<T, Date> gmtCreateGetter;
+    }
+}
@@ -5,6 +5,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import org.hibernate.annotations.GenericGenerator;
+import tech.powerjob.server.persistence.index.JobTriggerIndexListener;
 
 import javax.persistence.*;
 import java.util.Date;
@@ -19,6 +20,7 @@ import java.util.Date;
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
+@EntityListeners(JobTriggerIndexListener.class)
 @Table(indexes = {@Index(columnList = "appId")})
 public class JobInfoDO {
 
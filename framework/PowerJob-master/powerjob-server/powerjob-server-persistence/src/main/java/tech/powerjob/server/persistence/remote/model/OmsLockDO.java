@@ -31,6 +31,14 @@ public class OmsLockDO {
      * 最长持有锁的时间
      */
     private Long maxLockTime;
+    /**
+     * 租约到期时间（毫秒时间戳），仅租约锁使用，0 代表已释放
+     */
+    private Long expireTime;
+    /**
+     * 防护令牌，每次获取锁时单调递增，仅租约锁使用
+     */
+    private Long fencingToken;
 
     private Date gmtCreate;
 
@@ -88,6 +88,8 @@ public interface InstanceInfoRepository extends JpaRepository<InstanceInfoDO, Lo
 
     InstanceInfoDO findByInstanceId(long instanceId);
 
+    List<InstanceInfoDO> findByAppIdAndInstanceIdIn(long appId, List<Long> instanceIds);
+
     /* --数据统计-- */
 
     long countByAppIdAndStatus(long appId, int status);
@@ -100,6 +102,7 @@ public interface InstanceInfoRepository extends JpaRepository<InstanceInfoDO, Lo
     /**
      * 删除历史数据，JPA自带的删除居然是根据ID循环删，2000条数据删了几秒，也太拉垮了吧...
      * 结果只能用 int 接收
+     * 数据量大时单条 DELETE 会长时间锁表，建议使用 HistoryPurger 分块清理
      *
      * @param time   更新时间阈值
      * @param status 状态
@@ -109,4 +112,31 @@ public interface InstanceInfoRepository extends JpaRepository<InstanceInfoDO, Lo
     @Transactional(rollbackOn = Exception.class)
     @Query(value = "delete from InstanceInfoDO where gmtModified < ?1 and status in ?2")
     int deleteAllByGmtModifiedBeforeAndStatusIn(Date time, List<Integer> status);
+
+    /* --分块清理历史数据，按主键范围逐块删除，避免单条 DELETE 长时间锁住大范围数据-- */
+
+    @Query(value = "select min(id) from InstanceInfoDO where id >= ?1")
+    Long findMinIdFrom(long id);
+
+    @Query(value = "select min(gmtCreate) from InstanceInfoDO where id >= ?1 and id < ?2")
+    Date findMinGmtCreateByIdRange(long startId, long endId);
+
+    @Query(value = "select id from InstanceInfoDO where id >= ?1 and id < ?2 and gmtModified < ?3 and status in ?4")
+    List<Long> findIdByIdRangeAndGmtModifiedBeforeAndStatusIn(long startId, long endId, Date time, List<Integer> status);
+
+    @Query(value = "from InstanceInfoDO where id >= ?1 and id < ?2 and gmtModified < ?3 and status in ?4")
+    List<InstanceInfoDO> findByIdRangeAndGmtModifiedBeforeAndStatusIn(long startId, long endId, Date time, List<Integer> status);
+
+    /**
+     * 按主键删除历史数据，重复校验更新时间与状态，防止删除查询后被更新的记录
+     *
+     * @param ids    主键
+     * @param time   更新时间阈值
+     * @param status 状态
+     * @return 删除记录数
+     */
+    @Modifying
+    @Transactional(rollbackOn = Exception.class)
+    @Query(value = "delete from InstanceInfoDO where id in ?1 and gmtModified < ?2 and status in ?3")
+    int deleteByIdInAndGmtModifiedBeforeAndStatusIn(List<Long> ids, Date time, List<Integer> status);
 }
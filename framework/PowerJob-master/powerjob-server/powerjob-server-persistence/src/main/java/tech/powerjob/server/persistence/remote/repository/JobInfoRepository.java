@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Date;
 import java.util.List;
 import java.util.Set;
 
@@ -24,6 +25,20 @@ public interface JobInfoRepository extends JpaRepository<JobInfoDO, Long>, JpaSp
      */
     List<JobInfoDO> findByAppIdInAndStatusAndTimeExpressionTypeAndNextTriggerTimeLessThanEqual(List<Long> appIds, int status, int timeExpressionType, long time);
 
+    /**
+     * 触发索引专用，只查询构建索引需要的字段
+     * @return [id, appId, timeExpressionType, nextTriggerTime]
+     */
+    @Query(value = "select id, appId, timeExpressionType, nextTriggerTime from JobInfoDO where appId in ?1 and status = ?2 and nextTriggerTime is not null")
+    List<Object[]> findTriggerInfoByAppIdInAndStatus(List<Long> appIds, int status);
+
+    /**
+     * 触发索引专用，增量查询指定时间之后修改过的任务（包括已停用、已删除状态的任务）
+     * @return [id, appId, status, timeExpressionType, nextTriggerTime]
+     */
+    @Query(value = "select id, appId, status, timeExpressionType, nextTriggerTime from JobInfoDO where appId in ?1 and gmtModified >= ?2")
+    List<Object[]> findTriggerInfoByAppIdInAndGmtModifiedAfter(List<Long> appIds, Date time);
+
     @Query(value = "select id from JobInfoDO where appId in ?1 and status = ?2 and timeExpressionType in ?3")
     List<Long> findByAppIdInAndStatusAndTimeExpressionTypeIn(List<Long> appIds, int status, List<Integer> timeTypes);
 
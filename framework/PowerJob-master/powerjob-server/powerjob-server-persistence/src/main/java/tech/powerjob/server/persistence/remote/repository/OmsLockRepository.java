@@ -6,6 +6,9 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 
 import javax.transaction.Transactional;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
 
 /**
  * 利用唯一性约束作为数据库锁
@@ -25,4 +28,39 @@ public interface OmsLockRepository extends JpaRepository<OmsLockDO, Long> {
     @Modifying
     @Transactional
     int deleteByOwnerIP(String ip);
+
+    List<OmsLockDO> findByLockNameIn(Collection<String> lockNames);
+
+    /**
+     * 租约锁专用：抢占已过期（或已释放）的锁，同时递增防护令牌
+     * expireTime 为空的记录由 DatabaseLockService 写入，不在此处抢占，见 {@link #takeOverLegacyLock}
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "update OmsLockDO set ownerIP = ?2, maxLockTime = ?3, expireTime = ?4, fencingToken = coalesce(fencingToken, 0) + 1, gmtCreate = ?5, gmtModified = ?5 where lockName = ?1 and expireTime is not null and expireTime < ?6")
+    int takeOverExpiredLock(String lockName, String ownerIP, long maxLockTime, long expireTime, Date now, long currentTime);
+
+    /**
+     * 租约锁专用：抢占 DatabaseLockService 写入且已超过最长持有时间的锁（gmtCreate 不变说明期间没有被重新获取）
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "update OmsLockDO set ownerIP = ?2, maxLockTime = ?3, expireTime = ?4, fencingToken = coalesce(fencingToken, 0) + 1, gmtCreate = ?5, gmtModified = ?5 where lockName = ?1 and expireTime is null and gmtCreate = ?6")
+    int takeOverLegacyLock(String lockName, String ownerIP, long maxLockTime, long expireTime, Date now, Date legacyGmtCreate);
+
+    /**
+     * 租约锁专用：批量续期，已过期的锁不再续期
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "update OmsLockDO set expireTime = ?3, gmtModified = ?4 where ownerIP = ?1 and lockName in ?2 and expireTime >= ?5")
+    int renewLocks(String ownerIP, Collection<String> lockNames, long expireTime, Date now, long currentTime);
+
+    /**
+     * 租约锁专用：释放锁但保留记录，保证防护令牌单调递增
+     */
+    @Modifying
+    @Transactional
+    @Query(value = "update OmsLockDO set expireTime = 0, gmtModified = ?3 where lockName = ?1 and fencingToken = ?2")
+    int releaseLock(String lockName, long fencingToken, Date now);
 }
@@ -28,6 +28,7 @@ public interface WorkflowInstanceInfoRepository extends JpaRepository<WorkflowIn
     /**
      * 删除历史数据，JPA自带的删除居然是根据ID循环删，2000条数据删了几秒，也太拉垮了吧...
      * 结果只能用 int 接收
+     * 数据量大时单条 DELETE 会长时间锁表，建议使用 HistoryPurger 分块清理
      * @param time 更新时间阈值
      * @param status 状态列表
      * @return 删除的记录条数
@@ -37,6 +38,33 @@ public interface WorkflowInstanceInfoRepository extends JpaRepository<WorkflowIn
     @Query(value = "delete from WorkflowInstanceInfoDO where gmtModified < ?1 and status in ?2")
     int deleteAllByGmtModifiedBeforeAndStatusIn(Date time, List<Integer> status);
 
+    /* --分块清理历史数据，按主键范围逐块删除，避免单条 DELETE 长时间锁住大范围数据-- */
+
+    @Query(value = "select min(id) from WorkflowInstanceInfoDO where id >= ?1")
+    Long findMinIdFrom(long id);
+
+    @Query(value = "select min(gmtCreate) from WorkflowInstanceInfoDO where id >= ?1 and id < ?2")
+    Date findMinGmtCreateByIdRange(long startId, long endId);
+
+    @Query(value = "select id from WorkflowInstanceInfoDO where id >= ?1 and id < ?2 and gmtModified < ?3 and status in ?4")
+    List<Long> findIdByIdRangeAndGmtModifiedBeforeAndStatusIn(long startId, long endId, Date time, List<Integer> status);
+
+    @Query(value = "from WorkflowInstanceInfoDO where id >= ?1 and id < ?2 and gmtModified < ?3 and status in ?4")
+    List<WorkflowInstanceInfoDO> findByIdRangeAndGmtModifiedBeforeAndStatusIn(long startId, long endId, Date time, List<Integer> status);
+
+    /**
+     * 按主键删除历史数据，重复校验更新时间与状态，防止删除查询后被更新的记录
+     *
+     * @param ids    主键
+     * @param time   更新时间阈值
+     * @param status 状态
+     * @return 删除记录数
+     */
+    @Modifying
+    @Transactional(rollbackOn = Exception.class)
+    @Query(value = "delete from WorkflowInstanceInfoDO where id in ?1 and gmtModified < ?2 and status in ?3")
+    int deleteByIdInAndGmtModifiedBeforeAndStatusIn(List<Long> ids, Date time, List<Integer> status);
+
     /**
      * 统计该工作流下处于对应状态的实例数量
      * @param workflowId 工作流 ID
@@ -12,23 +12,26 @@ import tech.powerjob.server.persistence.remote.model.AppInfoDO;
 import tech.powerjob.server.persistence.remote.repository.AppInfoRepository;
 import tech.powerjob.server.remote.transport.TransportService;
 import tech.powerjob.server.remote.transport.starter.AkkaStarter;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Sets;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.Resource;
 import java.time.Duration;
-import java.util.Date;
-import java.util.Optional;
-import java.util.Set;
-import java.util.concurrent.CompletionStage;
-import java.util.concurrent.ThreadLocalRandom;
-import java.util.concurrent.TimeUnit;
+import java.util.*;
+import java.util.concurrent.*;
 
 /**
  * Default server election policy, first-come, first-served, no load balancing capability
+ * 选举结果（app -> server）以租约的形式缓存在每台 server 的内存中，租约有效期内的服务发现请求直接由缓存应答，
+ * 只有租约过期或 server 失联时才会访问数据库；后台任务每轮（5 秒）通过一次批量查询重新校验所有租约对应的 server 并续期，
+ * 因此其他 server 篡位后，本机缓存的选举结果最多滞后一轮；server 存活检测在独立的线程池中并行执行，单轮耗时有上限
  *
  * @author tjq
  * @since 2021/2/9
@@ -46,9 +49,29 @@ public class ServerElectionService {
 
     @Value("${oms.accurate.select.server.percentage}")
     private int accurateSelectServerPercentage;
+    /**
+     * 选举结果租约的有效期
+     */
+    @Value("${oms.server.election.lease-ms:30000}")
+    private long leaseMs;
+
+    /**
+     * appId -> 选举结果租约
+     */
+    private final Map<Long, ServerLease> leases = Maps.newConcurrentMap();
+    /**
+     * 续期时并行检测 server 存活状态，避免失联的 server 逐个超时拖慢调度线程
+     */
+    private final ExecutorService pingExecutor = new ThreadPoolExecutor(PING_THREAD_NUM, PING_THREAD_NUM, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(1024), new ThreadFactoryBuilder().setNameFormat("oms-election-ping-%d").setDaemon(true).build());
 
     private static final int RETRY_TIMES = 10;
     private static final long PING_TIMEOUT_MS = 1000;
+    private static final int PING_THREAD_NUM = 4;
+    /**
+     * 单轮续期中存活检测的总等待时间
+     */
+    private static final long PING_ROUND_TIMEOUT_MS = 3 * PING_TIMEOUT_MS;
     private static final String SERVER_ELECT_LOCK = "server_elect_%d";
 
     public String elect(Long appId, String protocol, String currentServer) {
@@ -58,9 +81,89 @@ public class ServerElectionService {
                 return currentServer;
             }
         }
+        ServerLease lease = leases.get(appId);
+        if (lease != null && lease.isValid()) {
+            lease.lastAccessTime = System.currentTimeMillis();
+            String address = lease.getAddress(protocol);
+            if (StringUtils.isNotEmpty(address)) {
+                return address;
+            }
+        }
         return getServer0(appId, protocol);
     }
 
+    /**
+     * 批量续期：每轮通过一次批量查询重新校验所有租约对应的 server，server 已变更或失联的立即更新或作废；最近被使用过的租约续期，其余的任其过期
+     */
+    @Scheduled(fixedRate = 5000, initialDelay = 5000)
+    public void renewLeases() {
+        if (leases.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        Map<Long, String> currentServers = Maps.newHashMap();
+        appInfoRepository.findAllById(Lists.newArrayList(leases.keySet())).forEach(appInfo -> currentServers.put(appInfo.getId(), appInfo.getCurrentServer()));
+        Map<String, Map<String, String>> aliveServers = pingAll(Sets.newHashSet(currentServers.values()));
+
+        int renewed = 0;
+        for (Map.Entry<Long, ServerLease> entry : leases.entrySet()) {
+            Long appId = entry.getKey();
+            ServerLease lease = entry.getValue();
+            String server = currentServers.get(appId);
+            Map<String, String> addresses = StringUtils.isEmpty(server) ? null : aliveServers.get(server);
+            if (addresses == null || now >= lease.expireTime) {
+                leases.remove(appId, lease);
+                continue;
+            }
+            boolean recentlyUsed = now - lease.lastAccessTime < leaseMs;
+            if (!recentlyUsed && server.equals(lease.server)) {
+                lease.addresses = addresses;
+                continue;
+            }
+            ServerLease newLease = new ServerLease(server, addresses, recentlyUsed ? now + leaseMs : lease.expireTime);
+            newLease.lastAccessTime = lease.lastAccessTime;
+            if (leases.replace(appId, lease, newLease)) {
+                renewed++;
+            }
+        }
+        log.debug("[ServerElection] renew {} leases, current lease num: {}.", renewed, leases.size());
+    }
+
+    /**
+     * 并行 PING 多台 server，总耗时不超过 {@link #PING_ROUND_TIMEOUT_MS}，未能按时完成的视为失联
+     * @param servers server 地址（ActorSystem 地址）
+     * @return 存活的 server -> 该 server 各协议的地址
+     */
+    private Map<String, Map<String, String>> pingAll(Set<String> servers) {
+        Map<String, CompletableFuture<Map<String, String>>> futures = Maps.newHashMap();
+        for (String server : servers) {
+            if (StringUtils.isEmpty(server)) {
+                continue;
+            }
+            try {
+                futures.put(server, CompletableFuture.supplyAsync(() -> ping(server, Sets.newHashSet()), pingExecutor));
+            } catch (RejectedExecutionException e) {
+                log.warn("[ServerElection] ping executor is busy, treat server({}) as down in this round.", server);
+            }
+        }
+        long deadline = System.currentTimeMillis() + PING_ROUND_TIMEOUT_MS;
+        Map<String, Map<String, String>> aliveServers = Maps.newHashMap();
+        futures.forEach((server, future) -> {
+            try {
+                Map<String, String> addresses = future.get(Math.max(0, deadline - System.currentTimeMillis()), TimeUnit.MILLISECONDS);
+                if (addresses != null) {
+                    aliveServers.put(server, addresses);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                future.cancel(true);
+                log.warn("[ServerElection] ping server({}) timeout.", server);
+            }
+        });
+        return aliveServers;
+    }
+
     private String getServer0(Long appId, String protocol) {
 
         Set<String> downServerCache = Sets.newHashSet();
@@ -74,7 +177,7 @@ public class ServerElectionService {
             }
             String appName = appInfoOpt.get().getAppName();
             String originServer = appInfoOpt.get().getCurrentServer();
-            String activeAddress = activeAddress(originServer, downServerCache, protocol);
+            String activeAddress = activeAddress(appId, originServer, downServerCache, protocol);
             if (StringUtils.isNotEmpty(activeAddress)) {
                 return activeAddress;
             }
@@ -93,7 +196,7 @@ public class ServerElectionService {
 
                 // 可能上一台机器已经完成了Server选举，需要再次判断
                 AppInfoDO appInfo = appInfoRepository.findById(appId).orElseThrow(() -> new RuntimeException("impossible, unless we just lost our database."));
-                String address = activeAddress(appInfo.getCurrentServer(), downServerCache, protocol);
+                String address = activeAddress(appId, appInfo.getCurrentServer(), downServerCache, protocol);
                 if (StringUtils.isNotEmpty(address)) {
                     return address;
                 }
@@ -105,6 +208,7 @@ public class ServerElectionService {
 
                 appInfoRepository.saveAndFlush(appInfo);
                 log.info("[ServerElection] this server({}) become the new server for app(appId={}).", appInfo.getCurrentServer(), appId);
+                leases.put(appId, new ServerLease(appInfo.getCurrentServer(), localAddresses(), System.currentTimeMillis() + leaseMs));
                 return getProtocolServerAddress(protocol);
             }catch (Exception e) {
                 log.error("[ServerElection] write new server to db failed for app {}.", appName, e);
@@ -116,13 +220,30 @@ public class ServerElectionService {
     }
 
     /**
-     * 判断指定server是否存活
+     * 判断指定server是否存活，存活则为该 app 发放租约
+     * @param appId 应用ID
      * @param serverAddress 需要检测的server地址
      * @param downServerCache 缓存，防止多次发送PING（这个QPS其实还蛮爆表的...）
      * @param protocol 协议，用于返回指定的地址
      * @return null or address
      */
-    private String activeAddress(String serverAddress, Set<String> downServerCache, String protocol) {
+    private String activeAddress(Long appId, String serverAddress, Set<String> downServerCache, String protocol) {
+        Map<String, String> addresses = ping(serverAddress, downServerCache);
+        if (addresses == null) {
+            return null;
+        }
+        ServerLease lease = new ServerLease(serverAddress, addresses, System.currentTimeMillis() + leaseMs);
+        leases.put(appId, lease);
+        return lease.getAddress(protocol);
+    }
+
+    /**
+     * PING 指定 server
+     * @param serverAddress server 地址（ActorSystem 地址）
+     * @param downServerCache 已确认失联的 server
+     * @return 存活则返回该 server 各协议的地址（协议名 -> 地址），否则返回 null
+     */
+    private Map<String, String> ping(String serverAddress, Set<String> downServerCache) {
 
         if (downServerCache.contains(serverAddress)) {
             return null;
@@ -130,6 +251,10 @@ public class ServerElectionService {
         if (StringUtils.isEmpty(serverAddress)) {
             return null;
         }
+        // 本机必然存活
+        if (serverAddress.equals(transportService.getTransporter(Protocol.AKKA).getAddress())) {
+            return localAddresses();
+        }
 
         Ping ping = new Ping();
         ping.setCurrentTime(System.currentTimeMillis());
@@ -140,7 +265,9 @@ public class ServerElectionService {
             AskResponse response = (AskResponse) askCS.toCompletableFuture().get(PING_TIMEOUT_MS, TimeUnit.MILLISECONDS);
             downServerCache.remove(serverAddress);
             if (response.isSuccess()) {
-                return JsonUtils.parseObject(response.getData(), JSONObject.class).getString(protocol);
+                Map<String, String> addresses = Maps.newHashMap();
+                JsonUtils.parseObject(response.getData(), JSONObject.class).forEach((k, v) -> addresses.put(k, String.valueOf(v)));
+                return addresses;
             }
         }catch (Exception e) {
             log.warn("[ServerElection] server({}) was down.", serverAddress);
@@ -149,6 +276,12 @@ public class ServerElectionService {
         return null;
     }
 
+    private static Map<String, String> localAddresses() {
+        Map<String, String> addresses = Maps.newHashMap();
+        TransportService.getAllAddress().forEach((pt, address) -> addresses.put(pt.name(), address));
+        return addresses;
+    }
+
     private boolean accurate() {
         return ThreadLocalRandom.current().nextInt(100) < accurateSelectServerPercentage;
     }
@@ -157,4 +290,35 @@ public class ServerElectionService {
         Protocol pt = Protocol.of(protocol);
         return TransportService.getAllAddress().get(pt);
     }
+
+    /**
+     * 选举结果租约，有效期内直接使用缓存的 server 地址
+     */
+    private static class ServerLease {
+        /**
+         * 负责该 app 的 server（ActorSystem 地址，与 AppInfoDO#currentServer 一致）
+         */
+        private final String server;
+        /**
+         * 协议名 -> 地址
+         */
+        private volatile Map<String, String> addresses;
+        private final long expireTime;
+        private volatile long lastAccessTime;
+
+        ServerLease(String server, Map<String, String> addresses, long expireTime) {
+            this.server = server;
+            this.addresses = addresses;
+            this.expireTime = expireTime;
+            this.lastAccessTime = System.currentTimeMillis();
+        }
+
+        boolean isValid() {
+            return System.currentTimeMillis() < expireTime;
+        }
+
+        String getAddress(String protocol) {
+            return addresses.get(Protocol.of(protocol).name());
+        }
+    }
 }
@@ -5,23 +5,38 @@ import tech.powerjob.common.enums.Protocol;
 import tech.powerjob.common.RemoteConstant;
 import tech.powerjob.common.response.AskResponse;
 import tech.powerjob.common.utils.NetUtils;
+import tech.powerjob.server.common.PowerJobServerConfigKey;
+import tech.powerjob.server.monitor.MonitorService;
+import tech.powerjob.server.monitor.events.s2w.HttpTransportEvent;
 import tech.powerjob.server.remote.transport.Transporter;
 import tech.powerjob.server.remote.transport.starter.VertXStarter;
+import com.google.common.collect.Maps;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
 import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpVersion;
 import io.vertx.ext.web.client.HttpResponse;
 import io.vertx.ext.web.client.WebClient;
 import io.vertx.ext.web.client.WebClientOptions;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * http transporter powered by vert.x
+ * 每个 worker 地址维护一个 keep-alive 连接池，调度高峰期无需为每个请求新建 TCP 连接；
+ * 管线化需要手动开启（部分代理、worker 端 HTTP 实现不能正确处理管线化请求），开启后并发发往同一 worker 的请求在同一连接上连续写出，
+ * 不必逐个等待响应（HTTP/2 下则为多路复用）
+ * 注意：并发 tell 的合并只通过管线化 / HTTP/2 实现，默认配置下每个 tell 仍是一个独立的请求（复用连接，但不合并）；
+ * 将多个 tell 合并为一个请求体需要 worker 端提供批量接口，当前 worker 协议不支持
  *
  * @author tjq
  * @since 2021/2/8
@@ -31,12 +46,43 @@ import java.util.concurrent.TimeUnit;
 public class HttpTransporter implements Transporter {
 
     private final WebClient webClient;
+    private final MonitorService monitorService;
+
+    /**
+     * worker 地址 -> 当前统计周期内的请求统计
+     */
+    private final Map<String, DestinationStats> destinationStats = Maps.newConcurrentMap();
+
+    private static final int DEFAULT_MAX_POOL_SIZE = 8;
+    private static final int PIPELINING_LIMIT = 32;
+    private static final int KEEP_ALIVE_TIMEOUT_S = 60;
+    private static final long STATS_INTERVAL_MS = 60000;
+
+    @Autowired
+    public HttpTransporter(Environment environment, MonitorService monitorService) {
+        this.monitorService = monitorService;
+
+        int maxPoolSize = Integer.parseInt(environment.getProperty(PowerJobServerConfigKey.HTTP_TRANSPORT_MAX_POOL_SIZE, String.valueOf(DEFAULT_MAX_POOL_SIZE)));
+        boolean pipelining = Boolean.parseBoolean(environment.getProperty(PowerJobServerConfigKey.HTTP_TRANSPORT_PIPELINING, Boolean.FALSE.toString()));
+        boolean http2 = Boolean.parseBoolean(environment.getProperty(PowerJobServerConfigKey.HTTP_TRANSPORT_HTTP2, Boolean.FALSE.toString()));
 
-    public HttpTransporter() {
         WebClientOptions options = new WebClientOptions()
-                .setKeepAlive(false)
+                .setKeepAlive(true)
+                .setKeepAliveTimeout(KEEP_ALIVE_TIMEOUT_S)
+                .setMaxPoolSize(maxPoolSize)
+                .setPipelining(pipelining)
+                .setPipeliningLimit(PIPELINING_LIMIT)
                 .setConnectTimeout((int) RemoteConstant.DEFAULT_TIMEOUT_MS);
-        webClient = WebClient.create(Vertx.vertx(), options);
+        if (http2) {
+            // worker 端不一定支持 TLS，直接使用 h2c，单个连接即可多路复用
+            options.setProtocolVersion(HttpVersion.HTTP_2)
+                    .setHttp2ClearTextUpgrade(false)
+                    .setHttp2MaxPoolSize(1);
+        }
+        Vertx vertx = Vertx.vertx();
+        webClient = WebClient.create(vertx, options);
+        vertx.setPeriodic(STATS_INTERVAL_MS, ignore -> reportStats());
+        log.info("[HttpTransporter] init HttpTransporter successfully, maxPoolSize: {}, pipelining: {}, http2: {}.", maxPoolSize, pipelining, http2);
     }
 
     @Override
@@ -65,9 +111,56 @@ public class HttpTransporter implements Transporter {
         Pair<String, Integer> ipAndPort = NetUtils.splitAddress2IpAndPort(address);
         String ip = ipAndPort.getLeft();
         int port = ipAndPort.getRight();
+        DestinationStats stats = destinationStats.computeIfAbsent(address, ignore -> new DestinationStats());
+        long startTime = System.currentTimeMillis();
         return webClient.post(port, ip, object.path())
                 .sendJson(object)
-                .onSuccess(res -> log.info("[HttpTransporter] send request to {}{} successfully: {}, response: {}", address, object.path(), object, res))
-                .onFailure(t -> log.warn("[HttpTransporter] send request to {}{} failed: {}", address, object.path(), object, t));
+                .onSuccess(res -> {
+                    stats.record(System.currentTimeMillis() - startTime, false);
+                    log.debug("[HttpTransporter] send request to {}{} successfully: {}, response: {}", address, object.path(), object, res);
+                })
+                .onFailure(t -> {
+                    stats.record(System.currentTimeMillis() - startTime, true);
+                    log.warn("[HttpTransporter] send request to {}{} failed: {}", address, object.path(), object, t);
+                });
+    }
+
+    /**
+     * 按目标地址上报统计数据，本周期内没有请求的地址不再保留
+     */
+    private void reportStats() {
+        destinationStats.forEach((address, stats) -> {
+            long requestNum = stats.requestNum.sumThenReset();
+            long failedNum = stats.failedNum.sumThenReset();
+            long totalCost = stats.totalCost.sumThenReset();
+            long maxCost = stats.maxCost.getAndSet(0);
+            if (requestNum == 0) {
+                destinationStats.remove(address, stats);
+                return;
+            }
+            monitorService.monitor(new HttpTransportEvent()
+                    .setWorkerAddress(address)
+                    .setRequestNum(requestNum)
+                    .setFailedNum(failedNum)
+                    .setAvgCost(totalCost / requestNum)
+                    .setMaxCost(maxCost));
+        });
+    }
+
+    private static class DestinationStats {
+
+        private final LongAdder requestNum = new LongAdder();
+        private final LongAdder failedNum = new LongAdder();
+        private final LongAdder totalCost = new LongAdder();
+        private final AtomicLong maxCost = new AtomicLong();
+
+        void record(long cost, boolean failed) {
+            requestNum.increment();
+            if (failed) {
+                failedNum.increment();
+            }
+            totalCost.add(cost);
+            maxCost.accumulateAndGet(cost, Math::max);
+        }
     }
 }
@@ -10,6 +10,7 @@ import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.StringUtils;
 import tech.powerjob.common.OmsConstant;
+import tech.powerjob.common.PowerJobDKey;
 import tech.powerjob.common.RemoteConstant;
 import tech.powerjob.common.utils.NetUtils;
 import tech.powerjob.server.common.PowerJobServerConfigKey;
@@ -63,6 +64,9 @@ public class AkkaStarter {
         String localIp = NetUtils.getLocalHost();
         overrideConfig.put("akka.remote.artery.canonical.hostname", localIp);
         overrideConfig.put("akka.remote.artery.canonical.port", port);
+        if (Boolean.getBoolean(PowerJobDKey.REGISTERED_SERIALIZER)) {
+            overrideConfig.put(RemoteConstant.AKKA_SERIALIZATION_BINDING_KEY, RemoteConstant.AKKA_REGISTERED_SERIALIZER_NAME);
+        }
         actorSystemAddress = localIp + ":" + port;
         log.info("[PowerJob] akka-remote server address: {}", actorSystemAddress);
 
@@ -0,0 +1,29 @@
+package tech.powerjob.server.web.controller;
+
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import tech.powerjob.server.monitor.metrics.MetricsRegistry;
+
+import javax.annotation.Resource;
+
+/**
+ * 监控指标控制器，供 Prometheus 拉取
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+@RestController
+@RequestMapping("/monitor")
+public class MonitorController {
+
+    private static final String PROMETHEUS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    @Resource
+    private MetricsRegistry metricsRegistry;
+
+    @GetMapping(value = "/metrics", produces = PROMETHEUS_CONTENT_TYPE)
+    public String metrics() {
+        return metricsRegistry.scrape();
+    }
+}
@@ -3,6 +3,8 @@ package tech.powerjob.server.web.controller;
 import tech.powerjob.common.enums.InstanceStatus;
 import tech.powerjob.common.OpenAPIConstant;
 import tech.powerjob.common.PowerQuery;
+import tech.powerjob.common.request.http.BatchFetchInstanceRequest;
+import tech.powerjob.common.request.http.RunJobRequest;
 import tech.powerjob.common.request.http.SaveJobInfoRequest;
 import tech.powerjob.common.request.http.SaveWorkflowNodeRequest;
 import tech.powerjob.common.request.http.SaveWorkflowRequest;
@@ -11,8 +13,10 @@ import tech.powerjob.common.response.InstanceInfoDTO;
 import tech.powerjob.common.response.JobInfoDTO;
 import tech.powerjob.common.response.ResultDTO;
 import tech.powerjob.common.response.WorkflowInstanceInfoDTO;
+import tech.powerjob.server.persistence.remote.model.InstanceInfoDO;
 import tech.powerjob.server.persistence.remote.model.WorkflowInfoDO;
 import tech.powerjob.server.persistence.remote.model.WorkflowNodeInfoDO;
+import tech.powerjob.server.persistence.remote.repository.InstanceInfoRepository;
 import tech.powerjob.server.core.service.AppInfoService;
 import tech.powerjob.server.core.service.CacheService;
 import tech.powerjob.server.core.service.JobService;
@@ -20,11 +24,19 @@ import tech.powerjob.server.core.instance.InstanceService;
 import tech.powerjob.server.core.workflow.WorkflowInstanceService;
 import tech.powerjob.server.core.workflow.WorkflowService;
 import tech.powerjob.server.web.response.WorkflowInfoVO;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.springframework.beans.BeanUtils;
 import org.springframework.web.bind.annotation.*;
 
 import javax.annotation.Resource;
 import java.text.ParseException;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 /**
  * 开放接口（OpenAPI）控制器，对接 oms-client
@@ -32,6 +44,7 @@ import java.util.List;
  * @author tjq
  * @since 2020/4/15
  */
+@Slf4j
 @RestController
 @RequestMapping(OpenAPIConstant.WEB_PATH)
 public class OpenAPIController {
@@ -49,6 +62,8 @@ public class OpenAPIController {
 
     @Resource
     private CacheService cacheService;
+    @Resource
+    private InstanceInfoRepository instanceInfoRepository;
 
 
     @PostMapping(OpenAPIConstant.ASSERT)
@@ -114,6 +129,43 @@ public class OpenAPIController {
         return ResultDTO.success(jobService.runJob(appId, jobId, instanceParams, delay));
     }
 
+    /**
+     * 批量保存任务，单个任务失败不影响其他任务，返回结果与请求一一对应
+     */
+    @PostMapping(OpenAPIConstant.BATCH_SAVE_JOB)
+    public ResultDTO<List<ResultDTO<Long>>> batchSaveJob(@RequestBody List<SaveJobInfoRequest> requests) {
+        checkBatchSize(requests);
+        List<ResultDTO<Long>> results = Lists.newArrayListWithCapacity(requests.size());
+        for (SaveJobInfoRequest request : requests) {
+            try {
+                results.add(saveJob(request));
+            } catch (Exception e) {
+                log.warn("[OpenAPIController] batch save job failed, request: {}, reason: {}.", request, ExceptionUtils.getMessage(e));
+                results.add(ResultDTO.failed(ExceptionUtils.getMessage(e)));
+            }
+        }
+        return ResultDTO.success(results);
+    }
+
+    /**
+     * 批量运行任务，单个任务失败不影响其他任务，返回结果（instanceId）与请求一一对应
+     */
+    @PostMapping(OpenAPIConstant.BATCH_RUN_JOB)
+    public ResultDTO<List<ResultDTO<Long>>> batchRunJob(@RequestBody List<RunJobRequest> requests) {
+        checkBatchSize(requests);
+        List<ResultDTO<Long>> results = Lists.newArrayListWithCapacity(requests.size());
+        for (RunJobRequest request : requests) {
+            try {
+                request.valid();
+                results.add(runJob(request.getAppId(), request.getJobId(), request.getInstanceParams(), request.getDelay()));
+            } catch (Exception e) {
+                log.warn("[OpenAPIController] batch run job failed, request: {}, reason: {}.", request, ExceptionUtils.getMessage(e));
+                results.add(ResultDTO.failed(ExceptionUtils.getMessage(e)));
+            }
+        }
+        return ResultDTO.success(results);
+    }
+
     /* ************* Instance 区 ************* */
 
     @PostMapping(OpenAPIConstant.STOP_INSTANCE)
@@ -148,6 +200,30 @@ public class OpenAPIController {
         return ResultDTO.success(instanceService.getInstanceInfo(instanceId));
     }
 
+    /**
+     * 批量查询任务实例状态，一次数据库查询；不存在或不属于该应用的实例不会出现在结果中
+     */
+    @PostMapping(OpenAPIConstant.BATCH_FETCH_INSTANCE_STATUS)
+    public ResultDTO<Map<Long, Integer>> batchFetchInstanceStatus(@RequestBody BatchFetchInstanceRequest request) {
+        List<InstanceInfoDO> instances = batchFetchInstance(request);
+        Map<Long, Integer> instanceId2Status = Maps.newHashMapWithExpectedSize(instances.size());
+        instances.forEach(instance -> instanceId2Status.put(instance.getInstanceId(), instance.getStatus()));
+        return ResultDTO.success(instanceId2Status);
+    }
+
+    /**
+     * 批量查询任务实例详情，一次数据库查询；不存在或不属于该应用的实例不会出现在结果中
+     */
+    @PostMapping(OpenAPIConstant.BATCH_FETCH_INSTANCE_INFO)
+    public ResultDTO<List<InstanceInfoDTO>> batchFetchInstanceInfo(@RequestBody BatchFetchInstanceRequest request) {
+        List<InstanceInfoDTO> instanceInfos = batchFetchInstance(request).stream().map(instance -> {
+            InstanceInfoDTO instanceInfoDTO = new InstanceInfoDTO();
+            BeanUtils.copyProperties(instance, instanceInfoDTO);
+            return instanceInfoDTO;
+        }).collect(Collectors.toList());
+        return ResultDTO.success(instanceInfos);
+    }
+
     @PostMapping(OpenAPIConstant.QUERY_INSTANCE)
     public ResultDTO<List<InstanceInfoDTO>> queryInstance(@RequestBody PowerQuery powerQuery) {
         return ResultDTO.success(instanceService.queryInstanceInfo(powerQuery));
@@ -225,6 +301,26 @@ public class OpenAPIController {
         return ResultDTO.success(workflowInstanceService.fetchWorkflowInstanceInfo(wfInstanceId, appId));
     }
 
+    private List<InstanceInfoDO> batchFetchInstance(BatchFetchInstanceRequest request) {
+        if (request.getAppId() == null) {
+            throw new IllegalArgumentException("appId can't be empty");
+        }
+        checkBatchSize(request.getInstanceIds());
+        if (request.getInstanceIds().isEmpty()) {
+            return Lists.newArrayList();
+        }
+        return instanceInfoRepository.findByAppIdAndInstanceIdIn(request.getAppId(), request.getInstanceIds());
+    }
+
+    private static void checkBatchSize(Collection<?> batch) {
+        if (batch == null) {
+            throw new IllegalArgumentException("batch request can't be null");
+        }
+        if (batch.size() > OpenAPIConstant.MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("batch size can't be greater than " + OpenAPIConstant.MAX_BATCH_SIZE);
+        }
+    }
+
     private void checkInstanceIdValid(Long instanceId, Long appId) {
         Long realAppId = cacheService.getAppIdByInstanceId(instanceId);
         if (realAppId == null) {
@@ -27,7 +27,7 @@ public class MainApplication implements Runnable {
     @Option(names = {"-p", "--port"}, description = "akka ActorSystem working port, not recommended to change")
     private Integer port = RemoteConstant.DEFAULT_WORKER_PORT;
 
-    @Option(names = {"-e", "--persistence"}, description = "storage strategy, DISK or MEMORY")
+    @Option(names = {"-e", "--persistence"}, description = "storage strategy, DISK, MEMORY, DISK_NATIVE or MEMORY_NATIVE")
     private String storeStrategy = "DISK";
 
     @Option(names = {"-s", "--server"}, description = "oms-server's address, IP:Port OR domain", required = true)
@@ -53,7 +53,7 @@ public class MainApplication implements Runnable {
             cfg.setAppName(appName);
             cfg.setPort(port);
             cfg.setServerAddress(Splitter.on(",").splitToList(server));
-            cfg.setStoreStrategy(StoreStrategy.MEMORY.name().equals(storeStrategy) ? StoreStrategy.MEMORY : StoreStrategy.DISK);
+            cfg.setStoreStrategy(parseStoreStrategy(storeStrategy));
             cfg.setMaxResultLength(length);
             cfg.setTag(tag);
 
@@ -66,4 +66,13 @@ public class MainApplication implements Runnable {
             ExceptionUtils.rethrow(e);
         }
     }
+
+    private static StoreStrategy parseStoreStrategy(String storeStrategy) {
+        for (StoreStrategy strategy : StoreStrategy.values()) {
+            if (strategy.name().equals(storeStrategy)) {
+                return strategy;
+            }
+        }
+        return StoreStrategy.DISK;
+    }
 }
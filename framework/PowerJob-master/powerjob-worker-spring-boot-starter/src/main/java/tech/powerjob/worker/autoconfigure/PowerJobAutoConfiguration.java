@@ -72,6 +72,15 @@ public class PowerJobAutoConfiguration {
          * Max length of appended workflow context . Appended workflow context value that is longer than the value will be ignore.
          */
         config.setMaxAppendedWfContextLength(worker.getMaxAppendedWfContextLength());
+        /*
+         * Batch size and linger time of the messages between TaskTracker and ProcessorTracker.
+         */
+        config.setTaskMessageBatchSize(worker.getTaskMessageBatchSize());
+        config.setTaskMessageLingerMs(worker.getTaskMessageLingerMs());
+        /*
+         * Execute tasks on virtual threads (JDK 21+).
+         */
+        config.setEnableVirtualThread(worker.isEnableVirtualThread());
         /*
          * Worker Tag
          */
@@ -155,6 +155,19 @@ public class PowerJobProperties {
          * {@link WorkflowContext} max length for #appendedContextData
          */
         private int maxAppendedWfContextLength = 8192;
+        /**
+         * Max number of tasks per dispatch message and task statuses per report message. {@code 1} disables batching.
+         * Only enable it when all workers of the app support batch messages.
+         */
+        private int taskMessageBatchSize = 1;
+        /**
+         * Max time in milliseconds a task or task status waits in the buffer before the batch message is sent.
+         */
+        private long taskMessageLingerMs = 5;
+        /**
+         * Whether to execute tasks on virtual threads, requires JDK 21+ at runtime.
+         */
+        private boolean enableVirtualThread = false;
         /**
          * Worker Tag
          */
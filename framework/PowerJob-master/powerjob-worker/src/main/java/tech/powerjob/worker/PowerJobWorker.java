@@ -6,6 +6,7 @@ import akka.actor.DeadLetter;
 import akka.actor.Props;
 import akka.routing.RoundRobinPool;
 import tech.powerjob.common.exception.PowerJobException;
+import tech.powerjob.common.PowerJobDKey;
 import tech.powerjob.common.RemoteConstant;
 import tech.powerjob.common.response.ResultDTO;
 import tech.powerjob.common.utils.CommonUtils;
@@ -23,6 +24,7 @@ import tech.powerjob.worker.common.PowerJobWorkerConfig;
 import tech.powerjob.worker.common.PowerBannerPrinter;
 import tech.powerjob.worker.common.WorkerRuntime;
 import tech.powerjob.worker.common.utils.SpringUtils;
+import tech.powerjob.worker.core.schedule.WorkerScheduler;
 import tech.powerjob.worker.persistence.TaskPersistenceService;
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.Maps;
@@ -97,6 +99,11 @@ public class PowerJobWorker implements ApplicationContextAware, InitializingBean
             ThreadFactory timingPoolFactory = new ThreadFactoryBuilder().setNameFormat("oms-worker-timing-pool-%d").build();
             timingPool = Executors.newScheduledThreadPool(3, timingPoolFactory);
 
+            // 初始化 Tracker 共享的调度器
+            int schedulerThreadNum = Integer.parseInt(System.getProperty(PowerJobDKey.WORKER_SCHEDULER_THREADS, String.valueOf(Math.max(16, Runtime.getRuntime().availableProcessors() * 4))));
+            int schedulerIoThreadNum = Integer.parseInt(System.getProperty(PowerJobDKey.WORKER_SCHEDULER_IO_THREADS, String.valueOf(Math.max(8, Runtime.getRuntime().availableProcessors() * 2))));
+            workerRuntime.setWorkerScheduler(new WorkerScheduler(schedulerThreadNum, schedulerIoThreadNum));
+
             // 连接 server
             ServerDiscoveryService serverDiscoveryService = new ServerDiscoveryService(workerRuntime.getAppId(), workerRuntime.getWorkerConfig());
             serverDiscoveryService.start(timingPool);
@@ -106,6 +113,9 @@ public class PowerJobWorker implements ApplicationContextAware, InitializingBean
             Map<String, Object> overrideConfig = Maps.newHashMap();
             overrideConfig.put("akka.remote.artery.canonical.hostname", NetUtils.getLocalHost());
             overrideConfig.put("akka.remote.artery.canonical.port", config.getPort());
+            if (Boolean.getBoolean(PowerJobDKey.REGISTERED_SERIALIZER)) {
+                overrideConfig.put(RemoteConstant.AKKA_SERIALIZATION_BINDING_KEY, RemoteConstant.AKKA_REGISTERED_SERIALIZER_NAME);
+            }
 
             Config akkaBasicConfig = ConfigFactory.load(RemoteConstant.WORKER_AKKA_CONFIG_NAME);
             Config akkaFinalConfig = ConfigFactory.parseMap(overrideConfig).withFallback(akkaBasicConfig);
@@ -133,6 +143,7 @@ public class PowerJobWorker implements ApplicationContextAware, InitializingBean
 
             // 初始化日志系统
             OmsLogHandler omsLogHandler = new OmsLogHandler(workerAddress, actorSystem, serverDiscoveryService);
+            omsLogHandler.start();
             workerRuntime.setOmsLogHandler(omsLogHandler);
 
             // 初始化存储
@@ -143,7 +154,6 @@ public class PowerJobWorker implements ApplicationContextAware, InitializingBean
 
             // 初始化定时任务
             timingPool.scheduleAtFixedRate(new WorkerHealthReporter(workerRuntime), 0, 15, TimeUnit.SECONDS);
-            timingPool.scheduleWithFixedDelay(omsLogHandler.logSubmitter, 0, 5, TimeUnit.SECONDS);
 
             log.info("[PowerJobWorker] PowerJobWorker initialized successfully, using time: {}, congratulations!", stopwatch);
         }catch (Exception e) {
@@ -191,6 +201,12 @@ public class PowerJobWorker implements ApplicationContextAware, InitializingBean
     @Override
     public void destroy() throws Exception {
         timingPool.shutdownNow();
+        if (workerRuntime.getWorkerScheduler() != null) {
+            workerRuntime.getWorkerScheduler().shutdown();
+        }
+        if (workerRuntime.getOmsLogHandler() != null) {
+            workerRuntime.getOmsLogHandler().destroy();
+        }
         workerRuntime.getActorSystem().terminate();
     }
 }
@@ -6,8 +6,10 @@ import tech.powerjob.worker.common.WorkerRuntime;
 import tech.powerjob.worker.core.tracker.processor.ProcessorTracker;
 import tech.powerjob.worker.core.tracker.processor.ProcessorTrackerPool;
 import tech.powerjob.worker.persistence.TaskDO;
+import tech.powerjob.worker.pojo.request.TaskTrackerStartTaskBatchReq;
 import tech.powerjob.worker.pojo.request.TaskTrackerStartTaskReq;
 import tech.powerjob.worker.pojo.request.TaskTrackerStopInstanceReq;
+import com.google.common.collect.Lists;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.util.CollectionUtils;
@@ -34,6 +36,7 @@ public class ProcessorTrackerActor extends AbstractActor {
     public Receive createReceive() {
         return receiveBuilder()
                 .match(TaskTrackerStartTaskReq.class, this::onReceiveTaskTrackerStartTaskReq)
+                .match(TaskTrackerStartTaskBatchReq.class, this::onReceiveTaskTrackerStartTaskBatchReq)
                 .match(TaskTrackerStopInstanceReq.class, this::onReceiveTaskTrackerStopInstanceReq)
                 .matchAny(obj -> log.warn("[ProcessorTrackerActor] receive unknown request: {}.", obj))
                 .build();
@@ -64,6 +67,34 @@ public class ProcessorTrackerActor extends AbstractActor {
         processorTracker.submitTask(task);
     }
 
+    /**
+     * 处理来自TaskTracker的task批量执行请求
+     * @param req 请求
+     */
+    private void onReceiveTaskTrackerStartTaskBatchReq(TaskTrackerStartTaskBatchReq req) {
+
+        Long instanceId = req.getInstanceInfo().getInstanceId();
+
+        ProcessorTracker processorTracker = ProcessorTrackerPool.getProcessorTracker(
+                instanceId,
+                req.getTaskTrackerAddress(),
+                () -> new ProcessorTracker(req.getInstanceInfo(), req.getTaskTrackerAddress(), req.getLogConfig(), workerRuntime));
+
+        List<TaskDO> tasks = Lists.newArrayListWithCapacity(req.getTasks().size());
+        req.getTasks().forEach(taskInfo -> {
+            TaskDO task = new TaskDO();
+
+            task.setTaskId(taskInfo.getTaskId());
+            task.setTaskName(taskInfo.getTaskName());
+            task.setTaskContent(taskInfo.getTaskContent());
+            task.setFailedCnt(taskInfo.getTaskCurrentRetryNums());
+            task.setSubInstanceId(taskInfo.getSubInstanceId());
+            tasks.add(task);
+        });
+
+        processorTracker.submitTasks(tasks);
+    }
+
     /**
      * 处理来自TaskTracker停止任务的请求
      * @param req 请求
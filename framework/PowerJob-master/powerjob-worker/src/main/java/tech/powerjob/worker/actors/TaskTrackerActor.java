@@ -12,6 +12,7 @@ import tech.powerjob.worker.core.tracker.task.TaskTracker;
 import tech.powerjob.worker.core.tracker.task.TaskTrackerPool;
 import tech.powerjob.worker.persistence.TaskDO;
 import tech.powerjob.worker.pojo.request.ProcessorMapTaskRequest;
+import tech.powerjob.worker.pojo.request.ProcessorReportTaskStatusBatchReq;
 import tech.powerjob.worker.pojo.request.ProcessorReportTaskStatusReq;
 import tech.powerjob.common.response.AskResponse;
 import tech.powerjob.worker.pojo.request.ProcessorTrackerStatusReportReq;
@@ -41,6 +42,7 @@ public class TaskTrackerActor extends AbstractActor {
     public Receive createReceive() {
         return receiveBuilder()
                 .match(ProcessorReportTaskStatusReq.class, this::onReceiveProcessorReportTaskStatusReq)
+                .match(ProcessorReportTaskStatusBatchReq.class, this::onReceiveProcessorReportTaskStatusBatchReq)
                 .match(ServerScheduleJobReq.class, this::onReceiveServerScheduleJobReq)
                 .match(ProcessorMapTaskRequest.class, this::onReceiveProcessorMapTaskRequest)
                 .match(ProcessorTrackerStatusReportReq.class, this::onReceiveProcessorTrackerStatusReportReq)
@@ -71,6 +73,33 @@ public class TaskTrackerActor extends AbstractActor {
             return;
         }
 
+        processTaskStatusReport(taskTracker, req);
+    }
+
+    /**
+     * 子任务状态批量上报 处理器
+     */
+    private void onReceiveProcessorReportTaskStatusBatchReq(ProcessorReportTaskStatusBatchReq req) {
+
+        TaskTracker taskTracker = TaskTrackerPool.getTaskTrackerPool(req.getInstanceId());
+
+        // 包含结束状态需要回复接受成功
+        if (req.containsFinishedStatus()) {
+            AskResponse askResponse = AskResponse.succeed(null);
+            getSender().tell(askResponse, getSelf());
+        }
+
+        if (taskTracker == null) {
+            log.warn("[TaskTrackerActor] receive ProcessorReportTaskStatusBatchReq(instanceId={}, size={}) but system can't find TaskTracker.", req.getInstanceId(), req.getReports().size());
+            return;
+        }
+
+        req.getReports().forEach(report -> processTaskStatusReport(taskTracker, report));
+    }
+
+    private void processTaskStatusReport(TaskTracker taskTracker, ProcessorReportTaskStatusReq req) {
+
+        int taskStatus = req.getStatus();
         if (ProcessorReportTaskStatusReq.BROADCAST.equals(req.getCmd())) {
             taskTracker.broadcast(taskStatus == TaskStatus.WORKER_PROCESS_SUCCESS.getValue(), req.getSubInstanceId(), req.getTaskId(), req.getResult());
         }
@@ -92,6 +121,13 @@ public class TaskTrackerActor extends AbstractActor {
             return;
         }
 
+        // 背压：积压的任务过多时拒绝本批次，由发送方（流式 map）等待后重试
+        Integer maxPendingTaskNum = req.getMaxPendingTaskNum();
+        if (maxPendingTaskNum != null && taskTracker.getPendingTaskNum(req.getSubInstanceId()) >= maxPendingTaskNum) {
+            getSender().tell(AskResponse.failed(ProcessorMapTaskRequest.BACK_PRESSURE), getSelf());
+            return;
+        }
+
         boolean success = false;
         List<TaskDO> subTaskList = Lists.newLinkedList();
 
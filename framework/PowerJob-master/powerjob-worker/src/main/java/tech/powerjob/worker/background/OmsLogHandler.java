@@ -2,23 +2,24 @@ package tech.powerjob.worker.background;
 
 import akka.actor.ActorSelection;
 import akka.actor.ActorSystem;
+import tech.powerjob.common.PowerJobDKey;
 import tech.powerjob.common.enums.LogLevel;
 import tech.powerjob.common.model.InstanceLogContent;
 import tech.powerjob.common.request.WorkerLogReportReq;
 import tech.powerjob.worker.common.utils.AkkaUtils;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Queues;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.util.StringUtils;
 
 import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 日志处理器
+ * 业务线程只负责将日志写入环形缓冲区（基于循环数组的有界队列），由唯一的常驻线程（drainer）按数量/时间攒批后上报
  *
  * @author tjq
  * @since 2020/4/21
@@ -30,22 +31,69 @@ public class OmsLogHandler {
     private final ActorSystem actorSystem;
     private final ServerDiscoveryService serverDiscoveryService;
 
-    // 处理线程，需要通过线程池启动
-    public final Runnable logSubmitter = new LogSubmitter();
-    // 上报锁，只需要一个线程上报即可
-    private final Lock reportLock = new ReentrantLock();
     // 生产者消费者模式，异步上传日志
-    private final BlockingQueue<InstanceLogContent> logQueue = Queues.newLinkedBlockingQueue(10240);
+    private final BlockingQueue<InstanceLogContent> logQueue = new ArrayBlockingQueue<>(RING_BUFFER_SIZE);
+    // 日志上报线程，整个 worker 只有一个
+    private final Thread drainer;
+    private volatile boolean running = true;
 
-    // 每次上报携带的数据条数
-    private static final int BATCH_SIZE = 20;
-    // 本地囤积阈值
-    private static final int REPORT_SIZE = 1024;
+    // 每次上报携带的最大数据条数
+    private final int batchSize;
+    // 单条日志的最大等待时间
+    private final long lingerMs;
+    // 是否压缩上报的日志
+    private final boolean compress;
+
+    // 已上报的日志条数
+    private final AtomicLong sentNum = new AtomicLong(0);
+    // 丢弃的日志条数（缓冲区已满、没有可用 server 且溢写文件已满）
+    private final AtomicLong droppedNum = new AtomicLong(0);
+    // 溢写到本地文件的日志条数
+    private final AtomicLong spilledNum = new AtomicLong(0);
+    // 从本地文件回放的日志条数
+    private final AtomicLong replayedNum = new AtomicLong(0);
+    // 没有可用 server 时的日志溢写文件，为 null 代表未开启或初始化失败
+    private final OmsLogSpiller spiller;
+
+    private static final int RING_BUFFER_SIZE = 10240;
+    // 单次上报的日志内容最大字符数，避免超出 akka 单帧大小限制
+    private static final long MAX_BATCH_CHARS = 64 * 1024;
+
+    private static final int DEFAULT_BATCH_SIZE = 512;
+    private static final long DEFAULT_LINGER_MS = 500;
+    private static final int DEFAULT_SPILL_SIZE = 64 * 1024 * 1024;
+    // 每轮最多回放的批次数，避免 server 恢复瞬间大量发送
+    private static final int MAX_REPLAY_BATCH_PER_ROUND = 16;
 
     public OmsLogHandler(String workerAddress, ActorSystem actorSystem, ServerDiscoveryService serverDiscoveryService) {
         this.workerAddress = workerAddress;
         this.actorSystem = actorSystem;
         this.serverDiscoveryService = serverDiscoveryService;
+
+        this.batchSize = Math.max(1, Integer.parseInt(System.getProperty(PowerJobDKey.WORKER_LOG_BATCH_SIZE, String.valueOf(DEFAULT_BATCH_SIZE))));
+        this.lingerMs = Math.max(1, Long.parseLong(System.getProperty(PowerJobDKey.WORKER_LOG_LINGER, String.valueOf(DEFAULT_LINGER_MS))));
+        this.compress = Boolean.parseBoolean(System.getProperty(PowerJobDKey.WORKER_LOG_COMPRESS, Boolean.FALSE.toString()));
+
+        this.spiller = initSpiller(workerAddress);
+
+        this.drainer = new Thread(new LogDrainer(), "oms-log-drainer");
+        this.drainer.setDaemon(true);
+    }
+
+    /**
+     * 启动日志上报线程
+     */
+    public void start() {
+        drainer.start();
+        log.info("[OmsLogHandler] start log drainer successfully, batchSize: {}, lingerMs: {}, compress: {}.", batchSize, lingerMs, compress);
+    }
+
+    /**
+     * 停止日志上报线程，停止前会尽力上报缓冲区中剩余的日志
+     */
+    public void destroy() {
+        running = false;
+        drainer.interrupt();
     }
 
     /**
@@ -55,70 +103,202 @@ public class OmsLogHandler {
      */
     public void submitLog(long instanceId, LogLevel logLevel, String logContent) {
 
-        if (logQueue.size() > REPORT_SIZE) {
-            // 线程的生命周期是个不可循环的过程，一个线程对象结束了不能再次start，只能一直创建和销毁
-            new Thread(logSubmitter).start();
-        }
-
         InstanceLogContent tuple = new InstanceLogContent(instanceId, System.currentTimeMillis(), logLevel.getV(), logContent);
         boolean offerRet = logQueue.offer(tuple);
         if (!offerRet) {
+            droppedNum.incrementAndGet();
             log.warn("[OmsLogHandler] [{}] submit log failed, maybe your log speed is too fast!", instanceId);
         }
     }
 
+    public long getSentNum() {
+        return sentNum.get();
+    }
+
+    public long getDroppedNum() {
+        return droppedNum.get();
+    }
+
+    public long getSpilledNum() {
+        return spilledNum.get();
+    }
 
+    public long getReplayedNum() {
+        return replayedNum.get();
+    }
 
-    private class LogSubmitter implements Runnable {
+    /**
+     * @return 溢写文件中待回放日志占用的字节数，持续增长代表 server 长时间不可用
+     */
+    public long getSpillPendingBytes() {
+        OmsLogSpiller currentSpiller = spiller;
+        return currentSpiller == null ? 0 : currentSpiller.usedBytes();
+    }
 
-        @Override
-        public void run() {
+    private static OmsLogSpiller initSpiller(String workerAddress) {
+        int spillSize = Integer.parseInt(System.getProperty(PowerJobDKey.WORKER_LOG_SPILL_SIZE, String.valueOf(DEFAULT_SPILL_SIZE)));
+        if (spillSize <= 0) {
+            return null;
+        }
+        // 同一台机器上 worker 地址唯一，重启后可以找回上次未回放的日志
+        String path = System.getProperty("user.home") + "/powerjob/worker/log_spill/" + workerAddress.replace(':', '_') + "/segment.data";
+        try {
+            return new OmsLogSpiller(path, spillSize);
+        } catch (Exception e) {
+            log.warn("[OmsLogHandler] init log spiller failed, logs will be discarded when no server is available.", e);
+            return null;
+        }
+    }
 
-            boolean lockResult = reportLock.tryLock();
-            if (!lockResult) {
+    /**
+     * 上报一批日志
+     */
+    private void report(List<InstanceLogContent> logs) {
+
+        String serverPath = AkkaUtils.getServerActorPath(serverDiscoveryService.getCurrentServerAddress());
+        // 当前无可用 Server，溢写到本地文件等待回放
+        if (StringUtils.isEmpty(serverPath)) {
+            spillOrDrop(logs);
+            return;
+        }
+
+        ActorSelection serverActor = actorSystem.actorSelection(serverPath);
+        // 存在待回放的日志时，新日志排在其后以保证顺序
+        if (spiller != null && !spiller.isEmpty()) {
+            boolean spilled = spiller.spill(logs);
+            if (spilled) {
+                spilledNum.addAndGet(logs.size());
+            }
+            // 溢写文件已满时同样只回放有限批次，避免 server 恢复瞬间大量发送
+            replay(serverActor, MAX_REPLAY_BATCH_PER_ROUND);
+            if (spilled) {
+                return;
+            }
+            // 积压已全部回放时直接发送新日志，否则丢弃新日志
+            if (!spiller.isEmpty()) {
+                droppedNum.addAndGet(logs.size());
+                log.warn("[OmsLogHandler] the spill file is full and still replaying, oms discarded {} logs.", logs.size());
                 return;
             }
+        }
+        send(serverActor, logs);
+    }
 
-            try {
+    /**
+     * 回放溢写文件中的日志
+     */
+    private void replay() {
+        if (spiller == null || spiller.isEmpty()) {
+            return;
+        }
+        String serverPath = AkkaUtils.getServerActorPath(serverDiscoveryService.getCurrentServerAddress());
+        if (StringUtils.isEmpty(serverPath)) {
+            return;
+        }
+        replay(actorSystem.actorSelection(serverPath), MAX_REPLAY_BATCH_PER_ROUND);
+    }
 
-                String serverPath = AkkaUtils.getServerActorPath(serverDiscoveryService.getCurrentServerAddress());
-                // 当前无可用 Server
-                if (StringUtils.isEmpty(serverPath)) {
-                    if (!logQueue.isEmpty()) {
-                        logQueue.clear();
-                        log.warn("[OmsLogHandler] because there is no available server to report logs which leads to queue accumulation, oms discarded all logs.");
-                    }
-                    return;
-                }
+    private void replay(ActorSelection serverActor, int maxBatchNum) {
+        for (int i = 0; i < maxBatchNum; i++) {
+            List<InstanceLogContent> logs;
+            try {
+                logs = spiller.poll();
+            } catch (Exception e) {
+                log.warn("[OmsLogHandler] read spilled logs failed, discard all pending logs.", e);
+                spiller.reset();
+                return;
+            }
+            if (logs == null) {
+                return;
+            }
+            send(serverActor, logs);
+            replayedNum.addAndGet(logs.size());
+        }
+    }
 
-                ActorSelection serverActor = actorSystem.actorSelection(serverPath);
-                List<InstanceLogContent> logs = Lists.newLinkedList();
+    private void spillOrDrop(List<InstanceLogContent> logs) {
+        if (spiller != null && spiller.spill(logs)) {
+            spilledNum.addAndGet(logs.size());
+            return;
+        }
+        droppedNum.addAndGet(logs.size());
+        log.warn("[OmsLogHandler] because there is no available server to report logs and the spill file is disabled or full, oms discarded {} logs.", logs.size());
+    }
 
-                while (!logQueue.isEmpty()) {
-                    try {
-                        InstanceLogContent logContent = logQueue.poll(100, TimeUnit.MILLISECONDS);
-                        logs.add(logContent);
+    private void send(ActorSelection serverActor, List<InstanceLogContent> logs) {
+        WorkerLogReportReq req = compress ? WorkerLogReportReq.compressed(workerAddress, logs) : new WorkerLogReportReq(workerAddress, logs);
+        // 不可靠请求，WEB日志不追求极致
+        serverActor.tell(req, null);
+        sentNum.addAndGet(logs.size());
+    }
 
-                        if (logs.size() >= BATCH_SIZE) {
-                            WorkerLogReportReq req = new WorkerLogReportReq(workerAddress, Lists.newLinkedList(logs));
-                            // 不可靠请求，WEB日志不追求极致
-                            serverActor.tell(req, null);
-                            logs.clear();
-                        }
+    private class LogDrainer implements Runnable {
 
-                    }catch (Exception ignore) {
-                        break;
+        @Override
+        public void run() {
+            while (running) {
+                try {
+                    List<InstanceLogContent> logs = collect();
+                    if (!logs.isEmpty()) {
+                        report(logs);
+                    } else {
+                        // 空闲时继续回放溢写的日志
+                        replay();
                     }
+                } catch (InterruptedException ignore) {
+                    // destroy
+                } catch (Exception e) {
+                    log.warn("[OmsLogHandler] report logs failed.", e);
                 }
-
+            }
+            // 退出前上报剩余的日志
+            try {
+                List<InstanceLogContent> logs = Lists.newArrayList();
+                logQueue.drainTo(logs);
                 if (!logs.isEmpty()) {
-                    WorkerLogReportReq req = new WorkerLogReportReq(workerAddress, logs);
-                    serverActor.tell(req, null);
+                    report(logs);
                 }
+            } catch (Exception e) {
+                log.warn("[OmsLogHandler] report remaining logs failed.", e);
+            }
+            if (spiller != null) {
+                spiller.close();
+            }
+        }
 
-            }finally {
-                reportLock.unlock();
+        /**
+         * 攒批：以第一条日志的到达时间为起点，数量达到 batchSize、内容达到上限或等待超过 lingerMs 时结束
+         */
+        private List<InstanceLogContent> collect() throws InterruptedException {
+            InstanceLogContent first = logQueue.poll(lingerMs, TimeUnit.MILLISECONDS);
+            if (first == null) {
+                return Lists.newArrayList();
             }
+            List<InstanceLogContent> logs = Lists.newArrayListWithCapacity(batchSize);
+            logs.add(first);
+            long chars = estimateChars(first);
+            long deadline = System.currentTimeMillis() + lingerMs;
+
+            while (logs.size() < batchSize && chars < MAX_BATCH_CHARS) {
+                InstanceLogContent next = logQueue.poll();
+                if (next == null) {
+                    long remaining = deadline - System.currentTimeMillis();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    next = logQueue.poll(remaining, TimeUnit.MILLISECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                }
+                logs.add(next);
+                chars += estimateChars(next);
+            }
+            return logs;
+        }
+
+        private long estimateChars(InstanceLogContent logContent) {
+            return logContent.getLogContent() == null ? 0 : logContent.getLogContent().length();
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,139 @@
+package tech.powerjob.worker.background;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FileUtils;
+import tech.powerjob.common.model.InstanceLogContent;
+import tech.powerjob.common.serialize.SerializerUtils;
+import tech.powerjob.common.utils.CompressUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 在线日志溢写文件，没有可用 server 时暂存日志，server 恢复后按写入顺序回放
+ * 文件大小固定并通过内存映射读写，结构为 [readPos(4)][writePos(4)][record...]，record 为 [length(4)][GZIP(日志列表)]
+ * 所有记录回放完毕后读写位置归零复用；读写位置持久化在文件头，worker 重启后可继续回放
+ * 非线程安全，仅由日志上报线程访问
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+@Slf4j
+public class OmsLogSpiller {
+
+    private static final int HEADER_SIZE = 8;
+    private static final int RECORD_HEADER_SIZE = 4;
+
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+
+    private int readPos;
+    private int writePos;
+
+    public OmsLogSpiller(String path, int capacity) throws IOException {
+        File file = new File(path);
+        FileUtils.forceMkdirParent(file);
+        this.capacity = capacity;
+        this.channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+
+        // 恢复上次未回放完的日志
+        int lastReadPos = buffer.getInt(0);
+        int lastWritePos = buffer.getInt(4);
+        if (lastReadPos >= HEADER_SIZE && lastReadPos <= lastWritePos && lastWritePos <= capacity) {
+            readPos = lastReadPos;
+            writePos = lastWritePos;
+        } else {
+            readPos = HEADER_SIZE;
+            writePos = HEADER_SIZE;
+            writeHeader();
+        }
+        log.info("[OmsLogSpiller] init spill file successfully, path: {}, capacity: {}, pending bytes: {}.", file.getAbsolutePath(), capacity, usedBytes());
+    }
+
+    /**
+     * 写入一批日志
+     * @param logs 日志
+     * @return 剩余空间不足时返回 false
+     */
+    public boolean spill(List<InstanceLogContent> logs) {
+        byte[] data = CompressUtils.gzip(SerializerUtils.serialize(new ArrayList<>(logs)));
+        if (writePos + RECORD_HEADER_SIZE + data.length > capacity) {
+            return false;
+        }
+        buffer.putInt(writePos, data.length);
+        buffer.position(writePos + RECORD_HEADER_SIZE);
+        buffer.put(data);
+        writePos += RECORD_HEADER_SIZE + data.length;
+        writeHeader();
+        return true;
+    }
+
+    /**
+     * 按写入顺序取出一批日志
+     * @return 日志，没有待回放的日志时返回 null
+     */
+    @SuppressWarnings("unchecked")
+    public List<InstanceLogContent> poll() {
+        if (isEmpty()) {
+            return null;
+        }
+        int length = buffer.getInt(readPos);
+        if (length < 0 || readPos + RECORD_HEADER_SIZE + length > writePos) {
+            log.warn("[OmsLogSpiller] spill file is corrupted(readPos={}, writePos={}, length={}), discard all pending logs.", readPos, writePos, length);
+            reset();
+            return null;
+        }
+        byte[] data = new byte[length];
+        buffer.position(readPos + RECORD_HEADER_SIZE);
+        buffer.get(data);
+        readPos += RECORD_HEADER_SIZE + length;
+        // 全部回放完毕，归零复用
+        if (readPos == writePos) {
+            reset();
+        } else {
+            writeHeader();
+        }
+        return (List<InstanceLogContent>) SerializerUtils.deSerialized(CompressUtils.ungzip(data));
+    }
+
+    public boolean isEmpty() {
+        return readPos >= writePos;
+    }
+
+    /**
+     * @return 待回放的数据占用的字节数
+     */
+    public int usedBytes() {
+        return writePos - readPos;
+    }
+
+    /**
+     * 清空全部待回放的日志
+     */
+    public void reset() {
+        readPos = HEADER_SIZE;
+        writePos = HEADER_SIZE;
+        writeHeader();
+    }
+
+    public void close() {
+        try {
+            buffer.force();
+            channel.close();
+        } catch (IOException e) {
+            log.warn("[OmsLogSpiller] close spill file failed.", e);
+        }
+    }
+
+    private void writeHeader() {
+        buffer.putInt(0, readPos);
+        buffer.putInt(4, writePos);
+    }
+}
@@ -9,10 +9,13 @@ import tech.powerjob.worker.common.WorkerRuntime;
 import tech.powerjob.worker.common.utils.AkkaUtils;
 import tech.powerjob.worker.common.utils.SystemInfoUtils;
 import tech.powerjob.worker.container.OmsContainerFactory;
+import com.google.common.collect.Maps;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.util.StringUtils;
 
+import java.util.Map;
+
 /**
  * Worker健康度定时上报
  *
@@ -25,6 +28,12 @@ public class WorkerHealthReporter implements Runnable {
 
     private final WorkerRuntime workerRuntime;
 
+    private static final String OMS_LOG_SENT_NUM = "omsLogSentNum";
+    private static final String OMS_LOG_DROPPED_NUM = "omsLogDroppedNum";
+    private static final String OMS_LOG_SPILLED_NUM = "omsLogSpilledNum";
+    private static final String OMS_LOG_REPLAYED_NUM = "omsLogReplayedNum";
+    private static final String OMS_LOG_SPILL_PENDING_BYTES = "omsLogSpillPendingBytes";
+
     @Override
     public void run() {
 
@@ -53,6 +62,7 @@ public class WorkerHealthReporter implements Runnable {
         heartbeat.setProtocol(Protocol.AKKA.name());
         heartbeat.setClient("Atlantis");
         heartbeat.setTag(workerRuntime.getWorkerConfig().getTag());
+        heartbeat.setMetrics(collectMetrics());
 
         // 获取当前加载的容器列表
         heartbeat.setContainerInfos(OmsContainerFactory.getDeployedContainerInfos());
@@ -65,4 +75,20 @@ public class WorkerHealthReporter implements Runnable {
         ActorSelection actorSelection = workerRuntime.getActorSystem().actorSelection(serverPath);
         actorSelection.tell(heartbeat, null);
     }
+
+    /**
+     * 收集 worker 内部运行指标
+     */
+    private Map<String, Long> collectMetrics() {
+        Map<String, Long> metrics = Maps.newHashMap();
+        OmsLogHandler omsLogHandler = workerRuntime.getOmsLogHandler();
+        if (omsLogHandler != null) {
+            metrics.put(OMS_LOG_SENT_NUM, omsLogHandler.getSentNum());
+            metrics.put(OMS_LOG_DROPPED_NUM, omsLogHandler.getDroppedNum());
+            metrics.put(OMS_LOG_SPILLED_NUM, omsLogHandler.getSpilledNum());
+            metrics.put(OMS_LOG_REPLAYED_NUM, omsLogHandler.getReplayedNum());
+            metrics.put(OMS_LOG_SPILL_PENDING_BYTES, omsLogHandler.getSpillPendingBytes());
+        }
+        return metrics;
+    }
 }
@@ -47,6 +47,7 @@ public class PowerJobWorkerConfig {
     private Object userContext;
     /**
      * Internal persistence method, DISK or MEMORY
+     * DISK_NATIVE and MEMORY_NATIVE use the built-in task store instead of H2, which is much faster for MapReduce jobs with massive sub-tasks
      * Normally you don't need to care about this configuration
      */
     private StoreStrategy storeStrategy = StoreStrategy.DISK;
@@ -60,6 +61,22 @@ public class PowerJobWorkerConfig {
      * {@link WorkflowContext} max length for #appendedContextData
      */
     private int maxAppendedWfContextLength = 8192;
+    /**
+     * Max number of tasks per dispatch message (TaskTracker -> ProcessorTracker) and task statuses per report message (ProcessorTracker -> TaskTracker).
+     * Batching greatly reduces messaging overhead for sub-second tasks. Value 1 disables batching and keeps the single-task messages,
+     * only enable it when all workers of the app support batch messages.
+     */
+    private int taskMessageBatchSize = 1;
+    /**
+     * Max time in milliseconds a task or task status waits in the buffer before the batch message is sent, only works when batching is enabled.
+     */
+    private long taskMessageLingerMs = 5;
+    /**
+     * Whether to execute tasks on virtual threads (one virtual thread per task, concurrency is still limited by threadConcurrency).
+     * Suitable for IO-bound processors such as HttpProcessor and SqlProcessor, so that a high threadConcurrency costs no platform thread.
+     * Requires JDK 21+ at runtime, otherwise the platform thread pool is used.
+     */
+    private boolean enableVirtualThread = false;
 
 
     private SystemMetricsCollector systemMetricsCollector;
@@ -3,6 +3,7 @@ package tech.powerjob.worker.common;
 import akka.actor.ActorSystem;
 import tech.powerjob.worker.background.OmsLogHandler;
 import tech.powerjob.worker.background.ServerDiscoveryService;
+import tech.powerjob.worker.core.schedule.WorkerScheduler;
 import tech.powerjob.worker.persistence.TaskPersistenceService;
 import lombok.Data;
 
@@ -25,4 +26,5 @@ public class WorkerRuntime {
     private OmsLogHandler omsLogHandler;
     private ServerDiscoveryService serverDiscoveryService;
     private TaskPersistenceService taskPersistenceService;
+    private WorkerScheduler workerScheduler;
 }
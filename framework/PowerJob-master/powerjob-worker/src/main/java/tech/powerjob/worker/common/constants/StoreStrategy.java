@@ -14,7 +14,15 @@ import lombok.Getter;
 public enum  StoreStrategy {
 
     DISK("磁盘"),
-    MEMORY("内存");
+    MEMORY("内存"),
+    /**
+     * 原生存储，不依赖 H2，任务数据与索引全部位于内存
+     */
+    MEMORY_NATIVE("内存（原生存储）"),
+    /**
+     * 原生存储，索引位于内存，任务内容追加写入本地磁盘
+     */
+    DISK_NATIVE("磁盘（原生存储）");
 
     private final String des;
 }
@@ -0,0 +1,20 @@
+package tech.powerjob.worker.core.executor;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 基于平台线程池的执行器（默认）
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+public class PlatformProcessorExecutor extends ThreadPoolExecutor implements ProcessorExecutor {
+
+    public PlatformProcessorExecutor(int poolSize, long keepAliveTime, TimeUnit unit, BlockingQueue<Runnable> workQueue, ThreadFactory threadFactory, RejectedExecutionHandler handler) {
+        super(poolSize, poolSize, keepAliveTime, unit, workQueue, threadFactory, handler);
+    }
+}
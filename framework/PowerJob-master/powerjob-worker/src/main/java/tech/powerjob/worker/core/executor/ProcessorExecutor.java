@@ -0,0 +1,35 @@
+package tech.powerjob.worker.core.executor;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * ProcessorTracker 执行 task 使用的执行器，除执行外还需提供负载信息用于心跳上报及闲置判定
+ * 方法签名与 ThreadPoolExecutor 保持一致
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+public interface ProcessorExecutor extends ExecutorService {
+
+    /**
+     * 等待执行的任务队列，队列满时提交任务抛出 RejectedExecutionException
+     * @return 任务队列
+     */
+    BlockingQueue<Runnable> getQueue();
+
+    /**
+     * @return 正在执行的任务数量
+     */
+    int getActiveCount();
+
+    /**
+     * @return 已完成的任务数量
+     */
+    long getCompletedTaskCount();
+
+    /**
+     * @return 最大并发数
+     */
+    int getMaximumPoolSize();
+}
@@ -1,12 +1,10 @@
 package tech.powerjob.worker.core.executor;
 
-import akka.actor.ActorSelection;
 import tech.powerjob.common.enums.ExecuteType;
 import tech.powerjob.worker.common.WorkerRuntime;
 import tech.powerjob.worker.common.ThreadLocalStore;
 import tech.powerjob.worker.common.constants.TaskConstant;
 import tech.powerjob.worker.common.constants.TaskStatus;
-import tech.powerjob.worker.common.utils.AkkaUtils;
 import tech.powerjob.common.serialize.SerializerUtils;
 import tech.powerjob.worker.common.utils.WorkflowContextUtils;
 import tech.powerjob.worker.core.processor.ProcessResult;
@@ -16,8 +14,11 @@ import tech.powerjob.worker.core.processor.WorkflowContext;
 import tech.powerjob.worker.core.processor.sdk.BasicProcessor;
 import tech.powerjob.worker.core.processor.sdk.BroadcastProcessor;
 import tech.powerjob.worker.core.processor.sdk.MapReduceProcessor;
+import tech.powerjob.worker.core.processor.sdk.StreamingMapReduceProcessor;
+import tech.powerjob.worker.core.tracker.processor.TaskStatusReporter;
 import tech.powerjob.worker.log.OmsLogger;
 import tech.powerjob.worker.persistence.TaskDO;
+import tech.powerjob.worker.persistence.TaskPersistenceService;
 import tech.powerjob.worker.pojo.model.InstanceInfo;
 import tech.powerjob.worker.pojo.request.ProcessorReportTaskStatusReq;
 import com.google.common.base.Stopwatch;
@@ -29,7 +30,6 @@ import org.springframework.util.StringUtils;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Queue;
 
 /**
  * Processor 执行器
@@ -45,7 +45,6 @@ public class ProcessorRunnable implements Runnable {
 
 
     private final InstanceInfo instanceInfo;
-    private final ActorSelection taskTrackerActor;
     private final TaskDO task;
     private final BasicProcessor processor;
     private final OmsLogger omsLogger;
@@ -54,9 +53,9 @@ public class ProcessorRunnable implements Runnable {
      */
     private final ClassLoader classLoader;
     /**
-     * 重试队列，ProcessorTracker 将会定期重新上报处理结果
+     * 状态上报器，负责批量发送及失败重试
      */
-    private final Queue<ProcessorReportTaskStatusReq> statusReportRetryQueue;
+    private final TaskStatusReporter statusReporter;
     private final WorkerRuntime workerRuntime;
 
     public void innerRun() throws InterruptedException {
@@ -128,18 +127,19 @@ public class ProcessorRunnable implements Runnable {
     /**
      * 处理最终任务
      * BROADCAST  => {@link BroadcastProcessor#postProcess}
-     * MAP_REDUCE => {@link MapReduceProcessor#reduce}
+     * MAP_REDUCE => {@link MapReduceProcessor#reduce}，{@link StreamingMapReduceProcessor} 分页读取执行结果
      */
     private void handleLastTask(String taskId, Long instanceId, TaskContext taskContext, ExecuteType executeType) {
         ProcessResult processResult;
         Stopwatch stopwatch = Stopwatch.createStarted();
         log.debug("[ProcessorRunnable-{}] the last task(taskId={}) start to process.", instanceId, taskId);
 
-        List<TaskResult> taskResults = workerRuntime.getTaskPersistenceService().getAllTaskResult(instanceId, task.getSubInstanceId());
+        TaskPersistenceService taskPersistenceService = workerRuntime.getTaskPersistenceService();
         try {
             switch (executeType) {
                 case BROADCAST:
 
+                    List<TaskResult> taskResults = taskPersistenceService.getAllTaskResult(instanceId, task.getSubInstanceId());
                     if (processor instanceof BroadcastProcessor) {
                         BroadcastProcessor broadcastProcessor = (BroadcastProcessor) processor;
                         processResult = broadcastProcessor.postProcess(taskContext, taskResults);
@@ -149,9 +149,12 @@ public class ProcessorRunnable implements Runnable {
                     break;
                 case MAP_REDUCE:
 
-                    if (processor instanceof MapReduceProcessor) {
+                    if (processor instanceof StreamingMapReduceProcessor) {
+                        StreamingMapReduceProcessor streamingProcessor = (StreamingMapReduceProcessor) processor;
+                        processResult = streamingProcessor.reduce(taskContext, taskPersistenceService.iterateTaskResult(instanceId, task.getSubInstanceId()));
+                    } else if (processor instanceof MapReduceProcessor) {
                         MapReduceProcessor mapReduceProcessor = (MapReduceProcessor) processor;
-                        processResult = mapReduceProcessor.reduce(taskContext, taskResults);
+                        processResult = mapReduceProcessor.reduce(taskContext, taskPersistenceService.getAllTaskResult(instanceId, task.getSubInstanceId()));
                     } else {
                         processResult = new ProcessResult(false, "not implement the MapReduceProcessor");
                     }
@@ -220,17 +223,7 @@ public class ProcessorRunnable implements Runnable {
         }
         req.setAppendedWfContext(appendedWfContext);
 
-        // 最终结束状态要求可靠发送
-        if (TaskStatus.finishedStatus.contains(status.getValue())) {
-            boolean success = AkkaUtils.reliableTransmit(taskTrackerActor, req);
-            if (!success) {
-                // 插入重试队列，等待重试
-                statusReportRetryQueue.add(req);
-                log.warn("[ProcessorRunnable-{}] report task(id={},status={},result={}) failed, will retry later", task.getInstanceId(), task.getTaskId(), status, result);
-            }
-        } else {
-            taskTrackerActor.tell(req, null);
-        }
+        statusReporter.report(req);
     }
 
     @Override
@@ -0,0 +1,173 @@
+package tech.powerjob.worker.core.executor;
+
+import com.google.common.collect.Lists;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 基于虚拟线程的执行器：每个 task 使用独立的虚拟线程执行，由信号量限制最大并发数
+ * 适用于 HTTP、SQL 等 IO 密集型任务，高并发下没有平台线程的内存开销
+ * 虚拟线程需要 JDK 21+，项目以 Java 8 编译，因此通过反射创建，运行环境不支持时 {@link #createVirtualThreadFactory(String)} 返回 null
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+@Slf4j
+public class VirtualThreadProcessorExecutor extends AbstractExecutorService implements ProcessorExecutor {
+
+    private final int concurrency;
+
+    private final Semaphore permits;
+
+    private final BlockingQueue<Runnable> queue;
+
+    private final ThreadFactory threadFactory;
+
+    private final Set<Thread> runningThreads = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong completedTaskCount = new AtomicLong(0);
+
+    private final Object terminationLock = new Object();
+
+    private volatile boolean shutdown = false;
+
+    public VirtualThreadProcessorExecutor(int concurrency, BlockingQueue<Runnable> queue, ThreadFactory threadFactory) {
+        this.concurrency = concurrency;
+        this.permits = new Semaphore(concurrency);
+        this.queue = queue;
+        this.threadFactory = threadFactory;
+    }
+
+    /**
+     * 创建虚拟线程工厂
+     * @param namePrefix 线程名称前缀
+     * @return 虚拟线程工厂，运行环境不支持虚拟线程时返回 null
+     */
+    public static ThreadFactory createVirtualThreadFactory(String namePrefix) {
+        try {
+            // Thread.ofVirtual().name(namePrefix, 0).factory()
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Method nameMethod = builderClass.getMethod("name", String.class, long.class);
+            builder = nameMethod.invoke(builder, namePrefix, 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (Exception e) {
+            log.debug("[VirtualThreadProcessorExecutor] virtual thread is not supported by current jvm: {}", e.toString());
+            return null;
+        }
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        if (shutdown) {
+            throw new RejectedExecutionException("executor has been shutdown");
+        }
+        if (!queue.offer(command)) {
+            throw new RejectedExecutionException("task queue is full, size: " + queue.size());
+        }
+        schedule();
+    }
+
+    /**
+     * 在并发数允许的范围内，为队列中的 task 创建虚拟线程执行
+     */
+    private void schedule() {
+        while (!queue.isEmpty() && permits.tryAcquire()) {
+            Runnable task = queue.poll();
+            if (task == null) {
+                permits.release();
+                continue;
+            }
+            Thread thread = threadFactory.newThread(() -> runTask(task));
+            runningThreads.add(thread);
+            thread.start();
+        }
+    }
+
+    private void runTask(Runnable task) {
+        try {
+            task.run();
+        } finally {
+            runningThreads.remove(Thread.currentThread());
+            completedTaskCount.incrementAndGet();
+            permits.release();
+            // 执行完成后继续调度队列中的 task（shutdownNow 会清空队列）
+            schedule();
+            if (isTerminated()) {
+                synchronized (terminationLock) {
+                    terminationLock.notifyAll();
+                }
+            }
+        }
+    }
+
+    @Override
+    public BlockingQueue<Runnable> getQueue() {
+        return queue;
+    }
+
+    @Override
+    public int getActiveCount() {
+        return runningThreads.size();
+    }
+
+    @Override
+    public long getCompletedTaskCount() {
+        return completedTaskCount.get();
+    }
+
+    @Override
+    public int getMaximumPoolSize() {
+        return concurrency;
+    }
+
+    @Override
+    public void shutdown() {
+        shutdown = true;
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        shutdown = true;
+        List<Runnable> notExecutedTasks = Lists.newArrayList();
+        queue.drainTo(notExecutedTasks);
+        runningThreads.forEach(Thread::interrupt);
+        return notExecutedTasks;
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return shutdown && queue.isEmpty() && runningThreads.isEmpty();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (terminationLock) {
+            while (!isTerminated()) {
+                long remainingNanos = deadline - System.nanoTime();
+                if (remainingNanos <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(terminationLock, remainingNanos);
+            }
+            return true;
+        }
+    }
+}
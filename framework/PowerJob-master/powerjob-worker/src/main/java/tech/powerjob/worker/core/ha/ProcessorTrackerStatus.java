@@ -27,6 +27,29 @@ public class ProcessorTrackerStatus {
     private boolean dispatched;
     // 是否接收到过来自 ProcessorTracker 的心跳
     private boolean connected;
+    // 已派发但尚未完成的任务数（TaskTracker 侧估算值，收到心跳时校准）
+    private long inFlightNum;
+    // 首次派发时间（自上次空闲起），用于判断派发后迟迟未收到心跳的情况
+    private long firstDispatchTime;
+    // 是否收到过 ProcessorTracker 上报的信用额度（旧版本 ProcessorTracker 不上报）
+    private boolean creditReported;
+    /*
+     * 信用额度 = 心跳快照中的可用槽位 - 快照之后到达的派发 + 快照之后完成的任务
+     * 派发数、完成数均为同一纪元（ProcessorTracker 创建时间）内的累计值，由双方的累计值之差得到"快照之后"的部分，
+     * 避免心跳快照已经计入的完成任务被 TaskTracker 再归还一次
+     */
+    // 心跳快照中的可用槽位
+    private long reportedSlots;
+    // 心跳快照中 ProcessorTracker 收到的任务总数
+    private long reportedReceivedNum;
+    // 心跳快照中 ProcessorTracker 完成的任务总数
+    private long reportedFinishedNum;
+    // 计数器纪元，即 ProcessorTracker 的创建时间
+    private long trackerStartTime;
+    // TaskTracker 累计派发到该 ProcessorTracker 的任务数
+    private long dispatchedNum;
+    // TaskTracker 累计收到的该 ProcessorTracker 上的任务完成数
+    private long finishedNum;
 
     /**
      * 初始化 ProcessorTracker，此时并未持有实际的 ProcessorTracker 状态
@@ -37,13 +60,16 @@ public class ProcessorTrackerStatus {
         this.remainTaskNum = 0;
         this.dispatched = false;
         this.connected = false;
+        this.inFlightNum = 0;
+        this.firstDispatchTime = -1;
+        resetCredits();
     }
 
     /**
      * 接收到 ProcessorTracker 的心跳信息后，更新状态
      * @param req ProcessorTracker的心跳信息
      */
-    public void update(ProcessorTrackerStatusReportReq req) {
+    public synchronized void update(ProcessorTrackerStatusReportReq req) {
 
         // 延迟到达的请求，直接忽略
         if (req.getTime() <= lastActiveTime) {
@@ -55,6 +81,100 @@ public class ProcessorTrackerStatus {
         this.remainTaskNum = req.getRemainTaskNum();
         this.dispatched = true;
         this.connected = true;
+        if (req.getAvailableSlots() != null && req.getTrackerStartTime() != null && req.getReceivedTaskNum() != null && req.getFinishedTaskNum() != null) {
+            if (!creditReported) {
+                // 首次上报：ProcessorTracker 由本 TaskTracker 的首次派发创建，派发数与其收到数处于同一纪元
+                this.trackerStartTime = req.getTrackerStartTime();
+                this.dispatchedNum = Math.max(dispatchedNum, req.getReceivedTaskNum());
+            } else if (req.getTrackerStartTime() != trackerStartTime) {
+                // ProcessorTracker 未经空闲上报即重建，无法区分此前的派发落在哪个纪元，以快照为起点重新计数
+                this.trackerStartTime = req.getTrackerStartTime();
+                this.dispatchedNum = req.getReceivedTaskNum();
+                this.finishedNum = req.getFinishedTaskNum();
+            }
+            this.creditReported = true;
+            this.reportedSlots = Math.max(0, req.getAvailableSlots());
+            this.reportedReceivedNum = req.getReceivedTaskNum();
+            this.reportedFinishedNum = req.getFinishedTaskNum();
+            // 已派发未完成 = 累计派发数 - 已知的完成数（心跳快照与完成通知取较大者）
+            this.inFlightNum = Math.max(0, dispatchedNum - Math.max(finishedNum, reportedFinishedNum));
+        } else {
+            // 旧版本 ProcessorTracker 只上报排队任务数，以其为准校准
+            this.inFlightNum = remainTaskNum;
+        }
+    }
+
+    /**
+     * 派发任务到该 ProcessorTracker
+     */
+    public synchronized void onDispatched() {
+        if (!dispatched) {
+            this.firstDispatchTime = System.currentTimeMillis();
+        }
+        this.dispatched = true;
+        this.inFlightNum++;
+        this.dispatchedNum++;
+    }
+
+    /**
+     * ProcessorTracker 上报空闲（已销毁），重置派发状态
+     */
+    public synchronized void onIdle() {
+        this.dispatched = false;
+        this.inFlightNum = 0;
+        // ProcessorTracker 已销毁，重新创建后的容量以新的心跳为准
+        resetCredits();
+    }
+
+    /**
+     * 该 ProcessorTracker 上的任务执行完成
+     */
+    public synchronized void onTaskFinished() {
+        this.inFlightNum = Math.max(0, inFlightNum - 1);
+        this.finishedNum++;
+    }
+
+    /**
+     * 当前信用额度，仅在 creditReported 时有意义
+     */
+    private long credits() {
+        // 快照之后到达 ProcessorTracker 的派发（包括仍在途中的）
+        long dispatchedAfterReport = dispatchedNum - reportedReceivedNum;
+        // 快照之后完成的任务；完成通知可能晚于心跳到达，此时差值为负，按 0 处理
+        long finishedAfterReport = Math.max(0, finishedNum - reportedFinishedNum);
+        return reportedSlots - dispatchedAfterReport + finishedAfterReport;
+    }
+
+    private void resetCredits() {
+        this.creditReported = false;
+        this.reportedSlots = 0;
+        this.reportedReceivedNum = 0;
+        this.reportedFinishedNum = 0;
+        this.trackerStartTime = 0;
+        this.dispatchedNum = 0;
+        this.finishedNum = 0;
+    }
+
+    /**
+     * 剩余可派发容量
+     * 收到过 ProcessorTracker 上报的信用额度时以信用额度为准，否则按 TaskTracker 侧估算的已派发未完成任务数计算
+     * @param capacity 单个 ProcessorTracker 允许同时持有的最大任务数（执行中 + 排队中），仅在未收到信用额度时生效
+     * @return 剩余容量，不可用时为 0
+     */
+    public synchronized long freeCapacity(long capacity) {
+        if (connected) {
+            if (isTimeout()) {
+                return 0;
+            }
+        } else if (dispatched && System.currentTimeMillis() - firstDispatchTime > HEARTBEAT_TIMEOUT_MS) {
+            // 已派发但长时间未收到响应，则不可用
+            return 0;
+        }
+        if (creditReported) {
+            return Math.max(0, credits());
+        }
+        // 首次心跳到达前同样按容量限制派发量，无需等待心跳
+        return Math.max(0, capacity - inFlightNum);
     }
 
     /**
@@ -71,6 +71,35 @@ public class ProcessorTrackerStatusHolder {
         return result;
     }
 
+    /**
+     * 按剩余容量加权选择 ProcessorTracker，每次选择剩余容量最大的节点，使任务按各节点的空闲程度分布
+     * @param capacity 单个 ProcessorTracker 允许同时持有的最大任务数
+     * @return 地址，所有节点均无剩余容量时返回 null
+     */
+    public String selectProcessorTracker(long capacity) {
+        String selected = null;
+        long maxFreeCapacity = 0;
+        for (Map.Entry<String, ProcessorTrackerStatus> entry : address2Status.entrySet()) {
+            long freeCapacity = entry.getValue().freeCapacity(capacity);
+            if (freeCapacity > maxFreeCapacity) {
+                maxFreeCapacity = freeCapacity;
+                selected = entry.getKey();
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * 任务执行完成，释放对应 ProcessorTracker 的容量
+     * @param address 任务派发的目的地址
+     */
+    public void onTaskFinished(String address) {
+        ProcessorTrackerStatus ptStatus = address == null ? null : address2Status.get(address);
+        if (ptStatus != null) {
+            ptStatus.onTaskFinished();
+        }
+    }
+
     /**
      * 获取所有 ProcessorTracker 的IP地址（包括不可用状态）
      */
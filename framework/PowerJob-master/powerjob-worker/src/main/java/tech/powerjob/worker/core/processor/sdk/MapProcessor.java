@@ -12,7 +12,9 @@ import tech.powerjob.worker.common.utils.AkkaUtils;
 import tech.powerjob.worker.persistence.TaskDO;
 import tech.powerjob.worker.pojo.request.ProcessorMapTaskRequest;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * Map 处理器，允许开发者自定义拆分任务进行分布式执行
@@ -45,11 +47,7 @@ public interface MapProcessor extends BasicProcessor {
             log.warn("[Map-{}] map task size is too large, network maybe overload... please try to split the tasks.", task.getInstanceId());
         }
 
-        // 修复 map 任务命名和根任务名或者最终任务名称一致导致的问题（无限生成子任务或者直接失败）
-        if (TaskConstant.ROOT_TASK_NAME.equals(taskName) || TaskConstant.LAST_TASK_NAME.equals(taskName)) {
-            log.warn("[Map-{}] illegal map task name : {}! please do not use 'OMS_ROOT_TASK' or 'OMS_LAST_TASK' as map task name. as a precaution, it will be renamed 'X-{}' automatically." ,task.getInstanceId() ,taskName , taskName);
-            taskName ="X-"+taskName;
-        }
+        taskName = StreamMapper.checkTaskName(task, taskName);
 
         // 1. 构造请求
         ProcessorMapTaskRequest req = new ProcessorMapTaskRequest(task, taskList, taskName);
@@ -65,6 +63,25 @@ public interface MapProcessor extends BasicProcessor {
         }
     }
 
+    /**
+     * 流式分发子任务，适用于子任务数量巨大、无法一次性放入内存的场景
+     * 子任务按批次（{@link #RECOMMEND_BATCH_SIZE}）惰性读取并发送，TaskTracker 积压的任务达到上限（PowerJobDKey#WORKER_MAP_MAX_PENDING）时阻塞当前线程直至积压减少
+     * @param taskIterator 子任务迭代器，再次执行时可通过 TaskContext#getSubTask 获取
+     * @param taskName 子任务名称，即子任务处理器中 TaskContext#getTaskName 获取到的值
+     * @return 分发的子任务数量
+     * @throws PowerJobCheckedException map 失败将抛出异常，此前已发送的批次不会回滚
+     */
+    default long mapStream(Iterator<?> taskIterator, String taskName) throws PowerJobCheckedException {
+        return StreamMapper.map(taskIterator, taskName);
+    }
+
+    /**
+     * 流式分发子任务，语义同 {@link #mapStream(Iterator, String)}，不会关闭 stream
+     */
+    default long mapStream(Stream<?> taskStream, String taskName) throws PowerJobCheckedException {
+        return StreamMapper.map(taskStream.iterator(), taskName);
+    }
+
     /**
      * 是否为根任务
      * @return true -> 根任务 / false -> 非根任务
@@ -0,0 +1,111 @@
+package tech.powerjob.worker.core.processor.sdk;
+
+import akka.actor.ActorSelection;
+import lombok.extern.slf4j.Slf4j;
+import tech.powerjob.common.PowerJobDKey;
+import tech.powerjob.common.RemoteConstant;
+import tech.powerjob.common.exception.PowerJobCheckedException;
+import tech.powerjob.common.response.AskResponse;
+import tech.powerjob.worker.common.ThreadLocalStore;
+import tech.powerjob.worker.common.WorkerRuntime;
+import tech.powerjob.worker.common.constants.TaskConstant;
+import tech.powerjob.worker.common.utils.AkkaUtils;
+import tech.powerjob.worker.persistence.TaskDO;
+import tech.powerjob.worker.pojo.request.ProcessorMapTaskRequest;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 流式 map 的实现，供 {@link MapProcessor#mapStream} 使用
+ * 从迭代器中按批次取出子任务，序列化后发送给 TaskTracker 持久化，内存中同时只保留一个批次
+ * TaskTracker 中等待派发的任务过多时拒绝请求，此时阻塞生产者并以指数退避的方式重试同一批次；
+ * 单个批次的等待时间有上限，超过后 map 失败，避免积压的任务永远无法派发（如执行 map 的线程占用了唯一的执行槽位）时无限阻塞
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+@Slf4j
+final class StreamMapper {
+
+    private static final int DEFAULT_MAX_PENDING_TASK_NUM = 10000;
+    private static final long MIN_BACKOFF_MS = 50;
+    private static final long MAX_BACKOFF_MS = 1000;
+    private static final long DEFAULT_MAX_BACK_PRESSURE_WAIT_MS = 300000;
+
+    private StreamMapper() {
+    }
+
+    static long map(Iterator<?> taskIterator, String taskName) throws PowerJobCheckedException {
+
+        TaskDO task = ThreadLocalStore.getTask();
+        WorkerRuntime workerRuntime = ThreadLocalStore.getRuntimeMeta();
+
+        String finalTaskName = checkTaskName(task, taskName);
+        int maxPendingTaskNum = Math.max(1, Integer.getInteger(PowerJobDKey.WORKER_MAP_MAX_PENDING, DEFAULT_MAX_PENDING_TASK_NUM));
+        long maxWaitMs = Long.getLong(PowerJobDKey.WORKER_MAP_MAX_BACK_PRESSURE_WAIT, DEFAULT_MAX_BACK_PRESSURE_WAIT_MS);
+
+        String akkaRemotePath = AkkaUtils.getAkkaWorkerPath(task.getAddress(), RemoteConstant.TASK_TRACKER_ACTOR_NAME);
+        ActorSelection taskTrackerActor = workerRuntime.getActorSystem().actorSelection(akkaRemotePath);
+
+        long total = 0;
+        List<Object> batch = new ArrayList<>(MapProcessor.RECOMMEND_BATCH_SIZE);
+        while (taskIterator.hasNext()) {
+            batch.add(taskIterator.next());
+            if (batch.size() >= MapProcessor.RECOMMEND_BATCH_SIZE || !taskIterator.hasNext()) {
+                ProcessorMapTaskRequest req = new ProcessorMapTaskRequest(task, batch, finalTaskName, maxPendingTaskNum);
+                send(taskTrackerActor, req, task.getInstanceId(), finalTaskName, maxWaitMs);
+                total += batch.size();
+                batch = new ArrayList<>(MapProcessor.RECOMMEND_BATCH_SIZE);
+            }
+        }
+        log.info("[Map-{}] stream map task[name={},num={}] successfully!", task.getInstanceId(), finalTaskName, total);
+        return total;
+    }
+
+    /**
+     * 修复 map 任务命名和根任务名或者最终任务名称一致导致的问题（无限生成子任务或者直接失败）
+     */
+    static String checkTaskName(TaskDO task, String taskName) {
+        if (TaskConstant.ROOT_TASK_NAME.equals(taskName) || TaskConstant.LAST_TASK_NAME.equals(taskName)) {
+            log.warn("[Map-{}] illegal map task name : {}! please do not use 'OMS_ROOT_TASK' or 'OMS_LAST_TASK' as map task name. as a precaution, it will be renamed 'X-{}' automatically." ,task.getInstanceId() ,taskName , taskName);
+            return "X-" + taskName;
+        }
+        return taskName;
+    }
+
+    private static void send(ActorSelection taskTrackerActor, ProcessorMapTaskRequest req, Long instanceId, String taskName, long maxWaitMs) throws PowerJobCheckedException {
+        long backoffMs = MIN_BACKOFF_MS;
+        long deadline = System.currentTimeMillis() + maxWaitMs;
+        while (true) {
+            AskResponse response;
+            try {
+                response = AkkaUtils.easyAsk(taskTrackerActor, req);
+            } catch (Exception e) {
+                log.warn("[Map-{}] transmit map task[name={}] failed.", instanceId, taskName, e);
+                throw new PowerJobCheckedException("map failed for task: " + taskName);
+            }
+            if (response.isSuccess()) {
+                return;
+            }
+            if (!ProcessorMapTaskRequest.BACK_PRESSURE.equals(response.getMessage())) {
+                throw new PowerJobCheckedException("map failed for task: " + taskName);
+            }
+            // TaskTracker 积压过多，等待派发后再重试（任务实例被停止时线程会被中断）
+            long remainMs = deadline - System.currentTimeMillis();
+            if (remainMs <= 0) {
+                log.warn("[Map-{}] map task[name={}] still rejected by back-pressure after {}ms, maybe the pending tasks can't be dispatched, please increase the thread concurrency or '{}'.",
+                        instanceId, taskName, maxWaitMs, PowerJobDKey.WORKER_MAP_MAX_PENDING);
+                throw new PowerJobCheckedException("map timeout due to back-pressure for task: " + taskName);
+            }
+            try {
+                Thread.sleep(Math.min(backoffMs, remainMs));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new PowerJobCheckedException("map interrupted for task: " + taskName);
+            }
+            backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+        }
+    }
+}
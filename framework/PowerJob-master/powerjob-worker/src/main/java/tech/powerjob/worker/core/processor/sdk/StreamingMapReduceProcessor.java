@@ -0,0 +1,39 @@
+package tech.powerjob.worker.core.processor.sdk;
+
+import tech.powerjob.worker.core.processor.ProcessResult;
+import tech.powerjob.worker.core.processor.TaskContext;
+import tech.powerjob.worker.core.processor.TaskResult;
+
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * 流式 MapReduce 执行处理器，适用于子任务数量巨大的 MapReduce 任务
+ * reduce 阶段不再一次性加载全部子任务的执行结果，而是按 taskId 顺序分页读取，内存中同时只保留一页数据（页大小见 PowerJobDKey#WORKER_REDUCE_PAGE_SIZE）
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+public interface StreamingMapReduceProcessor extends MapReduceProcessor {
+
+    /**
+     * reduce方法将在所有任务结束后调用
+     * @param context 任务上下文
+     * @param taskResults 各个子Task的执行结果，按 taskId 升序排列，只能遍历一次；请边遍历边聚合，不要将结果全部收集到内存中
+     * @return reduce产生的结果将作为任务最终的返回结果
+     * @throws Exception 读取执行结果失败或聚合失败时抛出，任务将被标记为失败
+     */
+    ProcessResult reduce(TaskContext context, Iterator<TaskResult> taskResults) throws Exception;
+
+    /**
+     * 兼容 {@link MapReduceProcessor}，框架调用流式版本的 reduce，不会调用本方法
+     */
+    @Override
+    default ProcessResult reduce(TaskContext context, List<TaskResult> taskResults) {
+        try {
+            return reduce(context, taskResults.iterator());
+        } catch (Exception e) {
+            return new ProcessResult(false, e.toString());
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package tech.powerjob.worker.core.schedule;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 一组注册在 {@link WorkerScheduler} 上的定时任务（通常属于同一个 Tracker），语义与 ScheduledExecutorService 保持一致：
+ * 1. 同一个周期任务不会并发执行，fixedRate 任务执行超时后会立即开始下一次执行
+ * 2. shutdown 后不再触发新的执行，但不会打断正在执行的任务（Tracker 的 destroy 方法本身可能就运行在定时任务中）
+ * 3. shutdown 后再提交任务会抛出 {@link RejectedExecutionException}
+ * 与 ScheduledExecutorService 不同的是，周期任务抛出异常后不会被终止
+ * 包含阻塞式远程调用的任务需要通过 scheduleBlockingXxx 提交，由有界的 I/O 线程池执行，线程池繁忙时跳过本轮执行
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+@Slf4j
+public class ScheduleGroup {
+
+    private final String name;
+    private final WorkerScheduler scheduler;
+    private final Set<ScheduledTask> tasks = ConcurrentHashMap.newKeySet();
+    private volatile boolean shutdown = false;
+
+    ScheduleGroup(String name, WorkerScheduler scheduler) {
+        this.name = name;
+        this.scheduler = scheduler;
+    }
+
+    public void scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        submit(new ScheduledTask(command, unit.toMillis(period), true), unit.toMillis(initialDelay));
+    }
+
+    public void scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        submit(new ScheduledTask(command, unit.toMillis(delay), false), unit.toMillis(initialDelay));
+    }
+
+    /**
+     * 同 {@link #scheduleAtFixedRate(Runnable, long, long, TimeUnit)}，任务中存在阻塞式远程调用
+     */
+    public void scheduleBlockingAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        submit(new ScheduledTask(command, unit.toMillis(period), true, true), unit.toMillis(initialDelay));
+    }
+
+    /**
+     * 同 {@link #scheduleWithFixedDelay(Runnable, long, long, TimeUnit)}，任务中存在阻塞式远程调用
+     */
+    public void scheduleBlockingWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        submit(new ScheduledTask(command, unit.toMillis(delay), false, true), unit.toMillis(initialDelay));
+    }
+
+    public void schedule(Runnable command, long delay, TimeUnit unit) {
+        submit(new ScheduledTask(command, -1, false), unit.toMillis(delay));
+    }
+
+    /**
+     * 立即异步执行
+     */
+    public void execute(Runnable command) {
+        schedule(command, 0, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 取消组内所有的定时任务
+     */
+    public void shutdown() {
+        shutdown = true;
+        tasks.forEach(ScheduledTask::cancel);
+        tasks.clear();
+    }
+
+    public boolean isShutdown() {
+        return shutdown;
+    }
+
+    private void submit(ScheduledTask task, long delayMs) {
+        if (shutdown) {
+            throw new RejectedExecutionException("ScheduleGroup(" + name + ") has been shutdown");
+        }
+        tasks.add(task);
+        // 与 shutdown 并发时，保证任务一定被取消
+        if (shutdown) {
+            tasks.remove(task);
+            throw new RejectedExecutionException("ScheduleGroup(" + name + ") has been shutdown");
+        }
+        task.arm(delayMs);
+    }
+
+    private class ScheduledTask implements Runnable {
+
+        private final Runnable command;
+        /**
+         * 周期（毫秒），小于 0 代表一次性任务
+         */
+        private final long period;
+        private final boolean fixedRate;
+        /**
+         * 是否包含阻塞式远程调用
+         */
+        private final boolean blocking;
+
+        private volatile boolean cancelled = false;
+        private volatile ScheduledFuture<?> future;
+        /**
+         * 本次执行的计划时间，用于计算 fixedRate 任务的下一次执行时间
+         */
+        private long scheduledTime;
+
+        ScheduledTask(Runnable command, long period, boolean fixedRate) {
+            this(command, period, fixedRate, false);
+        }
+
+        ScheduledTask(Runnable command, long period, boolean fixedRate, boolean blocking) {
+            this.command = command;
+            this.period = period;
+            this.fixedRate = fixedRate;
+            this.blocking = blocking;
+        }
+
+        void arm(long delayMs) {
+            if (cancelled) {
+                return;
+            }
+            delayMs = Math.max(0, delayMs);
+            scheduledTime = System.currentTimeMillis() + delayMs;
+            if (delayMs == 0) {
+                execute0();
+                return;
+            }
+            try {
+                // 计时线程只负责将任务转交给执行线程池
+                future = scheduler.delay(this::execute0, delayMs);
+            } catch (RejectedExecutionException ignore) {
+                // WorkerScheduler 已关闭，worker 正在退出
+                tasks.remove(this);
+            }
+        }
+
+        void cancel() {
+            cancelled = true;
+            ScheduledFuture<?> f = future;
+            if (f != null) {
+                f.cancel(false);
+            }
+        }
+
+        private void execute0() {
+            try {
+                scheduler.execute(this, blocking);
+            } catch (RejectedExecutionException e) {
+                // WorkerScheduler 已关闭，worker 正在退出
+                if (scheduler.isShutdown() || period < 0) {
+                    tasks.remove(this);
+                    return;
+                }
+                // I/O 线程池已满，跳过本轮，下个周期再执行
+                log.warn("[ScheduleGroup-{}] io executor of WorkerScheduler is busy, skip this round.", name);
+                arm(Math.max(1, period));
+            }
+        }
+
+        @Override
+        public void run() {
+            if (cancelled) {
+                return;
+            }
+            try {
+                command.run();
+            } catch (Throwable t) {
+                log.warn("[ScheduleGroup-{}] scheduled task execute failed.", name, t);
+            }
+            if (period < 0) {
+                tasks.remove(this);
+                return;
+            }
+            if (fixedRate) {
+                arm(scheduledTime + period - System.currentTimeMillis());
+            } else {
+                arm(period);
+            }
+        }
+    }
+}
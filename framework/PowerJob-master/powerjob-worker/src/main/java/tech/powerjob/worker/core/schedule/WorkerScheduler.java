@@ -0,0 +1,88 @@
+package tech.powerjob.worker.core.schedule;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.*;
+
+/**
+ * worker 级别的共享调度器，所有 TaskTracker / ProcessorTracker 的定时任务（派发、状态检查、心跳上报等）都注册到这里
+ * 由唯一的计时线程负责触发，触发后交由共享的执行线程池运行，线程数不再随运行中的任务实例数增长
+ * 包含阻塞式远程调用（easyAsk、reliableTransmit 等）的定时任务交由独立的有界 I/O 线程池运行，网络异常时不会拖慢其他实例的派发与状态处理
+ * 各 Tracker 通过 {@link #newGroup(String)} 获取自己的 {@link ScheduleGroup}，销毁时整体取消
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+@Slf4j
+public class WorkerScheduler {
+
+    /**
+     * 只负责计时，不执行任何业务逻辑
+     */
+    private final ScheduledThreadPoolExecutor timer;
+    /**
+     * 执行定时任务，空闲时线程会被回收
+     */
+    private final ThreadPoolExecutor executor;
+    /**
+     * 执行包含阻塞式远程调用的定时任务，队列有界，队列满时本轮执行被跳过
+     */
+    private final ThreadPoolExecutor ioExecutor;
+
+    private static final int IO_QUEUE_SIZE = 1024;
+
+    public WorkerScheduler(int threadNum, int ioThreadNum) {
+        ThreadFactory timerFactory = new ThreadFactoryBuilder().setNameFormat("oms-worker-scheduler-timer").setDaemon(true).build();
+        timer = new ScheduledThreadPoolExecutor(1, timerFactory);
+        // 取消的任务立即从队列中移除，避免大量已销毁实例的任务堆积
+        timer.setRemoveOnCancelPolicy(true);
+
+        ThreadFactory executorFactory = new ThreadFactoryBuilder().setNameFormat("oms-worker-scheduler-%d").setDaemon(true).build();
+        executor = new ThreadPoolExecutor(threadNum, threadNum, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), executorFactory);
+        executor.allowCoreThreadTimeOut(true);
+
+        ThreadFactory ioExecutorFactory = new ThreadFactoryBuilder().setNameFormat("oms-worker-scheduler-io-%d").setDaemon(true).build();
+        ioExecutor = new ThreadPoolExecutor(ioThreadNum, ioThreadNum, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(IO_QUEUE_SIZE), ioExecutorFactory);
+        ioExecutor.allowCoreThreadTimeOut(true);
+        log.info("[WorkerScheduler] init WorkerScheduler successfully, threadNum: {}, ioThreadNum: {}.", threadNum, ioThreadNum);
+    }
+
+    /**
+     * 创建定时任务组
+     * @param name 名称，用于日志
+     * @return 定时任务组
+     */
+    public ScheduleGroup newGroup(String name) {
+        return new ScheduleGroup(name, this);
+    }
+
+    public void shutdown() {
+        timer.shutdownNow();
+        executor.shutdownNow();
+        ioExecutor.shutdownNow();
+    }
+
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
+    /**
+     * @return 等待执行的定时任务数量（已到期但还未开始执行），持续增长说明执行线程不足
+     */
+    public int getPendingNum() {
+        return executor.getQueue().size() + ioExecutor.getQueue().size();
+    }
+
+    ScheduledFuture<?> delay(Runnable trigger, long delayMs) {
+        return timer.schedule(trigger, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    void execute(Runnable runnable, boolean blocking) {
+        if (blocking) {
+            ioExecutor.execute(runnable);
+        } else {
+            executor.execute(runnable);
+        }
+    }
+}
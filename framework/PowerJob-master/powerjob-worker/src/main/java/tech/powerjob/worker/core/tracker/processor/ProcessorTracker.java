@@ -21,7 +21,11 @@ import tech.powerjob.worker.common.utils.SpringUtils;
 import tech.powerjob.worker.container.OmsContainer;
 import tech.powerjob.worker.container.OmsContainerFactory;
 import tech.powerjob.worker.core.ProcessorBeanFactory;
+import tech.powerjob.worker.core.executor.PlatformProcessorExecutor;
+import tech.powerjob.worker.core.executor.ProcessorExecutor;
 import tech.powerjob.worker.core.executor.ProcessorRunnable;
+import tech.powerjob.worker.core.executor.VirtualThreadProcessorExecutor;
+import tech.powerjob.worker.core.schedule.ScheduleGroup;
 import tech.powerjob.worker.core.processor.sdk.BasicProcessor;
 import tech.powerjob.worker.log.OmsLogger;
 import tech.powerjob.worker.log.OmsLoggerFactory;
@@ -35,6 +39,7 @@ import tech.powerjob.worker.pojo.request.TaskTrackerStartTaskReq;
 import java.util.List;
 import java.util.Queue;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * 负责管理 Processor 的执行
@@ -74,6 +79,10 @@ public class ProcessorTracker {
      * ProcessResult 上报失败的重试队列
      */
     private Queue<ProcessorReportTaskStatusReq> statusReportRetryQueue;
+    /**
+     * task 状态上报器（支持批量上报）
+     */
+    private TaskStatusReporter statusReporter;
     /**
      * 上一次空闲时间（用于闲置判定）
      */
@@ -87,9 +96,9 @@ public class ProcessorTracker {
 
     private ActorSelection taskTrackerActorRef;
 
-    private ThreadPoolExecutor threadPool;
+    private ProcessorExecutor threadPool;
 
-    private ScheduledExecutorService timingPool;
+    private ScheduleGroup scheduleGroup;
 
     private static final int THREAD_POOL_QUEUE_MAX_SIZE = 128;
     /**
@@ -102,25 +111,45 @@ public class ProcessorTracker {
     private boolean lethal = false;
 
     private String lethalReason;
+    /**
+     * 收到的任务总数（包括被拒绝的任务），用于 TaskTracker 计算信用额度
+     */
+    private final AtomicLong receivedTaskNum = new AtomicLong();
+    /**
+     * 未进入线程池即结束的任务数（被拒绝或 ProcessorTracker 不可用），与线程池完成数之和即为完成的任务总数
+     */
+    private final AtomicLong abandonedTaskNum = new AtomicLong();
 
     /**
      * 创建 ProcessorTracker（其实就是创建了个执行用的线程池 T_T）
      */
-    @SuppressWarnings("squid:S1181")
     public ProcessorTracker(TaskTrackerStartTaskReq request, WorkerRuntime workerRuntime) {
+        this(request.getInstanceInfo(), request.getTaskTrackerAddress(), request.getLogConfig(), workerRuntime);
+    }
+
+    /**
+     * 创建 ProcessorTracker
+     * @param instanceInfo 任务实例信息
+     * @param taskTrackerAddress TaskTracker 地址
+     * @param logConfig 在线日志配置
+     * @param workerRuntime worker 运行时元数据
+     */
+    @SuppressWarnings("squid:S1181")
+    public ProcessorTracker(InstanceInfo instanceInfo, String taskTrackerAddress, String logConfig, WorkerRuntime workerRuntime) {
         try {
             // 赋值
             this.startTime = System.currentTimeMillis();
             this.workerRuntime = workerRuntime;
-            this.instanceInfo = request.getInstanceInfo();
-            this.instanceId = request.getInstanceInfo().getInstanceId();
-            this.taskTrackerAddress = request.getTaskTrackerAddress();
+            this.instanceInfo = instanceInfo;
+            this.instanceId = instanceInfo.getInstanceId();
+            this.taskTrackerAddress = taskTrackerAddress;
 
             String akkaRemotePath = AkkaUtils.getAkkaWorkerPath(taskTrackerAddress, RemoteConstant.TASK_TRACKER_ACTOR_NAME);
             this.taskTrackerActorRef = workerRuntime.getActorSystem().actorSelection(akkaRemotePath);
 
-            this.omsLogger = OmsLoggerFactory.build(instanceId, request.getLogConfig(), workerRuntime);
+            this.omsLogger = OmsLoggerFactory.build(instanceId, logConfig, workerRuntime);
             this.statusReportRetryQueue = Queues.newLinkedBlockingQueue();
+            this.statusReporter = new TaskStatusReporter(instanceId, taskTrackerActorRef, statusReportRetryQueue, workerRuntime.getWorkerConfig().getTaskMessageBatchSize());
             this.lastIdleTime = -1L;
             this.lastCompletedTaskCount = 0L;
 
@@ -153,7 +182,9 @@ public class ProcessorTracker {
 
         // 一旦 ProcessorTracker 出现异常，所有提交到此处的任务直接返回失败，防止形成死锁
         // 死锁分析：TT创建PT，PT创建失败，无法定期汇报心跳，TT长时间未收到PT心跳，认为PT宕机（确实宕机了），无法选择可用的PT再次派发任务，死锁形成，GG斯密达 T_T
+        receivedTaskNum.incrementAndGet();
         if (lethal) {
+            abandonedTaskNum.incrementAndGet();
             ProcessorReportTaskStatusReq report = new ProcessorReportTaskStatusReq()
                     .setInstanceId(instanceId)
                     .setSubInstanceId(newTask.getSubInstanceId())
@@ -172,14 +203,18 @@ public class ProcessorTracker {
         newTask.setAddress(taskTrackerAddress);
 
         ClassLoader classLoader = omsContainer == null ? getClass().getClassLoader() : omsContainer.getContainerClassLoader();
-        ProcessorRunnable processorRunnable = new ProcessorRunnable(instanceInfo, taskTrackerActorRef, newTask, processor, omsLogger, classLoader, statusReportRetryQueue, workerRuntime);
+        ProcessorRunnable processorRunnable = new ProcessorRunnable(instanceInfo, newTask, processor, omsLogger, classLoader, statusReporter, workerRuntime);
         try {
             threadPool.submit(processorRunnable);
             success = true;
         } catch (RejectedExecutionException ignore) {
+            abandonedTaskNum.incrementAndGet();
             log.warn("[ProcessorTracker-{}] submit task(taskId={},taskName={}) to ThreadPool failed due to ThreadPool has too much task waiting to process, this task will dispatch to other ProcessorTracker.",
                     instanceId, newTask.getTaskId(), newTask.getTaskName());
+            // TaskTracker 估算的信用额度已与实际不符，立即上报负载以校准
+            reportLoad();
         } catch (Exception e) {
+            abandonedTaskNum.incrementAndGet();
             log.error("[ProcessorTracker-{}] submit task(taskId={},taskName={}) to ThreadPool failed.", instanceId, newTask.getTaskId(), newTask.getTaskName(), e);
         }
 
@@ -192,13 +227,44 @@ public class ProcessorTracker {
             reportReq.setStatus(TaskStatus.WORKER_RECEIVED.getValue());
             reportReq.setReportTime(System.currentTimeMillis());
 
-            taskTrackerActorRef.tell(reportReq, null);
+            statusReporter.report(reportReq);
 
             log.debug("[ProcessorTracker-{}] submit task(taskId={}, taskName={}) success, current queue size: {}.",
                     instanceId, newTask.getTaskId(), newTask.getTaskName(), threadPool.getQueue().size());
         }
     }
 
+    /**
+     * 批量提交任务到线程池执行
+     * @param newTasks 需要提交到线程池执行的任务
+     */
+    public void submitTasks(List<TaskDO> newTasks) {
+        newTasks.forEach(this::submitTask);
+    }
+
+    /**
+     * 向 TaskTracker 上报当前负载及可用槽位（信用额度）
+     * 读取顺序保证误差偏向保守：先读收到数（偏小，TaskTracker 认为在途任务偏多），最后读完成数（偏大，TaskTracker 归还的额度偏少）
+     */
+    private void reportLoad() {
+        long received = receivedTaskNum.get();
+        long waitingNum = threadPool.getQueue().size();
+        int availableSlots = calAvailableSlots();
+        long finished = threadPool.getCompletedTaskCount() + abandonedTaskNum.get();
+        ProcessorTrackerStatusReportReq statusReportReq = ProcessorTrackerStatusReportReq.buildLoadReport(instanceId, waitingNum, availableSlots, startTime, received, finished);
+        statusReportReq.setAddress(workerRuntime.getWorkerAddress());
+        taskTrackerActorRef.tell(statusReportReq, null);
+        log.debug("[ProcessorTracker-{}] send heartbeat to TaskTracker, current waiting task num is {}, available slots is {}.", instanceId, waitingNum, statusReportReq.getAvailableSlots());
+    }
+
+    /**
+     * 计算可用槽位：线程池队列剩余容量 + 空闲线程数
+     */
+    private int calAvailableSlots() {
+        int idleThreadNum = Math.max(0, threadPool.getMaximumPoolSize() - threadPool.getActiveCount());
+        return threadPool.getQueue().remainingCapacity() + idleThreadNum;
+    }
+
     /**
      * 释放资源
      */
@@ -224,8 +290,8 @@ public class ProcessorTracker {
 
         log.info("[ProcessorTracker-{}] ProcessorTracker destroyed successfully!", instanceId);
 
-        // 3. 关闭定时线程池
-        CommonUtils.executeIgnoreException(() -> timingPool.shutdownNow());
+        // 3. 取消定时任务
+        scheduleGroup.shutdown();
     }
 
 
@@ -237,15 +303,28 @@ public class ProcessorTracker {
         int poolSize = calThreadPoolSize();
         // 待执行队列，为了防止对内存造成较大压力，内存队列不能太大
         BlockingQueue<Runnable> queue = new ArrayBlockingQueue<>(THREAD_POOL_QUEUE_MAX_SIZE);
+
+        // 虚拟线程模式：每个 task 独立使用一个虚拟线程，由信号量限制并发数为 poolSize
+        if (workerRuntime.getWorkerConfig().isEnableVirtualThread()) {
+            ThreadFactory virtualThreadFactory = VirtualThreadProcessorExecutor.createVirtualThreadFactory("PPV-");
+            if (virtualThreadFactory != null) {
+                threadPool = new VirtualThreadProcessorExecutor(poolSize, queue, virtualThreadFactory);
+                log.info("[ProcessorTracker-{}] use virtual thread to execute tasks, concurrency: {}.", instanceId, poolSize);
+                return;
+            }
+            log.warn("[ProcessorTracker-{}] virtual thread is not supported by current jvm(requires JDK 21+), fallback to platform thread pool.", instanceId);
+        }
+
         // 自定义线程池中线程名称 (PowerJob Processor Pool -> PPP)
         ThreadFactory threadFactory = new ThreadFactoryBuilder().setNameFormat("PPP-%d").build();
         // 拒绝策略：直接抛出异常
         RejectedExecutionHandler rejectionHandler = new ThreadPoolExecutor.AbortPolicy();
 
-        threadPool = new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS, queue, threadFactory, rejectionHandler);
+        PlatformProcessorExecutor platformExecutor = new PlatformProcessorExecutor(poolSize, 60L, TimeUnit.SECONDS, queue, threadFactory, rejectionHandler);
 
         // 当没有任务执行时，允许销毁核心线程（即线程池最终存活线程个数可能为0）
-        threadPool.allowCoreThreadTimeOut(true);
+        platformExecutor.allowCoreThreadTimeOut(true);
+        threadPool = platformExecutor;
     }
 
     /**
@@ -253,11 +332,15 @@ public class ProcessorTracker {
      */
     private void initTimingJob() {
 
-        // PowerJob Processor TimingPool
-        ThreadFactory threadFactory = new ThreadFactoryBuilder().setNameFormat("PPT-%d").build();
-        timingPool = Executors.newSingleThreadScheduledExecutor(threadFactory);
+        scheduleGroup = workerRuntime.getWorkerScheduler().newGroup("ProcessorTracker-" + instanceId);
+
+        scheduleGroup.scheduleBlockingAtFixedRate(new CheckerAndReporter(), 0, 10, TimeUnit.SECONDS);
 
-        timingPool.scheduleAtFixedRate(new CheckerAndReporter(), 0, 10, TimeUnit.SECONDS);
+        // 开启批量上报时，定时发送缓冲区中的 task 状态，保证单条状态的最大等待时间
+        if (statusReporter.batchEnabled()) {
+            long lingerMs = Math.max(1, workerRuntime.getWorkerConfig().getTaskMessageLingerMs());
+            scheduleGroup.scheduleBlockingWithFixedDelay(() -> CommonUtils.executeIgnoreException(() -> statusReporter.flush()), lingerMs, lingerMs, TimeUnit.MILLISECONDS);
+        }
     }
 
 
@@ -293,6 +376,8 @@ public class ProcessorTracker {
                     if (idleTime > MAX_IDLE_TIME) {
                         log.warn("[ProcessorTracker-{}] ProcessorTracker have been idle for {}ms, it's time to tell TaskTracker and then destroy self.", instanceId, idleTime);
 
+                        // 先发送缓冲区中尚未上报的 task 状态
+                        statusReporter.flush();
                         // 不可靠通知，如果该请求失败，则整个任务处理集群缺失一个 ProcessorTracker，影响可接受
                         ProcessorTrackerStatusReportReq statusReportReq = ProcessorTrackerStatusReportReq.buildIdleReport(instanceId);
                         statusReportReq.setAddress(workerRuntime.getWorkerAddress());
@@ -317,11 +402,7 @@ public class ProcessorTracker {
             }
 
             // 上报当前 ProcessorTracker 负载
-            long waitingNum = threadPool.getQueue().size();
-            ProcessorTrackerStatusReportReq statusReportReq = ProcessorTrackerStatusReportReq.buildLoadReport(instanceId, waitingNum);
-            statusReportReq.setAddress(workerRuntime.getWorkerAddress());
-            taskTrackerActorRef.tell(statusReportReq, null);
-            log.debug("[ProcessorTracker-{}] send heartbeat to TaskTracker, current waiting task num is {}.", instanceId, waitingNum);
+            reportLoad();
         }
 
     }
@@ -0,0 +1,114 @@
+package tech.powerjob.worker.core.tracker.processor;
+
+import akka.actor.ActorSelection;
+import com.google.common.collect.Lists;
+import lombok.extern.slf4j.Slf4j;
+import tech.powerjob.worker.common.constants.TaskStatus;
+import tech.powerjob.worker.common.utils.AkkaUtils;
+import tech.powerjob.worker.pojo.request.ProcessorReportTaskStatusBatchReq;
+import tech.powerjob.worker.pojo.request.ProcessorReportTaskStatusReq;
+
+import java.util.List;
+import java.util.Queue;
+
+/**
+ * ProcessorTracker 向 TaskTracker 上报 task 状态
+ * 未开启批量时逐条发送；开启批量后先写入缓冲区，数量达到批次大小或由 ProcessorTracker 定时（linger）触发时合并为一条消息发送
+ * 最终状态要求可靠发送，发送失败的最终状态进入重试队列，由 ProcessorTracker 定期重新上报
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+@Slf4j
+public class TaskStatusReporter {
+
+    private final Long instanceId;
+
+    private final ActorSelection taskTrackerActor;
+
+    private final Queue<ProcessorReportTaskStatusReq> statusReportRetryQueue;
+
+    private final int batchSize;
+
+    private List<ProcessorReportTaskStatusReq> buffer;
+
+    public TaskStatusReporter(Long instanceId, ActorSelection taskTrackerActor, Queue<ProcessorReportTaskStatusReq> statusReportRetryQueue, int batchSize) {
+        this.instanceId = instanceId;
+        this.taskTrackerActor = taskTrackerActor;
+        this.statusReportRetryQueue = statusReportRetryQueue;
+        this.batchSize = batchSize;
+        this.buffer = Lists.newArrayList();
+    }
+
+    public boolean batchEnabled() {
+        return batchSize > 1;
+    }
+
+    /**
+     * 上报 task 状态
+     * @param req 状态上报请求
+     */
+    public void report(ProcessorReportTaskStatusReq req) {
+        if (!batchEnabled()) {
+            send(req);
+            return;
+        }
+        List<ProcessorReportTaskStatusReq> batch = null;
+        synchronized (this) {
+            buffer.add(req);
+            if (buffer.size() >= batchSize) {
+                batch = buffer;
+                buffer = Lists.newArrayList();
+            }
+        }
+        if (batch != null) {
+            send(batch);
+        }
+    }
+
+    /**
+     * 发送缓冲区中的全部状态
+     */
+    public void flush() {
+        List<ProcessorReportTaskStatusReq> batch;
+        synchronized (this) {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            batch = buffer;
+            buffer = Lists.newArrayList();
+        }
+        send(batch);
+    }
+
+    private void send(List<ProcessorReportTaskStatusReq> batch) {
+        if (batch.size() == 1) {
+            send(batch.get(0));
+            return;
+        }
+        ProcessorReportTaskStatusBatchReq batchReq = new ProcessorReportTaskStatusBatchReq(instanceId, batch);
+        if (!batchReq.containsFinishedStatus()) {
+            taskTrackerActor.tell(batchReq, null);
+            return;
+        }
+        if (!AkkaUtils.reliableTransmit(taskTrackerActor, batchReq)) {
+            // 只有最终状态需要重试，过程状态丢失不影响结果
+            batch.stream().filter(req -> TaskStatus.finishedStatus.contains(req.getStatus())).forEach(statusReportRetryQueue::add);
+            log.warn("[TaskStatusReporter-{}] report {} task status in batch failed, will retry later", instanceId, batch.size());
+        }
+    }
+
+    private void send(ProcessorReportTaskStatusReq req) {
+        // 最终结束状态要求可靠发送
+        if (TaskStatus.finishedStatus.contains(req.getStatus())) {
+            boolean success = AkkaUtils.reliableTransmit(taskTrackerActor, req);
+            if (!success) {
+                // 插入重试队列，等待重试
+                statusReportRetryQueue.add(req);
+                log.warn("[TaskStatusReporter-{}] report task(id={},status={},result={}) failed, will retry later", instanceId, req.getTaskId(), req.getStatus(), req.getResult());
+            }
+        } else {
+            taskTrackerActor.tell(req, null);
+        }
+    }
+}
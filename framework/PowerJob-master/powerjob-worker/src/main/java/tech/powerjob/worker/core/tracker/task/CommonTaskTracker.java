@@ -3,7 +3,6 @@ package tech.powerjob.worker.core.tracker.task;
 import akka.actor.ActorSelection;
 import akka.pattern.Patterns;
 import com.google.common.collect.Lists;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import lombok.ToString;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.util.CollectionUtils;
@@ -24,11 +23,10 @@ import tech.powerjob.worker.common.utils.AkkaUtils;
 import tech.powerjob.worker.persistence.TaskDO;
 
 import java.time.Duration;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletionStage;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -64,26 +62,21 @@ public class CommonTaskTracker extends TaskTracker {
     @Override
     protected void initTaskTracker(ServerScheduleJobReq req) {
 
-        // CommonTaskTrackerTimingPool 缩写
-        String poolName = String.format("ctttp-%d", req.getInstanceId()) + "-%d";
-        ThreadFactory factory = new ThreadFactoryBuilder().setNameFormat(poolName).build();
-        this.scheduledPool = Executors.newScheduledThreadPool(2, factory);
-
         // 持久化根任务
         persistenceRootTask();
 
         // 开启定时状态检查
         int delay = Integer.parseInt(System.getProperty(PowerJobDKey.WORKER_STATUS_CHECK_PERIOD, "13"));
-        scheduledPool.scheduleWithFixedDelay(new StatusCheckRunnable(), 3, delay, TimeUnit.SECONDS);
+        scheduleGroup.scheduleBlockingWithFixedDelay(new StatusCheckRunnable(), 3, delay, TimeUnit.SECONDS);
 
         // 如果是 MR 任务，则需要启动执行器动态检测装置
         ExecuteType executeType = ExecuteType.valueOf(req.getExecuteType());
         if (executeType == ExecuteType.MAP || executeType == ExecuteType.MAP_REDUCE) {
-            scheduledPool.scheduleAtFixedRate(new WorkerDetector(), 1, 1, TimeUnit.MINUTES);
+            scheduleGroup.scheduleBlockingAtFixedRate(new WorkerDetector(), 1, 1, TimeUnit.MINUTES);
         }
 
-        // 最后启动任务派发器，否则会出现 TaskTracker 还未创建完毕 ProcessorTracker 已开始汇报状态的情况
-        scheduledPool.scheduleWithFixedDelay(new Dispatcher(), 10, 5000, TimeUnit.MILLISECONDS);
+        // 最后启动任务派发器，否则会出现 TaskTracker 还未创建完毕 ProcessorTracker 已开始汇报状态的情况（任务派发由事件触发，定时执行仅作兜底）
+        scheduleGroup.scheduleWithFixedDelay(dispatcher, 10, 5000, TimeUnit.MILLISECONDS);
     }
 
     @Override
@@ -132,6 +125,7 @@ public class CommonTaskTracker extends TaskTracker {
         rootTask.setSubInstanceId(instanceId);
 
         if (taskPersistenceService.save(rootTask)) {
+            enqueueReadyTasks(Collections.singletonList(rootTask));
             log.info("[TaskTracker-{}] create root task successfully.", instanceId);
         }else {
             log.error("[TaskTracker-{}] create root task failed.", instanceId);
@@ -298,7 +292,17 @@ public class CommonTaskTracker extends TaskTracker {
                         // 失败次数 + 1
                         updateEntity.setFailedCnt(uncheckTask.getFailedCnt() + 1);
 
-                        taskPersistenceService.updateTask(instanceId, uncheckTask.getTaskId(), updateEntity);
+                        discardTaskStatus(uncheckTask.getTaskId());
+                        if (taskPersistenceService.updateTask(instanceId, uncheckTask.getTaskId(), updateEntity)) {
+                            // 释放原 ProcessorTracker 的容量，重新进入待派发队列
+                            ptStatusHolder.onTaskFinished(uncheckTask.getAddress());
+                            uncheckTask.setStatus(updateEntity.getStatus());
+                            uncheckTask.setFailedCnt(updateEntity.getFailedCnt());
+                            if (updateEntity.getAddress() != null) {
+                                uncheckTask.setAddress(updateEntity.getAddress());
+                            }
+                            enqueueReadyTasks(Collections.singletonList(uncheckTask));
+                        }
 
                         log.warn("[TaskTracker-{}] task(id={},name={}) try to dispatch again due to unreceived the response from ProcessorTracker.",
                                 instanceId, uncheckTask.getTaskId(), uncheckTask.getTaskName());
@@ -311,8 +315,11 @@ public class CommonTaskTracker extends TaskTracker {
             List<String> disconnectedPTs = ptStatusHolder.getAllDisconnectedProcessorTrackers();
             if (!disconnectedPTs.isEmpty()) {
                 log.warn("[TaskTracker-{}] some ProcessorTracker disconnected from TaskTracker,their address is {}.", instanceId, disconnectedPTs);
+                discardLostTaskStatus(disconnectedPTs);
                 if (taskPersistenceService.updateLostTasks(instanceId, disconnectedPTs, true)) {
                     ptStatusHolder.remove(disconnectedPTs);
+                    // 丢失的任务已被重置为等待派发状态，需要从存储中恢复
+                    requireStorageScan();
                     log.warn("[TaskTracker-{}] removed these ProcessorTracker from StatusHolder: {}", instanceId, disconnectedPTs);
                 }
             }
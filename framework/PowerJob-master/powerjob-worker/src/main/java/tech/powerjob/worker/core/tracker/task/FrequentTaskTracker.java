@@ -5,11 +5,11 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.google.common.base.Stopwatch;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
-import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import lombok.Data;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeanUtils;
 import org.springframework.util.StringUtils;
+import tech.powerjob.common.PowerJobDKey;
 import tech.powerjob.common.enums.ExecuteType;
 import tech.powerjob.common.enums.InstanceStatus;
 import tech.powerjob.common.enums.TimeExpressionType;
@@ -27,8 +27,6 @@ import tech.powerjob.worker.common.utils.LRUCache;
 import tech.powerjob.worker.persistence.TaskDO;
 
 import java.util.*;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
 
@@ -36,6 +34,8 @@ import java.util.concurrent.atomic.AtomicLong;
  * 处理秒级任务（FIX_RATE/FIX_DELAY）的TaskTracker
  * FIX_RATE 直接由 ScheduledExecutorService 实现，精度高，推荐使用
  * FIX_DELAY 会有几秒的延迟，精度不是很理想
+ * 开启快速模式（{@link PowerJobDKey#WORKER_FREQUENT_FAST_PATH}）后，单机执行的秒级任务不再持久化子任务、不经过派发器，
+ * 子实例直接发送给本机 ProcessorTracker，只在内存中汇总成功/失败次数及耗时分布并上报给 server
  *
  * @author tjq
  * @since 2020/4/8
@@ -76,10 +76,19 @@ public class FrequentTaskTracker extends TaskTracker {
     private Map<Long, SubInstanceTimeHolder> subInstanceId2TimeHolder;
 
     private AlertManager alertManager;
+    /**
+     * 是否使用快速模式（仅单机执行的任务可用）
+     */
+    private boolean fastPath;
+    /**
+     * 快速模式下子实例的耗时分布，每次上报后清空
+     */
+    private LatencyHistogram latencyHistogram;
 
     private static final int HISTORY_SIZE = 10;
     private static final String LAST_TASK_ID_PREFIX = "L";
     private static final int MIN_INTERVAL = 50;
+    private static final int FAST_PATH_MIN_INTERVAL = 1;
 
     protected FrequentTaskTracker(ServerScheduleJobReq req, WorkerRuntime workerRuntime) {
         super(req, workerRuntime);
@@ -100,29 +109,55 @@ public class FrequentTaskTracker extends TaskTracker {
         recentSubInstanceInfo = new LRUCache<>(HISTORY_SIZE);
         subInstanceId2TimeHolder = Maps.newConcurrentMap();
 
-        // 1. 初始化定时调度线程池
-        String poolName = String.format("ftttp-%d", req.getInstanceId()) + "-%d";
-        ThreadFactory factory = new ThreadFactoryBuilder().setNameFormat(poolName).build();
-        this.scheduledPool = Executors.newScheduledThreadPool(4, factory);
+        fastPath = Boolean.getBoolean(PowerJobDKey.WORKER_FREQUENT_FAST_PATH) && ExecuteType.valueOf(req.getExecuteType()) == ExecuteType.STANDALONE;
+        latencyHistogram = new LatencyHistogram();
+
+        // 1. 初始化告警
         this.alertManager = constructAlertManager(req);
         // 2. 启动任务发射器
         launcher = new Launcher();
         if (timeExpressionType == TimeExpressionType.FIXED_RATE) {
             // 固定频率需要设置最小间隔
-            if (timeParams < MIN_INTERVAL) {
-                throw new PowerJobException("time interval too small, please set the timeExpressionInfo >= 1000");
+            int minInterval = fastPath ? FAST_PATH_MIN_INTERVAL : MIN_INTERVAL;
+            if (timeParams < minInterval) {
+                throw new PowerJobException("time interval too small, please set the timeExpressionInfo >= " + minInterval);
             }
-            scheduledPool.scheduleAtFixedRate(launcher, 1, timeParams, TimeUnit.MILLISECONDS);
+            scheduleGroup.scheduleAtFixedRate(launcher, 1, timeParams, TimeUnit.MILLISECONDS);
         } else {
-            scheduledPool.schedule(launcher, 0, TimeUnit.MILLISECONDS);
+            scheduleGroup.schedule(launcher, 0, TimeUnit.MILLISECONDS);
         }
 
-        // 3. 启动任务分发器（事实上，秒级任务应该都是单机任务，且感觉不需要失败重试机制，那么 Dispatcher 的存在就有点浪费系统资源了...）
-        scheduledPool.scheduleWithFixedDelay(new Dispatcher(), 1, 2, TimeUnit.SECONDS);
-        // 4. 启动状态检查器
-        scheduledPool.scheduleWithFixedDelay(new Checker(), 5000, Math.min(Math.max(timeParams, 5000), 15000), TimeUnit.MILLISECONDS);
+        // 3. 启动状态检查器
+        scheduleGroup.scheduleWithFixedDelay(new Checker(), 5000, Math.min(Math.max(timeParams, 5000), 15000), TimeUnit.MILLISECONDS);
+        if (fastPath) {
+            log.info("[FQTaskTracker-{}] use fast path, sub instances will not be persisted.", instanceId);
+            return;
+        }
+        // 4. 启动任务分发器（事实上，秒级任务应该都是单机任务，且感觉不需要失败重试机制，那么 Dispatcher 的存在就有点浪费系统资源了...）
+        scheduleGroup.scheduleWithFixedDelay(dispatcher, 1, 2, TimeUnit.SECONDS);
         // 5. 启动执行器动态检测装置
-        scheduledPool.scheduleAtFixedRate(new WorkerDetector(), 1, 1, TimeUnit.MINUTES);
+        scheduleGroup.scheduleBlockingAtFixedRate(new WorkerDetector(), 1, 1, TimeUnit.MINUTES);
+    }
+
+    /**
+     * 快速模式下子实例不持久化，只关心结束状态，直接在内存中完成统计
+     */
+    @Override
+    public void updateTaskStatus(Long subInstanceId, String taskId, int newStatus, long reportTime, String result) {
+        if (!fastPath) {
+            super.updateTaskStatus(subInstanceId, taskId, newStatus, reportTime, result);
+            return;
+        }
+        if (finished.get() || !TaskStatus.finishedStatus.contains(newStatus)) {
+            return;
+        }
+        // 已超时或重复上报的子实例不再处理
+        SubInstanceTimeHolder timeHolder = subInstanceId2TimeHolder.remove(subInstanceId);
+        if (timeHolder == null) {
+            return;
+        }
+        latencyHistogram.record(System.currentTimeMillis() - timeHolder.startTime);
+        processFinishedSubInstance(subInstanceId, newStatus == TaskStatus.WORKER_PROCESS_SUCCESS.getValue(), result);
     }
 
     @Override
@@ -132,6 +167,9 @@ public class FrequentTaskTracker extends TaskTracker {
         detail.setActualTriggerTime(createTime);
         detail.setStatus(InstanceStatus.RUNNING.getV());
         detail.setTaskTrackerAddress(workerRuntime.getWorkerAddress());
+        if (fastPath) {
+            detail.setResult(String.format("succeed:%d,failed:%d,latency(ms)[%s]", succeedTimes.get(), failedTimes.get(), latencyHistogram.summary()));
+        }
 
         List<InstanceDetail.SubInstanceDetail> history = Lists.newLinkedList();
         recentSubInstanceInfo.forEach((subId, subInstanceInfo) -> {
@@ -165,6 +203,11 @@ public class FrequentTaskTracker extends TaskTracker {
             // 子任务实例ID
             Long subInstanceId = triggerTimes.incrementAndGet();
 
+            if (fastPath) {
+                fastLaunch(subInstanceId);
+                return;
+            }
+
             // 执行记录缓存（只做展示，因此可以放在前面）
             SubInstanceInfo subInstanceInfo = new SubInstanceInfo();
             subInstanceInfo.status = TaskStatus.DISPATCH_SUCCESS_WORKER_UNCHECK.getValue();
@@ -215,6 +258,33 @@ public class FrequentTaskTracker extends TaskTracker {
             dispatchTask(newRootTask, myAddress);
         }
 
+        /**
+         * 快速模式：不记录执行历史、不持久化，直接发送给本机 ProcessorTracker
+         */
+        private void fastLaunch(long subInstanceId) {
+            if (maxInstanceNum > 0 && timeExpressionType == TimeExpressionType.FIXED_RATE && subInstanceId2TimeHolder.size() >= maxInstanceNum) {
+                log.warn("[FQTaskTracker-{}] cancel to launch the subInstance({}) due to too much subInstance is running.", instanceId, subInstanceId);
+                processFinishedSubInstance(subInstanceId, false, "TOO_MUCH_INSTANCE");
+                return;
+            }
+            String myAddress = workerRuntime.getWorkerAddress();
+            long currentTime = System.currentTimeMillis();
+
+            TaskDO newRootTask = new TaskDO();
+            newRootTask.setInstanceId(instanceId);
+            newRootTask.setSubInstanceId(subInstanceId);
+            newRootTask.setTaskId(String.valueOf(subInstanceId));
+            newRootTask.setTaskName(TaskConstant.ROOT_TASK_NAME);
+            newRootTask.setFailedCnt(0);
+            newRootTask.setAddress(myAddress);
+
+            SubInstanceTimeHolder timeHolder = new SubInstanceTimeHolder();
+            timeHolder.startTime = currentTime;
+            subInstanceId2TimeHolder.put(subInstanceId, timeHolder);
+
+            sendStartTaskReq(myAddress, Collections.singletonList(newRootTask));
+        }
+
         @Override
         public void run() {
             try {
@@ -238,7 +308,11 @@ public class FrequentTaskTracker extends TaskTracker {
             }
 
             try {
-                checkStatus();
+                if (fastPath) {
+                    checkTimeout();
+                } else {
+                    checkStatus();
+                }
                 reportStatus();
             } catch (Exception e) {
                 log.warn("[FQTaskTracker-{}] check and report status failed.", instanceId, e);
@@ -252,6 +326,7 @@ public class FrequentTaskTracker extends TaskTracker {
             List<String> disconnectedPTs = ptStatusHolder.getAllDisconnectedProcessorTrackers();
             if (!disconnectedPTs.isEmpty()) {
                 log.warn("[FQTaskTracker-{}] some ProcessorTracker disconnected from TaskTracker,their address is {}.", instanceId, disconnectedPTs);
+                discardLostTaskStatus(disconnectedPTs);
                 if (taskPersistenceService.updateLostTasks(instanceId, disconnectedPTs, false)) {
                     ptStatusHolder.remove(disconnectedPTs);
                     log.warn("[FQTaskTracker-{}] removed these ProcessorTracker from StatusHolder: {}", instanceId, disconnectedPTs);
@@ -330,6 +405,19 @@ public class FrequentTaskTracker extends TaskTracker {
             log.debug("[FQTaskTracker-{}] check status using {}.", instanceId, stopwatch);
         }
 
+        /**
+         * 快速模式下只检查超时，子实例的结束状态由 updateTaskStatus 直接处理
+         */
+        private void checkTimeout() {
+            long instanceTimeoutMS = instanceInfo.getInstanceTimeoutMS();
+            long nowTS = System.currentTimeMillis();
+            subInstanceId2TimeHolder.forEach((subInstanceId, timeHolder) -> {
+                if (nowTS - timeHolder.startTime > instanceTimeoutMS && subInstanceId2TimeHolder.remove(subInstanceId, timeHolder)) {
+                    processFinishedSubInstance(subInstanceId, false, "RUNNING_TIMEOUT");
+                }
+            });
+        }
+
         private void reportStatus() {
 
             String currentServerAddress = workerRuntime.getServerDiscoveryService().getCurrentServerAddress();
@@ -349,6 +437,11 @@ public class FrequentTaskTracker extends TaskTracker {
             req.setSucceedTaskNum(succeedTimes.get());
             req.setFailedTaskNum(failedTimes.get());
             req.setSourceAddress(workerRuntime.getWorkerAddress());
+            // 快速模式上报本周期的耗时分布
+            if (fastPath) {
+                req.setResult("latency(ms)[" + latencyHistogram.summary() + "]");
+                latencyHistogram.reset();
+            }
 
             // alert
             if (alertManager.alert()) {
@@ -387,19 +480,30 @@ public class FrequentTaskTracker extends TaskTracker {
         // 从运行中任务列表移除
         subInstanceId2TimeHolder.remove(subInstanceId);
 
-        // 更新缓存数据
-        SubInstanceInfo subInstanceInfo = recentSubInstanceInfo.get(subInstanceId);
-        if (subInstanceInfo != null) {
-            subInstanceInfo.status = success ? InstanceStatus.SUCCEED.getV() : InstanceStatus.FAILED.getV();
-            subInstanceInfo.result = result;
-            subInstanceInfo.finishedTime = currentTime;
+        if (fastPath) {
+            // 快速模式只保留失败的执行记录，且没有需要删除的数据
+            if (!success) {
+                SubInstanceInfo subInstanceInfo = new SubInstanceInfo();
+                subInstanceInfo.status = InstanceStatus.FAILED.getV();
+                subInstanceInfo.result = result;
+                subInstanceInfo.finishedTime = currentTime;
+                recentSubInstanceInfo.put(subInstanceId, subInstanceInfo);
+            }
+        } else {
+            // 更新缓存数据
+            SubInstanceInfo subInstanceInfo = recentSubInstanceInfo.get(subInstanceId);
+            if (subInstanceInfo != null) {
+                subInstanceInfo.status = success ? InstanceStatus.SUCCEED.getV() : InstanceStatus.FAILED.getV();
+                subInstanceInfo.result = result;
+                subInstanceInfo.finishedTime = currentTime;
+            }
+            // 删除数据库相关数据
+            taskPersistenceService.deleteAllSubInstanceTasks(instanceId, subInstanceId);
         }
-        // 删除数据库相关数据
-        taskPersistenceService.deleteAllSubInstanceTasks(instanceId, subInstanceId);
 
         // FIX_DELAY 则调度下次任务
         if (timeExpressionType == TimeExpressionType.FIXED_DELAY) {
-            scheduledPool.schedule(launcher, timeParams, TimeUnit.MILLISECONDS);
+            scheduleGroup.schedule(launcher, timeParams, TimeUnit.MILLISECONDS);
         }
     }
 
@@ -0,0 +1,77 @@
+package tech.powerjob.worker.core.tracker.task;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 耗时直方图，按 2 的幂次划分桶（[0,1)、[1,2)、[2,4)...ms），只记录计数，内存占用固定
+ * 分位数取所在桶的上界，用于秒级任务快速模式下的统计汇总
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+class LatencyHistogram {
+
+    private static final int BUCKET_NUM = 40;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_NUM);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Long::max, 0);
+
+    /**
+     * 记录一次耗时
+     * @param latencyMs 耗时（毫秒）
+     */
+    void record(long latencyMs) {
+        long value = Math.max(0, latencyMs);
+        int index = Math.min(BUCKET_NUM - 1, 64 - Long.numberOfLeadingZeros(value));
+        buckets.incrementAndGet(index);
+        count.increment();
+        sum.add(value);
+        max.accumulate(value);
+    }
+
+    /**
+     * 清空统计数据，与 record 并发时可能丢失少量记录
+     */
+    void reset() {
+        for (int i = 0; i < BUCKET_NUM; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        max.reset();
+    }
+
+    /**
+     * @return 统计摘要，如 count:100,avg:3,p50:4,p90:8,p99:16,max:13（单位 ms）
+     */
+    String summary() {
+        long[] snapshot = new long[BUCKET_NUM];
+        long total = 0;
+        for (int i = 0; i < BUCKET_NUM; i++) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return "count:0";
+        }
+        return String.format("count:%d,avg:%d,p50:%d,p90:%d,p99:%d,max:%d", total, sum.sum() / Math.max(1, count.sum()),
+                percentile(snapshot, total, 0.5), percentile(snapshot, total, 0.9), percentile(snapshot, total, 0.99), max.get());
+    }
+
+    private static long percentile(long[] snapshot, long total, double percent) {
+        long threshold = (long) Math.ceil(total * percent);
+        long accumulated = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            accumulated += snapshot[i];
+            if (accumulated >= threshold) {
+                // 桶 i 的上界为 2^i
+                return 1L << i;
+            }
+        }
+        return 1L << (snapshot.length - 1);
+    }
+}
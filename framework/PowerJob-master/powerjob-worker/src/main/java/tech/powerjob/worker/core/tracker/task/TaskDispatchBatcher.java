@@ -0,0 +1,53 @@
+package tech.powerjob.worker.core.tracker.task;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import tech.powerjob.worker.persistence.TaskDO;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * 任务派发缓冲区，按 ProcessorTracker 地址聚合待发送的任务，数量达到批次大小或被显式 flush 时合并为一条派发消息
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+class TaskDispatchBatcher {
+
+    private final int batchSize;
+
+    /**
+     * 实际发送逻辑，参数为 ProcessorTracker 地址及该地址的任务列表
+     */
+    private final BiConsumer<String, List<TaskDO>> sender;
+
+    private final Map<String, List<TaskDO>> address2Tasks = Maps.newHashMap();
+
+    TaskDispatchBatcher(int batchSize, BiConsumer<String, List<TaskDO>> sender) {
+        this.batchSize = batchSize;
+        this.sender = sender;
+    }
+
+    synchronized void add(String address, TaskDO task) {
+        List<TaskDO> tasks = address2Tasks.computeIfAbsent(address, ignore -> Lists.newArrayListWithCapacity(batchSize));
+        tasks.add(task);
+        if (tasks.size() >= batchSize) {
+            address2Tasks.remove(address);
+            sender.accept(address, tasks);
+        }
+    }
+
+    synchronized void flush() {
+        if (address2Tasks.isEmpty()) {
+            return;
+        }
+        address2Tasks.forEach(sender);
+        address2Tasks.clear();
+    }
+
+    synchronized void clear() {
+        address2Tasks.clear();
+    }
+}
@@ -0,0 +1,97 @@
+package tech.powerjob.worker.core.tracker.task;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import lombok.extern.slf4j.Slf4j;
+import tech.powerjob.worker.persistence.TaskDO;
+import tech.powerjob.worker.persistence.TaskPersistenceService;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 任务状态写缓冲区（write-behind）
+ * 同一个 task 的多次状态上报在内存中合并（按 reportTime 后写者胜），再由定时任务或数量阈值触发批量写入存储
+ * 未落盘期间，TaskTracker 的状态判断以 taskId2BriefInfo 缓存及本缓冲区为准
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+@Slf4j
+class TaskStatusWriteBuffer {
+
+    private final long instanceId;
+
+    private final int batchSize;
+
+    private final TaskPersistenceService taskPersistenceService;
+
+    private final Map<String, TaskDO> taskId2PendingUpdate = Maps.newConcurrentMap();
+
+    TaskStatusWriteBuffer(long instanceId, int batchSize, TaskPersistenceService taskPersistenceService) {
+        this.instanceId = instanceId;
+        this.batchSize = batchSize;
+        this.taskPersistenceService = taskPersistenceService;
+    }
+
+    /**
+     * 写入状态更新，与尚未落盘的更新按 reportTime 合并
+     */
+    void offer(String taskId, int status, long reportTime, String result) {
+        TaskDO update = new TaskDO();
+        update.setTaskId(taskId);
+        update.setStatus(status);
+        update.setLastReportTime(reportTime);
+        update.setResult(result);
+        merge(update);
+
+        if (taskId2PendingUpdate.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    /**
+     * 获取尚未落盘的状态更新
+     */
+    TaskDO get(String taskId) {
+        return taskId2PendingUpdate.get(taskId);
+    }
+
+    /**
+     * 丢弃尚未落盘的状态更新，用于该 task 即将被直接覆盖写入（如失败重试）的场景
+     */
+    synchronized void discard(String taskId) {
+        taskId2PendingUpdate.remove(taskId);
+    }
+
+    void clear() {
+        taskId2PendingUpdate.clear();
+    }
+
+    /**
+     * 将缓冲区中的状态批量写入存储，写入失败的更新重新放回缓冲区等待下次写入
+     */
+    synchronized void flush() {
+        if (taskId2PendingUpdate.isEmpty()) {
+            return;
+        }
+        List<TaskDO> updates = Lists.newArrayListWithCapacity(taskId2PendingUpdate.size());
+        for (Map.Entry<String, TaskDO> entry : taskId2PendingUpdate.entrySet()) {
+            // 仅移除快照中的值，期间被合并进来的新值保留到下次写入
+            if (taskId2PendingUpdate.remove(entry.getKey(), entry.getValue())) {
+                updates.add(entry.getValue());
+            }
+        }
+        if (updates.isEmpty()) {
+            return;
+        }
+        if (!taskPersistenceService.batchUpdateTaskStatus(instanceId, updates)) {
+            log.warn("[TaskTracker-{}] flush {} task status updates failed, will retry later.", instanceId, updates.size());
+            updates.forEach(this::merge);
+        }
+    }
+
+    private void merge(TaskDO update) {
+        taskId2PendingUpdate.merge(update.getTaskId(), update, (oldValue, newValue) -> oldValue.getLastReportTime() > newValue.getLastReportTime() ? oldValue : newValue);
+    }
+}
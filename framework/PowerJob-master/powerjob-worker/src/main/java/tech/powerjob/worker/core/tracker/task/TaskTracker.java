@@ -3,6 +3,7 @@ package tech.powerjob.worker.core.tracker.task;
 import akka.actor.ActorSelection;
 import com.fasterxml.jackson.core.type.TypeReference;
 import lombok.AllArgsConstructor;
+import tech.powerjob.common.PowerJobDKey;
 import tech.powerjob.common.enums.ExecuteType;
 import tech.powerjob.common.enums.InstanceStatus;
 import tech.powerjob.common.RemoteConstant;
@@ -12,7 +13,6 @@ import tech.powerjob.common.request.ServerScheduleJobReq;
 import tech.powerjob.common.request.TaskTrackerReportInstanceStatusReq;
 import tech.powerjob.common.request.WorkerQueryExecutorClusterReq;
 import tech.powerjob.common.response.AskResponse;
-import tech.powerjob.common.utils.CommonUtils;
 import tech.powerjob.common.serialize.JsonUtils;
 import tech.powerjob.common.utils.SegmentLock;
 import tech.powerjob.worker.common.WorkerRuntime;
@@ -21,10 +21,12 @@ import tech.powerjob.worker.common.constants.TaskStatus;
 import tech.powerjob.worker.common.utils.AkkaUtils;
 import tech.powerjob.worker.common.utils.WorkflowContextUtils;
 import tech.powerjob.worker.core.ha.ProcessorTrackerStatusHolder;
+import tech.powerjob.worker.core.schedule.ScheduleGroup;
 import tech.powerjob.worker.persistence.TaskDO;
 import tech.powerjob.worker.persistence.TaskPersistenceService;
 import tech.powerjob.worker.pojo.model.InstanceInfo;
 import tech.powerjob.worker.pojo.request.ProcessorTrackerStatusReportReq;
+import tech.powerjob.worker.pojo.request.TaskTrackerStartTaskBatchReq;
 import tech.powerjob.worker.pojo.request.TaskTrackerStartTaskReq;
 import tech.powerjob.worker.pojo.request.TaskTrackerStopInstanceReq;
 import com.google.common.base.Stopwatch;
@@ -39,13 +41,18 @@ import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
 
 import javax.annotation.Nullable;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.ScheduledExecutorService;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * 负责管理 JobInstance 的运行，主要包括任务的派发（MR可能存在大量的任务）和状态的更新
@@ -81,9 +88,9 @@ public abstract class TaskTracker {
      */
     protected final TaskPersistenceService taskPersistenceService;
     /**
-     * 定时任务线程池
+     * 定时任务组（注册在 worker 共享的调度器上）
      */
-    protected ScheduledExecutorService scheduledPool;
+    protected final ScheduleGroup scheduleGroup;
     /**
      * 是否结束
      */
@@ -98,6 +105,38 @@ public abstract class TaskTracker {
      * 任务信息缓存
      */
     private final Cache<String, TaskBriefInfo> taskId2BriefInfo;
+    /**
+     * 任务状态写缓冲区，合并状态上报后批量落盘
+     */
+    private final TaskStatusWriteBuffer taskStatusWriteBuffer;
+    /**
+     * 任务派发缓冲区，未开启批量派发时为 null
+     */
+    private final TaskDispatchBatcher taskDispatchBatcher;
+    /**
+     * 待派发任务队列，由任务提交、失败重试等事件直接写入，存储仅用于队列溢出和异常情况下的恢复扫描
+     */
+    private final Queue<TaskDO> readyQueue;
+    /**
+     * 待派发任务队列中的 taskId，用于去重及统计队列长度
+     */
+    private final Set<String> readyTaskIds;
+    /**
+     * 是否需要从存储中恢复待派发任务（队列溢出、派发失败等场景）
+     */
+    private final AtomicBoolean storageScanRequired;
+    /**
+     * 是否已提交派发请求，用于合并短时间内的多次派发触发
+     */
+    private final AtomicBoolean dispatchTriggered;
+    /**
+     * 任务派发器，事件触发及定时兜底共用同一个实例
+     */
+    protected final Dispatcher dispatcher;
+    /**
+     * 是否初始化完成，完成前不触发派发（避免 TaskTracker 尚未创建完毕 ProcessorTracker 已开始汇报状态）
+     */
+    private volatile boolean initialized;
 
 
     /**
@@ -106,6 +145,11 @@ public abstract class TaskTracker {
     private final SegmentLock segmentLock;
     private static final int UPDATE_CONCURRENCY = 4;
 
+    private static final long DEFAULT_STATUS_FLUSH_INTERVAL_MS = 200;
+    private static final int DEFAULT_STATUS_FLUSH_BATCH_SIZE = 512;
+
+    private static final int READY_QUEUE_CAPACITY = 4096;
+
     protected TaskTracker(ServerScheduleJobReq req, WorkerRuntime workerRuntime) {
 
         // 初始化成员变量
@@ -127,6 +171,7 @@ public abstract class TaskTracker {
         this.ptStatusHolder = new ProcessorTrackerStatusHolder(instanceId, req.getMaxWorkerCount(), req.getAllWorkerAddress());
         this.taskPersistenceService = workerRuntime.getTaskPersistenceService();
         this.finished = new AtomicBoolean(false);
+        this.scheduleGroup = workerRuntime.getWorkerScheduler().newGroup("TaskTracker-" + instanceId);
         // 只有工作流中的任务允许向工作流中追加上下文数据
         this.appendedWfContext = req.getWfInstanceId() == null ? Collections.emptyMap() : Maps.newConcurrentMap();
         // 构建缓存
@@ -134,10 +179,32 @@ public abstract class TaskTracker {
 
         // 构建分段锁
         segmentLock = new SegmentLock(UPDATE_CONCURRENCY);
+        // 构建状态写缓冲区
+        int flushBatchSize = Integer.parseInt(System.getProperty(PowerJobDKey.WORKER_STATUS_FLUSH_BATCH_SIZE, String.valueOf(DEFAULT_STATUS_FLUSH_BATCH_SIZE)));
+        taskStatusWriteBuffer = new TaskStatusWriteBuffer(instanceId, flushBatchSize, taskPersistenceService);
+        // 构建待派发队列及派发器
+        readyQueue = new ConcurrentLinkedQueue<>();
+        readyTaskIds = ConcurrentHashMap.newKeySet();
+        storageScanRequired = new AtomicBoolean(false);
+        dispatchTriggered = new AtomicBoolean(false);
+        dispatcher = new Dispatcher();
+        // 构建任务派发缓冲区（批次大小大于 1 时开启批量派发）
+        int dispatchBatchSize = workerRuntime.getWorkerConfig().getTaskMessageBatchSize();
+        taskDispatchBatcher = dispatchBatchSize > 1 ? new TaskDispatchBatcher(dispatchBatchSize, this::sendStartTaskReq) : null;
 
         // 子类自定义初始化操作
         initTaskTracker(req);
 
+        // 定时将缓冲的任务状态写入存储
+        long flushInterval = Long.parseLong(System.getProperty(PowerJobDKey.WORKER_STATUS_FLUSH_INTERVAL, String.valueOf(DEFAULT_STATUS_FLUSH_INTERVAL_MS)));
+        scheduleGroup.scheduleWithFixedDelay(this::flushTaskStatus, flushInterval, flushInterval, TimeUnit.MILLISECONDS);
+        // 定时发送缓冲的派发任务，保证单个任务的最大等待时间
+        if (taskDispatchBatcher != null) {
+            long lingerMs = Math.max(1, workerRuntime.getWorkerConfig().getTaskMessageLingerMs());
+            scheduleGroup.scheduleWithFixedDelay(this::flushDispatchBatch, lingerMs, lingerMs, TimeUnit.MILLISECONDS);
+        }
+
+        initialized = true;
         log.info("[TaskTracker-{}] create TaskTracker successfully.", instanceId);
     }
 
@@ -231,16 +298,22 @@ public abstract class TaskTracker {
             segmentLock.lockInterruptible(lockId);
             TaskBriefInfo taskBriefInfo = taskId2BriefInfo.getIfPresent(taskId);
 
-            // 缓存中不存在，从数据库查
+            // 缓存中不存在，从数据库查，尚未落盘的状态以写缓冲区为准（派发地址在派发时直接落盘，始终以数据库为准）
             if (taskBriefInfo == null) {
+                TaskDO pendingUpdate = taskStatusWriteBuffer.get(taskId);
                 Optional<TaskDO> taskOpt = taskPersistenceService.getTask(instanceId, taskId);
                 if (taskOpt.isPresent()) {
                     TaskDO taskDO = taskOpt.get();
-                    taskBriefInfo = new TaskBriefInfo(taskId, TaskStatus.of(taskDO.getStatus()), taskDO.getLastReportTime());
+                    if (pendingUpdate != null) {
+                        taskBriefInfo = new TaskBriefInfo(taskId, TaskStatus.of(pendingUpdate.getStatus()), pendingUpdate.getLastReportTime(), taskDO.getAddress());
+                    } else {
+                        taskBriefInfo = new TaskBriefInfo(taskId, TaskStatus.of(taskDO.getStatus()), taskDO.getLastReportTime(), taskDO.getAddress());
+                    }
                 } else {
                     // 理论上不存在这种情况，除非数据库异常
                     log.error("[TaskTracker-{}-{}] can't find task by taskId={}.", instanceId, subInstanceId, taskId);
-                    taskBriefInfo = new TaskBriefInfo(taskId, TaskStatus.WAITING_DISPATCH, -1L);
+                    taskBriefInfo = pendingUpdate == null ? new TaskBriefInfo(taskId, TaskStatus.WAITING_DISPATCH, -1L, null)
+                            : new TaskBriefInfo(taskId, TaskStatus.of(pendingUpdate.getStatus()), pendingUpdate.getLastReportTime(), null);
                 }
                 // 写入缓存
                 taskId2BriefInfo.put(taskId, taskBriefInfo);
@@ -260,9 +333,16 @@ public abstract class TaskTracker {
             }
 
             // 此时本次请求已经有效，先更新相关信息
+            boolean newlyFinished = TaskStatus.finishedStatus.contains(nTaskStatus.getValue()) && !TaskStatus.finishedStatus.contains(taskBriefInfo.getStatus().getValue());
             taskBriefInfo.setLastReportTime(reportTime);
             taskBriefInfo.setStatus(nTaskStatus);
 
+            // 任务执行完成，释放 ProcessorTracker 容量并触发下一轮派发
+            if (newlyFinished && taskBriefInfo.getAddress() != null) {
+                ptStatusHolder.onTaskFinished(taskBriefInfo.getAddress());
+                triggerDispatch();
+            }
+
             // 处理失败的情况
             int configTaskRetryNum = instanceInfo.getTaskRetryNum();
             if (nTaskStatus == TaskStatus.WORKER_PROCESS_FAILED && configTaskRetryNum >= 1) {
@@ -292,22 +372,28 @@ public abstract class TaskTracker {
                         updateEntity.setStatus(TaskStatus.WAITING_DISPATCH.getValue());
                         updateEntity.setLastReportTime(reportTime);
 
+                        // 重试直接覆盖写入，缓冲区中更早的状态不能再落盘
+                        taskStatusWriteBuffer.discard(taskId);
                         boolean retryTask = taskPersistenceService.updateTask(instanceId, taskId, updateEntity);
                         if (retryTask) {
                             log.info("[TaskTracker-{}-{}] task(taskId={}) process failed, TaskTracker will have a retry.", instanceId, subInstanceId, taskId);
+                            TaskDO retryTaskDO = taskOpt.get();
+                            retryTaskDO.setFailedCnt(updateEntity.getFailedCnt());
+                            retryTaskDO.setStatus(updateEntity.getStatus());
+                            retryTaskDO.setLastReportTime(reportTime);
+                            if (updateEntity.getAddress() != null) {
+                                retryTaskDO.setAddress(updateEntity.getAddress());
+                            }
+                            enqueueReadyTasks(Collections.singletonList(retryTaskDO));
                             return;
                         }
                     }
                 }
             }
 
-            // 更新状态（失败重试写入DB失败的，也就不重试了...谁让你那么倒霉呢...）
+            // 更新状态（写入缓冲区，由 flushTaskStatus 批量落盘；失败重试写入DB失败的，也就不重试了...谁让你那么倒霉呢...）
             result = result == null ? "" : result;
-            boolean updateResult = taskPersistenceService.updateTaskStatus(instanceId, taskId, newStatus, reportTime, result);
-
-            if (!updateResult) {
-                log.warn("[TaskTracker-{}-{}] update task status failed, this task(taskId={}) may be processed repeatedly!", instanceId, subInstanceId, taskId);
-            }
+            taskStatusWriteBuffer.offer(taskId, newStatus, reportTime, result);
 
         } catch (InterruptedException ignore) {
             // ignore
@@ -341,7 +427,31 @@ public abstract class TaskTracker {
         });
 
         log.debug("[TaskTracker-{}] receive new tasks: {}", instanceId, newTaskList);
-        return taskPersistenceService.batchSave(newTaskList);
+        boolean success = taskPersistenceService.batchSave(newTaskList);
+        if (success) {
+            enqueueReadyTasks(newTaskList);
+        }
+        return success;
+    }
+
+    /**
+     * 获取等待派发的任务数量，用于流式 map 的背压
+     * 待派发队列未溢出时统计队列中属于该子任务实例的任务（队列长度有上限，遍历开销可控），否则从存储中统计
+     *
+     * @param subInstanceId 子任务实例ID
+     * @return 等待派发的任务数量
+     */
+    public long getPendingTaskNum(long subInstanceId) {
+        if (!storageScanRequired.get()) {
+            long num = 0;
+            for (TaskDO task : readyQueue) {
+                if (task.getSubInstanceId() != null && task.getSubInstanceId() == subInstanceId) {
+                    num++;
+                }
+            }
+            return num;
+        }
+        return taskPersistenceService.getTaskStatusStatistics(instanceId, subInstanceId).getOrDefault(TaskStatus.WAITING_DISPATCH, 0L);
     }
 
     /**
@@ -357,13 +467,16 @@ public abstract class TaskTracker {
         if (heartbeatReq.getType() == ProcessorTrackerStatusReportReq.IDLE) {
             String idlePtAddress = heartbeatReq.getAddress();
             // 该 ProcessorTracker 已销毁，重置为初始状态
-            ptStatusHolder.getProcessorTrackerStatus(idlePtAddress).setDispatched(false);
+            ptStatusHolder.getProcessorTrackerStatus(idlePtAddress).onIdle();
+            flushTaskStatus();
             List<TaskDO> unfinishedTask = taskPersistenceService.getAllUnFinishedTaskByAddress(instanceId, idlePtAddress);
             if (!CollectionUtils.isEmpty(unfinishedTask)) {
                 log.warn("[TaskTracker-{}] ProcessorTracker({}) is idle now but have unfinished tasks: {}", instanceId, idlePtAddress, unfinishedTask);
                 unfinishedTask.forEach(task -> updateTaskStatus(task.getSubInstanceId(), task.getTaskId(), TaskStatus.WORKER_PROCESS_FAILED.getValue(), System.currentTimeMillis(), "SYSTEM: unreceived process result"));
             }
         }
+        // 心跳会刷新 ProcessorTracker 的可用状态，尝试派发
+        triggerDispatch();
     }
 
     /**
@@ -409,8 +522,8 @@ public abstract class TaskTracker {
         finished.set(true);
 
         Stopwatch sw = Stopwatch.createStarted();
-        // 0. 开始关闭线程池，不能使用 shutdownNow()，因为 destroy 方法本身就在 scheduledPool 的线程中执行，强行关闭会打断 destroy 的执行。
-        scheduledPool.shutdown();
+        // 0. 取消所有定时任务（不会打断正在执行的任务，destroy 方法本身就可能在定时任务中执行）
+        scheduleGroup.shutdown();
 
         // 1. 通知 ProcessorTracker 释放资源
         TaskTrackerStopInstanceReq stopRequest = new TaskTrackerStopInstanceReq();
@@ -422,7 +535,13 @@ public abstract class TaskTracker {
             ptActor.tell(stopRequest, null);
         });
 
-        // 2. 删除所有数据库数据
+        // 2. 删除所有数据库数据（缓冲区中未落盘的状态、待派发队列已无意义）
+        taskStatusWriteBuffer.clear();
+        readyQueue.clear();
+        readyTaskIds.clear();
+        if (taskDispatchBatcher != null) {
+            taskDispatchBatcher.clear();
+        }
         boolean dbSuccess = taskPersistenceService.deleteAllTasks(instanceId);
         if (!dbSuccess) {
             log.error("[TaskTracker-{}] delete tasks from database failed.", instanceId);
@@ -434,12 +553,6 @@ public abstract class TaskTracker {
         TaskTrackerPool.remove(instanceId);
 
         log.info("[TaskTracker-{}] TaskTracker has left the world(using {}), bye~", instanceId, sw.stop());
-
-        // 4. 强制关闭线程池
-        if (!scheduledPool.isTerminated()) {
-            CommonUtils.executeIgnoreException(() -> scheduledPool.shutdownNow());
-        }
-
     }
 
     /* *************************** 对内方法区 *************************** */
@@ -460,21 +573,135 @@ public abstract class TaskTracker {
         boolean success = taskPersistenceService.updateTask(instanceId, task.getTaskId(), updateEntity);
         if (!success) {
             log.warn("[TaskTracker-{}] dispatch task(taskId={},taskName={}) failed due to update task status failed.", instanceId, task.getTaskId(), task.getTaskName());
+            // 任务仍处于等待派发状态，交由恢复扫描重新加载
+            storageScanRequired.set(true);
             return;
         }
 
-        // 2. 更新 ProcessorTrackerStatus 状态
-        ptStatusHolder.getProcessorTrackerStatus(processorTrackerAddress).setDispatched(true);
+        // 2. 更新 ProcessorTrackerStatus 状态（占用一个容量，任务完成后释放）
+        ptStatusHolder.getProcessorTrackerStatus(processorTrackerAddress).onDispatched();
         // 3. 初始化缓存
-        taskId2BriefInfo.put(task.getTaskId(), new TaskBriefInfo(task.getTaskId(), TaskStatus.DISPATCH_SUCCESS_WORKER_UNCHECK, -1L));
+        taskId2BriefInfo.put(task.getTaskId(), new TaskBriefInfo(task.getTaskId(), TaskStatus.DISPATCH_SUCCESS_WORKER_UNCHECK, -1L, processorTrackerAddress));
+
+        // 4. 任务派发（开启批量派发时先写入缓冲区）
+        if (taskDispatchBatcher == null) {
+            sendStartTaskReq(processorTrackerAddress, Collections.singletonList(task));
+        } else {
+            taskDispatchBatcher.add(processorTrackerAddress, task);
+        }
+
+        log.debug("[TaskTracker-{}] dispatch task(taskId={},taskName={}) successfully.", instanceId, task.getTaskId(), task.getTaskName());
+    }
 
-        // 4. 任务派发
-        TaskTrackerStartTaskReq startTaskReq = new TaskTrackerStartTaskReq(instanceInfo, task, workerRuntime.getWorkerAddress());
+    /**
+     * 任务被重置（重新派发或判定失败）前调用：丢弃写缓冲区中尚未落盘的旧状态及状态缓存，避免旧状态在重置之后落盘覆盖重置结果
+     *
+     * @param taskId 即将被重置的任务ID
+     */
+    protected void discardTaskStatus(String taskId) {
+        taskStatusWriteBuffer.discard(taskId);
+        taskId2BriefInfo.invalidate(taskId);
+    }
+
+    /**
+     * 丢弃派发到失联 ProcessorTracker 上的全部未完成任务的旧状态，需在 updateLostTasks 之前调用
+     *
+     * @param ptAddresses 失联的 ProcessorTracker 地址
+     */
+    protected void discardLostTaskStatus(List<String> ptAddresses) {
+        for (String ptAddress : ptAddresses) {
+            taskPersistenceService.getAllUnFinishedTaskByAddress(instanceId, ptAddress).forEach(task -> discardTaskStatus(task.getTaskId()));
+        }
+    }
+
+    /**
+     * 发送派发缓冲区中的全部任务
+     */
+    protected void flushDispatchBatch() {
+        if (taskDispatchBatcher == null) {
+            return;
+        }
+        try {
+            taskDispatchBatcher.flush();
+        } catch (Exception e) {
+            log.warn("[TaskTracker-{}] flush dispatch batch failed.", instanceId, e);
+        }
+    }
+
+    /**
+     * 发送任务到 ProcessorTracker，单个任务使用 TaskTrackerStartTaskReq 以兼容旧版本
+     *
+     * @param processorTrackerAddress ProcessorTracker的地址（IP:Port）
+     * @param tasks                   需要被执行的任务
+     */
+    protected void sendStartTaskReq(String processorTrackerAddress, List<TaskDO> tasks) {
+        Object startTaskReq;
+        if (tasks.size() == 1) {
+            startTaskReq = new TaskTrackerStartTaskReq(instanceInfo, tasks.get(0), workerRuntime.getWorkerAddress());
+        } else {
+            startTaskReq = new TaskTrackerStartTaskBatchReq(instanceInfo, tasks, workerRuntime.getWorkerAddress());
+        }
         String ptActorPath = AkkaUtils.getAkkaWorkerPath(processorTrackerAddress, RemoteConstant.PROCESSOR_TRACKER_ACTOR_NAME);
         ActorSelection ptActor = workerRuntime.getActorSystem().actorSelection(ptActorPath);
         ptActor.tell(startTaskReq, null);
+    }
 
-        log.debug("[TaskTracker-{}] dispatch task(taskId={},taskName={}) successfully.", instanceId, task.getTaskId(), task.getTaskName());
+    /**
+     * 将已持久化的任务放入待派发队列并触发派发，队列已满时标记需要从存储中恢复
+     *
+     * @param tasks 等待派发的任务
+     */
+    protected void enqueueReadyTasks(Collection<TaskDO> tasks) {
+        for (TaskDO task : tasks) {
+            if (readyTaskIds.size() >= READY_QUEUE_CAPACITY) {
+                storageScanRequired.set(true);
+                break;
+            }
+            if (readyTaskIds.add(task.getTaskId())) {
+                readyQueue.offer(task);
+            }
+        }
+        triggerDispatch();
+    }
+
+    /**
+     * 标记需要从存储中恢复待派发任务并触发派发，用于任务状态被直接改写（如 ProcessorTracker 失联后的任务重置）的场景
+     */
+    protected void requireStorageScan() {
+        storageScanRequired.set(true);
+        triggerDispatch();
+    }
+
+    /**
+     * 异步触发一次派发，短时间内的多次触发会被合并
+     */
+    protected void triggerDispatch() {
+        if (!initialized || finished.get()) {
+            return;
+        }
+        if (!dispatchTriggered.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            scheduleGroup.execute(() -> {
+                dispatchTriggered.set(false);
+                dispatcher.run();
+            });
+        } catch (RejectedExecutionException ignore) {
+            // 定时任务组已关闭，TaskTracker 正在销毁
+            dispatchTriggered.set(false);
+        }
+    }
+
+    /**
+     * 将写缓冲区中的任务状态批量写入存储，所有依赖存储中任务状态的判断逻辑执行前都需要先调用该方法
+     */
+    protected void flushTaskStatus() {
+        try {
+            taskStatusWriteBuffer.flush();
+        } catch (Exception e) {
+            log.warn("[TaskTracker-{}] flush task status failed.", instanceId, e);
+        }
     }
 
     /**
@@ -485,6 +712,8 @@ public abstract class TaskTracker {
      */
     protected InstanceStatisticsHolder getInstanceStatisticsHolder(long subInstanceId) {
 
+        // 统计前先落盘缓冲区中的状态，保证统计结果与内存一致
+        flushTaskStatus();
         Map<TaskStatus, Long> status2Num = taskPersistenceService.getTaskStatusStatistics(instanceId, subInstanceId);
         InstanceStatisticsHolder holder = new InstanceStatisticsHolder();
 
@@ -494,20 +723,28 @@ public abstract class TaskTracker {
         holder.runningNum = status2Num.getOrDefault(TaskStatus.WORKER_PROCESSING, 0L);
         holder.failedNum = status2Num.getOrDefault(TaskStatus.WORKER_PROCESS_FAILED, 0L);
         holder.succeedNum = status2Num.getOrDefault(TaskStatus.WORKER_PROCESS_SUCCESS, 0L);
+
+        // 存储中等待派发的任务多于队列中的任务，说明存在未入队的任务，需要恢复扫描
+        if (holder.waitingDispatchNum > readyTaskIds.size()) {
+            storageScanRequired.set(true);
+        }
         return holder;
     }
 
 
     /**
-     * 定时扫描数据库中的task（出于内存占用量考虑，每次最多获取100个），并将需要执行的任务派发出去
+     * 任务派发器，由任务入队、任务完成、心跳等事件触发，并由定时任务兜底
+     * 从待派发队列中取出任务，按 ProcessorTracker 的剩余容量（信用额度）选择派发目的地；仅在队列溢出或异常时扫描存储恢复任务
      */
     protected class Dispatcher implements Runnable {
 
-        // 数据库查询限制，每次最多查询几个任务
-        private static final int DB_QUERY_LIMIT = 100;
+        /**
+         * 刚写入存储的任务由提交方负责入队，恢复扫描跳过这部分任务，避免与提交方并发入队导致重复派发
+         */
+        private static final long RECOVER_MIN_AGE_MS = 1000;
 
         @Override
-        public void run() {
+        public synchronized void run() {
 
             if (finished.get()) {
                 return;
@@ -515,43 +752,65 @@ public abstract class TaskTracker {
 
             Stopwatch stopwatch = Stopwatch.createStarted();
 
-            // 1. 获取可以派发任务的 ProcessorTracker
-            List<String> availablePtIps = ptStatusHolder.getAvailableProcessorTrackers();
-
-            // 2. 没有可用 ProcessorTracker，本次不派发
-            if (availablePtIps.isEmpty()) {
-                log.debug("[TaskTracker-{}] no available ProcessorTracker now.", instanceId);
-                return;
+            // 1. 队列空间充足时，从存储中恢复未入队的待派发任务
+            if (readyTaskIds.size() < READY_QUEUE_CAPACITY / 2 && storageScanRequired.getAndSet(false)) {
+                recoverFromStorage();
             }
 
-            // 3. 避免大查询，分批派发任务
-            long currentDispatchNum = 0;
-            long maxDispatchNum = availablePtIps.size() * instanceInfo.getThreadConcurrency() * 2L;
-            AtomicInteger index = new AtomicInteger(0);
-
-            // 4. 循环查询数据库，获取需要派发的任务
-            while (maxDispatchNum > currentDispatchNum) {
-
-                int dbQueryLimit = Math.min(DB_QUERY_LIMIT, (int) maxDispatchNum);
-                List<TaskDO> needDispatchTasks = taskPersistenceService.getTaskByStatus(instanceId, TaskStatus.WAITING_DISPATCH, dbQueryLimit);
-                currentDispatchNum += needDispatchTasks.size();
-
-                needDispatchTasks.forEach(task -> {
-                    // 获取 ProcessorTracker 地址，如果 Task 中自带了 Address，则使用该 Address
-                    String ptAddress = task.getAddress();
-                    if (StringUtils.isEmpty(ptAddress) || RemoteConstant.EMPTY_ADDRESS.equals(ptAddress)) {
-                        ptAddress = availablePtIps.get(index.getAndIncrement() % availablePtIps.size());
+            // 2. 单个 ProcessorTracker 最多持有的已派发未完成任务数（仅在 ProcessorTracker 未上报信用额度时使用）
+            long ptCapacity = instanceInfo.getThreadConcurrency() * 2L;
+
+            // 3. 派发队列中的任务，如果 Task 中自带了 Address，则使用该 Address，否则选择剩余容量最大的 ProcessorTracker
+            long dispatchedNum = 0;
+            TaskDO task;
+            while ((task = readyQueue.peek()) != null) {
+                String ptAddress = task.getAddress();
+                if (StringUtils.isEmpty(ptAddress) || RemoteConstant.EMPTY_ADDRESS.equals(ptAddress)) {
+                    ptAddress = ptStatusHolder.selectProcessorTracker(ptCapacity);
+                    if (ptAddress == null) {
+                        // 没有剩余容量，等待任务完成或心跳后再次触发
+                        log.debug("[TaskTracker-{}] no available ProcessorTracker now.", instanceId);
+                        break;
                     }
-                    dispatchTask(task, ptAddress);
-                });
-
-                // 数量不足 或 查询失败，则终止循环
-                if (needDispatchTasks.size() < dbQueryLimit) {
-                    break;
                 }
+                readyQueue.poll();
+                readyTaskIds.remove(task.getTaskId());
+                dispatchTask(task, ptAddress);
+                dispatchedNum++;
             }
+            // 本轮派发结束，无需等待缓冲区超时
+            flushDispatchBatch();
+
+            log.debug("[TaskTracker-{}] dispatched {} tasks,using time {}.", instanceId, dispatchedNum, stopwatch.stop());
+        }
 
-            log.debug("[TaskTracker-{}] dispatched {} tasks,using time {}.", instanceId, currentDispatchNum, stopwatch.stop());
+        private void recoverFromStorage() {
+            int limit = READY_QUEUE_CAPACITY - readyTaskIds.size();
+            List<TaskDO> waitingTasks = taskPersistenceService.getTaskByStatus(instanceId, TaskStatus.WAITING_DISPATCH, limit);
+            long deadline = System.currentTimeMillis() - RECOVER_MIN_AGE_MS;
+            List<TaskDO> recoveredTasks = Lists.newLinkedList();
+            boolean skipped = false;
+            for (TaskDO waitingTask : waitingTasks) {
+                if (readyTaskIds.contains(waitingTask.getTaskId())) {
+                    continue;
+                }
+                Long lastModifiedTime = waitingTask.getLastModifiedTime();
+                if (lastModifiedTime != null && lastModifiedTime > deadline) {
+                    skipped = true;
+                    continue;
+                }
+                if (readyTaskIds.add(waitingTask.getTaskId())) {
+                    readyQueue.offer(waitingTask);
+                    recoveredTasks.add(waitingTask);
+                }
+            }
+            // 存储中可能还有更多待派发任务，下一轮继续恢复
+            if (skipped || waitingTasks.size() >= limit) {
+                storageScanRequired.set(true);
+            }
+            if (!recoveredTasks.isEmpty()) {
+                log.info("[TaskTracker-{}] recovered {} waiting tasks from storage.", instanceId, recoveredTasks.size());
+            }
         }
     }
 
@@ -583,6 +842,7 @@ public abstract class TaskTracker {
             try {
                 List<String> workerList = JsonUtils.parseObject(response.getData(), new TypeReference<List<String>>() {});
                 ptStatusHolder.register(workerList);
+                triggerDispatch();
             } catch (Exception e) {
                 log.warn("[TaskTracker-{}] detective failed!", instanceId, e);
             }
@@ -598,6 +858,10 @@ public abstract class TaskTracker {
         private TaskStatus status;
 
         private Long lastReportTime;
+        /**
+         * 任务派发的目的地址，用于任务完成时释放 ProcessorTracker 容量
+         */
+        private String address;
     }
 
     /**
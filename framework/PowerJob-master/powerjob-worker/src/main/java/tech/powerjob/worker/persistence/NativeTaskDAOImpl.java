@@ -0,0 +1,573 @@
+package tech.powerjob.worker.persistence;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+import tech.powerjob.worker.common.constants.TaskStatus;
+import tech.powerjob.worker.core.processor.TaskResult;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.sql.SQLIntegrityConstraintViolationException;
+import java.util.*;
+
+/**
+ * 任务持久化原生实现，不依赖 H2/JDBC，数据按 instanceId 分表存放于内存
+ * 每张表以 taskId 为主键，并维护 status、address 两个二级索引，覆盖 TaskTracker 的全部查询场景
+ * 传入 {@link TaskContentSpiller} 时，taskContent 追加写入本地文件，内存中仅保留位置信息
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+public class NativeTaskDAOImpl implements TaskDAO {
+
+    private static final int MAX_STATUS_VALUE = TaskStatus.WORKER_PROCESS_SUCCESS.getValue();
+
+    private final Map<Long, TaskTable> instanceId2Table = Maps.newConcurrentMap();
+    /**
+     * 可能为空，为空时 taskContent 直接保存在内存中
+     */
+    private final TaskContentSpiller spiller;
+
+    public NativeTaskDAOImpl(TaskContentSpiller spiller) {
+        this.spiller = spiller;
+    }
+
+    @Override
+    public void initTable() {
+        instanceId2Table.values().forEach(table -> table.clear(spiller));
+        instanceId2Table.clear();
+    }
+
+    @Override
+    public boolean save(TaskDO task) throws SQLException {
+        return batchSave(Collections.singletonList(task));
+    }
+
+    @Override
+    public boolean batchSave(Collection<TaskDO> tasks) throws SQLException {
+        Map<Long, List<TaskDO>> instanceId2Tasks = Maps.newHashMap();
+        tasks.forEach(task -> instanceId2Tasks.computeIfAbsent(task.getInstanceId(), ignore -> Lists.newArrayList()).add(task));
+
+        for (Map.Entry<Long, List<TaskDO>> entry : instanceId2Tasks.entrySet()) {
+            TaskTable table = instanceId2Table.computeIfAbsent(entry.getKey(), ignore -> new TaskTable());
+            synchronized (table) {
+                // 与 H2 的唯一键约束保持一致，存在冲突则整批失败
+                Set<String> batchTaskIds = Sets.newHashSet();
+                for (TaskDO task : entry.getValue()) {
+                    if (table.taskId2Record.containsKey(task.getTaskId()) || !batchTaskIds.add(task.getTaskId())) {
+                        throw new SQLIntegrityConstraintViolationException(String.format("duplicate task(instanceId=%d,taskId=%s)", entry.getKey(), task.getTaskId()));
+                    }
+                }
+                for (TaskDO task : entry.getValue()) {
+                    table.insert(toRecord(task));
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean simpleDelete(SimpleTaskQuery condition) throws SQLException {
+        checkQuery(condition);
+
+        // 快速路径：按 instanceId 整表删除
+        if (condition.getInstanceId() != null && isOnlyInstanceCondition(condition)) {
+            TaskTable table = instanceId2Table.remove(condition.getInstanceId());
+            if (table != null) {
+                synchronized (table) {
+                    table.clear(spiller);
+                }
+            }
+            return true;
+        }
+
+        for (TaskTable table : selectTables(condition)) {
+            synchronized (table) {
+                List<TaskRecord> records = table.select(condition);
+                records.forEach(record -> table.remove(record, spiller));
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public List<TaskDO> simpleQuery(SimpleTaskQuery query) throws SQLException {
+        checkQuery(query);
+        List<TaskDO> result = Lists.newLinkedList();
+        for (TaskTable table : selectTables(query)) {
+            synchronized (table) {
+                for (TaskRecord record : table.select(query)) {
+                    if (query.getLimit() != null && result.size() >= query.getLimit()) {
+                        return result;
+                    }
+                    result.add(toTaskDO(record));
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<Map<String, Object>> simpleQueryPlus(SimpleTaskQuery query) throws SQLException {
+        checkQuery(query);
+        // 仅支持列投影，如 "status" 或 "task_id, status"，不支持聚合函数
+        String queryContent = query.getQueryContent().trim();
+        boolean selectAll = "*".equals(queryContent);
+        List<String> columns = Lists.newArrayList();
+        if (!selectAll) {
+            for (String column : queryContent.split(",")) {
+                columns.add(column.trim());
+            }
+        }
+
+        List<Map<String, Object>> result = Lists.newLinkedList();
+        for (TaskDO task : simpleQuery(query)) {
+            Map<String, Object> row = toRow(task);
+            if (!selectAll) {
+                Map<String, Object> projection = Maps.newHashMap();
+                for (String column : columns) {
+                    if (!row.containsKey(column)) {
+                        throw new SQLException("unsupported query content for native store: " + queryContent);
+                    }
+                    projection.put(column, row.get(column));
+                }
+                row = projection;
+            }
+            result.add(row);
+        }
+        return result;
+    }
+
+    @Override
+    public boolean simpleUpdate(SimpleTaskQuery condition, TaskDO updateField) throws SQLException {
+        checkQuery(condition);
+        long lastModifiedTime = updateField.getLastModifiedTime() == null ? System.currentTimeMillis() : updateField.getLastModifiedTime();
+        for (TaskTable table : selectTables(condition)) {
+            synchronized (table) {
+                for (TaskRecord record : table.select(condition)) {
+                    // 与 TaskDO#getUpdateSQL 的语义保持一致
+                    if (updateField.getAddress() != null) {
+                        table.updateAddress(record, updateField.getAddress());
+                    }
+                    if (updateField.getStatus() != null) {
+                        table.updateStatus(record, updateField.getStatus());
+                    }
+                    if (!StringUtils.isEmpty(updateField.getResult())) {
+                        record.result = updateField.getResult();
+                    }
+                    if (updateField.getFailedCnt() != null) {
+                        record.failedCnt = updateField.getFailedCnt();
+                    }
+                    if (updateField.getLastReportTime() != null) {
+                        record.lastReportTime = updateField.getLastReportTime();
+                    }
+                    record.lastModifiedTime = lastModifiedTime;
+                }
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public List<TaskResult> getAllTaskResult(Long instanceId, Long subInstanceId) {
+        List<TaskResult> taskResults = Lists.newLinkedList();
+        TaskTable table = instanceId2Table.get(instanceId);
+        if (table == null) {
+            return taskResults;
+        }
+        synchronized (table) {
+            for (int status : new int[]{TaskStatus.WORKER_PROCESS_SUCCESS.getValue(), TaskStatus.WORKER_PROCESS_FAILED.getValue()}) {
+                for (String taskId : table.statusIndex[status]) {
+                    TaskRecord record = table.taskId2Record.get(taskId);
+                    if (record.subInstanceId != subInstanceId) {
+                        continue;
+                    }
+                    TaskResult result = new TaskResult();
+                    result.setTaskId(record.taskId);
+                    result.setSuccess(status == TaskStatus.WORKER_PROCESS_SUCCESS.getValue());
+                    result.setResult(record.result);
+                    taskResults.add(result);
+                }
+            }
+        }
+        return taskResults;
+    }
+
+    @Override
+    public List<TaskResult> getTaskResultPage(Long instanceId, Long subInstanceId, String afterTaskId, int limit) {
+        List<TaskResult> taskResults = Lists.newArrayListWithCapacity(limit);
+        TaskTable table = instanceId2Table.get(instanceId);
+        if (table == null) {
+            return taskResults;
+        }
+        synchronized (table) {
+            // 已完成状态的索引按 taskId 有序，归并两个有序集合即可得到按 taskId 升序的一页
+            Iterator<String> successIt = table.finishedIndex(TaskStatus.WORKER_PROCESS_SUCCESS.getValue(), afterTaskId).iterator();
+            Iterator<String> failedIt = table.finishedIndex(TaskStatus.WORKER_PROCESS_FAILED.getValue(), afterTaskId).iterator();
+            String nextSuccess = successIt.hasNext() ? successIt.next() : null;
+            String nextFailed = failedIt.hasNext() ? failedIt.next() : null;
+            while (taskResults.size() < limit && (nextSuccess != null || nextFailed != null)) {
+                String taskId;
+                if (nextFailed == null || (nextSuccess != null && nextSuccess.compareTo(nextFailed) < 0)) {
+                    taskId = nextSuccess;
+                    nextSuccess = successIt.hasNext() ? successIt.next() : null;
+                } else {
+                    taskId = nextFailed;
+                    nextFailed = failedIt.hasNext() ? failedIt.next() : null;
+                }
+                TaskRecord record = table.taskId2Record.get(taskId);
+                if (record.subInstanceId != subInstanceId) {
+                    continue;
+                }
+                TaskResult result = new TaskResult();
+                result.setTaskId(record.taskId);
+                result.setSuccess(record.status == TaskStatus.WORKER_PROCESS_SUCCESS.getValue());
+                result.setResult(record.result);
+                taskResults.add(result);
+            }
+        }
+        return taskResults;
+    }
+
+    @Override
+    public Map<Integer, Long> countByStatus(Long instanceId, Long subInstanceId) {
+        Map<Integer, Long> status2Num = Maps.newHashMap();
+        TaskTable table = instanceId2Table.get(instanceId);
+        if (table == null) {
+            return status2Num;
+        }
+        synchronized (table) {
+            for (int status = 0; status <= MAX_STATUS_VALUE; status++) {
+                long num = 0;
+                for (String taskId : table.statusIndex[status]) {
+                    if (table.taskId2Record.get(taskId).subInstanceId == subInstanceId) {
+                        num++;
+                    }
+                }
+                if (num > 0) {
+                    status2Num.put(status, num);
+                }
+            }
+        }
+        return status2Num;
+    }
+
+    @Override
+    public boolean updateTaskStatus(Long instanceId, String taskId, int status, long lastReportTime, String result) {
+        TaskTable table = instanceId2Table.get(instanceId);
+        if (table == null) {
+            return true;
+        }
+        synchronized (table) {
+            TaskRecord record = table.taskId2Record.get(taskId);
+            if (record != null) {
+                table.updateStatus(record, status);
+                record.lastReportTime = lastReportTime;
+                record.lastModifiedTime = lastReportTime;
+                record.result = result;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public boolean batchUpdateTaskStatus(Long instanceId, Collection<TaskDO> updates) {
+        TaskTable table = instanceId2Table.get(instanceId);
+        if (table == null) {
+            return true;
+        }
+        synchronized (table) {
+            for (TaskDO update : updates) {
+                TaskRecord record = table.taskId2Record.get(update.getTaskId());
+                // 与 TaskDAOImpl 保持一致的保护条件，过期的缓冲状态不生效
+                if (record != null && record.status != TaskStatus.WAITING_DISPATCH.getValue()
+                        && record.status <= update.getStatus() && record.lastReportTime <= update.getLastReportTime()) {
+                    table.updateStatus(record, update.getStatus());
+                    record.lastReportTime = update.getLastReportTime();
+                    record.lastModifiedTime = update.getLastReportTime();
+                    record.result = update.getResult();
+                }
+            }
+        }
+        return true;
+    }
+
+    private Collection<TaskTable> selectTables(SimpleTaskQuery query) {
+        if (query.getInstanceId() == null) {
+            return instanceId2Table.values();
+        }
+        TaskTable table = instanceId2Table.get(query.getInstanceId());
+        return table == null ? Collections.emptyList() : Collections.singletonList(table);
+    }
+
+    private static void checkQuery(SimpleTaskQuery query) throws SQLException {
+        if (query.hasCustomCondition()) {
+            throw new SQLException("native store can't recognize custom sql condition: " + query.getQueryCondition());
+        }
+    }
+
+    private static boolean isOnlyInstanceCondition(SimpleTaskQuery query) {
+        return StringUtils.isEmpty(query.getTaskId()) && query.getSubInstanceId() == null && StringUtils.isEmpty(query.getTaskName()) && StringUtils.isEmpty(query.getAddress())
+                && query.getStatus() == null && CollectionUtils.isEmpty(query.getTaskIdIn()) && CollectionUtils.isEmpty(query.getAddressIn())
+                && CollectionUtils.isEmpty(query.getStatusNotIn()) && query.getLimit() == null;
+    }
+
+    private TaskRecord toRecord(TaskDO task) throws SQLException {
+        TaskRecord record = new TaskRecord();
+        record.taskId = task.getTaskId();
+        record.instanceId = task.getInstanceId();
+        record.subInstanceId = task.getSubInstanceId();
+        record.taskName = task.getTaskName();
+        record.address = task.getAddress();
+        record.status = task.getStatus();
+        record.result = task.getResult();
+        record.failedCnt = task.getFailedCnt();
+        record.createdTime = task.getCreatedTime();
+        record.lastModifiedTime = task.getLastModifiedTime();
+        record.lastReportTime = task.getLastReportTime();
+
+        byte[] content = task.getTaskContent();
+        if (content == null) {
+            record.contentLength = -1;
+        } else if (spiller == null) {
+            record.content = content;
+            record.contentLength = content.length;
+        } else {
+            try {
+                record.contentPosition = spiller.append(content);
+                record.contentLength = content.length;
+            } catch (IOException e) {
+                throw new SQLException("spill task content failed", e);
+            }
+        }
+        return record;
+    }
+
+    private TaskDO toTaskDO(TaskRecord record) throws SQLException {
+        TaskDO task = new TaskDO();
+        task.setTaskId(record.taskId);
+        task.setInstanceId(record.instanceId);
+        task.setSubInstanceId(record.subInstanceId);
+        task.setTaskName(record.taskName);
+        task.setAddress(record.address);
+        task.setStatus(record.status);
+        task.setResult(record.result);
+        task.setFailedCnt(record.failedCnt);
+        task.setCreatedTime(record.createdTime);
+        task.setLastModifiedTime(record.lastModifiedTime);
+        task.setLastReportTime(record.lastReportTime);
+
+        if (record.contentLength >= 0) {
+            if (record.content != null) {
+                task.setTaskContent(record.content);
+            } else {
+                try {
+                    task.setTaskContent(spiller.read(record.contentPosition, record.contentLength));
+                } catch (IOException e) {
+                    throw new SQLException("read task content from spill file failed", e);
+                }
+            }
+        }
+        return task;
+    }
+
+    private static Map<String, Object> toRow(TaskDO task) {
+        Map<String, Object> row = Maps.newHashMap();
+        row.put("task_id", task.getTaskId());
+        row.put("instance_id", task.getInstanceId());
+        row.put("sub_instance_id", task.getSubInstanceId());
+        row.put("task_name", task.getTaskName());
+        row.put("task_content", task.getTaskContent());
+        row.put("address", task.getAddress());
+        row.put("status", task.getStatus());
+        row.put("result", task.getResult());
+        row.put("failed_cnt", task.getFailedCnt());
+        row.put("created_time", task.getCreatedTime());
+        row.put("last_modified_time", task.getLastModifiedTime());
+        row.put("last_report_time", task.getLastReportTime());
+        return row;
+    }
+
+    /**
+     * 单个任务实例的全部子任务，所有操作需持有该对象的锁
+     */
+    private static class TaskTable {
+
+        /**
+         * 主键索引，保持插入顺序，使按状态扫描时先提交的任务先被派发
+         */
+        private final Map<String, TaskRecord> taskId2Record = Maps.newLinkedHashMap();
+        /**
+         * 状态索引，下标为 {@link TaskStatus#getValue()}，已完成状态按 taskId 排序以支持分页读取执行结果
+         */
+        @SuppressWarnings("unchecked")
+        private final Set<String>[] statusIndex = new Set[MAX_STATUS_VALUE + 1];
+        /**
+         * 地址索引
+         */
+        private final Map<String, Set<String>> addressIndex = Maps.newHashMap();
+
+        TaskTable() {
+            for (int i = 0; i < statusIndex.length; i++) {
+                boolean finished = i == TaskStatus.WORKER_PROCESS_SUCCESS.getValue() || i == TaskStatus.WORKER_PROCESS_FAILED.getValue();
+                statusIndex[i] = finished ? Sets.newTreeSet() : Sets.newLinkedHashSet();
+            }
+        }
+
+        NavigableSet<String> finishedIndex(int status, String afterTaskId) {
+            NavigableSet<String> ids = (NavigableSet<String>) statusIndex[status];
+            return afterTaskId == null ? ids : ids.tailSet(afterTaskId, false);
+        }
+
+        void insert(TaskRecord record) {
+            taskId2Record.put(record.taskId, record);
+            statusIndex[record.status].add(record.taskId);
+            if (record.address != null) {
+                addressIndex.computeIfAbsent(record.address, ignore -> Sets.newHashSet()).add(record.taskId);
+            }
+        }
+
+        void remove(TaskRecord record, TaskContentSpiller spiller) {
+            taskId2Record.remove(record.taskId);
+            statusIndex[record.status].remove(record.taskId);
+            removeFromAddressIndex(record);
+            if (spiller != null && record.content == null && record.contentLength >= 0) {
+                spiller.release(record.contentPosition);
+            }
+        }
+
+        void clear(TaskContentSpiller spiller) {
+            if (spiller != null) {
+                for (TaskRecord record : taskId2Record.values()) {
+                    if (record.content == null && record.contentLength >= 0) {
+                        spiller.release(record.contentPosition);
+                    }
+                }
+            }
+            taskId2Record.clear();
+            for (Set<String> ids : statusIndex) {
+                ids.clear();
+            }
+            addressIndex.clear();
+        }
+
+        void updateStatus(TaskRecord record, int status) {
+            if (record.status == status) {
+                return;
+            }
+            statusIndex[record.status].remove(record.taskId);
+            statusIndex[status].add(record.taskId);
+            record.status = status;
+        }
+
+        void updateAddress(TaskRecord record, String address) {
+            if (address.equals(record.address)) {
+                return;
+            }
+            removeFromAddressIndex(record);
+            record.address = address;
+            addressIndex.computeIfAbsent(address, ignore -> Sets.newHashSet()).add(record.taskId);
+        }
+
+        private void removeFromAddressIndex(TaskRecord record) {
+            if (record.address == null) {
+                return;
+            }
+            Set<String> ids = addressIndex.get(record.address);
+            if (ids != null) {
+                ids.remove(record.taskId);
+                if (ids.isEmpty()) {
+                    addressIndex.remove(record.address);
+                }
+            }
+        }
+
+        /**
+         * 选择满足条件的记录，优先使用 主键 > 状态 > 地址 索引缩小扫描范围
+         */
+        List<TaskRecord> select(SimpleTaskQuery query) {
+            Collection<String> candidates;
+            if (!StringUtils.isEmpty(query.getTaskId())) {
+                candidates = Collections.singletonList(query.getTaskId());
+            } else if (!CollectionUtils.isEmpty(query.getTaskIdIn())) {
+                candidates = query.getTaskIdIn();
+            } else if (query.getStatus() != null) {
+                candidates = query.getStatus() >= 0 && query.getStatus() <= MAX_STATUS_VALUE ? statusIndex[query.getStatus()] : Collections.emptySet();
+            } else if (!StringUtils.isEmpty(query.getAddress())) {
+                candidates = addressIndex.getOrDefault(query.getAddress(), Collections.emptySet());
+            } else {
+                candidates = taskId2Record.keySet();
+            }
+
+            int limit = query.getLimit() == null ? Integer.MAX_VALUE : query.getLimit();
+            List<TaskRecord> result = Lists.newArrayList();
+            for (String taskId : candidates) {
+                if (result.size() >= limit) {
+                    break;
+                }
+                TaskRecord record = taskId2Record.get(taskId);
+                if (record != null && record.match(query)) {
+                    result.add(record);
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * 子任务记录，尽量使用基本类型以降低内存占用
+     */
+    private static class TaskRecord {
+        private String taskId;
+        private long instanceId;
+        private long subInstanceId;
+        private String taskName;
+        private String address;
+        private int status;
+        private String result;
+        private int failedCnt;
+        private long createdTime;
+        private long lastModifiedTime;
+        private long lastReportTime;
+        /**
+         * 未溢写时直接持有任务内容
+         */
+        private byte[] content;
+        private long contentPosition;
+        /**
+         * -1 代表任务内容为空
+         */
+        private int contentLength;
+
+        boolean match(SimpleTaskQuery query) {
+            if (!StringUtils.isEmpty(query.getTaskId()) && !query.getTaskId().equals(taskId)) {
+                return false;
+            }
+            if (query.getSubInstanceId() != null && query.getSubInstanceId() != subInstanceId) {
+                return false;
+            }
+            if (query.getInstanceId() != null && query.getInstanceId() != instanceId) {
+                return false;
+            }
+            if (!StringUtils.isEmpty(query.getTaskName()) && !query.getTaskName().equals(taskName)) {
+                return false;
+            }
+            if (!StringUtils.isEmpty(query.getAddress()) && !query.getAddress().equals(address)) {
+                return false;
+            }
+            if (query.getStatus() != null && query.getStatus() != status) {
+                return false;
+            }
+            if (!CollectionUtils.isEmpty(query.getTaskIdIn()) && !query.getTaskIdIn().contains(taskId)) {
+                return false;
+            }
+            if (!CollectionUtils.isEmpty(query.getAddressIn()) && !query.getAddressIn().contains(address)) {
+                return false;
+            }
+            return CollectionUtils.isEmpty(query.getStatusNotIn()) || !query.getStatusNotIn().contains(status);
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package tech.powerjob.worker.persistence;
 
 import lombok.Data;
+import org.springframework.util.CollectionUtils;
 import org.springframework.util.StringUtils;
+import tech.powerjob.common.utils.CommonUtils;
+
+import java.util.Collection;
+import java.util.stream.Collectors;
 
 /**
  * 简单查询直接类，只支持 select * from task_info where xxx = xxx and xxx = xxx 的查询
@@ -21,6 +26,13 @@ public class SimpleTaskQuery {
     private String address;
     private Integer status;
 
+    // 结构化的范围条件，task_id in (...)
+    private Collection<String> taskIdIn;
+    // 结构化的范围条件，address in (...)
+    private Collection<String> addressIn;
+    // 结构化的范围条件，status not in (...)
+    private Collection<Integer> statusNotIn;
+
     // 自定义的查询条件（where 后面的语句），如 crated_time > 10086 and status = 3
     private String queryCondition;
     // 自定义的查询条件，如 GROUP BY status
@@ -51,12 +63,22 @@ public class SimpleTaskQuery {
         if (status != null) {
             sb.append("status = ").append(status).append(LINK);
         }
+        if (!CollectionUtils.isEmpty(taskIdIn)) {
+            sb.append("task_id in ").append(CommonUtils.getInStringCondition(taskIdIn)).append(LINK);
+        }
+        if (!CollectionUtils.isEmpty(addressIn)) {
+            sb.append("address in ").append(CommonUtils.getInStringCondition(addressIn)).append(LINK);
+        }
+        if (!CollectionUtils.isEmpty(statusNotIn)) {
+            sb.append("status not in (").append(statusNotIn.stream().map(String::valueOf).collect(Collectors.joining(", "))).append(")").append(LINK);
+        }
 
         if (!StringUtils.isEmpty(queryCondition)) {
             sb.append(queryCondition).append(LINK);
         }
 
-        String substring = sb.substring(0, sb.length() - LINK.length());
+        // 无任何条件时查询全部
+        String substring = sb.length() == 0 ? "1 = 1" : sb.substring(0, sb.length() - LINK.length());
 
         if (!StringUtils.isEmpty(otherCondition)) {
             substring += otherCondition;
@@ -67,4 +89,11 @@ public class SimpleTaskQuery {
         }
         return substring;
     }
+
+    /**
+     * 是否包含自定义的 SQL 片段，非 SQL 的存储实现无法识别该类条件
+     */
+    public boolean hasCustomCondition() {
+        return !StringUtils.isEmpty(queryCondition) || !StringUtils.isEmpty(otherCondition);
+    }
 }
@@ -0,0 +1,167 @@
+package tech.powerjob.worker.persistence;
+
+import com.google.common.collect.Maps;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.io.FileUtils;
+import tech.powerjob.common.utils.CommonUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+/**
+ * 任务内容（taskContent）的追加写文件，供原生存储在 DISK 模式下将体积最大的字段移出堆内存
+ * 按段滚动写入：当前段写满后切换到新段，每段单独统计存活记录数，非当前段的记录全部释放后直接删除该段文件，
+ * 当前段的记录全部释放后截断复用，因此长期有任务运行时磁盘占用也不会无限增长
+ * 写入位置的高 32 位为段号，低 32 位为段内偏移
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+@Slf4j
+public class TaskContentSpiller {
+
+    private final String SPILL_PATH = System.getProperty("user.home") + "/powerjob/worker/native_store/" + CommonUtils.genUUID() + "/";
+
+    /**
+     * 单个段文件的大小上限（单条记录超过上限时独占一段）
+     */
+    private static final long MAX_SEGMENT_SIZE = 64 * 1024 * 1024;
+    private static final int SEGMENT_OFFSET_BITS = 32;
+    private static final long SEGMENT_OFFSET_MASK = (1L << SEGMENT_OFFSET_BITS) - 1;
+
+    private final File dir;
+    private final Map<Long, Segment> segments = Maps.newConcurrentMap();
+    /**
+     * 当前写入的段
+     */
+    private Segment activeSegment;
+
+    public TaskContentSpiller() throws IOException {
+        dir = new File(SPILL_PATH);
+        FileUtils.forceMkdir(dir);
+        activeSegment = openSegment(0);
+
+        log.info("[TaskContentSpiller] init spill directory successfully, path: {}", dir.getAbsolutePath());
+
+        // JVM 关闭时删除溢写文件
+        try {
+            FileUtils.forceDeleteOnExit(dir);
+        }catch (Exception ignore) {
+        }
+    }
+
+    /**
+     * 追加写入任务内容
+     * @param content 任务内容
+     * @return 写入位置
+     */
+    public long append(byte[] content) throws IOException {
+        Segment segment;
+        long offset;
+        synchronized (this) {
+            if (activeSegment.writePosition > 0 && activeSegment.writePosition + content.length > MAX_SEGMENT_SIZE) {
+                rollSegment();
+            }
+            segment = activeSegment;
+            offset = segment.writePosition;
+            segment.writePosition += content.length;
+            segment.liveRecordNum++;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(content);
+        long writeOffset = offset;
+        while (buffer.hasRemaining()) {
+            writeOffset += segment.channel.write(buffer, writeOffset);
+        }
+        return (segment.id << SEGMENT_OFFSET_BITS) | offset;
+    }
+
+    public byte[] read(long position, int length) throws IOException {
+        Segment segment = segments.get(position >>> SEGMENT_OFFSET_BITS);
+        if (segment == null) {
+            throw new IOException("spill segment of position " + position + " has been released");
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        long offset = position & SEGMENT_OFFSET_MASK;
+        while (buffer.hasRemaining()) {
+            int read = segment.channel.read(buffer, offset);
+            if (read < 0) {
+                throw new IOException("unexpected end of spill file, position=" + position + ", length=" + length);
+            }
+            offset += read;
+        }
+        return buffer.array();
+    }
+
+    /**
+     * 释放一条记录，所在段的记录全部释放后回收磁盘空间
+     * @param position 记录的写入位置
+     */
+    public synchronized void release(long position) {
+        Segment segment = segments.get(position >>> SEGMENT_OFFSET_BITS);
+        if (segment == null || --segment.liveRecordNum > 0) {
+            return;
+        }
+        if (segment == activeSegment) {
+            try {
+                segment.channel.truncate(0);
+                segment.writePosition = 0;
+            } catch (IOException e) {
+                log.warn("[TaskContentSpiller] truncate spill segment {} failed.", segment.file, e);
+            }
+        } else {
+            deleteSegment(segment);
+        }
+    }
+
+    private void rollSegment() throws IOException {
+        Segment drained = activeSegment;
+        activeSegment = openSegment(drained.id + 1);
+        if (drained.liveRecordNum == 0) {
+            deleteSegment(drained);
+        }
+    }
+
+    private Segment openSegment(long id) throws IOException {
+        File file = new File(dir, "task_content." + id + ".data");
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        Segment segment = new Segment(id, file, channel);
+        segments.put(id, segment);
+        return segment;
+    }
+
+    private void deleteSegment(Segment segment) {
+        segments.remove(segment.id);
+        try {
+            segment.channel.close();
+        } catch (IOException e) {
+            log.warn("[TaskContentSpiller] close spill segment {} failed.", segment.file, e);
+        }
+        if (!segment.file.delete()) {
+            log.warn("[TaskContentSpiller] delete spill segment {} failed.", segment.file);
+        }
+    }
+
+    private static class Segment {
+        private final long id;
+        private final File file;
+        private final FileChannel channel;
+        /**
+         * 下一次写入的位置
+         */
+        private long writePosition;
+        /**
+         * 仍被引用的记录数量
+         */
+        private long liveRecordNum;
+
+        Segment(long id, File file, FileChannel channel) {
+            this.id = id;
+            this.file = file;
+            this.channel = channel;
+        }
+    }
+}
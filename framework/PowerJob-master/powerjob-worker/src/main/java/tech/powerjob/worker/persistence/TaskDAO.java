@@ -39,9 +39,27 @@ public interface TaskDAO {
      */
     List<TaskResult> getAllTaskResult(Long instanceId, Long subInstanceId) throws SQLException;
 
+    /**
+     * 分页查询已完成子任务的执行结果，按 taskId 升序排列，用于流式 reduce
+     * @param afterTaskId 上一页最后一个 taskId，查询第一页时传 null
+     * @param limit 每页最大数量
+     */
+    List<TaskResult> getTaskResultPage(Long instanceId, Long subInstanceId, String afterTaskId, int limit) throws SQLException;
+
+    /**
+     * 按状态统计子任务数量，status -> num
+     */
+    Map<Integer, Long> countByStatus(Long instanceId, Long subInstanceId) throws SQLException;
+
     /**
      * 更新任务状态（result可能出现千奇百怪的字符，比如 ' ，只能特殊定制SQL直接写入）
      */
     boolean updateTaskStatus(Long instanceId, String taskId, int status, long lastReportTime, String result) throws SQLException;
 
+    /**
+     * 批量更新任务状态，仅使用 taskId、status、lastReportTime、result 字段，用于写入缓冲区中可能已过期的状态
+     * 与 {@link #updateTaskStatus} 不同，仅在以下条件同时满足时更新：任务不处于等待派发状态、状态不回退、上报时间不早于已存储的上报时间
+     */
+    boolean batchUpdateTaskStatus(Long instanceId, Collection<TaskDO> updates) throws SQLException;
+
 }
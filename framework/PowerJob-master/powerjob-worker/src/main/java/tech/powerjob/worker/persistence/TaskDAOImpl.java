@@ -175,6 +175,53 @@ public class TaskDAOImpl implements TaskDAO {
         return taskResults;
     }
 
+    @Override
+    public List<TaskResult> getTaskResultPage(Long instanceId, Long subInstanceId, String afterTaskId, int limit) throws SQLException {
+        List<TaskResult> taskResults = Lists.newArrayListWithCapacity(limit);
+        // 利用 (instance_id, task_id) 唯一索引按 taskId 顺序扫描，翻页代价与页码无关
+        String sql = String.format("select task_id, status, result from task_info where instance_id = ? and sub_instance_id = ? and status in (%d, %d) and task_id > ? order by task_id limit ?",
+                TaskStatus.WORKER_PROCESS_FAILED.getValue(), TaskStatus.WORKER_PROCESS_SUCCESS.getValue());
+        try (Connection conn = connectionFactory.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setLong(1, instanceId);
+            ps.setLong(2, subInstanceId);
+            ps.setString(3, afterTaskId == null ? "" : afterTaskId);
+            ps.setInt(4, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    TaskResult result = new TaskResult();
+                    result.setTaskId(rs.getString(1));
+                    result.setSuccess(rs.getInt(2) == TaskStatus.WORKER_PROCESS_SUCCESS.getValue());
+                    result.setResult(rs.getString(3));
+                    taskResults.add(result);
+                }
+            }
+        }
+        return taskResults;
+    }
+
+    @Override
+    public Map<Integer, Long> countByStatus(Long instanceId, Long subInstanceId) throws SQLException {
+        ResultSet rs = null;
+        Map<Integer, Long> status2Num = Maps.newHashMap();
+        String sql = "select status, count(*) as num from task_info where instance_id = ? and sub_instance_id = ? group by status";
+        try (Connection conn = connectionFactory.getConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setLong(1, instanceId);
+            ps.setLong(2, subInstanceId);
+            rs = ps.executeQuery();
+            while (rs.next()) {
+                status2Num.put(rs.getInt(1), rs.getLong(2));
+            }
+        } finally {
+            if (rs != null) {
+                try {
+                    rs.close();
+                }catch (Exception ignore) {
+                }
+            }
+        }
+        return status2Num;
+    }
+
     @Override
     public boolean updateTaskStatus(Long instanceId, String taskId, int status, long lastReportTime, String result) throws SQLException {
         String sql = "update task_info set status = ?, last_report_time = ?, result = ?, last_modified_time = ? where instance_id = ? and task_id = ?";
@@ -191,6 +238,39 @@ public class TaskDAOImpl implements TaskDAO {
         }
     }
 
+    @Override
+    public boolean batchUpdateTaskStatus(Long instanceId, Collection<TaskDO> updates) throws SQLException {
+        // 缓冲写入的状态可能已经过期：不覆盖更新的上报，不回退状态，也不覆盖已被重置为等待派发的任务
+        String sql = "update task_info set status = ?, last_report_time = ?, result = ?, last_modified_time = ? where instance_id = ? and task_id = ? and status <> ? and status <= ? and (last_report_time is null or last_report_time <= ?)";
+        boolean originAutoCommitFlag ;
+        try (Connection conn = connectionFactory.getConnection()) {
+            originAutoCommitFlag = conn.getAutoCommit();
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                for (TaskDO update : updates) {
+                    ps.setInt(1, update.getStatus());
+                    ps.setLong(2, update.getLastReportTime());
+                    ps.setString(3, update.getResult());
+                    ps.setLong(4, update.getLastReportTime());
+                    ps.setLong(5, instanceId);
+                    ps.setString(6, update.getTaskId());
+                    ps.setInt(7, TaskStatus.WAITING_DISPATCH.getValue());
+                    ps.setInt(8, update.getStatus());
+                    ps.setLong(9, update.getLastReportTime());
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+                conn.commit();
+                return true;
+            } catch (Throwable e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(originAutoCommitFlag);
+            }
+        }
+    }
+
     private static TaskDO convert(ResultSet rs) throws SQLException {
         TaskDO task = new TaskDO();
         task.setTaskId(rs.getString("task_id"));
@@ -1,7 +1,9 @@
 package tech.powerjob.worker.persistence;
 
 
+import tech.powerjob.common.PowerJobDKey;
 import tech.powerjob.common.RemoteConstant;
+import tech.powerjob.common.exception.PowerJobException;
 import tech.powerjob.common.utils.CommonUtils;
 import tech.powerjob.common.utils.SupplierPlus;
 import tech.powerjob.worker.common.constants.StoreStrategy;
@@ -13,7 +15,9 @@ import com.google.common.collect.Maps;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.util.CollectionUtils;
 
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -33,6 +37,11 @@ public class TaskPersistenceService {
     private static final int RETRY_TIMES = 3;
     private static final long RETRY_INTERVAL_MS = 100;
 
+    // 流式读取执行结果时每页的大小
+    private static final int DEFAULT_RESULT_PAGE_SIZE = 1000;
+
+    private static final List<Integer> FINISHED_STATUS = Lists.newArrayList(TaskStatus.WORKER_PROCESS_FAILED.getValue(), TaskStatus.WORKER_PROCESS_SUCCESS.getValue());
+
     private TaskDAO taskDAO;
 
     public TaskPersistenceService(StoreStrategy strategy) {
@@ -41,10 +50,15 @@ public class TaskPersistenceService {
 
     public void init() throws Exception {
 
-        ConnectionFactory connectionFactory = new ConnectionFactory();
-        connectionFactory.initDatasource(strategy);
-
-        taskDAO = new TaskDAOImpl(connectionFactory);
+        if (strategy == StoreStrategy.MEMORY_NATIVE) {
+            taskDAO = new NativeTaskDAOImpl(null);
+        } else if (strategy == StoreStrategy.DISK_NATIVE) {
+            taskDAO = new NativeTaskDAOImpl(new TaskContentSpiller());
+        } else {
+            ConnectionFactory connectionFactory = new ConnectionFactory();
+            connectionFactory.initDatasource(strategy);
+            taskDAO = new TaskDAOImpl(connectionFactory);
+        }
         taskDAO.initTable();
     }
 
@@ -96,6 +110,21 @@ public class TaskPersistenceService {
         return false;
     }
 
+    /**
+     * 批量更新任务状态（TaskTracker 写缓冲区合并后的状态上报）
+     */
+    public boolean batchUpdateTaskStatus(Long instanceId, Collection<TaskDO> updates) {
+        if (CollectionUtils.isEmpty(updates)) {
+            return true;
+        }
+        try {
+            return execute(() -> taskDAO.batchUpdateTaskStatus(instanceId, updates));
+        }catch (Exception e) {
+            log.error("[TaskPersistenceService] batchUpdateTaskStatus failed, instanceId={},size={}.", instanceId, updates.size(), e);
+        }
+        return false;
+    }
+
     /**
      * 更新被派发到已经失联的 ProcessorTracker 的任务，重新执行
      * update task_info
@@ -104,6 +133,10 @@ public class TaskPersistenceService {
      */
     public boolean updateLostTasks(Long instanceId, List<String> addressList, boolean retry) {
 
+        if (CollectionUtils.isEmpty(addressList)) {
+            return true;
+        }
+
         TaskDO updateEntity = new TaskDO();
         updateEntity.setLastModifiedTime(System.currentTimeMillis());
         if (retry) {
@@ -116,9 +149,8 @@ public class TaskPersistenceService {
 
         SimpleTaskQuery query = new SimpleTaskQuery();
         query.setInstanceId(instanceId);
-        String queryConditionFormat = "address in %s and status not in (%d, %d)";
-        String queryCondition = String.format(queryConditionFormat, CommonUtils.getInStringCondition(addressList), TaskStatus.WORKER_PROCESS_FAILED.getValue(), TaskStatus.WORKER_PROCESS_SUCCESS.getValue());
-        query.setQueryCondition(queryCondition);
+        query.setAddressIn(addressList);
+        query.setStatusNotIn(FINISHED_STATUS);
         log.debug("[TaskPersistenceService] updateLostTasks-QUERY-SQL: {}", query.getQueryCondition());
 
         try {
@@ -168,12 +200,10 @@ public class TaskPersistenceService {
     // 获取某个 ProcessorTracker 未完成的任务
     public List<TaskDO> getAllUnFinishedTaskByAddress(Long instanceId, String address) {
         try {
-            String condition = String.format("status not in (%d, %d)", TaskStatus.WORKER_PROCESS_SUCCESS.getValue(), TaskStatus.WORKER_PROCESS_FAILED.getValue());
-
             SimpleTaskQuery query = new SimpleTaskQuery();
             query.setInstanceId(instanceId);
             query.setAddress(address);
-            query.setQueryCondition(condition);
+            query.setStatusNotIn(FINISHED_STATUS);
 
             return execute(() -> taskDAO.simpleQuery(query));
         }catch (Exception e) {
@@ -205,21 +235,10 @@ public class TaskPersistenceService {
     public Map<TaskStatus, Long> getTaskStatusStatistics(Long instanceId, Long subInstanceId) {
         try {
 
-            SimpleTaskQuery query = new SimpleTaskQuery();
-            query.setInstanceId(instanceId);
-            query.setSubInstanceId(subInstanceId);
-            query.setQueryContent("status, count(*) as num");
-            query.setOtherCondition("GROUP BY status");
-
             return execute(() -> {
-                List<Map<String, Object>> dbRES = taskDAO.simpleQueryPlus(query);
+                Map<Integer, Long> status2Num = taskDAO.countByStatus(instanceId, subInstanceId);
                 Map<TaskStatus, Long> result = Maps.newHashMap();
-                dbRES.forEach(row -> {
-                    // H2 数据库都是大写...
-                    int status = Integer.parseInt(String.valueOf(row.get("status")));
-                    long num = Long.parseLong(String.valueOf(row.get("num")));
-                    result.put(TaskStatus.of(status), num);
-                });
+                status2Num.forEach((status, num) -> result.put(TaskStatus.of(status), num));
                 return result;
             });
         }catch (Exception e) {
@@ -240,6 +259,22 @@ public class TaskPersistenceService {
         return Lists.newLinkedList();
     }
 
+    /**
+     * 按 taskId 顺序分页遍历所有 Task 执行结果，流式 reduce 阶段使用，内存中同时只保留一页数据
+     * 与 {@link #getAllTaskResult} 不同，读取失败时抛出异常而不是返回空结果，避免 reduce 基于不完整的数据得出结论
+     */
+    public Iterator<TaskResult> iterateTaskResult(Long instanceId, Long subInstanceId) {
+        int pageSize = Math.max(1, Integer.getInteger(PowerJobDKey.WORKER_REDUCE_PAGE_SIZE, DEFAULT_RESULT_PAGE_SIZE));
+        return new TaskResultIterator(afterTaskId -> {
+            try {
+                return execute(() -> taskDAO.getTaskResultPage(instanceId, subInstanceId, afterTaskId, pageSize));
+            } catch (Exception e) {
+                log.error("[TaskPersistenceService] getTaskResultPage for instance(id={}) failed, afterTaskId={}.", instanceId, afterTaskId, e);
+                throw new PowerJobException("load task results failed: " + e.getMessage());
+            }
+        });
+    }
+
     /**
      * 查询任务状态（只查询 status，节约 I/O 资源 -> 测试表明，在（我高端的NVMe）SSD上都效果惊人...别说一般的HDD了...磁盘I/O果然是重要瓶颈...）
      */
@@ -282,12 +317,15 @@ public class TaskPersistenceService {
      * 批量更新 Task 状态
      */
     public boolean batchUpdateTaskStatus(Long instanceId, List<String> taskIds, TaskStatus status, String result) {
+        if (CollectionUtils.isEmpty(taskIds)) {
+            return true;
+        }
         try {
             return execute(() -> {
 
                 SimpleTaskQuery query = new SimpleTaskQuery();
                 query.setInstanceId(instanceId);
-                query.setQueryCondition(String.format(" task_id in %s ", CommonUtils.getInStringCondition(taskIds)));
+                query.setTaskIdIn(taskIds);
 
                 TaskDO updateEntity = new TaskDO();
                 updateEntity.setStatus(status.getValue());
@@ -327,11 +365,7 @@ public class TaskPersistenceService {
 
     public List<TaskDO> listAll() {
         try {
-            return execute(() -> {
-                SimpleTaskQuery query = new SimpleTaskQuery();
-                query.setQueryCondition("1 = 1");
-                return taskDAO.simpleQuery(query);
-            });
+            return execute(() -> taskDAO.simpleQuery(new SimpleTaskQuery()));
         }catch (Exception e) {
             log.error("[TaskPersistenceService] listAll failed.", e);
         }
@@ -0,0 +1,53 @@
+package tech.powerjob.worker.persistence;
+
+import tech.powerjob.worker.core.processor.TaskResult;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * 按 taskId 顺序分页加载的 Task 执行结果迭代器，上一页遍历完毕后才加载下一页
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+class TaskResultIterator implements Iterator<TaskResult> {
+
+    /**
+     * 上一页最后一个 taskId -> 下一页数据，返回空列表代表没有更多数据
+     */
+    private final Function<String, List<TaskResult>> pageLoader;
+
+    private Iterator<TaskResult> page;
+    private String lastTaskId;
+    private boolean finished;
+
+    TaskResultIterator(Function<String, List<TaskResult>> pageLoader) {
+        this.pageLoader = pageLoader;
+    }
+
+    @Override
+    public boolean hasNext() {
+        while (!finished && (page == null || !page.hasNext())) {
+            List<TaskResult> results = pageLoader.apply(lastTaskId);
+            if (results.isEmpty()) {
+                finished = true;
+            } else {
+                page = results.iterator();
+            }
+        }
+        return !finished;
+    }
+
+    @Override
+    public TaskResult next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        TaskResult result = page.next();
+        lastTaskId = result.getTaskId();
+        return result;
+    }
+}
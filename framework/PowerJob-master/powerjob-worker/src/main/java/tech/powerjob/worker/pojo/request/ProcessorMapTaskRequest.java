@@ -26,6 +26,17 @@ public class ProcessorMapTaskRequest implements PowerSerializable {
 
     private String taskName;
     private List<SubTask> subTasks;
+    /**
+     * 背压阈值，TaskTracker 中等待派发的任务数量达到该值时拒绝本次请求（响应 {@link #BACK_PRESSURE}），由发送方稍后重试
+     * 为 null 代表不限制（普通 map）
+     * @since 2026/10/18
+     */
+    private Integer maxPendingTaskNum;
+
+    /**
+     * TaskTracker 因背压拒绝请求时的响应信息
+     */
+    public static final String BACK_PRESSURE = "BACK_PRESSURE";
 
     @Getter
     @NoArgsConstructor
@@ -35,6 +46,11 @@ public class ProcessorMapTaskRequest implements PowerSerializable {
         private byte[] taskContent;
     }
 
+    public ProcessorMapTaskRequest(TaskDO parentTask, List<?> subTaskList, String taskName, Integer maxPendingTaskNum) {
+        this(parentTask, subTaskList, taskName);
+        this.maxPendingTaskNum = maxPendingTaskNum;
+    }
+
     public ProcessorMapTaskRequest(TaskDO parentTask, List<?> subTaskList, String taskName) {
 
         this.instanceId = parentTask.getInstanceId();
@@ -0,0 +1,36 @@
+package tech.powerjob.worker.pojo.request;
+
+import tech.powerjob.common.PowerSerializable;
+import tech.powerjob.worker.common.constants.TaskStatus;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+
+/**
+ * worker 批量上报 task 执行情况，同一批次内按上报顺序处理
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+@Data
+@NoArgsConstructor
+public class ProcessorReportTaskStatusBatchReq implements PowerSerializable {
+
+    private Long instanceId;
+
+    private List<ProcessorReportTaskStatusReq> reports;
+
+    public ProcessorReportTaskStatusBatchReq(Long instanceId, List<ProcessorReportTaskStatusReq> reports) {
+        this.instanceId = instanceId;
+        this.reports = reports;
+    }
+
+    /**
+     * 是否包含最终状态（最终状态要求可靠发送，TaskTracker 需要回复接收成功）
+     */
+    public boolean containsFinishedStatus() {
+        return reports.stream().anyMatch(report -> TaskStatus.finishedStatus.contains(report.getStatus()));
+    }
+}
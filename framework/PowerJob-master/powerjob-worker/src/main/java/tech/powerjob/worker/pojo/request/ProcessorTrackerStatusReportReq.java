@@ -33,6 +33,27 @@ public class ProcessorTrackerStatusReportReq implements PowerSerializable {
      */
     private long remainTaskNum;
 
+    /**
+     * 可用槽位数（信用额度），即当前还能接收的任务数量：线程池队列剩余容量 + 空闲线程数
+     * TaskTracker 据此控制派发量，避免 ProcessorTracker 线程池队列满后拒绝任务；旧版本 ProcessorTracker 不上报，为 null
+     */
+    private Integer availableSlots;
+
+    /**
+     * ProcessorTracker 的创建时间，作为计数器的纪元：ProcessorTracker 重建后计数器从 0 开始，TaskTracker 据此重新校准
+     */
+    private Long trackerStartTime;
+
+    /**
+     * ProcessorTracker 自创建以来收到的任务总数（包括被拒绝的任务），与 availableSlots 为同一时刻的快照
+     */
+    private Long receivedTaskNum;
+
+    /**
+     * ProcessorTracker 自创建以来执行完成的任务总数（包括被拒绝的任务），与 availableSlots 为同一时刻的快照
+     */
+    private Long finishedTaskNum;
+
     /**
      * 本机地址
      */
@@ -56,4 +77,13 @@ public class ProcessorTrackerStatusReportReq implements PowerSerializable {
         req.setRemainTaskNum(remainTaskNum);
         return req;
     }
+
+    public static ProcessorTrackerStatusReportReq buildLoadReport(Long instanceId, Long remainTaskNum, Integer availableSlots, long trackerStartTime, long receivedTaskNum, long finishedTaskNum) {
+        ProcessorTrackerStatusReportReq req = buildLoadReport(instanceId, remainTaskNum);
+        req.setAvailableSlots(availableSlots);
+        req.setTrackerStartTime(trackerStartTime);
+        req.setReceivedTaskNum(receivedTaskNum);
+        req.setFinishedTaskNum(finishedTaskNum);
+        return req;
+    }
 }
@@ -0,0 +1,66 @@
+package tech.powerjob.worker.pojo.request;
+
+import tech.powerjob.common.PowerSerializable;
+import tech.powerjob.worker.persistence.TaskDO;
+import tech.powerjob.worker.pojo.model.InstanceInfo;
+import com.google.common.collect.Lists;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+
+/**
+ * TaskTracker 批量派发 task 进行执行，同一批次的 task 属于同一个任务实例，实例信息只传输一份
+ *
+ * @author tjq
+ * @since 2026/10/18
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+public class TaskTrackerStartTaskBatchReq implements PowerSerializable {
+
+    // TaskTracker 地址
+    private String taskTrackerAddress;
+    private InstanceInfo instanceInfo;
+
+    private String logConfig;
+
+    private List<TaskInfo> tasks;
+
+    @Getter
+    @Setter
+    @NoArgsConstructor
+    public static class TaskInfo {
+        private String taskId;
+        private String taskName;
+        private byte[] taskContent;
+        // 子任务当前重试次数
+        private int taskCurrentRetryNums;
+        // 秒级任务专用
+        private long subInstanceId;
+    }
+
+    /**
+     * 创建 TaskTrackerStartTaskBatchReq，该构造方法必须在 TaskTracker 节点调用
+     */
+    public TaskTrackerStartTaskBatchReq(InstanceInfo instanceInfo, List<TaskDO> taskList, String taskTrackerAddress) {
+
+        this.taskTrackerAddress = taskTrackerAddress;
+        this.instanceInfo = instanceInfo;
+        this.logConfig = instanceInfo.getLogConfig();
+
+        this.tasks = Lists.newArrayListWithCapacity(taskList.size());
+        taskList.forEach(task -> {
+            TaskInfo taskInfo = new TaskInfo();
+            taskInfo.taskId = task.getTaskId();
+            taskInfo.taskName = task.getTaskName();
+            taskInfo.taskContent = task.getTaskContent();
+            taskInfo.taskCurrentRetryNums = task.getFailedCnt();
+            taskInfo.subInstanceId = task.getSubInstanceId();
+            tasks.add(taskInfo);
+        });
+    }
+}